@@ -0,0 +1,110 @@
+package group.gnometrading.books;
+
+import group.gnometrading.collections.LongSortedMap;
+import group.gnometrading.pools.SingleThreadedObjectPool;
+
+/**
+ * The price levels of one side of an order book, best price first. Bids are kept highest first and asks lowest
+ * first, so rank 0 is always the top of book. Levels are taken from a pool as prices appear and handed back when
+ * they empty, so a book that has warmed up allocates nothing.
+ */
+public final class BookSide {
+    private final Side side;
+    private final LongSortedMap<PriceLevel> levels;
+
+    BookSide(final Side side, final int expectedLevels) {
+        this.side = side;
+        this.levels = new LongSortedMap<>(
+                side == Side.BID, expectedLevels, new SingleThreadedObjectPool<>(PriceLevel::new, expectedLevels));
+    }
+
+    public Side side() {
+        return this.side;
+    }
+
+    public boolean isEmpty() {
+        return this.levels.isEmpty();
+    }
+
+    /**
+     * @return the number of price levels on this side
+     */
+    public int depth() {
+        return this.levels.size();
+    }
+
+    /**
+     * @throws IllegalStateException if this side is empty
+     */
+    public long bestPrice() {
+        return this.levels.firstKey();
+    }
+
+    /**
+     * @throws IllegalStateException if this side is empty
+     */
+    public long bestSize() {
+        return this.levels.firstValue().size();
+    }
+
+    /**
+     * @param rank the position of a level counting from the best, which has rank 0
+     * @throws IllegalStateException if this side has no more than rank levels
+     */
+    public PriceLevel level(final int rank) {
+        return this.levels.valueAt(rank);
+    }
+
+    /**
+     * @return the level at a price, or null if nothing rests there
+     */
+    public PriceLevel levelAtPrice(final long price) {
+        return this.levels.get(price);
+    }
+
+    public long priceAt(final int rank) {
+        return this.levels.keyAt(rank);
+    }
+
+    public long sizeAt(final int rank) {
+        return this.levels.valueAt(rank).size();
+    }
+
+    /**
+     * Copies the prices and sizes of the best levels, best first.
+     *
+     * @param prices array to receive the prices
+     * @param sizes array to receive the sizes
+     * @param maxLevels the most levels to copy
+     * @return the number of levels copied, less than maxLevels if this side is shallower
+     */
+    public int copyTop(final long[] prices, final long[] sizes, final int maxLevels) {
+        final int copied = Math.min(maxLevels, this.levels.size());
+        for (int rank = 0; rank < copied; rank++) {
+            final PriceLevel level = this.levels.valueAt(rank);
+            prices[rank] = level.price();
+            sizes[rank] = level.size();
+        }
+        return copied;
+    }
+
+    /**
+     * @return the level at a price, adding an empty one if there is none
+     */
+    PriceLevel acquireLevel(final long price) {
+        final int depth = this.levels.size();
+        final PriceLevel level = this.levels.getOrAcquire(price);
+        if (this.levels.size() != depth) {
+            level.init(price);
+        }
+        return level;
+    }
+
+    void removeLevel(final long price) {
+        this.levels.remove(price);
+    }
+
+    void clear() {
+        this.levels.clear();
+    }
+}
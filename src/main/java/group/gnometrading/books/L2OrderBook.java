@@ -0,0 +1,66 @@
+package group.gnometrading.books;
+
+/**
+ * Order book of aggregated price levels, for venues that publish the total size at each price. A delta sets the
+ * size at one price, and a size of zero removes the level. A snapshot replaces a whole side.
+ */
+public final class L2OrderBook extends OrderBook {
+
+    public L2OrderBook() {
+        this(DEFAULT_EXPECTED_LEVELS);
+    }
+
+    /**
+     * @param expectedLevels number of levels per side to size the book for before it has to grow
+     */
+    public L2OrderBook(int expectedLevels) {
+        super(expectedLevels);
+    }
+
+    /**
+     * Applies a delta for one price.
+     *
+     * @param side the side of the level
+     * @param price the price of the level
+     * @param size the new total size at that price, or zero to remove the level
+     */
+    public void setLevel(final Side side, final long price, final long size) {
+        setLevel(side, price, size, 0);
+    }
+
+    /**
+     * Applies a delta for one price from a venue that also publishes how many orders make up the level.
+     */
+    public void setLevel(final Side side, final long price, final long size, final int orderCount) {
+        final BookSide bookSide = side(side);
+        if (size <= 0) {
+            bookSide.removeLevel(price);
+        } else {
+            bookSide.acquireLevel(price).set(size, orderCount);
+        }
+    }
+
+    /**
+     * Replaces every level of one side. Prices may come in any order, and levels of zero size are skipped.
+     *
+     * @param side the side to replace
+     * @param prices the prices of the new levels
+     * @param sizes the sizes of the new levels
+     * @param count the number of levels to read from the arrays
+     */
+    public void applySnapshot(final Side side, final long[] prices, final long[] sizes, final int count) {
+        final BookSide bookSide = side(side);
+        bookSide.clear();
+        for (int i = 0; i < count; i++) {
+            if (sizes[i] > 0) {
+                bookSide.acquireLevel(prices[i]).set(sizes[i], 0);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        bids().clear();
+        asks().clear();
+    }
+}
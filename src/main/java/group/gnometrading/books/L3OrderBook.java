@@ -0,0 +1,155 @@
+package group.gnometrading.books;
+
+import group.gnometrading.collections.LongOpenHashMap;
+import group.gnometrading.pools.Pool;
+import group.gnometrading.pools.PoolNode;
+import group.gnometrading.pools.SingleThreadedObjectPool;
+
+/**
+ * Order book of individual orders, for venues that publish every add, modify, cancel and fill. Each level keeps
+ * its orders in a queue in time priority, and orders are found by id through an open-addressing map, so no message
+ * needs a search of the book. Orders and levels are pooled.
+ *
+ * <p>A snapshot is applied by clearing the book and adding each order in the snapshot in priority order.
+ */
+public final class L3OrderBook extends OrderBook {
+    static final int DEFAULT_EXPECTED_ORDERS = 1 << 14;
+
+    private final Pool<Order> orderPool;
+    private final LongOpenHashMap<Order> orders;
+
+    public L3OrderBook() {
+        this(DEFAULT_EXPECTED_LEVELS, DEFAULT_EXPECTED_ORDERS);
+    }
+
+    /**
+     * @param expectedLevels number of levels per side to size the book for before it has to grow
+     * @param expectedOrders number of resting orders to size the book for before it has to grow
+     */
+    public L3OrderBook(int expectedLevels, int expectedOrders) {
+        super(expectedLevels);
+        this.orderPool = new SingleThreadedObjectPool<>(Order::new, expectedOrders);
+        this.orders = new LongOpenHashMap<>(expectedOrders);
+    }
+
+    /**
+     * Adds an order to the back of the queue at its price.
+     *
+     * @return the order, which stays valid until it is cancelled or filled
+     * @throws IllegalArgumentException if the size is not positive or an order with the id is already resting
+     */
+    public Order addOrder(final long orderId, final Side side, final long price, final long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Order size must be positive: " + size);
+        }
+        if (this.orders.containsKey(orderId)) {
+            throw new IllegalArgumentException("Order " + orderId + " is already in the book");
+        }
+
+        final PoolNode<Order> node = this.orderPool.acquire();
+        final Order order = node.getItem();
+        order.self = node;
+        order.orderId = orderId;
+        order.side = side;
+        order.size = size;
+        side(side).acquireLevel(price).append(order);
+        this.orders.put(orderId, order);
+        return order;
+    }
+
+    /**
+     * Changes the price or size of an order. An order that only shrinks keeps its place in the queue; any other
+     * change moves it to the back of the queue at its new price, as venues do.
+     *
+     * @return false if no order with the id is resting
+     */
+    public boolean modifyOrder(final long orderId, final long price, final long size) {
+        final Order order = this.orders.get(orderId);
+        if (order == null) {
+            return false;
+        }
+        if (size <= 0) {
+            removeOrder(order);
+            return true;
+        }
+
+        final PriceLevel level = order.level;
+        if (level.price() == price && size <= order.size) {
+            level.addSize(size - order.size);
+            order.size = size;
+        } else {
+            unlink(order);
+            order.size = size;
+            side(order.side).acquireLevel(price).append(order);
+        }
+        return true;
+    }
+
+    /**
+     * Reduces an order by a fill, removing it once nothing is left.
+     *
+     * @return false if no order with the id is resting
+     */
+    public boolean executeOrder(final long orderId, final long executedSize) {
+        final Order order = this.orders.get(orderId);
+        if (order == null) {
+            return false;
+        }
+
+        if (executedSize >= order.size) {
+            removeOrder(order);
+        } else {
+            order.level.addSize(-executedSize);
+            order.size -= executedSize;
+        }
+        return true;
+    }
+
+    /**
+     * @return false if no order with the id is resting
+     */
+    public boolean cancelOrder(final long orderId) {
+        final Order order = this.orders.get(orderId);
+        if (order == null) {
+            return false;
+        }
+        removeOrder(order);
+        return true;
+    }
+
+    /**
+     * @return the resting order with an id, or null if there is none
+     */
+    public Order order(final long orderId) {
+        return this.orders.get(orderId);
+    }
+
+    /**
+     * @return the number of resting orders on both sides
+     */
+    public int orderCount() {
+        return this.orders.size();
+    }
+
+    @Override
+    public void clear() {
+        bids().clear();
+        asks().clear();
+        this.orders.clear();
+        this.orderPool.releaseAll();
+    }
+
+    private void removeOrder(final Order order) {
+        unlink(order);
+        this.orders.remove(order.orderId);
+        this.orderPool.release(order.self);
+    }
+
+    private void unlink(final Order order) {
+        final PriceLevel level = order.level;
+        level.unlink(order);
+        if (level.isEmpty()) {
+            side(order.side).removeLevel(level.price());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package group.gnometrading.books;
+
+import group.gnometrading.pools.PoolNode;
+
+/**
+ * A resting order in an {@link L3OrderBook}. Orders are pooled and reused by the book, so a reference must not be
+ * kept once the order has been cancelled or filled.
+ */
+public final class Order {
+    long orderId;
+    Side side;
+    long size;
+    PriceLevel level;
+    Order prev;
+    Order next;
+    PoolNode<Order> self;
+
+    Order() {}
+
+    public long orderId() {
+        return this.orderId;
+    }
+
+    public Side side() {
+        return this.side;
+    }
+
+    public long price() {
+        return this.level.price();
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * @return the order queued behind this one at the same price, or null if this is the last
+     */
+    public Order next() {
+        return this.next;
+    }
+}
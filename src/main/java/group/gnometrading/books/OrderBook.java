@@ -0,0 +1,44 @@
+package group.gnometrading.books;
+
+/**
+ * Single-threaded order book for one instrument. Prices and sizes are fixed-point longs, scaled the same way as
+ * the feed is decoded, for example with {@code JsonNode.asFixedPointLong}; the book never divides or rounds them.
+ *
+ * <p>{@link L2OrderBook} keeps aggregated levels as a venue publishes them, and {@link L3OrderBook} keeps every
+ * order. Both read the same way through {@link #bids()} and {@link #asks()}.
+ */
+public abstract class OrderBook {
+    static final int DEFAULT_EXPECTED_LEVELS = 256;
+
+    private final BookSide bids;
+    private final BookSide asks;
+
+    OrderBook(final int expectedLevels) {
+        this.bids = new BookSide(Side.BID, expectedLevels);
+        this.asks = new BookSide(Side.ASK, expectedLevels);
+    }
+
+    public final BookSide bids() {
+        return this.bids;
+    }
+
+    public final BookSide asks() {
+        return this.asks;
+    }
+
+    public final BookSide side(final Side side) {
+        return side == Side.BID ? this.bids : this.asks;
+    }
+
+    /**
+     * @return true if both sides have at least one level
+     */
+    public final boolean isTwoSided() {
+        return !this.bids.isEmpty() && !this.asks.isEmpty();
+    }
+
+    /**
+     * Empties both sides, as before applying a snapshot.
+     */
+    public abstract void clear();
+}
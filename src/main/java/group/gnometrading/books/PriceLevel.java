@@ -0,0 +1,97 @@
+package group.gnometrading.books;
+
+/**
+ * One price level of a {@link BookSide}. Price and size are fixed-point longs in whatever scaling the feed was
+ * decoded with, such as {@code JsonNode.asFixedPointLong}.
+ *
+ * <p>In an {@link L3OrderBook} the level also holds its resting orders in time priority, reachable from
+ * {@link #firstOrder()}. Levels are pooled and reused by the book, so a reference must not be kept once the level
+ * has been removed.
+ */
+public final class PriceLevel {
+    private long price;
+    private long size;
+    private int orderCount;
+    private Order head;
+    private Order tail;
+
+    PriceLevel() {}
+
+    public long price() {
+        return this.price;
+    }
+
+    /**
+     * @return the total size resting at this price
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of orders at this price, as reported by the feed for an L2 book
+     */
+    public int orderCount() {
+        return this.orderCount;
+    }
+
+    /**
+     * @return the order with time priority at this price, or null for an L2 book
+     */
+    public Order firstOrder() {
+        return this.head;
+    }
+
+    void init(final long newPrice) {
+        this.price = newPrice;
+        this.size = 0;
+        this.orderCount = 0;
+        this.head = null;
+        this.tail = null;
+    }
+
+    void set(final long newSize, final int newOrderCount) {
+        this.size = newSize;
+        this.orderCount = newOrderCount;
+    }
+
+    void addSize(final long delta) {
+        this.size += delta;
+    }
+
+    void append(final Order order) {
+        order.level = this;
+        order.prev = this.tail;
+        order.next = null;
+        if (this.tail == null) {
+            this.head = order;
+        } else {
+            this.tail.next = order;
+        }
+        this.tail = order;
+        this.size += order.size();
+        this.orderCount++;
+    }
+
+    void unlink(final Order order) {
+        if (order.prev == null) {
+            this.head = order.next;
+        } else {
+            order.prev.next = order.next;
+        }
+        if (order.next == null) {
+            this.tail = order.prev;
+        } else {
+            order.next.prev = order.prev;
+        }
+        this.size -= order.size();
+        this.orderCount--;
+        order.level = null;
+        order.prev = null;
+        order.next = null;
+    }
+
+    boolean isEmpty() {
+        return this.orderCount == 0;
+    }
+}
@@ -0,0 +1,10 @@
+package group.gnometrading.books;
+
+public enum Side {
+    BID,
+    ASK;
+
+    public Side opposite() {
+        return this == BID ? ASK : BID;
+    }
+}
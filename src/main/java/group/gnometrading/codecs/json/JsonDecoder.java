@@ -3,13 +3,20 @@ package group.gnometrading.codecs.json;
 import group.gnometrading.pools.Pool;
 import group.gnometrading.pools.PoolNode;
 import group.gnometrading.pools.SingleThreadedObjectPool;
+import group.gnometrading.strings.DirectViewString;
 import group.gnometrading.strings.ExpandingMutableString;
 import group.gnometrading.strings.GnomeString;
-import group.gnometrading.strings.MutableString;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 /**
  * JsonDecoder is used to walk a JSON tree. This can *only* be used sequentially to walk the path of a JSON tree.
+ *
+ * <p>The decoder reads a {@link DirectBuffer} between an offset and a limit, keeping its own cursor. A wrapped
+ * {@link ByteBuffer} is read through a reused {@link UnsafeBuffer} view, and its position is moved along with the
+ * cursor so it still shows how far decoding has got.
  */
 public final class JsonDecoder {
 
@@ -22,21 +29,102 @@ public final class JsonDecoder {
     private static final byte NULL_BYTE = 0;
 
     private final Pool<JsonNode> jsonNodePool;
-    private ByteBuffer byteBuffer;
+    private final boolean swarScanning;
+    private final boolean zeroCopyStrings;
+    private final DirectViewString runView = new DirectViewString();
+    private final UnsafeBuffer byteBufferView = new UnsafeBuffer(new byte[0]);
+    private DirectBuffer buffer;
+    private ByteBuffer source;
+    private int position;
+    private int limit;
 
     public JsonDecoder() {
         this(DEFAULT_NODES);
     }
 
     public JsonDecoder(int defaultCapacity) {
+        this(defaultCapacity, false);
+    }
+
+    /**
+     * With {@code swarScanning} set, skipping whitespace, skipping unread values and finding the end of a string
+     * test eight bytes at a time instead of reading the buffer byte by byte. The result of decoding is the same
+     * either way; the byte at a time scan can be quicker on small messages where there is little to skip.
+     *
+     * @param defaultCapacity the number of nodes to pool up front
+     * @param swarScanning whether to scan eight bytes at a time
+     */
+    public JsonDecoder(int defaultCapacity, boolean swarScanning) {
+        this(defaultCapacity, swarScanning, false);
+    }
+
+    /**
+     * With {@code zeroCopyStrings} set, string values and keys without escapes are returned as views straight onto
+     * the buffer rather than copied into the node, as a {@link DirectViewString} that hands out a heap buffer's own
+     * array. A string with a backslash is unescaped into the node instead, so either way the contents are the same as
+     * without the option. A view is only valid until the buffer's contents change, so copy it out if it has to
+     * outlive the message.
+     *
+     * @param defaultCapacity the number of nodes to pool up front
+     * @param swarScanning whether to scan eight bytes at a time
+     * @param zeroCopyStrings whether to return unescaped strings as views onto the buffer
+     */
+    public JsonDecoder(int defaultCapacity, boolean swarScanning, boolean zeroCopyStrings) {
         this.jsonNodePool = new SingleThreadedObjectPool<>(JsonNode::new, defaultCapacity);
+        this.swarScanning = swarScanning;
+        this.zeroCopyStrings = zeroCopyStrings;
     }
 
     public JsonNode wrap(final ByteBuffer newByteBuffer) {
-        this.byteBuffer = newByteBuffer;
+        readFrom(newByteBuffer);
         return consumeNode();
     }
 
+    /**
+     * Points the decoder at the buffer from its position to its limit. The buffer's position follows the decoder.
+     */
+    private void readFrom(final ByteBuffer newByteBuffer) {
+        this.byteBufferView.wrap(newByteBuffer);
+        this.buffer = this.byteBufferView;
+        this.source = newByteBuffer;
+        this.position = newByteBuffer.position();
+        this.limit = newByteBuffer.limit();
+    }
+
+    /**
+     * @param newBuffer the buffer holding the JSON
+     * @param offset the index of the first byte of the JSON
+     * @param length the number of bytes of JSON
+     * @return the node at the root of the JSON
+     */
+    public JsonNode wrap(final DirectBuffer newBuffer, final int offset, final int length) {
+        this.buffer = newBuffer;
+        this.source = null;
+        this.position = offset;
+        this.limit = offset + length;
+        return consumeNode();
+    }
+
+    /**
+     * @return the index of the next byte the decoder will read
+     */
+    public int position() {
+        return this.position;
+    }
+
+    /**
+     * Moves a wrapped ByteBuffer's position up to the cursor, at the end of every call that moves it.
+     */
+    private void updateSource() {
+        if (this.source != null) {
+            this.source.position(this.position);
+        }
+    }
+
+    private byte peek() {
+        return this.position < this.limit ? this.buffer.getByte(this.position) : NULL_BYTE;
+    }
+
     private JsonNode consumeNode() {
         return consumeNode(NULL_BYTE);
     }
@@ -44,23 +132,35 @@ public final class JsonDecoder {
     private JsonNode consumeNode(final byte closing) {
         final PoolNode<JsonNode> poolNode = jsonNodePool.acquire();
         final JsonNode node = poolNode.getItem();
-        node.wrap(this.byteBuffer, poolNode, closing);
+        node.wrap(poolNode, closing);
         return node;
     }
 
     private void consumeWhitespace() {
-        while (byteBuffer.hasRemaining() && isWhitespace(byteBuffer.get(byteBuffer.position()))) {
-            byteBuffer.get();
+        if (this.swarScanning) {
+            if (position < limit && isWhitespace(buffer.getByte(position))) {
+                position = Swar.skipWhitespace(buffer, position + 1, limit);
+            }
+            return;
+        }
+
+        while (position < limit && isWhitespace(peek())) {
+            position++;
         }
     }
 
     private void consumeUntilNextItem(final byte closingChar) {
-        while (byteBuffer.hasRemaining()) {
-            if (this.byteBuffer.get(this.byteBuffer.position()) == closingChar) {
+        if (this.swarScanning) {
+            swarConsumeUntilNextItem(closingChar);
+            return;
+        }
+
+        while (position < limit) {
+            if (peek() == closingChar) {
                 return;
             }
 
-            final byte at = this.byteBuffer.get();
+            final byte at = buffer.getByte(position++);
             if (at == ',') {
                 break;
             } else if (at == '[') {
@@ -71,13 +171,45 @@ public final class JsonDecoder {
         }
     }
 
+    private void swarConsumeUntilNextItem(final byte closingChar) {
+        final long closings = Swar.broadcast(closingChar);
+        while (true) {
+            final int index = Swar.indexOfAny(
+                    buffer, position, limit, closings, Swar.COMMAS, Swar.OPEN_BRACKETS, Swar.OPEN_BRACES);
+            if (index == limit) {
+                position = index;
+                return;
+            }
+
+            final byte at = buffer.getByte(index);
+            if (at == closingChar) {
+                position = index;
+                return;
+            }
+            position = index + 1;
+            if (at == ',') {
+                return;
+            } else if (at == '[') {
+                consumeRecursively((byte) ']');
+            } else {
+                consumeRecursively((byte) '}');
+            }
+        }
+    }
+
     private boolean isWhitespace(final byte value) {
         return value == CH_SPACE || value == CH_TAB || value == CH_LINEFEED || value == CH_CARRIAGE_RETURN;
     }
 
     private void consume(final byte target) {
-        while (byteBuffer.hasRemaining()) {
-            final byte at = byteBuffer.get();
+        if (this.swarScanning) {
+            final int index = Swar.indexOf(buffer, position, limit, Swar.broadcast(target));
+            position = Math.min(index + 1, limit);
+            return;
+        }
+
+        while (position < limit) {
+            final byte at = buffer.getByte(position++);
             if (at == target) {
                 return;
             }
@@ -85,8 +217,13 @@ public final class JsonDecoder {
     }
 
     private void consumeRecursively(final byte target) {
-        while (byteBuffer.hasRemaining()) {
-            final byte at = byteBuffer.get();
+        if (this.swarScanning) {
+            swarConsumeRecursively(target);
+            return;
+        }
+
+        while (position < limit) {
+            final byte at = buffer.getByte(position++);
             if (at == target) {
                 return;
             }
@@ -96,34 +233,180 @@ public final class JsonDecoder {
             } else if (at == '{') {
                 consumeRecursively((byte) '}');
             } else if (at == '\\') {
-                if (byteBuffer.hasRemaining() && byteBuffer.get(byteBuffer.position()) == target) {
-                    byteBuffer.get();
+                if (peek() == target) {
+                    position++;
                 }
             }
         }
     }
 
+    private void swarConsumeRecursively(final byte target) {
+        final long targets = Swar.broadcast(target);
+        while (true) {
+            final int index = Swar.indexOfAny(
+                    buffer, position, limit, targets, Swar.OPEN_BRACKETS, Swar.OPEN_BRACES, Swar.BACKSLASHES);
+            if (index == limit) {
+                position = index;
+                return;
+            }
+
+            final byte at = buffer.getByte(index);
+            position = index + 1;
+            if (at == target) {
+                return;
+            } else if (at == '[') {
+                consumeRecursively((byte) ']');
+            } else if (at == '{') {
+                consumeRecursively((byte) '}');
+            } else if (peek() == target) {
+                position++;
+            }
+        }
+    }
+
+    /**
+     * Reads a string whose opening quote has been consumed and moves past its closing quote. A string with no
+     * escapes comes back as the view, wrapped onto the buffer; anything else is unescaped into the destination.
+     *
+     * @throws BufferUnderflowException if the buffer ends before the closing quote
+     */
+    private GnomeString readString(final DirectViewString view, final ExpandingMutableString destination) {
+        final int start = position;
+        final int end = indexOfQuoteOrBackslash(start);
+        if (end == limit || buffer.getByte(end) == '\\') {
+            return copyString(destination, start, end);
+        }
+
+        position = end + 1;
+        view.wrap(buffer, start, end - start);
+        return view;
+    }
+
+    /**
+     * Unescapes a string whose opening quote has been consumed into the destination and moves past its closing
+     * quote.
+     *
+     * @throws BufferUnderflowException if the buffer ends before the closing quote
+     */
+    private GnomeString copyString(final ExpandingMutableString destination) {
+        final int start = position;
+        return copyString(destination, start, indexOfQuoteOrBackslash(start));
+    }
+
+    /**
+     * Copies the run of plain bytes up to end in one go, then unescapes the rest.
+     */
+    private GnomeString copyString(final ExpandingMutableString destination, final int start, final int end) {
+        if (buffer.byteArray() != null) {
+            this.runView.wrap(buffer, start, end - start);
+            destination.appendString(this.runView);
+        } else {
+            for (int i = start; i < end; i++) {
+                destination.append(buffer.getByte(i));
+            }
+        }
+        position = JsonEscapes.appendUnescaped(buffer, end, limit, destination);
+        return destination;
+    }
+
+    private int indexOfQuoteOrBackslash(final int from) {
+        if (this.swarScanning) {
+            return Swar.indexOfEither(buffer, from, limit, Swar.QUOTES, Swar.BACKSLASHES);
+        }
+
+        int index = from;
+        while (index < limit) {
+            final byte at = buffer.getByte(index);
+            if (at == '"' || at == '\\') {
+                return index;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Runs the bytes of a key whose opening quote has been consumed through the matcher and moves past its closing
+     * quote. Once no field name can match, the rest of the key is skipped without stepping through the matcher.
+     *
+     * @return the field id of the key, or {@link JsonFieldMatcher#MISSING}
+     * @throws BufferUnderflowException if the buffer ends before the closing quote
+     */
+    private int matchKey(final JsonFieldMatcher matcher) {
+        int index = position;
+        int state = JsonFieldMatcher.ROOT;
+        while (index < limit) {
+            final byte at = buffer.getByte(index++);
+            if (at == '"') {
+                position = index;
+                return matcher.fieldId(state);
+            }
+
+            state = matcher.step(state, at);
+            if (at == '\\' && index < limit) {
+                state = matcher.step(state, buffer.getByte(index++));
+            }
+            if (state == JsonFieldMatcher.DEAD) {
+                position = skipString(index);
+                return JsonFieldMatcher.MISSING;
+            }
+        }
+        throw new BufferUnderflowException();
+    }
+
+    /**
+     * @return the index just past the closing quote of the string content starting at from
+     * @throws BufferUnderflowException if the buffer ends before the closing quote
+     */
+    private int skipString(final int from) {
+        int index = from;
+        while (true) {
+            final int end = indexOfQuoteOrBackslash(index);
+            if (end == limit) {
+                throw new BufferUnderflowException();
+            } else if (buffer.getByte(end) == '"') {
+                return end + 1;
+            }
+            index = Math.min(end + 2, limit);
+        }
+    }
+
     public final class JsonNode implements AutoCloseable {
-        private final MutableString name;
+        private final ExpandingMutableString name;
+        private final DirectViewString nameView;
         private final ExpandingMutableString value;
+        private final DirectViewString valueView;
         private final JsonObject jsonObject;
         private final JsonArray jsonArray;
 
-        private ByteBuffer byteBuffer;
         private PoolNode<JsonNode> parent;
         private byte closing;
+        private GnomeString currentName;
+        private int fieldId;
 
         public JsonNode() {
-            this.name = new MutableString(DEFAULT_NODE_CAPACITY); // Over 200 byte key, I quit
+            this.name = new ExpandingMutableString(DEFAULT_NODE_CAPACITY);
+            this.nameView = new DirectViewString();
             this.value = new ExpandingMutableString(DEFAULT_NODE_CAPACITY); // TODO: Profile this? Store this somewhere?
+            this.valueView = new DirectViewString();
             this.jsonObject = new JsonObject();
             this.jsonArray = new JsonArray();
         }
 
+        /**
+         * @deprecated nodes read from the buffer their decoder wraps, start from {@link JsonDecoder#wrap(ByteBuffer)}
+         */
+        @Deprecated
         public void wrap(final ByteBuffer newByteBuffer, final PoolNode<JsonNode> newParent, final byte newClosing) {
+            readFrom(newByteBuffer);
+            wrap(newParent, newClosing);
+        }
+
+        private void wrap(final PoolNode<JsonNode> newParent, final byte newClosing) {
             this.name.reset();
             this.value.reset();
-            this.byteBuffer = newByteBuffer;
+            this.currentName = this.name;
+            this.fieldId = JsonFieldMatcher.MISSING;
             this.parent = newParent;
             this.closing = newClosing;
         }
@@ -132,71 +415,83 @@ public final class JsonDecoder {
         public void close() {
             if (this.closing != NULL_BYTE) {
                 consumeUntilNextItem(this.closing);
+                updateSource();
             }
             jsonNodePool.release(this.parent);
         }
 
         public GnomeString getName() {
-            return name;
+            return currentName;
+        }
+
+        /**
+         * @return the id the matcher gave this node's key, or {@link JsonFieldMatcher#MISSING} if the key is unknown
+         *     or was not read with {@link JsonObject#nextKey(JsonFieldMatcher)}
+         */
+        public int fieldId() {
+            return fieldId;
         }
 
         public int asInt() {
             consumeWhitespace();
             boolean sign = false;
-            if (byteBuffer.get(byteBuffer.position()) == '-') {
+            if (peek() == '-') {
                 sign = true;
-                byteBuffer.get();
+                position++;
             }
 
             int result = 0;
-            while (byteBuffer.hasRemaining() && isNumber(byteBuffer.get(byteBuffer.position()))) {
-                byte at = byteBuffer.get();
+            while (isNumber(peek())) {
+                byte at = buffer.getByte(position++);
                 result = 10 * result + at - '0';
             }
+            updateSource();
             return sign ? -result : result;
         }
 
         public long asFixedPointLong(final long scalingFactor) {
             consumeWhitespace();
             boolean sign = false;
-            if (byteBuffer.get(byteBuffer.position()) == '-') {
+            if (peek() == '-') {
                 sign = true;
-                byteBuffer.get();
+                position++;
             }
 
             long result = 0;
-            while (byteBuffer.hasRemaining() && isNumber(byteBuffer.get(byteBuffer.position()))) {
-                final byte at = byteBuffer.get();
+            while (isNumber(peek())) {
+                final byte at = buffer.getByte(position++);
                 result = 10 * result + (at - '0') * scalingFactor;
             }
 
-            if (byteBuffer.hasRemaining() && byteBuffer.get(byteBuffer.position()) == '.') {
-                byteBuffer.get();
+            if (peek() == '.') {
+                position++;
                 long fractionalMultiplier = scalingFactor;
-                while (byteBuffer.hasRemaining() && isNumber(byteBuffer.get(byteBuffer.position()))) {
+                while (isNumber(peek())) {
                     fractionalMultiplier /= 10;
-                    final byte at = byteBuffer.get();
+                    final byte at = buffer.getByte(position++);
                     result += (at - '0') * fractionalMultiplier;
                 }
             }
 
+            updateSource();
             return sign ? -result : result;
         }
 
         public long asLong() {
             consumeWhitespace();
             boolean sign = false;
-            if (byteBuffer.get(byteBuffer.position()) == '-') {
+            if (peek() == '-') {
                 sign = true;
-                byteBuffer.get();
+                position++;
             }
 
             long result = 0;
-            while (byteBuffer.remaining() > 0 && isNumber(byteBuffer.get(byteBuffer.position()))) {
-                final byte at = byteBuffer.get();
+            while (isNumber(peek())) {
+                final byte at = buffer.getByte(position++);
                 result = 10 * result + at - '0';
             }
 
+            updateSource();
             return sign ? -result : result;
         }
 
@@ -204,28 +499,29 @@ public final class JsonDecoder {
             // I will not be handling E's here, sorry!
             consumeWhitespace();
             boolean sign = false;
-            if (byteBuffer.get(byteBuffer.position()) == '-') {
+            if (peek() == '-') {
                 sign = true;
-                byteBuffer.get();
+                position++;
             }
 
             int result = 0;
-            while (byteBuffer.hasRemaining() && isNumber(byteBuffer.get(byteBuffer.position()))) {
-                byte at = byteBuffer.get();
+            while (isNumber(peek())) {
+                byte at = buffer.getByte(position++);
                 result = 10 * result + at - '0';
             }
 
             double remainder = 0;
-            if (byteBuffer.hasRemaining() && byteBuffer.get(byteBuffer.position()) == '.') {
+            if (peek() == '.') {
                 int divisor = 10;
-                byteBuffer.get();
-                while (byteBuffer.hasRemaining() && isNumber(byteBuffer.get(byteBuffer.position()))) {
-                    byte at = byteBuffer.get();
+                position++;
+                while (isNumber(peek())) {
+                    byte at = buffer.getByte(position++);
                     remainder += (double) (at - '0') / divisor;
                     divisor *= 10;
                 }
             }
 
+            updateSource();
             return sign ? -(result + remainder) : result + remainder;
         }
 
@@ -233,41 +529,46 @@ public final class JsonDecoder {
             return byteValue >= '0' && byteValue <= '9';
         }
 
+        /**
+         * @throws BufferUnderflowException if the buffer ends before the closing quote
+         */
         public GnomeString asString() {
             consume((byte) '"');
-
-            while (byteBuffer.remaining() > 0) {
-                byte at = byteBuffer.get();
-                if (at == '"') { // TODO: Handle escape characters
-                    break;
-                } else {
-                    this.value.append(at);
-                }
-            }
-            return this.value;
+            final GnomeString result = zeroCopyStrings
+                    ? readString(this.valueView, this.value)
+                    : copyString(this.value);
+            updateSource();
+            return result;
         }
 
         public JsonObject asObject() {
-            jsonObject.wrap(byteBuffer);
+            jsonObject.wrap();
             return jsonObject;
         }
 
         public JsonArray asArray() {
-            jsonArray.wrap(byteBuffer);
+            jsonArray.wrap();
             return jsonArray;
         }
 
         public boolean asBoolean() {
             consumeWhitespace();
-            return byteBuffer.get() == 't'; // lol, tFalse == true
+            if (position == limit) {
+                throw new BufferUnderflowException();
+            }
+            final boolean result = buffer.getByte(position++) == 't'; // lol, tFalse == true
+            updateSource();
+            return result;
         }
 
         public boolean isNull() {
             consumeWhitespace();
-            return byteBuffer.get(byteBuffer.position()) == 'n'
-                    && byteBuffer.get(byteBuffer.position() + 1) == 'u'
-                    && byteBuffer.get(byteBuffer.position() + 2) == 'l'
-                    && byteBuffer.get(byteBuffer.position() + 3) == 'l';
+            updateSource();
+            return limit - position >= 4
+                    && buffer.getByte(position) == 'n'
+                    && buffer.getByte(position + 1) == 'u'
+                    && buffer.getByte(position + 2) == 'l'
+                    && buffer.getByte(position + 3) == 'l';
         }
 
         /**
@@ -281,32 +582,33 @@ public final class JsonDecoder {
         public GnomeString asRawJson() {
             consumeWhitespace();
             captureRawValue(this.value);
+            updateSource();
             return this.value;
         }
 
         private void captureRawValue(final ExpandingMutableString destination) {
-            if (!byteBuffer.hasRemaining()) {
+            if (position == limit) {
                 return;
             }
-            final byte first = byteBuffer.get(byteBuffer.position());
+            final byte first = peek();
             if (first == '{' || first == '[') {
                 final byte closeWith = first == '{' ? (byte) '}' : (byte) ']';
-                destination.append(byteBuffer.get());
+                destination.append(buffer.getByte(position++));
                 captureStructureContent(destination, closeWith);
             } else {
-                while (byteBuffer.hasRemaining()) {
-                    final byte at = byteBuffer.get(byteBuffer.position());
+                while (position < limit) {
+                    final byte at = peek();
                     if (at == ',' || at == '}' || at == ']' || isWhitespace(at)) {
                         break;
                     }
-                    destination.append(byteBuffer.get());
+                    destination.append(buffer.getByte(position++));
                 }
             }
         }
 
         private void captureStructureContent(final ExpandingMutableString destination, final byte closeWith) {
-            while (byteBuffer.hasRemaining()) {
-                final byte at = byteBuffer.get();
+            while (position < limit) {
+                final byte at = buffer.getByte(position++);
                 destination.append(at);
                 if (at == closeWith) {
                     return;
@@ -321,14 +623,14 @@ public final class JsonDecoder {
         }
 
         private void captureStringContent(final ExpandingMutableString destination) {
-            while (byteBuffer.hasRemaining()) {
-                final byte at = byteBuffer.get();
+            while (position < limit) {
+                final byte at = buffer.getByte(position++);
                 destination.append(at);
                 if (at == '"') {
                     return;
                 }
-                if (at == '\\' && byteBuffer.hasRemaining()) {
-                    destination.append(byteBuffer.get());
+                if (at == '\\' && position < limit) {
+                    destination.append(buffer.getByte(position++));
                 }
             }
         }
@@ -336,62 +638,92 @@ public final class JsonDecoder {
 
     public final class JsonObject implements AutoCloseable {
 
-        private ByteBuffer byteBuffer;
-
+        /**
+         * @deprecated objects read from the buffer their decoder wraps, use {@link JsonNode#asObject()}
+         */
+        @Deprecated
         public void wrap(final ByteBuffer newByteBuffer) {
-            this.byteBuffer = newByteBuffer;
+            readFrom(newByteBuffer);
+            wrap();
+        }
+
+        private void wrap() {
             consume((byte) '{');
+            updateSource();
         }
 
         public boolean hasNextKey() {
             consumeWhitespace();
-            return byteBuffer.get(byteBuffer.position()) != '}';
+            updateSource();
+            return peek() != '}';
         }
 
         public JsonNode nextKey() {
             final JsonNode node = consumeNode((byte) '}');
             consume((byte) '"');
-            while (true) {
-                final byte at = byteBuffer.get();
-                if (at == '"') {
-                    break;
-                } else {
-                    node.name.append(at);
-                }
-            }
+            node.currentName = zeroCopyStrings
+                    ? readString(node.nameView, node.name)
+                    : copyString(node.name);
             consume((byte) ':');
+            updateSource();
+            return node;
+        }
 
+        /**
+         * Reads the next key through the matcher instead of copying it, so {@link JsonNode#fieldId()} says which
+         * field it is and {@link JsonNode#getName()} is left empty. An unknown key's value is skipped when the node
+         * is closed.
+         *
+         * @throws BufferUnderflowException if the buffer ends inside the key
+         */
+        public JsonNode nextKey(final JsonFieldMatcher matcher) {
+            final JsonNode node = consumeNode((byte) '}');
+            consume((byte) '"');
+            node.fieldId = matchKey(matcher);
+            consume((byte) ':');
+            updateSource();
             return node;
         }
 
         @Override
         public void close() {
             consumeRecursively((byte) '}');
+            updateSource();
         }
     }
 
     public final class JsonArray implements AutoCloseable {
 
-        private ByteBuffer byteBuffer;
-
+        /**
+         * @deprecated arrays read from the buffer their decoder wraps, use {@link JsonNode#asArray()}
+         */
+        @Deprecated
         public void wrap(final ByteBuffer newByteBuffer) {
-            this.byteBuffer = newByteBuffer;
+            readFrom(newByteBuffer);
+            wrap();
+        }
+
+        private void wrap() {
             consume((byte) '[');
+            updateSource();
         }
 
         public JsonNode nextItem() {
             consumeWhitespace();
+            updateSource();
             return consumeNode((byte) ']');
         }
 
         public boolean hasNextItem() {
             consumeWhitespace();
-            return byteBuffer.get(byteBuffer.position()) != ']';
+            updateSource();
+            return peek() != ']';
         }
 
         @Override
         public void close() {
             consumeRecursively((byte) ']');
+            updateSource();
         }
     }
 }
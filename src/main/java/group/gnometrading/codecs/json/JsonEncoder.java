@@ -1,52 +1,81 @@
 package group.gnometrading.codecs.json;
 
+import static group.gnometrading.utils.AsciiEncoding.digitCount;
+
 import group.gnometrading.strings.GnomeString;
-import group.gnometrading.utils.ByteBufferUtils;
+import group.gnometrading.utils.AsciiEncoding;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Writes JSON into a {@link MutableDirectBuffer} between an offset and a limit, keeping its own cursor. A wrapped
+ * {@link ByteBuffer} is written through a reused {@link UnsafeBuffer} view, and its position is moved along with the
+ * cursor. Writing past the limit throws a {@link BufferOverflowException}.
+ */
 public final class JsonEncoder {
 
     private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
     private static final byte[] TRUE = "true".getBytes(StandardCharsets.UTF_8);
     private static final byte[] FALSE = "false".getBytes(StandardCharsets.UTF_8);
 
-    private ByteBuffer buffer;
+    private final UnsafeBuffer byteBufferView = new UnsafeBuffer(new byte[0]);
+    private MutableDirectBuffer buffer;
+    private ByteBuffer source;
+    private int position;
+    private int limit;
 
     public JsonEncoder() {}
 
     public void wrap(final ByteBuffer newBuffer) {
+        this.byteBufferView.wrap(newBuffer);
+        wrap(this.byteBufferView, newBuffer.position(), newBuffer.remaining());
+        this.source = newBuffer;
+    }
+
+    /**
+     * @param newBuffer the buffer to write to
+     * @param offset the index to write the first byte at
+     * @param length the number of bytes that may be written
+     */
+    public void wrap(final MutableDirectBuffer newBuffer, final int offset, final int length) {
         this.buffer = newBuffer;
+        this.source = null;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * @return the index the next byte will be written at
+     */
+    public int position() {
+        return this.position;
     }
 
     public JsonEncoder writeObjectStart() {
-        this.buffer.put((byte) '{');
-        return this;
+        return writeByte((byte) '{');
     }
 
     public JsonEncoder writeObjectEnd() {
-        this.buffer.put((byte) '}');
-        return this;
+        return writeByte((byte) '}');
     }
 
     public JsonEncoder writeArrayStart() {
-        this.buffer.put((byte) '[');
-        return this;
+        return writeByte((byte) '[');
     }
 
     public JsonEncoder writeArrayEnd() {
-        this.buffer.put((byte) ']');
-        return this;
+        return writeByte((byte) ']');
     }
 
     public JsonEncoder writeComma() {
-        this.buffer.put((byte) ',');
-        return this;
+        return writeByte((byte) ',');
     }
 
     public JsonEncoder writeColon() {
-        this.buffer.put((byte) ':');
-        return this;
+        return writeByte((byte) ':');
     }
 
     public JsonEncoder writeObjectEntry(final String key, final int value) {
@@ -134,62 +163,162 @@ public final class JsonEncoder {
     }
 
     public JsonEncoder writeString(final String value) {
-        this.buffer.put((byte) '"');
-        for (int i = 0; i < value.length(); i++) {
+        final int length = value.length();
+        int escapes = 0;
+        for (int i = 0; i < length; i++) {
+            final byte at = (byte) value.charAt(i);
+            if (at == '"' || at == '\\') {
+                escapes++;
+            }
+        }
+
+        int index = reserve(length + escapes + 2);
+        this.buffer.putByte(index++, (byte) '"');
+        for (int i = 0; i < length; i++) {
             byte at = (byte) value.charAt(i);
             if (at == '"' || at == '\\') {
-                this.buffer.put((byte) '\\');
+                this.buffer.putByte(index++, (byte) '\\');
             }
-            this.buffer.put(at);
+            this.buffer.putByte(index++, at);
         }
-        this.buffer.put((byte) '"');
+        this.buffer.putByte(index, (byte) '"');
+        updateSource();
         return this;
     }
 
+    /**
+     * Copies the runs of bytes between characters that need escaping in bulk.
+     */
     public JsonEncoder writeString(final GnomeString value) {
-        this.buffer.put((byte) '"');
-        for (int i = 0; i < value.length(); i++) {
-            byte at = value.byteAt(i);
-            if (at == '"' || at == '\\') {
-                this.buffer.put((byte) '\\');
+        final byte[] bytes = value.getBytes();
+        final int offset = value.offset();
+        final int length = value.length();
+        int escapes = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] == '"' || bytes[i] == '\\') {
+                escapes++;
+            }
+        }
+
+        int index = reserve(length + escapes + 2);
+        this.buffer.putByte(index++, (byte) '"');
+        int runStart = offset;
+        for (int i = offset; i < offset + length && escapes > 0; i++) {
+            if (bytes[i] == '"' || bytes[i] == '\\') {
+                this.buffer.putBytes(index, bytes, runStart, i - runStart);
+                index += i - runStart;
+                this.buffer.putByte(index++, (byte) '\\');
+                runStart = i;
+                escapes--;
             }
-            this.buffer.put(at);
         }
-        this.buffer.put((byte) '"');
+        this.buffer.putBytes(index, bytes, runStart, offset + length - runStart);
+        index += offset + length - runStart;
+        this.buffer.putByte(index, (byte) '"');
+        updateSource();
         return this;
     }
 
+    /**
+     * Numbers are written straight into the buffer. Their length is worked out first, so the bounds are checked once.
+     */
     public JsonEncoder writeNumber(final int number) {
-        ByteBufferUtils.putIntAscii(this.buffer, number);
+        if (number >= 0) {
+            this.buffer.putNaturalIntAscii(reserve(digitCount(number)), number);
+        } else if (number == Integer.MIN_VALUE) {
+            return writeBytes(AsciiEncoding.MIN_INTEGER_VALUE, AsciiEncoding.MIN_INTEGER_VALUE.length);
+        } else {
+            this.buffer.putIntAscii(reserve(1 + digitCount(-number)), number);
+        }
+        updateSource();
         return this;
     }
 
     public JsonEncoder writeNumber(final long number) {
-        ByteBufferUtils.putLongAscii(this.buffer, number);
+        if (number >= 0) {
+            this.buffer.putNaturalLongAscii(reserve(digitCount(number)), number);
+        } else if (number == Long.MIN_VALUE) {
+            return writeBytes(AsciiEncoding.MIN_LONG_VALUE, AsciiEncoding.MIN_LONG_VALUE.length);
+        } else {
+            this.buffer.putLongAscii(reserve(1 + digitCount(-number)), number);
+        }
+        updateSource();
         return this;
     }
 
+    /**
+     * Writes the number rounded to {@code scale} decimal places, which are always all written. Zero is written as
+     * {@code 0}.
+     */
     public JsonEncoder writeNumber(final double number, final int scale) {
-        ByteBufferUtils.putDoubleAscii(this.buffer, number, scale);
+        if (number == 0) {
+            return writeByte(AsciiEncoding.ZERO);
+        }
+
+        final long unit = AsciiEncoding.LONG_POW_10[scale];
+        final long scaled = Math.round(unit * Math.abs(number));
+        final long integerPart = scaled / unit;
+        final int sign = number < 0 ? 1 : 0;
+        final int integerDigits = digitCount(integerPart);
+
+        int index = reserve(sign + integerDigits + (scale > 0 ? 1 + scale : 0));
+        if (sign != 0) {
+            this.buffer.putByte(index++, (byte) '-');
+        }
+        index += this.buffer.putNaturalLongAscii(index, integerPart);
+        if (scale > 0) {
+            this.buffer.putByte(index, (byte) '.');
+            // The fraction is written from its last digit back, padded with leading zeros
+            long fraction = scaled % unit;
+            for (int i = index + scale; i > index; i--) {
+                this.buffer.putByte(i, (byte) (AsciiEncoding.ZERO + fraction % 10));
+                fraction /= 10;
+            }
+        }
+        updateSource();
         return this;
     }
 
     public JsonEncoder writeBoolean(final boolean value) {
         if (value) {
-            return writeBytes(TRUE);
+            return writeBytes(TRUE, TRUE.length);
         } else {
-            return writeBytes(FALSE);
+            return writeBytes(FALSE, FALSE.length);
         }
     }
 
     public JsonEncoder writeNull() {
-        return writeBytes(NULL);
+        return writeBytes(NULL, NULL.length);
     }
 
-    private JsonEncoder writeBytes(final byte[] bytes) {
-        for (int i = 0; i < bytes.length; i++) {
-            this.buffer.put(bytes[i]);
-        }
+    private JsonEncoder writeByte(final byte value) {
+        this.buffer.putByte(reserve(1), value);
+        updateSource();
         return this;
     }
+
+    private JsonEncoder writeBytes(final byte[] bytes, final int length) {
+        this.buffer.putBytes(reserve(length), bytes, 0, length);
+        updateSource();
+        return this;
+    }
+
+    /**
+     * @return the index to write the bytes at, with the cursor moved past them
+     * @throws BufferOverflowException if there is not enough room before the limit
+     */
+    private int reserve(final int length) {
+        final int index = this.position;
+        if (length > this.limit - index) {
+            throw new BufferOverflowException();
+        }
+        this.position = index + length;
+        return index;
+    }
+
+    private void updateSource() {
+        if (this.source != null) {
+            this.source.position(this.position);
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package group.gnometrading.codecs.json;
+
+import group.gnometrading.strings.ExpandingMutableString;
+import java.nio.BufferUnderflowException;
+import org.agrona.DirectBuffer;
+
+/**
+ * Unescapes the content of JSON strings for the {@link JsonDecoder} and the {@link JsonStreamDecoder}. Escapes are
+ * turned into the bytes they stand for, and unicode escapes into UTF-8.
+ */
+final class JsonEscapes {
+
+    private JsonEscapes() {}
+
+    /**
+     * Unescapes string content into the destination up to the closing quote, reading no further than the limit.
+     *
+     * @return the index just past the closing quote
+     * @throws BufferUnderflowException if the buffer ends before the closing quote
+     */
+    static int appendUnescaped(
+            final DirectBuffer buffer, final int from, final int limit, final ExpandingMutableString destination) {
+        int index = from;
+        while (index < limit) {
+            final byte at = buffer.getByte(index++);
+            if (at == '"') {
+                return index;
+            } else if (at != '\\') {
+                destination.append(at);
+                continue;
+            } else if (index == limit) {
+                break;
+            }
+
+            final byte escaped = buffer.getByte(index++);
+            switch (escaped) {
+                case 'b' -> destination.append((byte) '\b');
+                case 'f' -> destination.append((byte) '\f');
+                case 'n' -> destination.append((byte) '\n');
+                case 'r' -> destination.append((byte) '\r');
+                case 't' -> destination.append((byte) '\t');
+                case 'u' -> index = appendUnicodeEscape(buffer, index, limit, destination);
+                default -> destination.append(escaped); // \" \\ and \/ stand for themselves
+            }
+        }
+        throw new BufferUnderflowException();
+    }
+
+    /**
+     * Appends the UTF-8 encoding of the four hex digits of a unicode escape, joining a surrogate pair written as two
+     * escapes into one code point. Malformed digits are kept as the literal {@code u}.
+     *
+     * @return the index after the digits consumed
+     */
+    private static int appendUnicodeEscape(
+            final DirectBuffer buffer, final int from, final int limit, final ExpandingMutableString destination) {
+        int codePoint = readHexQuad(buffer, from, limit);
+        if (codePoint < 0) {
+            destination.append((byte) 'u');
+            return from;
+        }
+
+        int index = from + 4;
+        if (Character.isHighSurrogate((char) codePoint)
+                && limit - index >= 6
+                && buffer.getByte(index) == '\\'
+                && buffer.getByte(index + 1) == 'u') {
+            final int low = readHexQuad(buffer, index + 2, limit);
+            if (low >= 0 && Character.isLowSurrogate((char) low)) {
+                codePoint = Character.toCodePoint((char) codePoint, (char) low);
+                index += 6;
+            }
+        }
+
+        if (codePoint < 0x80) {
+            destination.append((byte) codePoint);
+        } else if (codePoint < 0x800) {
+            destination.append((byte) (0xC0 | codePoint >>> 6));
+            destination.append((byte) (0x80 | codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            destination.append((byte) (0xE0 | codePoint >>> 12));
+            destination.append((byte) (0x80 | codePoint >>> 6 & 0x3F));
+            destination.append((byte) (0x80 | codePoint & 0x3F));
+        } else {
+            destination.append((byte) (0xF0 | codePoint >>> 18));
+            destination.append((byte) (0x80 | codePoint >>> 12 & 0x3F));
+            destination.append((byte) (0x80 | codePoint >>> 6 & 0x3F));
+            destination.append((byte) (0x80 | codePoint & 0x3F));
+        }
+        return index;
+    }
+
+    /**
+     * @return the value of four hex digits, or -1 if there are fewer than four or one is not a hex digit
+     */
+    private static int readHexQuad(final DirectBuffer buffer, final int from, final int limit) {
+        if (limit - from < 4) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = from; i < from + 4; i++) {
+            final int digit = Character.digit(buffer.getByte(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+}
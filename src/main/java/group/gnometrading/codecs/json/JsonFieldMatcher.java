@@ -0,0 +1,115 @@
+package group.gnometrading.codecs.json;
+
+import group.gnometrading.strings.GnomeString;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Matches object keys against a fixed set of field names, built once and shared by every decode. Each name gets the
+ * id of its position in the constructor, so a decoder can {@code switch} on {@link JsonDecoder.JsonNode#fieldId()}
+ * instead of comparing the key against each name in turn.
+ *
+ * <p>The names are compiled into a trie whose states form a flat transition table. Bytes are first mapped to a
+ * class, one per distinct byte used in any name, which keeps each state's row short. Matching a key costs one table
+ * read per byte, and a key that leaves the trie stops matching straight away. Keys are compared on their raw bytes,
+ * so a key written with escapes only matches a name written with the same escapes.
+ */
+public final class JsonFieldMatcher {
+
+    public static final int MISSING = -1;
+
+    static final int DEAD = 0;
+    static final int ROOT = 1;
+
+    private final String[] names;
+    private final int[] classes;
+    private final int classCount;
+    private final int[] transitions;
+    private final int[] fieldIds;
+
+    /**
+     * @param names the field names to match, each given the id of its index
+     * @throws IllegalArgumentException if a name is given twice
+     */
+    public JsonFieldMatcher(final String... names) {
+        this.names = names.clone();
+        this.classes = new int[256];
+
+        final byte[][] encoded = new byte[names.length][];
+        int nextClass = 1; // Class 0 is every byte that no name uses
+        int totalBytes = 0;
+        for (int i = 0; i < names.length; i++) {
+            encoded[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            totalBytes += encoded[i].length;
+            for (final byte value : encoded[i]) {
+                if (this.classes[value & 0xFF] == 0) {
+                    this.classes[value & 0xFF] = nextClass++;
+                }
+            }
+        }
+        this.classCount = nextClass;
+
+        final int maxStates = ROOT + 1 + totalBytes;
+        final int[] table = new int[maxStates * this.classCount];
+        final int[] ids = new int[maxStates];
+        Arrays.fill(ids, MISSING);
+        int stateCount = ROOT + 1;
+        for (int i = 0; i < encoded.length; i++) {
+            int state = ROOT;
+            for (final byte value : encoded[i]) {
+                final int slot = state * this.classCount + this.classes[value & 0xFF];
+                if (table[slot] == DEAD) {
+                    table[slot] = stateCount++;
+                }
+                state = table[slot];
+            }
+            if (ids[state] != MISSING) {
+                throw new IllegalArgumentException("Duplicate field name: " + names[i]);
+            }
+            ids[state] = i;
+        }
+
+        this.transitions = Arrays.copyOf(table, stateCount * this.classCount);
+        this.fieldIds = Arrays.copyOf(ids, stateCount);
+    }
+
+    /**
+     * @return the number of field names
+     */
+    public int size() {
+        return this.names.length;
+    }
+
+    /**
+     * @return the name with the given field id
+     * @throws IndexOutOfBoundsException if no name has the id
+     */
+    public String name(final int fieldId) {
+        return this.names[fieldId];
+    }
+
+    /**
+     * @return the field id of the name, or {@link #MISSING} if it is not one of the field names
+     */
+    public int match(final GnomeString name) {
+        int state = ROOT;
+        for (int i = 0; i < name.length() && state != DEAD; i++) {
+            state = step(state, name.byteAt(i));
+        }
+        return fieldId(state);
+    }
+
+    /**
+     * @return the state after reading the byte, which is {@link #DEAD} once no name can match
+     */
+    int step(final int state, final byte value) {
+        return this.transitions[state * this.classCount + this.classes[value & 0xFF]];
+    }
+
+    /**
+     * @return the field id of the name that ends at the state, or {@link #MISSING}
+     */
+    int fieldId(final int state) {
+        return this.fieldIds[state];
+    }
+}
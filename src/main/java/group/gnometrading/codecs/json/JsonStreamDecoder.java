@@ -0,0 +1,289 @@
+package group.gnometrading.codecs.json;
+
+import group.gnometrading.strings.DirectViewString;
+import group.gnometrading.strings.ExpandingMutableString;
+import group.gnometrading.strings.GnomeString;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Decodes a stream of JSON values arriving in fragments, such as WebSocket continuation frames or partial socket
+ * reads, handing each token to a {@link JsonStreamListener} as soon as it completes. The parser state (the open
+ * objects and arrays, whether the next string is a key, and how far it is through a string or an escape) is kept
+ * between calls to {@link #feed(ByteBuffer)}, so the fields at the front of a large snapshot are read while the rest
+ * of it is still arriving, and every byte is looked at once no matter how the stream is cut up.
+ *
+ * <p>Tokens are read in place from the fed buffer: keys, strings and numbers are passed to the listener as a
+ * {@link DirectViewString} onto it, which hands out a heap buffer's own array. Only a token cut off by the end of a
+ * fragment is copied, into a staging array that grows to fit the longest such token, and is completed from there
+ * once the rest of it arrives. Strings with escapes are unescaped into a reused string first.
+ *
+ * <p>Values may be separated by whitespace, as in newline-delimited JSON. A bare number or literal at the top level
+ * has no closing byte, so it only completes once the whitespace or bracket after it has been fed. Like the
+ * {@link JsonDecoder}, the decoder trusts its input to be well-formed beyond telling its tokens apart.
+ *
+ * <pre>{@code
+ * while (buffer.hasRemaining()) {
+ *     if (stream.feed(buffer)) {
+ *         // a top-level value has completed
+ *     }
+ * }
+ * }</pre>
+ */
+public final class JsonStreamDecoder {
+
+    private static final int DEFAULT_STAGING_CAPACITY = 1 << 8;
+    private static final int DEFAULT_DEPTH = 16;
+    private static final byte NO_TOKEN = 0;
+    private static final byte STRING_TOKEN = 1;
+    private static final byte SCALAR_TOKEN = 2;
+
+    private final JsonStreamListener listener;
+    private final UnsafeBuffer fedView = new UnsafeBuffer(new byte[0]);
+    private final UnsafeBuffer stagedView = new UnsafeBuffer(new byte[0]);
+    private final DirectViewString view = new DirectViewString();
+    private final ExpandingMutableString unescaped = new ExpandingMutableString();
+    private byte[] staging;
+    private int stagedLength;
+    private boolean[] objects = new boolean[DEFAULT_DEPTH];
+    private int depth;
+    private boolean expectKey;
+    private byte token;
+    private int tokenStart;
+    private boolean escaped;
+    private boolean hasEscapes;
+
+    public JsonStreamDecoder(final JsonStreamListener listener) {
+        this(listener, DEFAULT_STAGING_CAPACITY);
+    }
+
+    /**
+     * @param listener the listener tokens are handed to
+     * @param stagingCapacity the number of bytes to stage tokens split across fragments in before growing
+     */
+    public JsonStreamDecoder(final JsonStreamListener listener, final int stagingCapacity) {
+        this.listener = listener;
+        this.staging = new byte[Math.max(stagingCapacity, 1)];
+        this.stagedView.wrap(this.staging);
+    }
+
+    /**
+     * Decodes the buffer up to the end of the next top-level value. If the value completes, the buffer is left
+     * positioned just after it, so the rest of the buffer can be fed again for the values that follow. Otherwise the
+     * whole buffer is consumed, and the tokens of the value that completed in it have already been handed on.
+     *
+     * @return true if a top-level value completed
+     * @throws IllegalArgumentException if a top-level value starts with a closing bracket
+     */
+    public boolean feed(final ByteBuffer buffer) {
+        this.fedView.wrap(buffer);
+        this.tokenStart = buffer.position();
+        final int end = scan(buffer.position(), buffer.limit());
+        buffer.position(end < 0 ? buffer.limit() : end);
+        return end >= 0;
+    }
+
+    /**
+     * Drops any partial value, for example when the connection it was arriving on is lost.
+     */
+    public void reset() {
+        this.stagedLength = 0;
+        this.depth = 0;
+        this.expectKey = false;
+        this.token = NO_TOKEN;
+        this.escaped = false;
+        this.hasEscapes = false;
+    }
+
+    int stagedBytes() {
+        return this.stagedLength;
+    }
+
+    /**
+     * @return the index just past the end of the current top-level value, or -1 if it does not end before the limit
+     */
+    private int scan(final int from, final int limit) {
+        int index = from;
+        while (index < limit) {
+            if (this.token != NO_TOKEN) {
+                final int end = this.token == STRING_TOKEN ? endOfString(index, limit) : endOfScalar(index, limit);
+                if (end < 0) {
+                    break;
+                }
+                completeToken(end);
+                index = end;
+                if (this.depth == 0) {
+                    return index;
+                }
+                continue;
+            }
+
+            index = Swar.skipWhitespace(this.fedView, index, limit);
+            if (index == limit) {
+                break;
+            }
+
+            final byte at = this.fedView.getByte(index);
+            if (at == '"') {
+                this.token = STRING_TOKEN;
+                this.tokenStart = index++;
+                this.hasEscapes = false;
+                continue;
+            } else if (!isStructural(at)) {
+                this.token = SCALAR_TOKEN;
+                this.tokenStart = index++;
+                continue;
+            }
+
+            index++;
+            switch (at) {
+                case '{' -> {
+                    push(true);
+                    this.listener.onObjectStart();
+                }
+                case '[' -> {
+                    push(false);
+                    this.listener.onArrayStart();
+                }
+                case '}' -> {
+                    pop();
+                    this.listener.onObjectEnd();
+                }
+                case ']' -> {
+                    pop();
+                    this.listener.onArrayEnd();
+                }
+                case ',' -> this.expectKey = this.depth > 0 && this.objects[this.depth - 1];
+                default -> this.expectKey = false; // the colon between a key and its value
+            }
+            if (this.depth == 0) {
+                return index;
+            }
+        }
+
+        if (this.token != NO_TOKEN) {
+            stage(this.tokenStart, limit);
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index just past the closing quote of the current string, or -1 if it does not end before the limit
+     */
+    private int endOfString(final int from, final int limit) {
+        int index = from;
+        if (this.escaped) {
+            this.escaped = false;
+            index++;
+        }
+        while (true) {
+            final int stop = Swar.indexOfEither(this.fedView, index, limit, Swar.QUOTES, Swar.BACKSLASHES);
+            if (stop == limit) {
+                return -1;
+            } else if (this.fedView.getByte(stop) == '"') {
+                return stop + 1;
+            }
+
+            this.hasEscapes = true;
+            if (stop + 1 == limit) {
+                this.escaped = true;
+                return -1;
+            }
+            index = stop + 2;
+        }
+    }
+
+    /**
+     * @return the index of the byte after the current number or literal, or -1 if it does not end before the limit
+     */
+    private int endOfScalar(final int from, final int limit) {
+        for (int index = from; index < limit; index++) {
+            final byte at = this.fedView.getByte(index);
+            if (Swar.isWhitespace(at) || isStructural(at)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isStructural(final byte value) {
+        return value == ',' || value == ':' || value == '"' || value == '{' || value == '}' || value == '['
+                || value == ']';
+    }
+
+    /**
+     * Hands the token ending at the index to the listener, from the fed buffer if it started there or from the
+     * staging array if it started in an earlier fragment.
+     */
+    private void completeToken(final int end) {
+        if (this.stagedLength == 0) {
+            emitToken(this.fedView, this.tokenStart, end);
+        } else {
+            stage(this.tokenStart, end);
+            emitToken(this.stagedView, 0, this.stagedLength);
+            this.stagedLength = 0;
+        }
+        this.token = NO_TOKEN;
+    }
+
+    private void emitToken(final DirectBuffer buffer, final int start, final int end) {
+        if (this.token == STRING_TOKEN) {
+            final GnomeString value;
+            if (this.hasEscapes) {
+                this.unescaped.reset();
+                JsonEscapes.appendUnescaped(buffer, start + 1, end, this.unescaped);
+                value = this.unescaped;
+            } else {
+                value = view(buffer, start + 1, end - 1);
+            }
+
+            if (this.expectKey) {
+                this.expectKey = false;
+                this.listener.onKey(value);
+            } else {
+                this.listener.onString(value);
+            }
+            return;
+        }
+
+        switch (buffer.getByte(start)) {
+            case 't' -> this.listener.onBoolean(true);
+            case 'f' -> this.listener.onBoolean(false);
+            case 'n' -> this.listener.onNull();
+            default -> this.listener.onNumber(view(buffer, start, end));
+        }
+    }
+
+    private GnomeString view(final DirectBuffer buffer, final int start, final int end) {
+        this.view.wrap(buffer, start, end - start);
+        return this.view;
+    }
+
+    private void push(final boolean object) {
+        if (this.depth == this.objects.length) {
+            this.objects = Arrays.copyOf(this.objects, 2 * this.depth);
+        }
+        this.objects[this.depth++] = object;
+        this.expectKey = object;
+    }
+
+    private void pop() {
+        if (this.depth == 0) {
+            throw new IllegalArgumentException("Unexpected closing bracket at the start of a value");
+        }
+        this.depth--;
+        this.expectKey = false;
+    }
+
+    private void stage(final int from, final int to) {
+        final int length = to - from;
+        if (this.staging.length - this.stagedLength < length) {
+            this.staging = Arrays.copyOf(this.staging, Math.max(2 * this.staging.length, this.stagedLength + length));
+            this.stagedView.wrap(this.staging);
+        }
+        this.fedView.getBytes(from, this.staging, this.stagedLength, length);
+        this.stagedLength += length;
+    }
+}
@@ -0,0 +1,39 @@
+package group.gnometrading.codecs.json;
+
+import group.gnometrading.strings.GnomeString;
+
+/**
+ * Receives the tokens of JSON values from a {@link JsonStreamDecoder} as each one completes, in document order.
+ * Keys, strings and numbers are passed as views that are only valid until the call returns, so copy them out to keep
+ * them. Every method does nothing by default, so a listener only overrides the tokens it reads.
+ */
+public interface JsonStreamListener {
+
+    default void onObjectStart() {}
+
+    default void onObjectEnd() {}
+
+    default void onArrayStart() {}
+
+    default void onArrayEnd() {}
+
+    /**
+     * @param key the unescaped key of the object entry whose value follows
+     */
+    default void onKey(GnomeString key) {}
+
+    /**
+     * @param value the unescaped contents of a string value
+     */
+    default void onString(GnomeString value) {}
+
+    /**
+     * @param value the number as written, to read with {@link GnomeString#toInt()} or
+     *     {@link GnomeString#toFixedPointLong(long)}
+     */
+    default void onNumber(GnomeString value) {}
+
+    default void onBoolean(boolean value) {}
+
+    default void onNull() {}
+}
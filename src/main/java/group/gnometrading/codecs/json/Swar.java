@@ -0,0 +1,177 @@
+package group.gnometrading.codecs.json;
+
+import java.nio.ByteOrder;
+import org.agrona.DirectBuffer;
+
+/**
+ * Byte searches that test eight bytes of a buffer at once, SIMD within a register. Each input word is compared
+ * against a pattern holding the wanted byte in every lane, and the lanes that match get their high bit set. Words
+ * are read little-endian, so the lowest set bit of a mask belongs to the earliest byte. All searches take absolute
+ * indices and stop at the limit they are given.
+ */
+final class Swar {
+
+    static final long QUOTES = broadcast((byte) '"');
+    static final long BACKSLASHES = broadcast((byte) '\\');
+    static final long COMMAS = broadcast((byte) ',');
+    static final long OPEN_BRACKETS = broadcast((byte) '[');
+    static final long OPEN_BRACES = broadcast((byte) '{');
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long BYTE_MASK = 0xFFL;
+    private static final long SPACES = broadcast((byte) ' ');
+    private static final long TABS = broadcast((byte) '\t');
+    private static final long LINEFEEDS = broadcast((byte) '\n');
+    private static final long CARRIAGE_RETURNS = broadcast((byte) '\r');
+
+    private Swar() {}
+
+    /**
+     * @return a pattern with the value in every byte
+     */
+    static long broadcast(final byte value) {
+        return (value & BYTE_MASK) * ONES;
+    }
+
+    /**
+     * Sets the high bit of every byte of the word that equals the same byte of the pattern. Unlike the shorter
+     * {@code (x - ONES) & ~x} test this is exact in every lane, so a mask can be combined with others by or-ing.
+     */
+    static long matches(final long word, final long pattern) {
+        final long difference = word ^ pattern;
+        return ~(((difference & LOW_BITS) + LOW_BITS) | difference) & HIGH_BITS;
+    }
+
+    private static long word(final DirectBuffer buffer, final int index) {
+        return buffer.getLong(index, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return the index within the word of the earliest byte flagged in a non-zero mask
+     */
+    static int firstFlagged(final long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    /**
+     * @return the index of the first byte equal to the pattern's byte at or after from, or the limit if there is none
+     */
+    static int indexOf(final DirectBuffer buffer, final int from, final int limit, final long pattern) {
+        final byte target = (byte) pattern;
+        // Delimiters often follow straight on, so try the first byte before reading whole words
+        if (from < limit && buffer.getByte(from) == target) {
+            return from;
+        }
+
+        int index = from;
+        while (limit - index >= Long.BYTES) {
+            final long mask = matches(word(buffer, index), pattern);
+            if (mask != 0) {
+                return index + firstFlagged(mask);
+            }
+            index += Long.BYTES;
+        }
+
+        while (index < limit && buffer.getByte(index) != target) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return the index of the first byte equal to either pattern's byte at or after from, or the limit if there is
+     *     none
+     */
+    static int indexOfEither(
+            final DirectBuffer buffer, final int from, final int limit, final long first, final long second) {
+        int index = from;
+        while (limit - index >= Long.BYTES) {
+            final long word = word(buffer, index);
+            final long mask = matches(word, first) | matches(word, second);
+            if (mask != 0) {
+                return index + firstFlagged(mask);
+            }
+            index += Long.BYTES;
+        }
+
+        while (index < limit) {
+            final byte at = buffer.getByte(index);
+            if (at == (byte) first || at == (byte) second) {
+                return index;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return the index of the first byte equal to any of the patterns' bytes at or after from, or the limit if
+     *     there is none
+     */
+    static int indexOfAny(
+            final DirectBuffer buffer,
+            final int from,
+            final int limit,
+            final long first,
+            final long second,
+            final long third,
+            final long fourth) {
+        if (from < limit) {
+            final byte at = buffer.getByte(from);
+            if (at == (byte) first || at == (byte) second || at == (byte) third || at == (byte) fourth) {
+                return from;
+            }
+        }
+
+        int index = from;
+        while (limit - index >= Long.BYTES) {
+            final long word = word(buffer, index);
+            final long mask =
+                    matches(word, first) | matches(word, second) | matches(word, third) | matches(word, fourth);
+            if (mask != 0) {
+                return index + firstFlagged(mask);
+            }
+            index += Long.BYTES;
+        }
+
+        while (index < limit) {
+            final byte at = buffer.getByte(index);
+            if (at == (byte) first || at == (byte) second || at == (byte) third || at == (byte) fourth) {
+                return index;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return the index of the first byte that is not a JSON whitespace character at or after from, or the limit if
+     *     there is none
+     */
+    static int skipWhitespace(final DirectBuffer buffer, final int from, final int limit) {
+        int index = from;
+        while (limit - index >= Long.BYTES) {
+            final long word = word(buffer, index);
+            final long whitespace = matches(word, SPACES)
+                    | matches(word, TABS)
+                    | matches(word, LINEFEEDS)
+                    | matches(word, CARRIAGE_RETURNS);
+            final long mask = ~whitespace & HIGH_BITS;
+            if (mask != 0) {
+                return index + firstFlagged(mask);
+            }
+            index += Long.BYTES;
+        }
+
+        while (index < limit && isWhitespace(buffer.getByte(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    static boolean isWhitespace(final byte value) {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r';
+    }
+}
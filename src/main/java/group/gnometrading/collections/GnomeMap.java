@@ -25,6 +25,14 @@ public interface GnomeMap<K, V> extends Resettable {
 
     void forEachKey(Consumer<K> consumer);
 
+    /**
+     * Returns this map's cursor, rewound to before the first entry. The same instance is handed out on every call,
+     * so only one traversal can be in progress at a time.
+     *
+     * @return the map's cursor
+     */
+    GnomeMapCursor<K, V> cursor();
+
     @Override
     default void reset() {
         clear();
@@ -0,0 +1,469 @@
+package group.gnometrading.collections;
+
+import group.gnometrading.strings.DirectViewString;
+import group.gnometrading.strings.GnomeString;
+import group.gnometrading.strings.ViewString;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Single-threaded open-addressing map keyed on the bytes of a {@link GnomeString}. Key bytes are copied into one
+ * internal byte array on insert, so lookups can be made straight from a {@link ViewString} over a decoder's buffer
+ * or a reused {@link group.gnometrading.strings.MutableString}, without building a String per message.
+ *
+ * <p>Each slot keeps the key's full hash next to where its bytes live, so a probe only compares bytes once the hash
+ * and length already match. Keys are hashed eight bytes at a time rather than with the byte-by-byte loop of
+ * {@link ViewString#hashCode()}. A {@link DirectViewString} key is hashed and compared straight from its buffer, so
+ * an off-heap key is never copied to look it up. Bytes of removed keys are reclaimed when the key storage next fills
+ * up.
+ *
+ * <p>Keys handed out by {@link #forEachKey} and the cursor are {@link DirectViewString} views into the map's own
+ * storage and are only valid until the map is next modified. Null keys and values are not allowed.
+ *
+ * @param <V> the value type stored in this map
+ */
+public final class GnomeStringMap<V> implements GnomeMap<GnomeString, V> {
+    static final int MAX_CAPACITY = 1 << 30;
+    static final float DEFAULT_LOAD_FACTOR = 0.65f;
+    static final int DEFAULT_CAPACITY = 1 << 7;
+    static final int INITIAL_BYTES_PER_KEY = 16;
+
+    private static final int EMPTY_HASH = 0;
+    private static final int SUBSTITUTE_HASH = 1;
+
+    private final float loadFactor;
+    private final UnsafeBuffer keyBuffer = new UnsafeBuffer();
+    private final DirectViewString keyView = new DirectViewString();
+    private final Cursor cursor;
+    private int[] hashTable; // full hash of each slot's key, EMPTY_HASH for a free slot
+    private int[] keyOffsets;
+    private int[] keyLengths;
+    private V[] valueTable;
+    private int mask;
+    private int count;
+    private int loadThreshold;
+    private byte[] keyBytes;
+    private int keyBytesUsed;
+    private int liveKeyBytes;
+
+    public GnomeStringMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public GnomeStringMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity number of entries to size the table for before it has to grow
+     * @param loadFactor fraction of slots that may be used before the table doubles, between 0.1 and 0.9
+     */
+    public GnomeStringMap(int initialCapacity, float loadFactor) {
+        this.loadFactor = OpenAddressing.checkLoadFactor(loadFactor);
+        allocate(OpenAddressing.tableSize(initialCapacity, loadFactor, MAX_CAPACITY));
+        this.keyBytes = new byte[Math.max(initialCapacity, 1) * INITIAL_BYTES_PER_KEY];
+        this.keyBuffer.wrap(this.keyBytes);
+        this.cursor = new Cursor();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(final int tableSize) {
+        this.hashTable = new int[tableSize];
+        this.keyOffsets = new int[tableSize];
+        this.keyLengths = new int[tableSize];
+        this.valueTable = (V[]) new Object[tableSize];
+        this.mask = tableSize - 1;
+        this.loadThreshold = OpenAddressing.loadThreshold(tableSize, this.loadFactor, MAX_CAPACITY);
+    }
+
+    @Override
+    public V get(final GnomeString key) {
+        final int index = find(key);
+        return index < 0 ? null : this.valueTable[index];
+    }
+
+    /**
+     * Looks up a key held in part of a byte array, such as a field of a message that has not been wrapped in a
+     * string view.
+     */
+    public V get(final byte[] bytes, final int offset, final int length) {
+        final int index = find(hash(bytes, offset, length), bytes, offset, length);
+        return index < 0 ? null : this.valueTable[index];
+    }
+
+    @Override
+    public V put(final GnomeString key, final V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value must not be null");
+        }
+
+        final DirectViewString direct = key instanceof DirectViewString view ? view : null;
+        final byte[] bytes = direct == null ? key.getBytes() : null;
+        final int length = key.length();
+        final int hash;
+        int index;
+        if (direct == null) {
+            hash = hash(bytes, key.offset(), length);
+            index = find(hash, bytes, key.offset(), length);
+        } else {
+            hash = hash(direct.buffer(), direct.index(), length);
+            index = find(hash, direct.buffer(), direct.index(), length);
+        }
+
+        if (index >= 0) {
+            final V previous = this.valueTable[index];
+            this.valueTable[index] = value;
+            return previous;
+        }
+
+        if (this.count >= this.loadThreshold) {
+            grow();
+            index = freeSlot(hash);
+        } else {
+            index = ~index;
+        }
+
+        final int keyOffset = reserveKeyBytes(length);
+        if (direct == null) {
+            System.arraycopy(bytes, key.offset(), this.keyBytes, keyOffset, length);
+        } else {
+            direct.buffer().getBytes(direct.index(), this.keyBytes, keyOffset, length);
+        }
+        this.hashTable[index] = hash;
+        this.keyOffsets[index] = keyOffset;
+        this.keyLengths[index] = length;
+        this.valueTable[index] = value;
+        this.count++;
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(final GnomeString key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return this.count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * @return the size of the array holding the key bytes
+     */
+    int keyBytesCapacity() {
+        return this.keyBytes.length;
+    }
+
+    @Override
+    public V remove(final GnomeString key) {
+        final int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+
+        final V previous = this.valueTable[index];
+        removeSlot(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (this.count > 0) {
+            Arrays.fill(this.hashTable, EMPTY_HASH);
+            Arrays.fill(this.valueTable, null);
+            this.count = 0;
+        }
+        this.keyBytesUsed = 0;
+        this.liveKeyBytes = 0;
+    }
+
+    /**
+     * Copies every key into a new string, so unlike the other accessors this allocates.
+     */
+    @Override
+    @SuppressWarnings("checkstyle:IllegalType")
+    public Collection<GnomeString> keys() {
+        Collection<GnomeString> result = new HashSet<>(this.count);
+        for (int i = 0; i < this.hashTable.length; i++) {
+            if (this.hashTable[i] != EMPTY_HASH) {
+                final int offset = this.keyOffsets[i];
+                result.add(new ViewString(Arrays.copyOfRange(this.keyBytes, offset, offset + this.keyLengths[i])));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void forEachValue(Consumer<V> consumer) {
+        for (int i = 0; i < this.hashTable.length; i++) {
+            if (this.hashTable[i] != EMPTY_HASH) {
+                consumer.accept(this.valueTable[i]);
+            }
+        }
+    }
+
+    /**
+     * The same view is passed for every key, so it must not be kept beyond the call.
+     */
+    @Override
+    public void forEachKey(Consumer<GnomeString> consumer) {
+        for (int i = 0; i < this.hashTable.length; i++) {
+            if (this.hashTable[i] != EMPTY_HASH) {
+                this.keyView.wrap(this.keyBuffer, this.keyOffsets[i], this.keyLengths[i]);
+                consumer.accept(this.keyView);
+            }
+        }
+    }
+
+    @Override
+    public GnomeMapCursor<GnomeString, V> cursor() {
+        this.cursor.reset();
+        return this.cursor;
+    }
+
+    private static int hash(final byte[] bytes, final int offset, final int length) {
+        final int hash = OpenAddressing.hashBytes(bytes, offset, length);
+        return hash == EMPTY_HASH ? SUBSTITUTE_HASH : hash;
+    }
+
+    private static int hash(final DirectBuffer buffer, final int index, final int length) {
+        final int hash = OpenAddressing.hashBytes(buffer, index, length);
+        return hash == EMPTY_HASH ? SUBSTITUTE_HASH : hash;
+    }
+
+    private int find(final GnomeString key) {
+        if (key instanceof DirectViewString direct) {
+            final int index = direct.index();
+            final int length = direct.length();
+            return find(hash(direct.buffer(), index, length), direct.buffer(), index, length);
+        }
+        final byte[] bytes = key.getBytes();
+        final int offset = key.offset();
+        final int length = key.length();
+        return find(hash(bytes, offset, length), bytes, offset, length);
+    }
+
+    /**
+     * @return the slot holding the key, or the complement of the empty slot the probe stopped at
+     */
+    private int find(final int hash, final byte[] bytes, final int offset, final int length) {
+        int index = hash & this.mask;
+        int existing;
+        while ((existing = this.hashTable[index]) != EMPTY_HASH) {
+            if (existing == hash && matches(index, bytes, offset, length)) {
+                return index;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return ~index;
+    }
+
+    /**
+     * @return the slot holding the key, or the complement of the empty slot the probe stopped at
+     */
+    private int find(final int hash, final DirectBuffer buffer, final int bufferIndex, final int length) {
+        int index = hash & this.mask;
+        int existing;
+        while ((existing = this.hashTable[index]) != EMPTY_HASH) {
+            if (existing == hash && matches(index, buffer, bufferIndex, length)) {
+                return index;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return ~index;
+    }
+
+    private boolean matches(final int index, final byte[] bytes, final int offset, final int length) {
+        final int keyOffset = this.keyOffsets[index];
+        return this.keyLengths[index] == length
+                && Arrays.equals(this.keyBytes, keyOffset, keyOffset + length, bytes, offset, offset + length);
+    }
+
+    private boolean matches(final int index, final DirectBuffer buffer, final int bufferIndex, final int length) {
+        return this.keyLengths[index] == length
+                && OpenAddressing.equalBytes(this.keyBuffer, this.keyOffsets[index], buffer, bufferIndex, length);
+    }
+
+    private int freeSlot(final int hash) {
+        int index = hash & this.mask;
+        while (this.hashTable[index] != EMPTY_HASH) {
+            index = (index + 1) & this.mask;
+        }
+        return index;
+    }
+
+    /**
+     * @return the offset in the key storage of room for a key of the given length, which the caller copies in
+     */
+    private int reserveKeyBytes(final int length) {
+        if (length > this.keyBytes.length - this.keyBytesUsed) {
+            compactKeyBytes(length);
+        }
+
+        final int keyOffset = this.keyBytesUsed;
+        this.keyBytesUsed += length;
+        this.liveKeyBytes += length;
+        return keyOffset;
+    }
+
+    /**
+     * Copies the bytes of the keys still in the map into a fresh array, leaving at least as much room again free
+     * so that compactions stay rare.
+     */
+    private void compactKeyBytes(final int extraLength) {
+        final long required = 2L * (this.liveKeyBytes + extraLength);
+        long newLength = Math.max(this.keyBytes.length, 1);
+        while (newLength < required) {
+            newLength <<= 1;
+        }
+        if (newLength > Integer.MAX_VALUE - Long.BYTES) {
+            throw new IllegalStateException("Key storage cannot grow beyond " + Integer.MAX_VALUE + " bytes");
+        }
+
+        final byte[] newKeyBytes = new byte[(int) newLength];
+        int used = 0;
+        for (int i = 0; i < this.hashTable.length; i++) {
+            if (this.hashTable[i] != EMPTY_HASH) {
+                System.arraycopy(this.keyBytes, this.keyOffsets[i], newKeyBytes, used, this.keyLengths[i]);
+                this.keyOffsets[i] = used;
+                used += this.keyLengths[i];
+            }
+        }
+        this.keyBytes = newKeyBytes;
+        this.keyBuffer.wrap(newKeyBytes);
+        this.keyBytesUsed = used;
+    }
+
+    private void removeSlot(final int index) {
+        this.liveKeyBytes -= this.keyLengths[index];
+        this.hashTable[index] = EMPTY_HASH;
+        this.valueTable[index] = null;
+        this.count--;
+        shiftBack(index);
+    }
+
+    private void shiftBack(final int removed) {
+        int hole = removed;
+        int index = (hole + 1) & this.mask;
+        int hash;
+        while ((hash = this.hashTable[index]) != EMPTY_HASH) {
+            final int home = hash & this.mask;
+            // Move the entry into the hole unless its home slot lies after the hole in the probe run
+            if (((index - home) & this.mask) >= ((index - hole) & this.mask)) {
+                this.hashTable[hole] = hash;
+                this.keyOffsets[hole] = this.keyOffsets[index];
+                this.keyLengths[hole] = this.keyLengths[index];
+                this.valueTable[hole] = this.valueTable[index];
+                this.hashTable[index] = EMPTY_HASH;
+                this.valueTable[index] = null;
+                hole = index;
+            }
+            index = (index + 1) & this.mask;
+        }
+    }
+
+    private void grow() {
+        final int[] oldHashes = this.hashTable;
+        final int[] oldOffsets = this.keyOffsets;
+        final int[] oldLengths = this.keyLengths;
+        final V[] oldValues = this.valueTable;
+        if (oldHashes.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("Map cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+
+        allocate(oldHashes.length << 1);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY_HASH) {
+                final int index = freeSlot(oldHashes[i]);
+                this.hashTable[index] = oldHashes[i];
+                this.keyOffsets[index] = oldOffsets[i];
+                this.keyLengths[index] = oldLengths[i];
+                this.valueTable[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Walks the table downwards starting just below an empty slot, so that the entries shifted back by a removal
+     * have all been visited already. The key is a view into the map's storage, re-pointed on every call to key().
+     */
+    private final class Cursor implements GnomeMapCursor<GnomeString, V> {
+        private static final int NO_SLOT = -1;
+
+        private final DirectViewString cursorKey = new DirectViewString();
+        private boolean started;
+        private int position;
+        private int end;
+        private int slot = NO_SLOT;
+
+        @Override
+        public boolean next() {
+            if (!this.started) {
+                start();
+            }
+
+            while (--this.position > this.end) {
+                final int index = this.position & mask;
+                if (hashTable[index] != EMPTY_HASH) {
+                    this.slot = index;
+                    return true;
+                }
+            }
+            this.position = this.end + 1;
+            this.slot = NO_SLOT;
+            return false;
+        }
+
+        private void start() {
+            // The load threshold always leaves at least one slot free
+            int empty = mask;
+            while (hashTable[empty] != EMPTY_HASH) {
+                empty--;
+            }
+            this.started = true;
+            this.position = empty;
+            this.end = empty - hashTable.length;
+        }
+
+        @Override
+        public GnomeString key() {
+            checkSlot();
+            this.cursorKey.wrap(keyBuffer, keyOffsets[this.slot], keyLengths[this.slot]);
+            return this.cursorKey;
+        }
+
+        @Override
+        public V value() {
+            checkSlot();
+            return valueTable[this.slot];
+        }
+
+        @Override
+        public void remove() {
+            checkSlot();
+            removeSlot(this.slot);
+            this.slot = NO_SLOT;
+        }
+
+        @Override
+        public void reset() {
+            this.started = false;
+            this.slot = NO_SLOT;
+        }
+
+        private void checkSlot() {
+            if (this.slot == NO_SLOT) {
+                throw new IllegalStateException("Cursor is not positioned on an entry");
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package group.gnometrading.collections;
+
+/**
+ * The incremental rehash shared by the chained hash maps ({@link IntHashMap}, {@link LongHashMap},
+ * {@link IntToIntHashMap} and {@link PooledHashMap}) when they are built with {@code incrementalRehash} set.
+ *
+ * <p>A resize then only allocates the doubled table and keeps the old one as the previous table. Every following put
+ * and remove calls {@link #advance} to move the key's own bucket, so the caller only has to look in the current
+ * table, plus the next {@link #BUCKETS_PER_OPERATION} buckets of the previous table. Lookups and iteration check both
+ * tables until the previous one is empty. This bounds the cost of any single put at the price of a slightly slower
+ * lookup while a resize is in progress. A resize that starts before the last one has finished completes it first
+ * with {@link #finish}.
+ *
+ * <p>Each node caches the hash of its key, so buckets are moved without recomputing it.
+ */
+final class IncrementalRehash {
+
+    // Enough to finish moving the old table before the new one fills up at any sensible load factor
+    static final int BUCKETS_PER_OPERATION = 8;
+
+    private IncrementalRehash() {}
+
+    /**
+     * A chained hash table entry. Subclasses add the key and value.
+     */
+    abstract static class Node<N extends Node<N>> {
+        int hash;
+        N next;
+    }
+
+    /**
+     * Moves the bucket the hash falls in, then the next {@link #BUCKETS_PER_OPERATION} buckets in order, from the
+     * previous table into the current one.
+     *
+     * @return the index of the next bucket to move, which is the previous table's length once it is empty
+     */
+    static <N extends Node<N>> int advance(
+            final N[] previousTable, final N[] hashTable, final int rehashIndex, final int hash) {
+        moveBucket(previousTable, hash & (previousTable.length - 1), hashTable);
+        final int end = Math.min(rehashIndex + BUCKETS_PER_OPERATION, previousTable.length);
+        for (int idx = rehashIndex; idx < end; idx++) {
+            moveBucket(previousTable, idx, hashTable);
+        }
+        return end;
+    }
+
+    /**
+     * Moves every bucket of the previous table from the rehash index onwards into the current one.
+     */
+    static <N extends Node<N>> void finish(final N[] previousTable, final N[] hashTable, final int rehashIndex) {
+        for (int idx = rehashIndex; idx < previousTable.length; idx++) {
+            moveBucket(previousTable, idx, hashTable);
+        }
+    }
+
+    private static <N extends Node<N>> void moveBucket(final N[] previousTable, final int idx, final N[] hashTable) {
+        N node = previousTable[idx];
+        previousTable[idx] = null;
+        while (node != null) {
+            final N next = node.next;
+            final int newIdx = node.hash & (hashTable.length - 1);
+            node.next = hashTable[newIdx];
+            hashTable[newIdx] = node;
+            node = next;
+        }
+    }
+
+    /**
+     * Walks the buckets of the current table, then those of the previous table if an incremental rehash is still in
+     * progress. Removal unlinks the node in place rather than going through the map's remove, which would move
+     * buckets between the two tables under the cursor.
+     */
+    abstract static class Cursor<N extends Node<N>> {
+        private N[] table;
+        private int bucket;
+        private N current;
+        private N nextNode;
+
+        /**
+         * @return the map's current table
+         */
+        abstract N[] hashTable();
+
+        /**
+         * @return the table being moved out of, or null if no rehash is in progress
+         */
+        abstract N[] previousTable();
+
+        /**
+         * Unlinks the node from the bucket of the table and releases it.
+         */
+        abstract void unlink(N[] fromTable, int idx, N node);
+
+        public boolean next() {
+            N node = this.nextNode;
+            while (node == null) {
+                if (this.bucket + 1 < this.table.length) {
+                    node = this.table[++this.bucket];
+                } else if (this.table == hashTable() && previousTable() != null) {
+                    this.table = previousTable();
+                    this.bucket = -1;
+                } else {
+                    this.current = null;
+                    return false;
+                }
+            }
+
+            this.current = node;
+            this.nextNode = node.next;
+            return true;
+        }
+
+        public void remove() {
+            unlink(this.table, this.bucket, currentNode());
+            this.current = null;
+        }
+
+        public void reset() {
+            this.table = hashTable();
+            this.bucket = -1;
+            this.current = null;
+            this.nextNode = null;
+        }
+
+        final N currentNode() {
+            if (this.current == null) {
+                throw new IllegalStateException("Cursor is not positioned on an entry");
+            }
+            return this.current;
+        }
+    }
+}
@@ -26,6 +26,14 @@ public interface IntMap<T> extends Resettable {
 
     void forEachKey(IntConsumer consumer);
 
+    /**
+     * Returns this map's cursor, rewound to before the first entry. The same instance is handed out on every call,
+     * so only one traversal can be in progress at a time.
+     *
+     * @return the map's cursor
+     */
+    IntMapCursor<T> cursor();
+
     @Override
     default void reset() {
         clear();
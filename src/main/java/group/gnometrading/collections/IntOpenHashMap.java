@@ -0,0 +1,329 @@
+package group.gnometrading.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Single-threaded open-addressing int map. Keys and values live in two parallel arrays and collisions are resolved
+ * by linear probing, so a lookup is a hash and a short scan of adjacent keys, usually within one cache line, with
+ * no node objects or pool behind it. The value array is only read once the key has been found. Removal shifts the
+ * following entries of the probe run back instead of leaving tombstones, so lookups stay short however many
+ * removals there are.
+ *
+ * <p>Key 0 marks an empty slot in the table, so an entry for key 0 is kept in a field of its own. Null values are
+ * not allowed, since get() returns null for a missing key.
+ *
+ * @param <T> the value type stored in this map
+ */
+public final class IntOpenHashMap<T> implements IntMap<T> {
+    static final int MAX_CAPACITY = 1 << 30;
+    static final float DEFAULT_LOAD_FACTOR = 0.65f;
+    static final int DEFAULT_CAPACITY = 1 << 7;
+
+    private static final int EMPTY_KEY = 0;
+
+    private final float loadFactor;
+    private final Cursor cursor;
+    private int[] keyTable;
+    private T[] valueTable;
+    private int mask;
+    private int tableCount; // entries in the table, excluding key 0
+    private int loadThreshold;
+    private T emptyKeyValue;
+
+    public IntOpenHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntOpenHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity number of entries to size the table for before it has to grow
+     * @param loadFactor fraction of slots that may be used before the table doubles, between 0.1 and 0.9
+     */
+    public IntOpenHashMap(int initialCapacity, float loadFactor) {
+        this.loadFactor = OpenAddressing.checkLoadFactor(loadFactor);
+        allocate(OpenAddressing.tableSize(initialCapacity, loadFactor, MAX_CAPACITY));
+        this.cursor = new Cursor();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(final int tableSize) {
+        this.keyTable = new int[tableSize];
+        this.valueTable = (T[]) new Object[tableSize];
+        this.mask = tableSize - 1;
+        this.loadThreshold = OpenAddressing.loadThreshold(tableSize, this.loadFactor, MAX_CAPACITY);
+    }
+
+    @Override
+    public T get(final int key) {
+        if (key == EMPTY_KEY) {
+            return this.emptyKeyValue;
+        }
+
+        int index = OpenAddressing.hash(key, this.mask);
+        int existing;
+        while ((existing = this.keyTable[index]) != EMPTY_KEY) {
+            if (existing == key) {
+                return this.valueTable[index];
+            }
+            index = (index + 1) & this.mask;
+        }
+        return null;
+    }
+
+    @Override
+    public T put(final int key, final T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value must not be null");
+        }
+        if (key == EMPTY_KEY) {
+            final T previous = this.emptyKeyValue;
+            this.emptyKeyValue = value;
+            return previous;
+        }
+
+        int index = OpenAddressing.hash(key, this.mask);
+        int existing;
+        while ((existing = this.keyTable[index]) != EMPTY_KEY) {
+            if (existing == key) {
+                final T previous = this.valueTable[index];
+                this.valueTable[index] = value;
+                return previous;
+            }
+            index = (index + 1) & this.mask;
+        }
+
+        if (this.tableCount >= this.loadThreshold) {
+            grow();
+            index = freeSlot(key);
+        }
+
+        this.keyTable[index] = key;
+        this.valueTable[index] = value;
+        this.tableCount++;
+        return null;
+    }
+
+    private int freeSlot(final int key) {
+        int index = OpenAddressing.hash(key, this.mask);
+        while (this.keyTable[index] != EMPTY_KEY) {
+            index = (index + 1) & this.mask;
+        }
+        return index;
+    }
+
+    @Override
+    public boolean containsKey(final int key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return this.tableCount + (this.emptyKeyValue != null ? 1 : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public T remove(final int key) {
+        if (key == EMPTY_KEY) {
+            final T previous = this.emptyKeyValue;
+            this.emptyKeyValue = null;
+            return previous;
+        }
+
+        int index = OpenAddressing.hash(key, this.mask);
+        int existing;
+        while ((existing = this.keyTable[index]) != EMPTY_KEY) {
+            if (existing == key) {
+                final T previous = this.valueTable[index];
+                removeSlot(index);
+                return previous;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return null;
+    }
+
+    private void removeSlot(final int index) {
+        this.keyTable[index] = EMPTY_KEY;
+        this.valueTable[index] = null;
+        this.tableCount--;
+        shiftBack(index);
+    }
+
+    private void shiftBack(final int removed) {
+        int hole = removed;
+        int index = (hole + 1) & this.mask;
+        int key;
+        while ((key = this.keyTable[index]) != EMPTY_KEY) {
+            final int home = OpenAddressing.hash(key, this.mask);
+            // Move the entry into the hole unless its home slot lies after the hole in the probe run
+            if (((index - home) & this.mask) >= ((index - hole) & this.mask)) {
+                this.keyTable[hole] = key;
+                this.valueTable[hole] = this.valueTable[index];
+                this.keyTable[index] = EMPTY_KEY;
+                this.valueTable[index] = null;
+                hole = index;
+            }
+            index = (index + 1) & this.mask;
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (this.tableCount > 0) {
+            Arrays.fill(this.keyTable, EMPTY_KEY);
+            Arrays.fill(this.valueTable, null);
+            this.tableCount = 0;
+        }
+        this.emptyKeyValue = null;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalType")
+    public Collection<Integer> keys() {
+        Collection<Integer> result = new HashSet<>(size());
+        forEachKey(result::add);
+        return result;
+    }
+
+    @Override
+    public void forEachValue(Consumer<T> consumer) {
+        if (this.emptyKeyValue != null) {
+            consumer.accept(this.emptyKeyValue);
+        }
+        for (int i = 0; i < this.keyTable.length; i++) {
+            if (this.keyTable[i] != EMPTY_KEY) {
+                consumer.accept(this.valueTable[i]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(IntConsumer consumer) {
+        if (this.emptyKeyValue != null) {
+            consumer.accept(EMPTY_KEY);
+        }
+        for (int i = 0; i < this.keyTable.length; i++) {
+            if (this.keyTable[i] != EMPTY_KEY) {
+                consumer.accept(this.keyTable[i]);
+            }
+        }
+    }
+
+    @Override
+    public IntMapCursor<T> cursor() {
+        this.cursor.reset();
+        return this.cursor;
+    }
+
+    private void grow() {
+        final int[] oldKeys = this.keyTable;
+        final T[] oldValues = this.valueTable;
+        if (oldKeys.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("Map cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                final int index = freeSlot(oldKeys[i]);
+                this.keyTable[index] = oldKeys[i];
+                this.valueTable[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Visits key 0 first, then walks the table downwards starting just below an empty slot. Removing an entry
+     * shifts the rest of its probe run back, and walking downwards from an empty slot means that run has already
+     * been visited, so no entry is skipped or seen twice.
+     */
+    private final class Cursor implements IntMapCursor<T> {
+        private static final int NO_SLOT = -1;
+        private static final int EMPTY_KEY_SLOT = -2;
+
+        private boolean started;
+        private int position;
+        private int end;
+        private int slot = NO_SLOT;
+
+        @Override
+        public boolean next() {
+            if (!this.started) {
+                start();
+                if (emptyKeyValue != null) {
+                    this.slot = EMPTY_KEY_SLOT;
+                    return true;
+                }
+            }
+
+            while (--this.position > this.end) {
+                final int index = this.position & mask;
+                if (keyTable[index] != EMPTY_KEY) {
+                    this.slot = index;
+                    return true;
+                }
+            }
+            this.position = this.end + 1;
+            this.slot = NO_SLOT;
+            return false;
+        }
+
+        private void start() {
+            // The load threshold always leaves at least one slot free
+            int empty = mask;
+            while (keyTable[empty] != EMPTY_KEY) {
+                empty--;
+            }
+            this.started = true;
+            this.position = empty;
+            this.end = empty - keyTable.length;
+        }
+
+        @Override
+        public int key() {
+            checkSlot();
+            return this.slot == EMPTY_KEY_SLOT ? EMPTY_KEY : keyTable[this.slot];
+        }
+
+        @Override
+        public T value() {
+            checkSlot();
+            return this.slot == EMPTY_KEY_SLOT ? emptyKeyValue : valueTable[this.slot];
+        }
+
+        @Override
+        public void remove() {
+            checkSlot();
+            if (this.slot == EMPTY_KEY_SLOT) {
+                emptyKeyValue = null;
+            } else {
+                removeSlot(this.slot);
+            }
+            this.slot = NO_SLOT;
+        }
+
+        @Override
+        public void reset() {
+            this.started = false;
+            this.slot = NO_SLOT;
+        }
+
+        private void checkSlot() {
+            if (this.slot == NO_SLOT) {
+                throw new IllegalStateException("Cursor is not positioned on an entry");
+            }
+        }
+    }
+}
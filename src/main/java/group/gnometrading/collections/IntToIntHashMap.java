@@ -22,9 +22,12 @@ public final class IntToIntHashMap implements IntToIntMap {
 
     private final Pool<Node> nodePool;
     private final float loadFactor;
+    private final boolean incrementalRehash;
     private Node[] hashTable;
     private int count;
     private int loadThreshold;
+    private Node[] previousTable; // the table being moved out of during an incremental rehash
+    private int rehashIndex;
 
     public IntToIntHashMap() {
         this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
@@ -35,6 +38,16 @@ public final class IntToIntHashMap implements IntToIntMap {
     }
 
     public IntToIntHashMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity, loadFactor, false);
+    }
+
+    /**
+     * @param initialCapacity the initial number of buckets, rounded up to a power of 2
+     * @param loadFactor the fraction of buckets in use at which the table is doubled
+     * @param incrementalRehash whether to spread resizes over the following puts and removes, see
+     *     {@link IncrementalRehash}
+     */
+    public IntToIntHashMap(int initialCapacity, float loadFactor, boolean incrementalRehash) {
         this.nodePool = new SingleThreadedObjectPool<>(Node::new, DEFAULT_NODE_POOL_CAPACITY);
 
         int capacity = 1;
@@ -43,6 +56,7 @@ public final class IntToIntHashMap implements IntToIntMap {
         }
 
         this.loadFactor = loadFactor;
+        this.incrementalRehash = incrementalRehash;
         this.count = 0;
         this.hashTable = new Node[capacity];
         setTable(this.hashTable);
@@ -58,6 +72,15 @@ public final class IntToIntHashMap implements IntToIntMap {
             }
             node = node.next;
         }
+        if (this.previousTable != null) {
+            node = this.previousTable[hash & (this.previousTable.length - 1)];
+            while (node != null) {
+                if (node.key == key) {
+                    return node.value;
+                }
+                node = node.next;
+            }
+        }
         return MISSING;
     }
 
@@ -67,6 +90,9 @@ public final class IntToIntHashMap implements IntToIntMap {
         if (count == loadThreshold) {
             rehash();
         }
+        if (this.previousTable != null) {
+            advanceRehash(hash);
+        }
 
         int idx = hash & (this.hashTable.length - 1);
         Node node = this.hashTable[idx];
@@ -82,6 +108,7 @@ public final class IntToIntHashMap implements IntToIntMap {
             var newNode = newPoolNode.getItem();
 
             newNode.key = key;
+            newNode.hash = hash;
             newNode.value = value;
             newNode.self = newPoolNode;
             newNode.next = this.hashTable[idx];
@@ -105,9 +132,20 @@ public final class IntToIntHashMap implements IntToIntMap {
         return this.count == 0;
     }
 
+    /**
+     * @return true while an incremental rehash is still moving entries out of the previous table
+     */
+    boolean isRehashing() {
+        return this.previousTable != null;
+    }
+
     @Override
     public int remove(final int key) {
         final int hash = hash(key);
+        if (this.previousTable != null) {
+            advanceRehash(hash);
+        }
+
         int idx = hash & (this.hashTable.length - 1);
 
         var node = this.hashTable[idx];
@@ -135,13 +173,10 @@ public final class IntToIntHashMap implements IntToIntMap {
 
     @Override
     public void clear() {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node at = this.hashTable[i];
-            while (at != null) {
-                nodePool.release(at.self);
-                at = at.next;
-            }
-            this.hashTable[i] = null;
+        releaseAll(this.hashTable);
+        if (this.previousTable != null) {
+            releaseAll(this.previousTable);
+            this.previousTable = null;
         }
         this.count = 0;
     }
@@ -150,35 +185,26 @@ public final class IntToIntHashMap implements IntToIntMap {
     @SuppressWarnings("checkstyle:IllegalType")
     public Collection<Integer> keys() {
         Collection<Integer> keys = new HashSet<>(size());
-        for (int idx = 0; idx < this.hashTable.length; idx++) {
-            Node current = this.hashTable[idx];
-            while (current != null) {
-                keys.add(current.key);
-                current = current.next;
-            }
+        addKeys(this.hashTable, keys);
+        if (this.previousTable != null) {
+            addKeys(this.previousTable, keys);
         }
         return keys;
     }
 
     @Override
     public void forEachValue(final IntConsumer consumer) {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node node = this.hashTable[i];
-            while (node != null) {
-                consumer.accept(node.value);
-                node = node.next;
-            }
+        forEachValue(this.hashTable, consumer);
+        if (this.previousTable != null) {
+            forEachValue(this.previousTable, consumer);
         }
     }
 
     @Override
     public void forEachKey(final IntConsumer consumer) {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node node = this.hashTable[i];
-            while (node != null) {
-                consumer.accept(node.key);
-                node = node.next;
-            }
+        forEachKey(this.hashTable, consumer);
+        if (this.previousTable != null) {
+            forEachKey(this.previousTable, consumer);
         }
     }
 
@@ -193,6 +219,14 @@ public final class IntToIntHashMap implements IntToIntMap {
             return;
         }
 
+        if (this.incrementalRehash) {
+            finishRehash();
+            this.previousTable = oldTable;
+            this.rehashIndex = 0;
+            setTable(new Node[oldTable.length << 1]);
+            return;
+        }
+
         final Node[] newTable = new Node[oldTable.length << 1];
         for (int tableIdx = 0; tableIdx < oldTable.length; tableIdx++) {
             Node node = oldTable[tableIdx];
@@ -224,14 +258,68 @@ public final class IntToIntHashMap implements IntToIntMap {
         setTable(newTable);
     }
 
+    private void releaseAll(final Node[] table) {
+        for (int i = 0; i < table.length; i++) {
+            Node at = table[i];
+            while (at != null) {
+                nodePool.release(at.self);
+                at = at.next;
+            }
+            table[i] = null;
+        }
+    }
+
+    private static void addKeys(final Node[] table, final Collection<Integer> keys) {
+        for (int idx = 0; idx < table.length; idx++) {
+            Node current = table[idx];
+            while (current != null) {
+                keys.add(current.key);
+                current = current.next;
+            }
+        }
+    }
+
+    private static void forEachValue(final Node[] table, final IntConsumer consumer) {
+        for (int i = 0; i < table.length; i++) {
+            Node node = table[i];
+            while (node != null) {
+                consumer.accept(node.value);
+                node = node.next;
+            }
+        }
+    }
+
+    private static void forEachKey(final Node[] table, final IntConsumer consumer) {
+        for (int i = 0; i < table.length; i++) {
+            Node node = table[i];
+            while (node != null) {
+                consumer.accept(node.key);
+                node = node.next;
+            }
+        }
+    }
+
+    private void advanceRehash(final int hash) {
+        this.rehashIndex = IncrementalRehash.advance(this.previousTable, this.hashTable, this.rehashIndex, hash);
+        if (this.rehashIndex == this.previousTable.length) {
+            this.previousTable = null;
+        }
+    }
+
+    private void finishRehash() {
+        if (this.previousTable != null) {
+            IncrementalRehash.finish(this.previousTable, this.hashTable, this.rehashIndex);
+            this.previousTable = null;
+        }
+    }
+
     private static int hash(final int key) {
         return key;
     }
 
-    private static class Node {
+    private static class Node extends IncrementalRehash.Node<Node> {
         int key = -1;
         int value = -1;
-        Node next = null;
         PoolNode<Node> self = null;
     }
 }
@@ -0,0 +1,196 @@
+package group.gnometrading.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Single-threaded open-addressing int-to-int map with no boxing and no node objects. Each key is stored next to its
+ * value in one int array, so a lookup touches a single cache line in the common case. Collisions are resolved by
+ * linear probing and removal shifts the rest of the probe run back instead of leaving tombstones.
+ *
+ * <p>Returns {@link #MISSING} from {@link #get} and {@link #remove} when a key is absent. MISSING also marks empty
+ * slots, so it cannot be stored as a value.
+ */
+public final class IntToIntOpenHashMap implements IntToIntMap {
+
+    public static final int MISSING = IntToIntHashMap.MISSING;
+
+    static final int MAX_CAPACITY = 1 << 29;
+    static final float DEFAULT_LOAD_FACTOR = 0.65f;
+    static final int DEFAULT_CAPACITY = 1 << 7;
+
+    private final float loadFactor;
+    private int[] entries; // key at 2 * slot, value at 2 * slot + 1
+    private int mask;
+    private int count;
+    private int loadThreshold;
+
+    public IntToIntOpenHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntToIntOpenHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity number of entries to size the table for before it has to grow
+     * @param loadFactor fraction of slots that may be used before the table doubles, between 0.1 and 0.9
+     */
+    public IntToIntOpenHashMap(int initialCapacity, float loadFactor) {
+        this.loadFactor = OpenAddressing.checkLoadFactor(loadFactor);
+        allocate(OpenAddressing.tableSize(initialCapacity, loadFactor, MAX_CAPACITY));
+    }
+
+    private void allocate(final int tableSize) {
+        this.entries = new int[tableSize << 1];
+        Arrays.fill(this.entries, MISSING);
+        this.mask = tableSize - 1;
+        this.loadThreshold = OpenAddressing.loadThreshold(tableSize, this.loadFactor, MAX_CAPACITY);
+    }
+
+    @Override
+    public int get(final int key) {
+        int slot = OpenAddressing.hash(key, this.mask);
+        int value;
+        while ((value = this.entries[(slot << 1) + 1]) != MISSING) {
+            if (this.entries[slot << 1] == key) {
+                return value;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return MISSING;
+    }
+
+    @Override
+    public void put(final int key, final int value) {
+        if (value == MISSING) {
+            throw new IllegalArgumentException("MISSING cannot be stored as a value");
+        }
+
+        int slot = OpenAddressing.hash(key, this.mask);
+        while (this.entries[(slot << 1) + 1] != MISSING) {
+            if (this.entries[slot << 1] == key) {
+                this.entries[(slot << 1) + 1] = value;
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        if (this.count >= this.loadThreshold) {
+            grow();
+            slot = freeSlot(key);
+        }
+
+        this.entries[slot << 1] = key;
+        this.entries[(slot << 1) + 1] = value;
+        this.count++;
+    }
+
+    private int freeSlot(final int key) {
+        int slot = OpenAddressing.hash(key, this.mask);
+        while (this.entries[(slot << 1) + 1] != MISSING) {
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    @Override
+    public boolean containsKey(final int key) {
+        return get(key) != MISSING;
+    }
+
+    @Override
+    public int size() {
+        return this.count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    @Override
+    public int remove(final int key) {
+        int slot = OpenAddressing.hash(key, this.mask);
+        int value;
+        while ((value = this.entries[(slot << 1) + 1]) != MISSING) {
+            if (this.entries[slot << 1] == key) {
+                this.entries[(slot << 1) + 1] = MISSING;
+                this.count--;
+                shiftBack(slot);
+                return value;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return MISSING;
+    }
+
+    private void shiftBack(final int removed) {
+        int hole = removed;
+        int slot = (hole + 1) & this.mask;
+        while (this.entries[(slot << 1) + 1] != MISSING) {
+            final int home = OpenAddressing.hash(this.entries[slot << 1], this.mask);
+            // Move the entry into the hole unless its home slot lies after the hole in the probe run
+            if (((slot - home) & this.mask) >= ((slot - hole) & this.mask)) {
+                this.entries[hole << 1] = this.entries[slot << 1];
+                this.entries[(hole << 1) + 1] = this.entries[(slot << 1) + 1];
+                this.entries[(slot << 1) + 1] = MISSING;
+                hole = slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (this.count > 0) {
+            Arrays.fill(this.entries, MISSING);
+            this.count = 0;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalType")
+    public Collection<Integer> keys() {
+        Collection<Integer> result = new HashSet<>(size());
+        forEachKey(result::add);
+        return result;
+    }
+
+    @Override
+    public void forEachValue(final IntConsumer consumer) {
+        for (int i = 1; i < this.entries.length; i += 2) {
+            if (this.entries[i] != MISSING) {
+                consumer.accept(this.entries[i]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(final IntConsumer consumer) {
+        for (int i = 0; i < this.entries.length; i += 2) {
+            if (this.entries[i + 1] != MISSING) {
+                consumer.accept(this.entries[i]);
+            }
+        }
+    }
+
+    private void grow() {
+        final int[] oldEntries = this.entries;
+        if (oldEntries.length >> 1 >= MAX_CAPACITY) {
+            throw new IllegalStateException("Map cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+
+        allocate(oldEntries.length);
+        for (int i = 0; i < oldEntries.length; i += 2) {
+            if (oldEntries[i + 1] != MISSING) {
+                final int slot = freeSlot(oldEntries[i]);
+                this.entries[slot << 1] = oldEntries[i];
+                this.entries[(slot << 1) + 1] = oldEntries[i + 1];
+            }
+        }
+    }
+}
@@ -22,9 +22,13 @@ public final class LongHashMap<T> implements LongMap<T> {
 
     private final Pool<Node<T>> nodePool;
     private final float loadFactor;
+    private final boolean incrementalRehash;
+    private final Cursor cursor;
     private Node<T>[] hashTable;
     private int count;
     private int loadThreshold;
+    private Node<T>[] previousTable; // the table being moved out of during an incremental rehash
+    private int rehashIndex;
 
     public LongHashMap() {
         this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
@@ -35,6 +39,16 @@ public final class LongHashMap<T> implements LongMap<T> {
     }
 
     public LongHashMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity, loadFactor, false);
+    }
+
+    /**
+     * @param initialCapacity the initial number of buckets, rounded up to a power of 2
+     * @param loadFactor the fraction of buckets in use at which the table is doubled
+     * @param incrementalRehash whether to spread resizes over the following puts and removes, see
+     *     {@link IncrementalRehash}
+     */
+    public LongHashMap(int initialCapacity, float loadFactor, boolean incrementalRehash) {
         this.nodePool = new SingleThreadedObjectPool<Node<T>>(
                 () -> new Node(), DEFAULT_NODE_POOL_CAPACITY); // TODO: Good number here for capacity?
 
@@ -44,9 +58,11 @@ public final class LongHashMap<T> implements LongMap<T> {
         }
 
         this.loadFactor = loadFactor;
+        this.incrementalRehash = incrementalRehash;
         this.count = 0;
         final Node<T>[] table = Node.createArray(capacity);
         setTable(table);
+        this.cursor = new Cursor();
     }
 
     @Override
@@ -59,6 +75,15 @@ public final class LongHashMap<T> implements LongMap<T> {
             }
             node = node.next;
         }
+        if (this.previousTable != null) {
+            node = this.previousTable[hash & (this.previousTable.length - 1)];
+            while (node != null) {
+                if (node.key == key) {
+                    return node.value;
+                }
+                node = node.next;
+            }
+        }
         return null;
     }
 
@@ -68,6 +93,9 @@ public final class LongHashMap<T> implements LongMap<T> {
         if (count == loadThreshold) {
             rehash();
         }
+        if (this.previousTable != null) {
+            advanceRehash(hash);
+        }
 
         int idx = hash & (this.hashTable.length - 1);
         Node<T> node = this.hashTable[idx];
@@ -85,6 +113,7 @@ public final class LongHashMap<T> implements LongMap<T> {
             var newNode = newPoolNode.getItem();
 
             newNode.key = key;
+            newNode.hash = hash;
             newNode.value = value;
             newNode.self = newPoolNode;
             newNode.next = this.hashTable[idx];
@@ -109,9 +138,20 @@ public final class LongHashMap<T> implements LongMap<T> {
         return this.count == 0;
     }
 
+    /**
+     * @return true while an incremental rehash is still moving entries out of the previous table
+     */
+    boolean isRehashing() {
+        return this.previousTable != null;
+    }
+
     @Override
     public T remove(final long key) {
         final int hash = hash(key);
+        if (this.previousTable != null) {
+            advanceRehash(hash);
+        }
+
         int idx = hash & (this.hashTable.length - 1);
 
         var node = this.hashTable[idx];
@@ -138,13 +178,10 @@ public final class LongHashMap<T> implements LongMap<T> {
 
     @Override
     public void clear() {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node<T> at = this.hashTable[i];
-            while (at != null) {
-                nodePool.release(at.self);
-                at = at.next;
-            }
-            this.hashTable[i] = null;
+        releaseAll(this.hashTable);
+        if (this.previousTable != null) {
+            releaseAll(this.previousTable);
+            this.previousTable = null;
         }
         this.count = 0;
     }
@@ -153,38 +190,35 @@ public final class LongHashMap<T> implements LongMap<T> {
     @SuppressWarnings("checkstyle:IllegalType")
     public Collection<Long> keys() {
         Collection<Long> keys = new HashSet<>(size());
-        for (int idx = 0; idx < this.hashTable.length; idx++) {
-            Node<T> current = this.hashTable[idx];
-            while (current != null) {
-                keys.add(current.key);
-                current = current.next;
-            }
+        addKeys(this.hashTable, keys);
+        if (this.previousTable != null) {
+            addKeys(this.previousTable, keys);
         }
         return keys;
     }
 
     @Override
     public void forEachValue(Consumer<T> consumer) {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node<T> node = this.hashTable[i];
-            while (node != null) {
-                consumer.accept(node.value);
-                node = node.next;
-            }
+        forEachValue(this.hashTable, consumer);
+        if (this.previousTable != null) {
+            forEachValue(this.previousTable, consumer);
         }
     }
 
     @Override
     public void forEachKey(LongConsumer consumer) {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node<T> node = this.hashTable[i];
-            while (node != null) {
-                consumer.accept(node.key);
-                node = node.next;
-            }
+        forEachKey(this.hashTable, consumer);
+        if (this.previousTable != null) {
+            forEachKey(this.previousTable, consumer);
         }
     }
 
+    @Override
+    public LongMapCursor<T> cursor() {
+        this.cursor.reset();
+        return this.cursor;
+    }
+
     private void setTable(Node<T>[] newHashTable) {
         this.hashTable = newHashTable;
         this.loadThreshold = (int) (this.hashTable.length * this.loadFactor);
@@ -197,6 +231,14 @@ public final class LongHashMap<T> implements LongMap<T> {
             return;
         }
 
+        if (this.incrementalRehash) {
+            finishRehash();
+            this.previousTable = oldTable;
+            this.rehashIndex = 0;
+            setTable(Node.createArray(oldTable.length << 1));
+            return;
+        }
+
         final Node<T>[] newTable = Node.createArray(oldTable.length << 1);
         for (int tableIdx = 0; tableIdx < oldTable.length; tableIdx++) {
             Node<T> node = oldTable[tableIdx];
@@ -228,14 +270,115 @@ public final class LongHashMap<T> implements LongMap<T> {
         setTable(newTable);
     }
 
+    private void unlink(final Node<T>[] table, final int idx, final Node<T> node) {
+        if (table[idx] == node) {
+            table[idx] = node.next;
+        } else {
+            var prev = table[idx];
+            while (prev.next != node) {
+                prev = prev.next;
+            }
+            prev.next = node.next;
+        }
+
+        nodePool.release(node.self);
+        this.count--;
+    }
+
+    private void releaseAll(final Node<T>[] table) {
+        for (int i = 0; i < table.length; i++) {
+            Node<T> at = table[i];
+            while (at != null) {
+                nodePool.release(at.self);
+                at = at.next;
+            }
+            table[i] = null;
+        }
+    }
+
+    private static <T> void addKeys(final Node<T>[] table, final Collection<Long> keys) {
+        for (int idx = 0; idx < table.length; idx++) {
+            Node<T> current = table[idx];
+            while (current != null) {
+                keys.add(current.key);
+                current = current.next;
+            }
+        }
+    }
+
+    private static <T> void forEachValue(final Node<T>[] table, final Consumer<T> consumer) {
+        for (int i = 0; i < table.length; i++) {
+            Node<T> node = table[i];
+            while (node != null) {
+                consumer.accept(node.value);
+                node = node.next;
+            }
+        }
+    }
+
+    private static <T> void forEachKey(final Node<T>[] table, final LongConsumer consumer) {
+        for (int i = 0; i < table.length; i++) {
+            Node<T> node = table[i];
+            while (node != null) {
+                consumer.accept(node.key);
+                node = node.next;
+            }
+        }
+    }
+
+    private void advanceRehash(final int hash) {
+        this.rehashIndex = IncrementalRehash.advance(this.previousTable, this.hashTable, this.rehashIndex, hash);
+        if (this.rehashIndex == this.previousTable.length) {
+            this.previousTable = null;
+        }
+    }
+
+    private void finishRehash() {
+        if (this.previousTable != null) {
+            IncrementalRehash.finish(this.previousTable, this.hashTable, this.rehashIndex);
+            this.previousTable = null;
+        }
+    }
+
     private static int hash(final long key) {
         return (int) (key ^ (key >>> LONG_KEY_SHIFT));
     }
 
-    private static class Node<T> {
+    private final class Cursor extends IncrementalRehash.Cursor<Node<T>> implements LongMapCursor<T> {
+
+        Cursor() {
+            reset();
+        }
+
+        @Override
+        Node<T>[] hashTable() {
+            return hashTable;
+        }
+
+        @Override
+        Node<T>[] previousTable() {
+            return previousTable;
+        }
+
+        @Override
+        void unlink(final Node<T>[] fromTable, final int idx, final Node<T> node) {
+            LongHashMap.this.unlink(fromTable, idx, node);
+        }
+
+        @Override
+        public long key() {
+            return currentNode().key;
+        }
+
+        @Override
+        public T value() {
+            return currentNode().value;
+        }
+    }
+
+    private static class Node<T> extends IncrementalRehash.Node<Node<T>> {
         long key = -1;
         T value = null;
-        Node<T> next = null;
         PoolNode<Node<T>> self = null;
 
         @SuppressWarnings("unchecked")
@@ -0,0 +1,54 @@
+package group.gnometrading.collections;
+
+import group.gnometrading.utils.Resettable;
+
+/**
+ * Reusable cursor over the entries of a {@link LongMap}. Keys come back as primitives alongside their values, and
+ * walking the map allocates nothing. Typical use:
+ *
+ * <pre>{@code
+ * final LongMapCursor<Order> cursor = orders.cursor();
+ * while (cursor.next()) {
+ *     if (cursor.value().isExpired()) {
+ *         cursor.remove();
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>The map must not be modified while a traversal is in progress, other than through {@link #remove()}.
+ *
+ * @param <T> the value type of the map
+ */
+public interface LongMapCursor<T> extends Resettable {
+    /**
+     * Moves to the next entry.
+     *
+     * @return true if there is one, false once every entry has been visited
+     */
+    boolean next();
+
+    /**
+     * @return the key of the current entry
+     * @throws IllegalStateException if there is no current entry
+     */
+    long key();
+
+    /**
+     * @return the value of the current entry
+     * @throws IllegalStateException if there is no current entry
+     */
+    T value();
+
+    /**
+     * Removes the current entry from the map. The traversal carries on with the entry after it.
+     *
+     * @throws IllegalStateException if there is no current entry, or it has already been removed
+     */
+    void remove();
+
+    /**
+     * Rewinds the cursor to before the first entry.
+     */
+    @Override
+    void reset();
+}
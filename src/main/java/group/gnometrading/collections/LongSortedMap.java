@@ -0,0 +1,350 @@
+package group.gnometrading.collections;
+
+import group.gnometrading.pools.Pool;
+import group.gnometrading.pools.PoolNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Single-threaded long map that keeps its keys in order, meant for the price levels of one side of an order book.
+ * Keys are ordered ascending (asks) or descending (bids), and the first key in that order is the best one. The
+ * first key and value, and the key and value at any rank below it, are read in O(1). Lookups are a binary search.
+ *
+ * <p>Entries sit in flat sorted arrays with the first entry at the end, so adding or removing a level near the top
+ * of the book only moves the few levels above it, and nothing is boxed or allocated once the arrays are big enough.
+ * Iteration, {@link #forEachKey}, {@link #forEachValue} and the cursor all run from the first key onwards.
+ *
+ * <p>Given a {@link Pool}, {@link #getOrAcquire} takes the value for a new key from the pool, and removing the key
+ * hands it back. Pooled values come back as they were released, so callers should reset them. Null values are not
+ * allowed.
+ *
+ * @param <T> the value type stored in this map
+ */
+public final class LongSortedMap<T> implements LongMap<T> {
+    static final int DEFAULT_CAPACITY = 1 << 6;
+
+    private final boolean descending;
+    private final Pool<T> valuePool;
+    private final Cursor cursor;
+    private long[] keys; // encoded keys, ascending, so the first key in map order is at count - 1
+    private T[] values;
+    private PoolNode<T>[] valueNodes; // the pool node of each pooled value, null for values passed to put
+    private int count;
+
+    /**
+     * @param descending whether the largest key comes first, as for bids
+     */
+    public LongSortedMap(boolean descending) {
+        this(descending, DEFAULT_CAPACITY, null);
+    }
+
+    public LongSortedMap(boolean descending, int initialCapacity) {
+        this(descending, initialCapacity, null);
+    }
+
+    /**
+     * @param descending whether the largest key comes first, as for bids
+     * @param initialCapacity number of entries to size the arrays for before they have to grow
+     * @param valuePool pool that {@link #getOrAcquire} takes new values from, or null to only allow {@link #put}
+     */
+    @SuppressWarnings("unchecked")
+    public LongSortedMap(boolean descending, int initialCapacity, Pool<T> valuePool) {
+        final int capacity = Math.max(initialCapacity, 1);
+        this.descending = descending;
+        this.valuePool = valuePool;
+        this.keys = new long[capacity];
+        this.values = (T[]) new Object[capacity];
+        this.valueNodes = createNodeArray(capacity);
+        this.cursor = new Cursor();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> PoolNode<T>[] createNodeArray(final int size) {
+        return new PoolNode[size];
+    }
+
+    public boolean isDescending() {
+        return this.descending;
+    }
+
+    /**
+     * Maps keys onto one ascending order for both sides. Bitwise not reverses the order of every long, so it
+     * cannot overflow the way negation does at Long.MIN_VALUE.
+     */
+    private long encode(final long key) {
+        return this.descending ? key : ~key;
+    }
+
+    private long decode(final long encoded) {
+        return this.descending ? encoded : ~encoded;
+    }
+
+    private int indexOf(final long encoded) {
+        final int top = this.count - 1;
+        // Most book updates land on the best level, so check it before searching
+        if (top >= 0 && this.keys[top] == encoded) {
+            return top;
+        }
+        return Arrays.binarySearch(this.keys, 0, this.count, encoded);
+    }
+
+    @Override
+    public T get(final long key) {
+        final int index = indexOf(encode(key));
+        return index < 0 ? null : this.values[index];
+    }
+
+    @Override
+    public T put(final long key, final T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value must not be null");
+        }
+
+        final long encoded = encode(key);
+        final int index = indexOf(encoded);
+        if (index >= 0) {
+            final T previous = this.values[index];
+            releaseNode(index);
+            this.values[index] = value;
+            return previous;
+        }
+
+        insert(-index - 1, encoded, value, null);
+        return null;
+    }
+
+    /**
+     * Returns the value for a key, taking a new one from the pool and adding it under the key if there is none.
+     *
+     * @throws IllegalStateException if the map was created without a pool
+     */
+    public T getOrAcquire(final long key) {
+        if (this.valuePool == null) {
+            throw new IllegalStateException("Map has no value pool");
+        }
+
+        final long encoded = encode(key);
+        final int index = indexOf(encoded);
+        if (index >= 0) {
+            return this.values[index];
+        }
+
+        final PoolNode<T> node = this.valuePool.acquire();
+        insert(-index - 1, encoded, node.getItem(), node);
+        return node.getItem();
+    }
+
+    private void insert(final int index, final long encoded, final T value, final PoolNode<T> node) {
+        if (this.count == this.keys.length) {
+            final int newLength = this.keys.length << 1;
+            this.keys = Arrays.copyOf(this.keys, newLength);
+            this.values = Arrays.copyOf(this.values, newLength);
+            this.valueNodes = Arrays.copyOf(this.valueNodes, newLength);
+        }
+
+        final int moved = this.count - index;
+        if (moved > 0) {
+            System.arraycopy(this.keys, index, this.keys, index + 1, moved);
+            System.arraycopy(this.values, index, this.values, index + 1, moved);
+            System.arraycopy(this.valueNodes, index, this.valueNodes, index + 1, moved);
+        }
+        this.keys[index] = encoded;
+        this.values[index] = value;
+        this.valueNodes[index] = node;
+        this.count++;
+    }
+
+    @Override
+    public boolean containsKey(final long key) {
+        return indexOf(encode(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Removes a key. A pooled value is handed back to the pool, so it must not be used after it is returned.
+     */
+    @Override
+    public T remove(final long key) {
+        final int index = indexOf(encode(key));
+        if (index < 0) {
+            return null;
+        }
+
+        final T previous = this.values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    private void removeAt(final int index) {
+        releaseNode(index);
+        final int moved = this.count - index - 1;
+        if (moved > 0) {
+            System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+            System.arraycopy(this.values, index + 1, this.values, index, moved);
+            System.arraycopy(this.valueNodes, index + 1, this.valueNodes, index, moved);
+        }
+        this.count--;
+        this.values[this.count] = null;
+        this.valueNodes[this.count] = null;
+    }
+
+    private void releaseNode(final int index) {
+        final PoolNode<T> node = this.valueNodes[index];
+        if (node != null) {
+            this.valuePool.release(node);
+            this.valueNodes[index] = null;
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < this.count; i++) {
+            releaseNode(i);
+            this.values[i] = null;
+        }
+        this.count = 0;
+    }
+
+    /**
+     * @return the first key, the best price of a book side
+     * @throws IllegalStateException if the map is empty
+     */
+    public long firstKey() {
+        return keyAt(0);
+    }
+
+    /**
+     * @return the value of the first key
+     * @throws IllegalStateException if the map is empty
+     */
+    public T firstValue() {
+        return valueAt(0);
+    }
+
+    /**
+     * @param rank the position of a key counting from the first, which has rank 0
+     * @return the key at that rank
+     * @throws IllegalStateException if the map holds no more than rank keys
+     */
+    public long keyAt(final int rank) {
+        return decode(this.keys[indexOfRank(rank)]);
+    }
+
+    /**
+     * @param rank the position of a key counting from the first, which has rank 0
+     * @return the value of the key at that rank
+     * @throws IllegalStateException if the map holds no more than rank keys
+     */
+    public T valueAt(final int rank) {
+        return this.values[indexOfRank(rank)];
+    }
+
+    private int indexOfRank(final int rank) {
+        if (rank < 0 || rank >= this.count) {
+            throw new IllegalStateException("No key at rank " + rank + " in a map of size " + this.count);
+        }
+        return this.count - 1 - rank;
+    }
+
+    /**
+     * Returns the keys in map order.
+     */
+    @Override
+    @SuppressWarnings("checkstyle:IllegalType")
+    public Collection<Long> keys() {
+        Collection<Long> result = new ArrayList<>(this.count);
+        forEachKey(result::add);
+        return result;
+    }
+
+    @Override
+    public void forEachValue(final Consumer<T> consumer) {
+        for (int i = this.count - 1; i >= 0; i--) {
+            consumer.accept(this.values[i]);
+        }
+    }
+
+    @Override
+    public void forEachKey(final LongConsumer consumer) {
+        for (int i = this.count - 1; i >= 0; i--) {
+            consumer.accept(decode(this.keys[i]));
+        }
+    }
+
+    /**
+     * Returns the map's cursor, which walks the entries in map order from the first key.
+     */
+    @Override
+    public LongMapCursor<T> cursor() {
+        this.cursor.reset();
+        return this.cursor;
+    }
+
+    /**
+     * Walks the arrays downwards from the end. Removing an entry only moves the entries above it, which have
+     * already been visited, so the next index is unaffected.
+     */
+    private final class Cursor implements LongMapCursor<T> {
+        private static final int NO_ENTRY = -1;
+
+        private int position;
+        private int current = NO_ENTRY;
+
+        Cursor() {
+            reset();
+        }
+
+        @Override
+        public boolean next() {
+            if (this.position > 0) {
+                this.current = --this.position;
+                return true;
+            }
+            this.current = NO_ENTRY;
+            return false;
+        }
+
+        @Override
+        public long key() {
+            checkEntry();
+            return decode(keys[this.current]);
+        }
+
+        @Override
+        public T value() {
+            checkEntry();
+            return values[this.current];
+        }
+
+        @Override
+        public void remove() {
+            checkEntry();
+            removeAt(this.current);
+            this.current = NO_ENTRY;
+        }
+
+        @Override
+        public void reset() {
+            this.position = count;
+            this.current = NO_ENTRY;
+        }
+
+        private void checkEntry() {
+            if (this.current == NO_ENTRY) {
+                throw new IllegalStateException("Cursor is not positioned on an entry");
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package group.gnometrading.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import org.agrona.DirectBuffer;
+
+/**
+ * Hashing and sizing shared by the open-addressing maps.
+ */
+final class OpenAddressing {
+
+    static final float MIN_LOAD_FACTOR = 0.1f;
+    static final float MAX_LOAD_FACTOR = 0.9f;
+
+    private static final int INT_PHI = 0x9E3779B9;
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+    private static final int HALF_INT_BITS = 16;
+    private static final int HALF_LONG_BITS = 32;
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long BYTES_MULTIPLIER = 0x87C37B91114253D5L;
+    private static final long BYTES_ROUND_MULTIPLIER = 0x4CF5AD432745937FL;
+    private static final int BYTES_ROTATION = 31;
+    private static final long FINAL_MULTIPLIER_1 = 0xFF51AFD7ED558CCDL;
+    private static final long FINAL_MULTIPLIER_2 = 0xC4CEB9FE1A85EC53L;
+    private static final int FINAL_SHIFT = 33;
+    private static final long BYTE_MASK = 0xFFL;
+
+    private OpenAddressing() {}
+
+    /**
+     * Spreads sequential keys such as order ids across the table, so that linear probing does not build up long
+     * runs of occupied slots.
+     */
+    static int hash(final int key, final int mask) {
+        final int hash = key * INT_PHI;
+        return (hash ^ (hash >>> HALF_INT_BITS)) & mask;
+    }
+
+    static int hash(final long key, final int mask) {
+        final long hash = key * LONG_PHI;
+        return (int) (hash ^ (hash >>> HALF_LONG_BITS)) & mask;
+    }
+
+    /**
+     * Hashes a byte range eight bytes at a time with a multiply-rotate round per word and a final avalanche, so
+     * short symbols that differ in a single byte still land far apart. The result is not masked.
+     */
+    static int hashBytes(final byte[] bytes, final int offset, final int length) {
+        long hash = LONG_PHI ^ length;
+        final int end = offset + length;
+        int index = offset;
+        while (end - index >= Long.BYTES) {
+            hash = mixWord(hash, (long) LONG_VIEW.get(bytes, index));
+            index += Long.BYTES;
+        }
+        if (index < end) {
+            long tail = 0;
+            for (int shift = 0; index < end; index++, shift += Byte.SIZE) {
+                tail |= (bytes[index] & BYTE_MASK) << shift;
+            }
+            hash = mixWord(hash, tail);
+        }
+        return avalanche(hash);
+    }
+
+    /**
+     * Hashes a range of a buffer the same way {@link #hashBytes(byte[], int, int)} hashes the same bytes in an array,
+     * reading it in place.
+     */
+    static int hashBytes(final DirectBuffer buffer, final int index, final int length) {
+        long hash = LONG_PHI ^ length;
+        final int end = index + length;
+        int at = index;
+        while (end - at >= Long.BYTES) {
+            hash = mixWord(hash, buffer.getLong(at, ByteOrder.LITTLE_ENDIAN));
+            at += Long.BYTES;
+        }
+        if (at < end) {
+            long tail = 0;
+            for (int shift = 0; at < end; at++, shift += Byte.SIZE) {
+                tail |= (buffer.getByte(at) & BYTE_MASK) << shift;
+            }
+            hash = mixWord(hash, tail);
+        }
+        return avalanche(hash);
+    }
+
+    /**
+     * Compares two ranges of the same length eight bytes at a time.
+     */
+    static boolean equalBytes(
+            final DirectBuffer buffer,
+            final int index,
+            final DirectBuffer other,
+            final int otherIndex,
+            final int length) {
+        int offset = 0;
+        for (; length - offset >= Long.BYTES; offset += Long.BYTES) {
+            if (buffer.getLong(index + offset) != other.getLong(otherIndex + offset)) {
+                return false;
+            }
+        }
+        for (; offset < length; offset++) {
+            if (buffer.getByte(index + offset) != other.getByte(otherIndex + offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int avalanche(final long word) {
+        long hash = word;
+        hash ^= hash >>> FINAL_SHIFT;
+        hash *= FINAL_MULTIPLIER_1;
+        hash ^= hash >>> FINAL_SHIFT;
+        hash *= FINAL_MULTIPLIER_2;
+        hash ^= hash >>> FINAL_SHIFT;
+        return (int) hash;
+    }
+
+    private static long mixWord(final long hash, final long word) {
+        return Long.rotateLeft(hash ^ (word * BYTES_MULTIPLIER), BYTES_ROTATION) * BYTES_ROUND_MULTIPLIER;
+    }
+
+    static float checkLoadFactor(final float loadFactor) {
+        if (!(loadFactor >= MIN_LOAD_FACTOR && loadFactor <= MAX_LOAD_FACTOR)) {
+            throw new IllegalArgumentException(
+                    "Load factor must be between " + MIN_LOAD_FACTOR + " and " + MAX_LOAD_FACTOR);
+        }
+        return loadFactor;
+    }
+
+    /**
+     * @return the smallest power of 2 table that holds initialCapacity entries within the load factor
+     */
+    static int tableSize(final int initialCapacity, final float loadFactor, final int maxCapacity) {
+        final long required = (long) Math.ceil(Math.max(initialCapacity, 1) / (double) loadFactor);
+        long size = 2;
+        while (size < required && size < maxCapacity) {
+            size <<= 1;
+        }
+        return (int) size;
+    }
+
+    static int loadThreshold(final int tableSize, final float loadFactor, final int maxCapacity) {
+        // A full table would make probing loop forever, so always keep one slot free
+        return tableSize >= maxCapacity ? tableSize - 1 : Math.min((int) (tableSize * loadFactor), tableSize - 1);
+    }
+}
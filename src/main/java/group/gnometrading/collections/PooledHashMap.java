@@ -15,9 +15,13 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
 
     private final Pool<Node<K, V>> nodePool;
     private final float loadFactor;
+    private final boolean incrementalRehash;
+    private final Cursor cursor;
     private Node<K, V>[] hashTable;
     private int count;
     private int loadThreshold;
+    private Node<K, V>[] previousTable; // the table being moved out of during an incremental rehash
+    private int rehashIndex;
 
     public PooledHashMap() {
         this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
@@ -28,6 +32,16 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
     }
 
     public PooledHashMap(final int initialCapacity, final float loadFactor) {
+        this(initialCapacity, loadFactor, false);
+    }
+
+    /**
+     * @param initialCapacity the initial number of buckets, rounded up to a power of 2
+     * @param loadFactor the fraction of buckets in use at which the table is doubled
+     * @param incrementalRehash whether to spread resizes over the following puts and removes, see
+     *     {@link IncrementalRehash}
+     */
+    public PooledHashMap(final int initialCapacity, final float loadFactor, final boolean incrementalRehash) {
         this.nodePool = new SingleThreadedObjectPool<Node<K, V>>(
                 () -> new Node(), DEFAULT_NODE_POOL_CAPACITY); // TODO: Good number here for capacity?
 
@@ -37,9 +51,11 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
         }
 
         this.loadFactor = loadFactor;
+        this.incrementalRehash = incrementalRehash;
         this.count = 0;
         final Node<K, V>[] table = Node.createArray(capacity);
         setTable(table);
+        this.cursor = new Cursor();
     }
 
     @Override
@@ -52,6 +68,15 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
             }
             node = node.next;
         }
+        if (this.previousTable != null) {
+            node = this.previousTable[hash & (this.previousTable.length - 1)];
+            while (node != null) {
+                if (node.key.equals(key)) {
+                    return node.value;
+                }
+                node = node.next;
+            }
+        }
         return null;
     }
 
@@ -61,6 +86,9 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
         if (count == loadThreshold) {
             rehash();
         }
+        if (this.previousTable != null) {
+            advanceRehash(hash);
+        }
 
         int idx = hash & (this.hashTable.length - 1);
         Node<K, V> node = this.hashTable[idx];
@@ -78,6 +106,7 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
             var newNode = newPoolNode.getItem();
 
             newNode.key = key;
+            newNode.hash = hash;
             newNode.value = value;
             newNode.self = newPoolNode;
             newNode.next = this.hashTable[idx];
@@ -102,9 +131,20 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
         return this.count == 0;
     }
 
+    /**
+     * @return true while an incremental rehash is still moving entries out of the previous table
+     */
+    boolean isRehashing() {
+        return this.previousTable != null;
+    }
+
     @Override
     public V remove(final K key) {
         final int hash = hash(key);
+        if (this.previousTable != null) {
+            advanceRehash(hash);
+        }
+
         int idx = hash & (this.hashTable.length - 1);
 
         var node = this.hashTable[idx];
@@ -131,13 +171,10 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
 
     @Override
     public void clear() {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node<K, V> at = this.hashTable[i];
-            while (at != null) {
-                nodePool.release(at.self);
-                at = at.next;
-            }
-            this.hashTable[i] = null;
+        releaseAll(this.hashTable);
+        if (this.previousTable != null) {
+            releaseAll(this.previousTable);
+            this.previousTable = null;
         }
         this.count = 0;
     }
@@ -146,38 +183,35 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
     @SuppressWarnings("checkstyle:IllegalType")
     public Collection<K> keys() {
         Collection<K> keys = new HashSet<>(size());
-        for (int idx = 0; idx < this.hashTable.length; idx++) {
-            Node<K, V> current = this.hashTable[idx];
-            while (current != null) {
-                keys.add(current.key);
-                current = current.next;
-            }
+        addKeys(this.hashTable, keys);
+        if (this.previousTable != null) {
+            addKeys(this.previousTable, keys);
         }
         return keys;
     }
 
     @Override
     public void forEachValue(Consumer<V> consumer) {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node<K, V> node = this.hashTable[i];
-            while (node != null) {
-                consumer.accept(node.value);
-                node = node.next;
-            }
+        forEachValue(this.hashTable, consumer);
+        if (this.previousTable != null) {
+            forEachValue(this.previousTable, consumer);
         }
     }
 
     @Override
     public void forEachKey(Consumer<K> consumer) {
-        for (int i = 0; i < this.hashTable.length; i++) {
-            Node<K, V> node = this.hashTable[i];
-            while (node != null) {
-                consumer.accept(node.key);
-                node = node.next;
-            }
+        forEachKey(this.hashTable, consumer);
+        if (this.previousTable != null) {
+            forEachKey(this.previousTable, consumer);
         }
     }
 
+    @Override
+    public GnomeMapCursor<K, V> cursor() {
+        this.cursor.reset();
+        return this.cursor;
+    }
+
     private void setTable(Node<K, V>[] newHashTable) {
         this.hashTable = newHashTable;
         this.loadThreshold = (int) (this.hashTable.length * this.loadFactor);
@@ -190,6 +224,14 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
             return;
         }
 
+        if (this.incrementalRehash) {
+            finishRehash();
+            this.previousTable = oldTable;
+            this.rehashIndex = 0;
+            setTable(Node.createArray(oldTable.length << 1));
+            return;
+        }
+
         final Node<K, V>[] newTable = Node.createArray(oldTable.length << 1);
         for (int tableIdx = 0; tableIdx < oldTable.length; tableIdx++) {
             Node<K, V> node = oldTable[tableIdx];
@@ -221,14 +263,115 @@ public final class PooledHashMap<K, V> implements GnomeMap<K, V> {
         setTable(newTable);
     }
 
+    private void unlink(final Node<K, V>[] table, final int idx, final Node<K, V> node) {
+        if (table[idx] == node) {
+            table[idx] = node.next;
+        } else {
+            var prev = table[idx];
+            while (prev.next != node) {
+                prev = prev.next;
+            }
+            prev.next = node.next;
+        }
+
+        nodePool.release(node.self);
+        this.count--;
+    }
+
+    private void releaseAll(final Node<K, V>[] table) {
+        for (int i = 0; i < table.length; i++) {
+            Node<K, V> at = table[i];
+            while (at != null) {
+                nodePool.release(at.self);
+                at = at.next;
+            }
+            table[i] = null;
+        }
+    }
+
+    private static <K, V> void addKeys(final Node<K, V>[] table, final Collection<K> keys) {
+        for (int idx = 0; idx < table.length; idx++) {
+            Node<K, V> current = table[idx];
+            while (current != null) {
+                keys.add(current.key);
+                current = current.next;
+            }
+        }
+    }
+
+    private static <K, V> void forEachValue(final Node<K, V>[] table, final Consumer<V> consumer) {
+        for (int i = 0; i < table.length; i++) {
+            Node<K, V> node = table[i];
+            while (node != null) {
+                consumer.accept(node.value);
+                node = node.next;
+            }
+        }
+    }
+
+    private static <K, V> void forEachKey(final Node<K, V>[] table, final Consumer<K> consumer) {
+        for (int i = 0; i < table.length; i++) {
+            Node<K, V> node = table[i];
+            while (node != null) {
+                consumer.accept(node.key);
+                node = node.next;
+            }
+        }
+    }
+
+    private void advanceRehash(final int hash) {
+        this.rehashIndex = IncrementalRehash.advance(this.previousTable, this.hashTable, this.rehashIndex, hash);
+        if (this.rehashIndex == this.previousTable.length) {
+            this.previousTable = null;
+        }
+    }
+
+    private void finishRehash() {
+        if (this.previousTable != null) {
+            IncrementalRehash.finish(this.previousTable, this.hashTable, this.rehashIndex);
+            this.previousTable = null;
+        }
+    }
+
     private static <K> int hash(final K key) {
         return key.hashCode(); // hopefully compiled away
     }
 
-    private static class Node<K, V> {
+    private final class Cursor extends IncrementalRehash.Cursor<Node<K, V>> implements GnomeMapCursor<K, V> {
+
+        Cursor() {
+            reset();
+        }
+
+        @Override
+        Node<K, V>[] hashTable() {
+            return hashTable;
+        }
+
+        @Override
+        Node<K, V>[] previousTable() {
+            return previousTable;
+        }
+
+        @Override
+        void unlink(final Node<K, V>[] fromTable, final int idx, final Node<K, V> node) {
+            PooledHashMap.this.unlink(fromTable, idx, node);
+        }
+
+        @Override
+        public K key() {
+            return currentNode().key;
+        }
+
+        @Override
+        public V value() {
+            return currentNode().value;
+        }
+    }
+
+    private static class Node<K, V> extends IncrementalRehash.Node<Node<K, V>> {
         K key = null;
         V value = null;
-        Node<K, V> next = null;
         PoolNode<Node<K, V>> self = null;
 
         @SuppressWarnings("unchecked")
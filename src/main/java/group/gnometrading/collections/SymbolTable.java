@@ -0,0 +1,216 @@
+package group.gnometrading.collections;
+
+import group.gnometrading.strings.GnomeString;
+import group.gnometrading.strings.ViewString;
+import java.util.Arrays;
+
+/**
+ * Single-threaded interning table that assigns dense int ids, starting at 0, to the distinct byte strings it sees.
+ * Symbols can be interned once at decode time and then carried as ids, so downstream code can index arrays or an
+ * {@link IntToIntOpenHashMap} by id rather than hashing and comparing bytes on every message.
+ *
+ * <p>The table is append-only. Key bytes are copied on first sight into one arena array, and ids are never reused,
+ * so a symbol keeps its id for the life of the table. Lookups from a {@link ViewString} or
+ * {@link group.gnometrading.strings.MutableString} do not allocate; interning a new symbol allocates its reverse
+ * lookup view.
+ */
+public final class SymbolTable {
+
+    public static final int MISSING = -1;
+
+    static final int MAX_CAPACITY = 1 << 29;
+    static final float DEFAULT_LOAD_FACTOR = 0.65f;
+    static final int DEFAULT_CAPACITY = 1 << 7;
+    static final int INITIAL_BYTES_PER_SYMBOL = 16;
+
+    private final float loadFactor;
+    private int[] entries; // hash at 2 * slot, id at 2 * slot + 1
+    private int mask;
+    private int loadThreshold;
+    private int count;
+    private byte[] arena;
+    private int arenaUsed;
+    private int[] symbolOffsets;
+    private int[] symbolLengths;
+    private ViewString[] symbols;
+
+    public SymbolTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public SymbolTable(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity number of symbols to size the table and arena for before they have to grow
+     * @param loadFactor fraction of slots that may be used before the table doubles, between 0.1 and 0.9
+     */
+    public SymbolTable(int initialCapacity, float loadFactor) {
+        this.loadFactor = OpenAddressing.checkLoadFactor(loadFactor);
+        allocate(OpenAddressing.tableSize(initialCapacity, loadFactor, MAX_CAPACITY));
+
+        final int symbolCapacity = Math.max(initialCapacity, 1);
+        this.arena = new byte[symbolCapacity * INITIAL_BYTES_PER_SYMBOL];
+        this.symbolOffsets = new int[symbolCapacity];
+        this.symbolLengths = new int[symbolCapacity];
+        this.symbols = new ViewString[symbolCapacity];
+    }
+
+    private void allocate(final int tableSize) {
+        this.entries = new int[tableSize << 1];
+        for (int i = 1; i < this.entries.length; i += 2) {
+            this.entries[i] = MISSING;
+        }
+        this.mask = tableSize - 1;
+        this.loadThreshold = OpenAddressing.loadThreshold(tableSize, this.loadFactor, MAX_CAPACITY);
+    }
+
+    /**
+     * Returns the id of a symbol, assigning the next free id if it has not been seen before.
+     */
+    public int intern(final GnomeString symbol) {
+        return intern(symbol.getBytes(), symbol.offset(), symbol.length());
+    }
+
+    public int intern(final byte[] bytes, final int offset, final int length) {
+        final int hash = OpenAddressing.hashBytes(bytes, offset, length);
+        int slot = hash & this.mask;
+        int id;
+        while ((id = this.entries[(slot << 1) + 1]) != MISSING) {
+            if (this.entries[slot << 1] == hash && matches(id, bytes, offset, length)) {
+                return id;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        if (this.count >= this.loadThreshold) {
+            grow();
+            slot = freeSlot(hash);
+        }
+
+        id = this.count;
+        store(id, bytes, offset, length);
+        this.entries[slot << 1] = hash;
+        this.entries[(slot << 1) + 1] = id;
+        this.count++;
+        return id;
+    }
+
+    /**
+     * Returns the id of a symbol, or {@link #MISSING} if it has never been interned. Unlike {@link #intern} this
+     * never adds to the table.
+     */
+    public int lookup(final GnomeString symbol) {
+        return lookup(symbol.getBytes(), symbol.offset(), symbol.length());
+    }
+
+    public int lookup(final byte[] bytes, final int offset, final int length) {
+        final int hash = OpenAddressing.hashBytes(bytes, offset, length);
+        int slot = hash & this.mask;
+        int id;
+        while ((id = this.entries[(slot << 1) + 1]) != MISSING) {
+            if (this.entries[slot << 1] == hash && matches(id, bytes, offset, length)) {
+                return id;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Returns a view of the bytes interned under an id. The same view is returned for an id on every call and stays
+     * valid for the life of the table, so it must not be modified.
+     *
+     * @throws IndexOutOfBoundsException if no symbol has been interned under the id
+     */
+    public ViewString symbol(final int id) {
+        if (id < 0 || id >= this.count) {
+            throw new IndexOutOfBoundsException("No symbol with id " + id);
+        }
+        return this.symbols[id];
+    }
+
+    /**
+     * @return the number of symbols interned, which is also the next id to be assigned
+     */
+    public int size() {
+        return this.count;
+    }
+
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * @return the size of the array holding the symbol bytes
+     */
+    int arenaCapacity() {
+        return this.arena.length;
+    }
+
+    private boolean matches(final int id, final byte[] bytes, final int offset, final int length) {
+        final int symbolOffset = this.symbolOffsets[id];
+        return this.symbolLengths[id] == length
+                && Arrays.equals(this.arena, symbolOffset, symbolOffset + length, bytes, offset, offset + length);
+    }
+
+    private int freeSlot(final int hash) {
+        int slot = hash & this.mask;
+        while (this.entries[(slot << 1) + 1] != MISSING) {
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    private void store(final int id, final byte[] bytes, final int offset, final int length) {
+        if (length > this.arena.length - this.arenaUsed) {
+            growArena(length);
+        }
+        if (id == this.symbols.length) {
+            final int newLength = this.symbols.length << 1;
+            this.symbolOffsets = Arrays.copyOf(this.symbolOffsets, newLength);
+            this.symbolLengths = Arrays.copyOf(this.symbolLengths, newLength);
+            this.symbols = Arrays.copyOf(this.symbols, newLength);
+        }
+
+        System.arraycopy(bytes, offset, this.arena, this.arenaUsed, length);
+        this.symbolOffsets[id] = this.arenaUsed;
+        this.symbolLengths[id] = length;
+        this.symbols[id] = new ViewString(this.arena, this.arenaUsed, length);
+        this.arenaUsed += length;
+    }
+
+    /**
+     * Doubles the arena until the new symbol fits. The views of symbols stored before keep reading the old array,
+     * whose bytes for those symbols never change.
+     */
+    private void growArena(final int extraLength) {
+        final long required = (long) this.arenaUsed + extraLength;
+        long newLength = Math.max(this.arena.length, 1);
+        while (newLength < required) {
+            newLength <<= 1;
+        }
+        if (newLength > Integer.MAX_VALUE - Long.BYTES) {
+            throw new IllegalStateException("Symbol arena cannot grow beyond " + Integer.MAX_VALUE + " bytes");
+        }
+
+        this.arena = Arrays.copyOf(this.arena, (int) newLength);
+    }
+
+    private void grow() {
+        final int[] oldEntries = this.entries;
+        if (oldEntries.length >> 1 >= MAX_CAPACITY) {
+            throw new IllegalStateException("Table cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+
+        allocate(oldEntries.length);
+        for (int i = 0; i < oldEntries.length; i += 2) {
+            if (oldEntries[i + 1] != MISSING) {
+                final int slot = freeSlot(oldEntries[i]);
+                this.entries[slot << 1] = oldEntries[i];
+                this.entries[(slot << 1) + 1] = oldEntries[i + 1];
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package group.gnometrading.collections.buffer;
+
+import org.agrona.DirectBuffer;
+
+@FunctionalInterface
+public interface ByteMessageConsumer {
+    /**
+     * Accepts a message read in place from a byte ring buffer. The bytes are only valid until this call returns.
+     *
+     * @param typeId the type id the message was claimed with
+     * @param buffer the buffer holding the message
+     * @param offset the offset of the payload in the buffer
+     * @param length the length of the payload in bytes
+     */
+    void accept(int typeId, DirectBuffer buffer, int offset, int length);
+}
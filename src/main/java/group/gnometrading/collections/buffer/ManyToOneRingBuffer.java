@@ -1,6 +1,5 @@
 package group.gnometrading.collections.buffer;
 
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Supplier;
 
@@ -10,14 +9,17 @@ public final class ManyToOneRingBuffer<T> implements RingBuffer<T> {
     private final int capacity;
     private final int mask;
 
-    private final AtomicLong head = new AtomicLong(0); // next sequence to consume
-    private final AtomicLong tail = new AtomicLong(0); // next sequence to claim
+    private final Sequence head = new Sequence(); // next sequence to consume
+    private final Sequence tail = new Sequence(); // next sequence to claim
 
-    private final AtomicLongArray slotStates;
+    // Stale copy of the head; producers only re-read the shared head when the copy says the buffer is
+    // full. Producers share the cache, which is safe because head only moves forward and a stale value
+    // can only make the buffer look fuller.
+    private final Sequence headCache = new Sequence();
 
-    private static final long EMPTY = 0L;
-    private static final long CLAIMED = 1L;
-    private static final long PUBLISHED = 2L;
+    // Sequence last published into each slot. A slot is readable when its stamp equals the head, and
+    // becomes free again as soon as the head moves past it.
+    private final AtomicLongArray published;
 
     public ManyToOneRingBuffer(ArrayFactory<T> arrayFactory, Supplier<T> supplier, int capacity) {
         if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
@@ -31,25 +33,39 @@ public final class ManyToOneRingBuffer<T> implements RingBuffer<T> {
             this.buffer[i] = supplier.get();
         }
 
-        this.slotStates = new AtomicLongArray(capacity);
+        this.published = new AtomicLongArray(capacity);
         for (int i = 0; i < capacity; i++) {
-            this.slotStates.set(i, EMPTY);
+            this.published.set(i, i - capacity);
         }
     }
 
     @Override
     public int tryClaim() {
+        return claim(1);
+    }
+
+    @Override
+    public int tryClaim(final int count) {
+        if (count <= 0 || count > capacity) {
+            throw new IllegalArgumentException("Claim count must be between 1 and the capacity");
+        }
+        return claim(count);
+    }
+
+    private int claim(final int count) {
         while (true) {
             final long currentTail = tail.get();
 
-            if (currentTail - head.get() >= capacity) {
-                return -1;
+            if (currentTail + count - headCache.get() > capacity) {
+                final long currentHead = head.get();
+                headCache.setRelease(currentHead);
+                if (currentTail + count - currentHead > capacity) {
+                    return -1;
+                }
             }
 
-            if (tail.compareAndSet(currentTail, currentTail + 1)) {
-                final int index = (int) (currentTail & mask);
-                slotStates.set(index, CLAIMED);
-                return index;
+            if (tail.compareAndSet(currentTail, currentTail + count)) {
+                return (int) (currentTail & mask);
             }
 
             // If CAS failed, another thread claimed it, retry
@@ -58,30 +74,45 @@ public final class ManyToOneRingBuffer<T> implements RingBuffer<T> {
 
     @Override
     public void commit(final int index) {
-        slotStates.set(index, PUBLISHED);
+        published.lazySet(index, sequenceOf(index));
     }
 
     @Override
-    public void read(final MessageConsumer<T> consumer, final int limit) {
-        long currentHead = this.head.get();
-        final long currentTail = this.tail.get();
+    public void commit(final int start, final int count) {
+        final long startSequence = sequenceOf(start);
+        for (int i = 0; i < count; i++) {
+            published.lazySet((start + i) & mask, startSequence + i);
+        }
+    }
 
-        final long available = currentTail - currentHead;
+    /**
+     * Resolves the claimed sequence that maps to the given index. An uncommitted claim holds back the head,
+     * so it always lies within the last capacity sequences below the current tail, and exactly one of those
+     * maps to each index.
+     */
+    private long sequenceOf(final int index) {
+        final long lastClaimed = tail.get() - 1;
+        return lastClaimed - ((lastClaimed - index) & mask);
+    }
 
-        final int toRead = (int) Math.min(available, limit);
+    @Override
+    public void read(final MessageConsumer<T> consumer, final int limit) {
+        final long start = this.head.getPlain();
+        long currentHead = start;
 
-        for (int i = 0; i < toRead; i++) {
+        while (currentHead - start < limit) {
             final int index = (int) (currentHead & mask);
-            if (slotStates.get(index) != PUBLISHED) {
+            if (published.get(index) != currentHead) {
                 break;
             }
 
             consumer.accept(buffer[index]);
-            slotStates.set(index, EMPTY);
             currentHead++;
         }
 
-        this.head.set(currentHead);
+        if (currentHead != start) {
+            this.head.setRelease(currentHead);
+        }
     }
 
     @Override
@@ -89,12 +120,22 @@ public final class ManyToOneRingBuffer<T> implements RingBuffer<T> {
         return buffer[index];
     }
 
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Resets the buffer so that the next claim starts at index 0 again. Rather than clearing every slot stamp,
+     * the sequences are moved forward to the next multiple of the capacity, which no stamp can equal yet.
+     * Must not be called while producers or the consumer are active.
+     */
     @Override
     public void reset() {
-        this.head.set(0);
-        this.tail.set(0);
-        for (int i = 0; i < capacity; i++) {
-            this.slotStates.set(i, EMPTY);
-        }
+        final long base = (this.tail.get() + mask) & ~((long) mask);
+
+        this.head.setVolatile(base);
+        this.tail.setVolatile(base);
+        this.headCache.setVolatile(base);
     }
 }
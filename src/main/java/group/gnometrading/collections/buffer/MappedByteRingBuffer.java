@@ -0,0 +1,228 @@
+package group.gnometrading.collections.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A {@link OneToOneByteRingBuffer} backed by a memory-mapped file, so that a producer in one process and a consumer
+ * in another can exchange messages through shared memory. Place the file on a memory-backed file system such as
+ * {@code /dev/shm} to keep it off disk.
+ *
+ * <p>The file starts with a header holding a magic number, a layout version and the ring capacity, followed by the
+ * ring itself. The head and tail positions live in the ring's padded trailer, so either side can close the file
+ * and {@link #attach(Path)} again after a restart without losing the messages in flight.
+ */
+public final class MappedByteRingBuffer implements AutoCloseable {
+
+    public static final int MAGIC = 0x474E4F4D; // "GNOM"
+    public static final int VERSION = 1;
+
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = 4;
+    public static final int CAPACITY_OFFSET = 8;
+    public static final int HEADER_LENGTH = 128; // keeps the ring cache-line aligned
+
+    public static final long DEFAULT_INIT_TIMEOUT_MS = 5_000;
+    private static final long INIT_POLL_PERIOD_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Path path;
+    private final MappedByteBuffer mappedBuffer;
+    private final OneToOneByteRingBuffer ringBuffer;
+    private boolean closed = false;
+
+    private MappedByteRingBuffer(final Path path, final MappedByteBuffer mappedBuffer, final int capacity) {
+        this.path = path;
+        this.mappedBuffer = mappedBuffer;
+        this.ringBuffer = new OneToOneByteRingBuffer(
+                new UnsafeBuffer(mappedBuffer, HEADER_LENGTH, capacity + OneToOneByteRingBuffer.TRAILER_LENGTH));
+    }
+
+    /**
+     * Creates a new, empty ring buffer file, replacing any file already at the path.
+     *
+     * @param path the file to create
+     * @param capacity number of bytes available for records, a power of 2
+     * @return the mapped ring buffer
+     */
+    public static MappedByteRingBuffer create(final Path path, final int capacity) {
+        checkCapacity(capacity);
+
+        final File file = path.toFile();
+        IoUtil.deleteIfExists(file);
+        final MappedByteBuffer mapped = IoUtil.mapNewFile(file, fileLength(capacity));
+        writeHeader(mapped, capacity);
+        return new MappedByteRingBuffer(path, mapped, capacity);
+    }
+
+    private static void checkCapacity(final int capacity) {
+        if (capacity < OneToOneByteRingBuffer.ALIGNMENT || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException(
+                    "Capacity must be a power of 2 and at least " + OneToOneByteRingBuffer.ALIGNMENT);
+        }
+    }
+
+    private static long fileLength(final int capacity) {
+        return (long) HEADER_LENGTH + capacity + OneToOneByteRingBuffer.TRAILER_LENGTH;
+    }
+
+    private static void writeHeader(final MappedByteBuffer mapped, final int capacity) {
+        // The magic number is written last so an attaching process never sees a half-written header
+        final UnsafeBuffer header = new UnsafeBuffer(mapped, 0, HEADER_LENGTH);
+        header.putInt(CAPACITY_OFFSET, capacity);
+        header.putInt(VERSION_OFFSET, VERSION);
+        header.putIntOrdered(MAGIC_OFFSET, MAGIC);
+    }
+
+    /**
+     * Maps an existing ring buffer file, keeping the messages and positions it already holds.
+     *
+     * @param path the file created by {@link #create(Path, int)}
+     * @return the mapped ring buffer
+     * @throws IllegalStateException if the file is not a ring buffer file of a supported version
+     */
+    public static MappedByteRingBuffer attach(final Path path) {
+        final MappedByteRingBuffer attached = tryAttach(path);
+        if (attached == null) {
+            throw new IllegalStateException("File is not an initialized ring buffer: " + path);
+        }
+        return attached;
+    }
+
+    /**
+     * @return the mapped ring buffer, or null if the file is too short to hold a header or its header has not been
+     *     written yet
+     * @throws IllegalStateException if the header is written but is not one this class can attach to
+     */
+    private static MappedByteRingBuffer tryAttach(final Path path) {
+        try {
+            if (Files.size(path) < HEADER_LENGTH) {
+                return null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final MappedByteBuffer mapped = IoUtil.mapExistingFile(path.toFile(), "ring buffer");
+        try {
+            final UnsafeBuffer header = new UnsafeBuffer(mapped, 0, HEADER_LENGTH);
+            final int magic = header.getIntVolatile(MAGIC_OFFSET);
+            if (magic == 0) {
+                IoUtil.unmap(mapped);
+                return null;
+            }
+            if (magic != MAGIC) {
+                throw new IllegalStateException("File is not a ring buffer: " + path);
+            }
+            final int version = header.getInt(VERSION_OFFSET);
+            if (version != VERSION) {
+                throw new IllegalStateException(
+                        "Unsupported ring buffer version " + version + ", expected " + VERSION + ": " + path);
+            }
+            final int capacity = header.getInt(CAPACITY_OFFSET);
+            if (fileLength(capacity) != mapped.capacity()) {
+                throw new IllegalStateException("Ring buffer capacity does not match the file length: " + path);
+            }
+
+            return new MappedByteRingBuffer(path, mapped, capacity);
+        } catch (RuntimeException e) {
+            IoUtil.unmap(mapped);
+            throw e;
+        }
+    }
+
+    public static MappedByteRingBuffer attachOrCreate(final Path path, final int capacity) {
+        return attachOrCreate(path, capacity, DEFAULT_INIT_TIMEOUT_MS);
+    }
+
+    /**
+     * Attaches to the ring buffer file at the path, or creates it if there is none. The file is created with
+     * {@link StandardOpenOption#CREATE_NEW}, so when several processes race only one of them creates it, and the
+     * others wait for its header to be written before attaching. An existing file is never deleted or replaced.
+     *
+     * @param path the ring buffer file
+     * @param capacity number of bytes available for records, a power of 2
+     * @param initTimeoutMs how long to wait for another process to finish writing the header
+     * @return the mapped ring buffer
+     * @throws IllegalStateException if the file holds a ring buffer of another capacity or something that is not a
+     *     ring buffer, or its header is not written within the timeout
+     */
+    public static MappedByteRingBuffer attachOrCreate(final Path path, final int capacity, final long initTimeoutMs) {
+        checkCapacity(capacity);
+
+        final MappedByteBuffer created = mapIfNew(path, capacity);
+        if (created != null) {
+            writeHeader(created, capacity);
+            return new MappedByteRingBuffer(path, created, capacity);
+        }
+
+        final MappedByteRingBuffer existing = awaitAttach(path, initTimeoutMs);
+        if (existing.ringBuffer.capacity() != capacity) {
+            final int existingCapacity = existing.ringBuffer.capacity();
+            existing.close();
+            throw new IllegalStateException(
+                    "Ring buffer capacity is " + existingCapacity + ", expected " + capacity + ": " + path);
+        }
+        return existing;
+    }
+
+    /**
+     * @return the mapping of the newly created file, or null if the file already exists
+     */
+    private static MappedByteBuffer mapIfNew(final Path path, final int capacity) {
+        try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping grows the empty file to its full length in one step, zero filled, so the magic number reads as
+            // unset until writeHeader() has run
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, fileLength(capacity));
+        } catch (FileAlreadyExistsException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MappedByteRingBuffer awaitAttach(final Path path, final long timeoutMs) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            final MappedByteRingBuffer attached = tryAttach(path);
+            if (attached != null) {
+                return attached;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IllegalStateException(
+                        "Ring buffer header was not written within " + timeoutMs + "ms: " + path);
+            }
+            LockSupport.parkNanos(INIT_POLL_PERIOD_NS);
+        }
+    }
+
+    public OneToOneByteRingBuffer ringBuffer() {
+        return this.ringBuffer;
+    }
+
+    public Path path() {
+        return this.path;
+    }
+
+    /**
+     * Unmaps the file. The file itself is kept so that it can be attached to again.
+     */
+    @Override
+    public void close() {
+        if (!this.closed) {
+            this.closed = true;
+            IoUtil.unmap(this.mappedBuffer);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package group.gnometrading.collections.buffer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Single-producer broadcast ring buffer. Every subscriber sees every message, reading the same pre-allocated
+ * instances through its own cursor. The producer can only reuse a slot once the slowest subscriber has moved
+ * past it.
+ *
+ * <p>Each slot is stamped with the sequence that was last published into it, so a subscriber knows a slot is
+ * readable when the stamp equals its cursor. Subscribers never touch shared state besides their own cursor.
+ *
+ * @param <T> the message type
+ */
+public final class OneToManyRingBuffer<T> implements RingBufferProducer<T> {
+
+    private final T[] buffer;
+    private final int capacity;
+    private final int mask;
+
+    private final Sequence tail = new Sequence(); // next sequence to claim
+    private final Sequence gatingCache = new Sequence(); // producer only, slowest cursor last seen
+
+    private final AtomicLongArray published; // sequence last published into each slot
+    private final Subscriber<T>[] subscribers;
+
+    public OneToManyRingBuffer(ArrayFactory<T> arrayFactory, Supplier<T> supplier, int capacity, int subscriberCount) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Capacity must be a positive power of 2");
+        }
+        if (subscriberCount <= 0) {
+            throw new IllegalArgumentException("Subscriber count must be positive");
+        }
+
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.buffer = arrayFactory.createArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.buffer[i] = supplier.get();
+        }
+
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.published.set(i, i - capacity);
+        }
+
+        this.subscribers = Subscriber.createArray(subscriberCount);
+        for (int i = 0; i < subscriberCount; i++) {
+            this.subscribers[i] = new Subscriber<>(this);
+        }
+    }
+
+    /**
+     * Returns the subscriber with the given id. Each subscriber must only be read from one thread.
+     *
+     * @param id the subscriber id, between 0 and subscriberCount() - 1
+     * @return the subscriber
+     */
+    public Subscriber<T> subscriber(final int id) {
+        return subscribers[id];
+    }
+
+    public int subscriberCount() {
+        return subscribers.length;
+    }
+
+    @Override
+    public int tryClaim() {
+        return claim(1);
+    }
+
+    @Override
+    public int tryClaim(final int count) {
+        if (count <= 0 || count > capacity) {
+            throw new IllegalArgumentException("Claim count must be between 1 and the capacity");
+        }
+        return claim(count);
+    }
+
+    private int claim(final int count) {
+        final long currentTail = this.tail.getPlain();
+
+        if (currentTail + count - this.gatingCache.getPlain() > capacity) {
+            final long slowest = slowestCursor(currentTail);
+            this.gatingCache.setPlain(slowest);
+            if (currentTail + count - slowest > capacity) {
+                return -1;
+            }
+        }
+
+        this.tail.setRelease(currentTail + count);
+        return (int) (currentTail & mask);
+    }
+
+    private long slowestCursor(final long upperBound) {
+        long slowest = upperBound;
+        for (int i = 0; i < subscribers.length; i++) {
+            slowest = Math.min(slowest, subscribers[i].cursor.get());
+        }
+        return slowest;
+    }
+
+    @Override
+    public T indexAt(final int index) {
+        return buffer[index];
+    }
+
+    @Override
+    public void commit(final int index) {
+        this.published.lazySet(index, sequenceOf(index));
+    }
+
+    @Override
+    public void commit(final int start, final int count) {
+        final long startSequence = sequenceOf(start);
+        for (int i = 0; i < count; i++) {
+            this.published.lazySet((start + i) & mask, startSequence + i);
+        }
+    }
+
+    /**
+     * Resolves the claimed sequence that maps to the given index. Claimed but uncommitted sequences always lie
+     * within the last capacity sequences below the tail, and exactly one of those maps to each index.
+     */
+    private long sequenceOf(final int index) {
+        final long lastClaimed = this.tail.getPlain() - 1;
+        return lastClaimed - ((lastClaimed - index) & mask);
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Resets the buffer so that the next claim starts at index 0 again. Rather than clearing every slot stamp,
+     * all cursors are moved forward to the next multiple of the capacity, which no stamp can equal yet.
+     * Must not be called while the producer or any subscriber is active.
+     */
+    @Override
+    public void reset() {
+        final long currentTail = this.tail.getPlain();
+        final long base = (currentTail + mask) & ~((long) mask);
+
+        this.tail.setVolatile(base);
+        this.gatingCache.setVolatile(base);
+        for (int i = 0; i < subscribers.length; i++) {
+            subscribers[i].cursor.setVolatile(base);
+        }
+    }
+
+    /**
+     * A consumer of the broadcast buffer with its own padded cursor.
+     *
+     * @param <T> the message type
+     */
+    public static final class Subscriber<T> {
+        private final OneToManyRingBuffer<T> ringBuffer;
+        private final Sequence cursor = new Sequence(); // next sequence to consume
+
+        private Subscriber(final OneToManyRingBuffer<T> ringBuffer) {
+            this.ringBuffer = ringBuffer;
+        }
+
+        /**
+         * Reads messages from the ring buffer. Called by this subscriber's consumer thread.
+         *
+         * @param consumer consumer to accept the messages
+         */
+        public void read(final MessageConsumer<T> consumer) {
+            read(consumer, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Reads messages from the ring buffer. Called by this subscriber's consumer thread.
+         *
+         * @param consumer consumer to accept the messages
+         * @param limit maximum number of messages to read
+         */
+        public void read(final MessageConsumer<T> consumer, final int limit) {
+            final long start = this.cursor.getPlain();
+            final int mask = this.ringBuffer.mask;
+            long current = start;
+
+            while (current - start < limit) {
+                final int index = (int) (current & mask);
+                if (this.ringBuffer.published.get(index) != current) {
+                    break;
+                }
+
+                consumer.accept(this.ringBuffer.buffer[index]);
+                current++;
+            }
+
+            if (current != start) {
+                this.cursor.setRelease(current);
+            }
+        }
+
+        /**
+         * Number of claimed messages this subscriber has not consumed yet. Safe to call from any thread.
+         *
+         * @return the subscriber's lag behind the producer
+         */
+        public long lag() {
+            return this.ringBuffer.tail.get() - this.cursor.get();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static <T> Subscriber<T>[] createArray(final int size) {
+            return new Subscriber[size];
+        }
+    }
+}
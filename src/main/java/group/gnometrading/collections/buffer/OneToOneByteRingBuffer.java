@@ -0,0 +1,252 @@
+package group.gnometrading.collections.buffer;
+
+import group.gnometrading.utils.ByteBufferUtils;
+import group.gnometrading.utils.Resettable;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Single-producer, single-consumer ring buffer of variable-length byte messages. Messages are written in place
+ * into an off-heap {@link AtomicBuffer} and handed to the consumer as an offset into the same buffer, so wire
+ * frames and encoded payloads move between threads without a copy.
+ *
+ * <p>The buffer is laid out as {@code capacity} bytes of records followed by a trailer holding the tail and head
+ * positions on separate cache lines. Each record starts with an 8 byte header of length and type id and is
+ * aligned to 8 bytes. When a record does not fit before the end of the buffer, the remainder is filled with a
+ * padding record that the consumer skips. Because all state lives in the buffer itself, a buffer can be wrapped
+ * again later and carries on where it left off.
+ */
+public final class OneToOneByteRingBuffer implements Resettable {
+
+    public static final int PADDING_TYPE_ID = -1;
+    public static final int ALIGNMENT = 8;
+    public static final int HEADER_LENGTH = 8;
+    public static final int LENGTH_OFFSET = 0;
+    public static final int TYPE_OFFSET = 4;
+
+    // Tail and head each get a pair of cache lines to defeat adjacent-line prefetching
+    public static final int TAIL_POSITION_OFFSET = 0;
+    public static final int HEAD_POSITION_OFFSET = 128;
+    public static final int TRAILER_LENGTH = 256;
+
+    private static final int MAX_MESSAGE_FRACTION = 4;
+
+    private final AtomicBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final int maxMessageLength;
+    private final int tailPositionIndex;
+    private final int headPositionIndex;
+
+    private long tail; // producer only, next position to claim
+    private long pendingTail; // producer only, tail once the outstanding claim is committed
+    private long headCache; // producer only
+    private long tailCache; // consumer only
+
+    /**
+     * Creates a ring buffer over a newly allocated, cache-line aligned off-heap buffer.
+     *
+     * @param capacity number of bytes available for records, a power of 2
+     */
+    public OneToOneByteRingBuffer(final int capacity) {
+        this(allocate(checkCapacity(capacity) + TRAILER_LENGTH));
+    }
+
+    /**
+     * Wraps an existing buffer of {@code capacity + TRAILER_LENGTH} bytes. Positions already in the trailer are
+     * kept, so a buffer that was in use before is picked up where it was left.
+     *
+     * @param buffer the buffer to wrap
+     */
+    public OneToOneByteRingBuffer(final AtomicBuffer buffer) {
+        this.buffer = buffer;
+        this.capacity = checkCapacity(buffer.capacity() - TRAILER_LENGTH);
+        this.mask = this.capacity - 1;
+        this.maxMessageLength = this.capacity / MAX_MESSAGE_FRACTION;
+        this.tailPositionIndex = this.capacity + TAIL_POSITION_OFFSET;
+        this.headPositionIndex = this.capacity + HEAD_POSITION_OFFSET;
+        buffer.verifyAlignment();
+
+        this.tail = buffer.getLongVolatile(this.tailPositionIndex);
+        this.pendingTail = this.tail;
+        this.headCache = buffer.getLongVolatile(this.headPositionIndex);
+        this.tailCache = this.headCache;
+    }
+
+    private static AtomicBuffer allocate(final int length) {
+        // The aligned allocation may be larger than requested, so bound the view to exactly the ring's length
+        return new UnsafeBuffer(ByteBufferUtils.createAlignedUnsafeBuffer(length), 0, length);
+    }
+
+    private static int checkCapacity(final int capacity) {
+        if (capacity < ALIGNMENT || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Capacity must be a power of 2 and at least " + ALIGNMENT);
+        }
+        return capacity;
+    }
+
+    /**
+     * @return the underlying buffer, used by the producer to write payloads at claimed offsets
+     */
+    public AtomicBuffer buffer() {
+        return this.buffer;
+    }
+
+    /**
+     * @return the number of bytes available for records
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return the largest payload a single message may have
+     */
+    public int maxMessageLength() {
+        return this.maxMessageLength;
+    }
+
+    /**
+     * Claims space for a message. Called by the producer. The message is not visible to the consumer until
+     * commit() is called, and only one claim may be outstanding at a time.
+     *
+     * @param typeId the message type id, anything but {@link #PADDING_TYPE_ID}
+     * @param length the payload length in bytes
+     * @return offset of the payload in buffer(), or -1 if there is not enough free space
+     */
+    public int tryClaim(final int typeId, final int length) {
+        if (typeId == PADDING_TYPE_ID) {
+            throw new IllegalArgumentException("Type id " + PADDING_TYPE_ID + " is reserved for padding");
+        }
+        if (length < 0 || length > this.maxMessageLength) {
+            throw new IllegalArgumentException(
+                    "Message length " + length + " must be between 0 and " + this.maxMessageLength);
+        }
+
+        final int recordLength = HEADER_LENGTH + length;
+        final int alignedLength = align(recordLength);
+        final long currentTail = this.tail;
+        int index = (int) (currentTail & this.mask);
+        final int toEnd = this.capacity - index;
+        final int padding = alignedLength > toEnd ? toEnd : 0;
+
+        final long required = currentTail + padding + alignedLength;
+        if (required - this.headCache > this.capacity) {
+            this.headCache = this.buffer.getLongVolatile(this.headPositionIndex);
+            if (required - this.headCache > this.capacity) {
+                return -1;
+            }
+        }
+
+        if (padding > 0) {
+            this.buffer.putInt(index + LENGTH_OFFSET, padding);
+            this.buffer.putInt(index + TYPE_OFFSET, PADDING_TYPE_ID);
+            index = 0;
+        }
+
+        this.buffer.putInt(index + LENGTH_OFFSET, recordLength);
+        this.buffer.putInt(index + TYPE_OFFSET, typeId);
+        this.pendingTail = required;
+
+        return index + HEADER_LENGTH;
+    }
+
+    /**
+     * Commits the outstanding claim, making the message visible to the consumer. Called by the producer.
+     *
+     * @param offset the offset returned by tryClaim()
+     */
+    public void commit(final int offset) {
+        this.tail = this.pendingTail;
+        this.buffer.putLongOrdered(this.tailPositionIndex, this.tail);
+    }
+
+    /**
+     * Abandons the outstanding claim. The space is turned into padding so the consumer skips over it.
+     * Called by the producer.
+     *
+     * @param offset the offset returned by tryClaim()
+     */
+    public void abort(final int offset) {
+        this.buffer.putInt(offset - HEADER_LENGTH + TYPE_OFFSET, PADDING_TYPE_ID);
+        commit(offset);
+    }
+
+    /**
+     * Reads messages from the ring buffer. Called by the consumer.
+     *
+     * @param consumer consumer to accept the messages
+     */
+    public void read(final ByteMessageConsumer consumer) {
+        read(consumer, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads messages from the ring buffer. Called by the consumer. Padding records are skipped and do not
+     * count towards the limit.
+     *
+     * @param consumer consumer to accept the messages
+     * @param limit maximum number of messages to read
+     */
+    public void read(final ByteMessageConsumer consumer, final int limit) {
+        final long start = this.buffer.getLong(this.headPositionIndex);
+        long currentHead = start;
+        long currentTail = this.tailCache;
+        boolean refreshed = false;
+
+        int messagesRead = 0;
+        while (messagesRead < limit) {
+            if (currentHead >= currentTail) {
+                // Only go to the producer's tail once the cached copy is exhausted
+                if (refreshed) {
+                    break;
+                }
+                currentTail = this.buffer.getLongVolatile(this.tailPositionIndex);
+                this.tailCache = currentTail;
+                refreshed = true;
+                continue;
+            }
+
+            final int index = (int) (currentHead & this.mask);
+            final int recordLength = this.buffer.getInt(index + LENGTH_OFFSET);
+            final int typeId = this.buffer.getInt(index + TYPE_OFFSET);
+            currentHead += align(recordLength);
+
+            if (typeId == PADDING_TYPE_ID) {
+                continue;
+            }
+
+            consumer.accept(typeId, this.buffer, index + HEADER_LENGTH, recordLength - HEADER_LENGTH);
+            messagesRead++;
+        }
+
+        if (currentHead != start) {
+            this.buffer.putLongOrdered(this.headPositionIndex, currentHead);
+        }
+    }
+
+    /**
+     * @return the number of bytes committed but not yet consumed. Safe to call from any thread.
+     */
+    public long size() {
+        return this.buffer.getLongVolatile(this.tailPositionIndex)
+                - this.buffer.getLongVolatile(this.headPositionIndex);
+    }
+
+    /**
+     * Discards all messages. Must not be called while the producer or the consumer are active.
+     */
+    @Override
+    public void reset() {
+        this.buffer.putLongVolatile(this.tailPositionIndex, 0);
+        this.buffer.putLongVolatile(this.headPositionIndex, 0);
+        this.tail = 0;
+        this.pendingTail = 0;
+        this.headCache = 0;
+        this.tailCache = 0;
+    }
+
+    private static int align(final int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -1,6 +1,5 @@
 package group.gnometrading.collections.buffer;
 
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Supplier;
 
@@ -10,14 +9,16 @@ public final class OneToOneRingBuffer<T> implements RingBuffer<T> {
     private final int capacity;
     private final int mask;
 
-    private final AtomicLong head = new AtomicLong(0); // next sequence to consume
-    private final AtomicLong tail = new AtomicLong(0); // next sequence to claim
+    private final Sequence head = new Sequence(); // next sequence to consume
+    private final Sequence tail = new Sequence(); // next sequence to claim, producer only
 
-    private final AtomicLongArray slotStates;
+    // Stale copy of the head; the producer only re-reads the shared head when the copy says the
+    // buffer is full.
+    private final Sequence headCache = new Sequence(); // producer only
 
-    private static final long EMPTY = 0L;
-    private static final long CLAIMED = 1L;
-    private static final long PUBLISHED = 2L;
+    // Sequence last published into each slot. A slot is readable when its stamp equals the head, and
+    // becomes free again as soon as the head moves past it.
+    private final AtomicLongArray published;
 
     public OneToOneRingBuffer(ArrayFactory<T> arrayFactory, Supplier<T> supplier, int capacity) {
         if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
@@ -31,53 +32,81 @@ public final class OneToOneRingBuffer<T> implements RingBuffer<T> {
             this.buffer[i] = supplier.get();
         }
 
-        this.slotStates = new AtomicLongArray(capacity);
+        this.published = new AtomicLongArray(capacity);
         for (int i = 0; i < capacity; i++) {
-            this.slotStates.set(i, EMPTY);
+            this.published.set(i, i - capacity);
         }
     }
 
     @Override
     public int tryClaim() {
-        final long currentTail = this.tail.get();
+        return claim(1);
+    }
+
+    @Override
+    public int tryClaim(final int count) {
+        if (count <= 0 || count > capacity) {
+            throw new IllegalArgumentException("Claim count must be between 1 and the capacity");
+        }
+        return claim(count);
+    }
 
-        if (currentTail - head.get() >= capacity) {
-            return -1;
+    private int claim(final int count) {
+        final long currentTail = this.tail.getPlain();
+
+        if (currentTail + count - this.headCache.getPlain() > capacity) {
+            final long currentHead = this.head.get();
+            this.headCache.setPlain(currentHead);
+            if (currentTail + count - currentHead > capacity) {
+                return -1;
+            }
         }
 
-        final int index = (int) (currentTail & mask);
-        this.slotStates.set(index, CLAIMED);
-        this.tail.incrementAndGet();
+        this.tail.setPlain(currentTail + count);
 
-        return index;
+        return (int) (currentTail & mask);
     }
 
     @Override
     public void commit(final int index) {
-        this.slotStates.set(index, PUBLISHED);
+        this.published.lazySet(index, sequenceOf(index));
     }
 
     @Override
-    public void read(final MessageConsumer<T> consumer, final int limit) {
-        long currentHead = this.head.get();
-        final long currentTail = this.tail.get();
+    public void commit(final int start, final int count) {
+        final long startSequence = sequenceOf(start);
+        for (int i = 0; i < count; i++) {
+            this.published.lazySet((start + i) & mask, startSequence + i);
+        }
+    }
 
-        final long available = currentTail - currentHead;
+    /**
+     * Resolves the claimed sequence that maps to the given index. Claimed but uncommitted sequences always lie
+     * within the last capacity sequences below the tail, and exactly one of those maps to each index.
+     */
+    private long sequenceOf(final int index) {
+        final long lastClaimed = this.tail.getPlain() - 1;
+        return lastClaimed - ((lastClaimed - index) & mask);
+    }
 
-        final int toRead = (int) Math.min(available, limit);
+    @Override
+    public void read(final MessageConsumer<T> consumer, final int limit) {
+        final long start = this.head.getPlain();
+        long currentHead = start;
 
-        for (int i = 0; i < toRead; i++) {
+        while (currentHead - start < limit) {
             final int index = (int) (currentHead & mask);
-            if (slotStates.get(index) != PUBLISHED) {
+            if (published.get(index) != currentHead) {
                 break;
             }
 
             consumer.accept(buffer[index]);
-            slotStates.set(index, EMPTY);
             currentHead++;
         }
 
-        this.head.set(currentHead);
+        if (currentHead != start) {
+            this.head.setRelease(currentHead);
+        }
     }
 
     @Override
@@ -85,12 +114,22 @@ public final class OneToOneRingBuffer<T> implements RingBuffer<T> {
         return buffer[index];
     }
 
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Resets the buffer so that the next claim starts at index 0 again. Rather than clearing every slot stamp,
+     * the sequences are moved forward to the next multiple of the capacity, which no stamp can equal yet.
+     * Must not be called while the producer or the consumer are active.
+     */
     @Override
     public void reset() {
-        this.head.set(0);
-        this.tail.set(0);
-        for (int i = 0; i < capacity; i++) {
-            this.slotStates.set(i, EMPTY);
-        }
+        final long base = (this.tail.getPlain() + mask) & ~((long) mask);
+
+        this.head.setVolatile(base);
+        this.tail.setVolatile(base);
+        this.headCache.setVolatile(base);
     }
 }
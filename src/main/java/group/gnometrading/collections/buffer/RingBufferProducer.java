@@ -0,0 +1,57 @@
+package group.gnometrading.collections.buffer;
+
+import group.gnometrading.utils.Resettable;
+
+/**
+ * The producer side of a ring buffer: claim slots, write into the pre-allocated messages, then commit.
+ */
+public interface RingBufferProducer<T> extends Resettable {
+
+    /**
+     * Claims a slot in the ring buffer. Called by the producer.
+     * The slot is reserved but not yet visible to consumers until commit() is called.
+     *
+     * @return index of the claimed slot, or -1 if the buffer is full
+     */
+    int tryClaim();
+
+    /**
+     * Claims a contiguous range of slots in the ring buffer in a single step. Called by the producer.
+     * The range may wrap around the end of the buffer, so the i-th slot of the range is at
+     * {@code (start + i) & (capacity() - 1)}. None of the slots are visible to consumers until
+     * commit(start, count) is called.
+     *
+     * @param count number of slots to claim, between 1 and capacity()
+     * @return index of the first claimed slot, or -1 if the buffer does not have count free slots
+     */
+    int tryClaim(int count);
+
+    /**
+     * Returns the message at the given index. Called by the producer.
+     *
+     * @param index the index returned by tryClaim()
+     * @return the message at the given index
+     */
+    T indexAt(int index);
+
+    /**
+     * Commits the claimed slot, making it visible to consumers. Called by the producer.
+     * Must be called after tryClaim() and after the data has been written to the buffer.
+     *
+     * @param index the index returned by tryClaim()
+     */
+    void commit(int index);
+
+    /**
+     * Commits a range of slots claimed by tryClaim(count), making them visible to consumers. Called by the producer.
+     *
+     * @param start the index returned by tryClaim(count)
+     * @param count the number of slots that were claimed
+     */
+    void commit(int start, int count);
+
+    /**
+     * @return the number of slots in the ring buffer
+     */
+    int capacity();
+}
@@ -0,0 +1,54 @@
+package group.gnometrading.collections.buffer;
+
+/**
+ * A long counter padded on both sides so that it never shares a cache line with another hot field.
+ * The value is a field of {@link SequenceValue}, whose superclass and subclass hold the padding. The JVM lays
+ * superclass fields out first, so that leaves 128 bytes on either side, and reading the value is a single field load.
+ */
+final class Sequence extends SequenceRhsPadding {
+
+    Sequence() {
+        this(0);
+    }
+
+    Sequence(final long initialValue) {
+        setPlain(initialValue);
+    }
+
+    /**
+     * Reads the value with acquire semantics. Use when reading a counter owned by another thread.
+     */
+    long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * Reads the value with no ordering guarantees. Use only from the thread that owns the counter.
+     */
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    /**
+     * Publishes the value with release semantics so that all prior writes are visible to a reader calling
+     * {@link #get()}.
+     */
+    void setRelease(final long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    void setPlain(final long newValue) {
+        VALUE.set(this, newValue);
+    }
+
+    /**
+     * Sets the value with full volatile semantics. Used where a store must not be reordered with later loads.
+     */
+    void setVolatile(final long newValue) {
+        VALUE.setVolatile(this, newValue);
+    }
+
+    boolean compareAndSet(final long expectedValue, final long newValue) {
+        return VALUE.compareAndSet(this, expectedValue, newValue);
+    }
+}
@@ -0,0 +1,25 @@
+package group.gnometrading.collections.buffer;
+
+/**
+ * 128 bytes laid out ahead of the {@link Sequence} value. Superclass fields always come first, so the padding cannot
+ * be reordered around the value. Two cache lines also defeat adjacent-line prefetching.
+ */
+@SuppressWarnings("unused")
+abstract class SequenceLhsPadding {
+    private long p01;
+    private long p02;
+    private long p03;
+    private long p04;
+    private long p05;
+    private long p06;
+    private long p07;
+    private long p08;
+    private long p09;
+    private long p10;
+    private long p11;
+    private long p12;
+    private long p13;
+    private long p14;
+    private long p15;
+    private long p16;
+}
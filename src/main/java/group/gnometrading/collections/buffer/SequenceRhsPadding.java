@@ -0,0 +1,25 @@
+package group.gnometrading.collections.buffer;
+
+/**
+ * 128 bytes laid out after the {@link Sequence} value, so that fields of the object allocated next cannot share its
+ * cache line.
+ */
+@SuppressWarnings("unused")
+abstract class SequenceRhsPadding extends SequenceValue {
+    private long q01;
+    private long q02;
+    private long q03;
+    private long q04;
+    private long q05;
+    private long q06;
+    private long q07;
+    private long q08;
+    private long q09;
+    private long q10;
+    private long q11;
+    private long q12;
+    private long q13;
+    private long q14;
+    private long q15;
+    private long q16;
+}
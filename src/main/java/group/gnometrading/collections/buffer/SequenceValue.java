@@ -0,0 +1,23 @@
+package group.gnometrading.collections.buffer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Holds the value of a {@link Sequence} between its two paddings.
+ */
+abstract class SequenceValue extends SequenceLhsPadding {
+
+    static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused") // accessed through VALUE
+    private long value;
+}
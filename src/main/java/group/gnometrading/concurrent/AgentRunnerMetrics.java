@@ -0,0 +1,205 @@
+package group.gnometrading.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Duty-cycle metrics recorded by a {@link GnomeAgentRunner}. A duty cycle is one call to
+ * {@link GnomeAgent#doWork()}; the time spent in the idle strategy is not included.
+ *
+ * <p>Only the runner's thread writes, using ordered stores without allocating, and any other thread may read the
+ * values at any time, for example to publish them or to alert when the agent stalls. Durations are bucketed in
+ * a histogram of powers of two: bucket {@code i} counts cycles that took between {@code 2^(i-1)} and
+ * {@code 2^i - 1} nanoseconds.
+ */
+public final class AgentRunnerMetrics {
+
+    public static final int BUCKET_COUNT = 64;
+    public static final long NO_LATENCY_BUDGET = Long.MAX_VALUE;
+
+    private static final long NOT_IN_CYCLE = Long.MIN_VALUE;
+    private static final double MAX_PERCENTILE = 100;
+
+    private static final int WORK_CYCLES = 0;
+    private static final int IDLE_CYCLES = 1;
+    private static final int ERRORS = 2;
+    private static final int OVER_BUDGET_CYCLES = 3;
+    private static final int TOTAL_DUTY_CYCLE_NS = 4;
+    private static final int MAX_DUTY_CYCLE_NS = 5;
+    private static final int LAST_DUTY_CYCLE_NS = 6;
+    private static final int CYCLE_START_NS = 7;
+    private static final int COUNTER_COUNT = 8;
+
+    private final long latencyBudgetNs;
+    private final AtomicLongArray counters = new AtomicLongArray(COUNTER_COUNT);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_COUNT);
+
+    public AgentRunnerMetrics() {
+        this(NO_LATENCY_BUDGET);
+    }
+
+    /**
+     * @param latencyBudgetNs duty cycles taking longer than this are counted by {@link #overBudgetCycles()}
+     */
+    public AgentRunnerMetrics(final long latencyBudgetNs) {
+        if (latencyBudgetNs <= 0) {
+            throw new IllegalArgumentException("Latency budget must be positive");
+        }
+        this.latencyBudgetNs = latencyBudgetNs;
+        this.counters.set(CYCLE_START_NS, NOT_IN_CYCLE);
+    }
+
+    void onCycleStart(final long startNs) {
+        this.counters.lazySet(CYCLE_START_NS, startNs);
+    }
+
+    void onCycleEnd(final long startNs, final long endNs, final int workCount) {
+        increment(workCount > 0 ? WORK_CYCLES : IDLE_CYCLES);
+        recordDuration(endNs - startNs);
+    }
+
+    void onCycleError(final long startNs, final long endNs) {
+        increment(ERRORS);
+        recordDuration(endNs - startNs);
+    }
+
+    void onError() {
+        increment(ERRORS);
+    }
+
+    private void recordDuration(final long durationNs) {
+        final long duration = Math.max(durationNs, 0);
+        this.counters.lazySet(CYCLE_START_NS, NOT_IN_CYCLE);
+        this.counters.lazySet(LAST_DUTY_CYCLE_NS, duration);
+        this.counters.lazySet(TOTAL_DUTY_CYCLE_NS, this.counters.get(TOTAL_DUTY_CYCLE_NS) + duration);
+        if (duration > this.counters.get(MAX_DUTY_CYCLE_NS)) {
+            this.counters.lazySet(MAX_DUTY_CYCLE_NS, duration);
+        }
+        if (duration > this.latencyBudgetNs) {
+            increment(OVER_BUDGET_CYCLES);
+        }
+
+        final int bucket = bucketOf(duration);
+        this.histogram.lazySet(bucket, this.histogram.get(bucket) + 1);
+    }
+
+    private void increment(final int counter) {
+        // Single writer, so an ordered store of the incremented value is enough
+        this.counters.lazySet(counter, this.counters.get(counter) + 1);
+    }
+
+    private static int bucketOf(final long durationNs) {
+        return Math.min(Long.SIZE - Long.numberOfLeadingZeros(durationNs), BUCKET_COUNT - 1);
+    }
+
+    public long latencyBudgetNs() {
+        return this.latencyBudgetNs;
+    }
+
+    /**
+     * @return number of duty cycles in which the agent reported work
+     */
+    public long workCycles() {
+        return this.counters.get(WORK_CYCLES);
+    }
+
+    /**
+     * @return number of duty cycles in which the agent reported no work
+     */
+    public long idleCycles() {
+        return this.counters.get(IDLE_CYCLES);
+    }
+
+    /**
+     * @return number of errors passed to the error handler, from doWork() as well as onStart() and onClose()
+     */
+    public long errors() {
+        return this.counters.get(ERRORS);
+    }
+
+    /**
+     * @return number of duty cycles that took longer than the latency budget
+     */
+    public long overBudgetCycles() {
+        return this.counters.get(OVER_BUDGET_CYCLES);
+    }
+
+    /**
+     * @return number of completed duty cycles, including ones that threw
+     */
+    public long totalCycles() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += this.histogram.get(i);
+        }
+        return total;
+    }
+
+    public long totalDutyCycleNs() {
+        return this.counters.get(TOTAL_DUTY_CYCLE_NS);
+    }
+
+    public long maxDutyCycleNs() {
+        return this.counters.get(MAX_DUTY_CYCLE_NS);
+    }
+
+    public long lastDutyCycleNs() {
+        return this.counters.get(LAST_DUTY_CYCLE_NS);
+    }
+
+    /**
+     * Returns how long the duty cycle in progress has been running, which lets a monitoring thread spot an agent
+     * that is stuck inside doWork() before the cycle completes.
+     *
+     * @param nowNs the current {@link System#nanoTime()}
+     * @return nanoseconds since the current duty cycle started, or 0 if the runner is not inside doWork()
+     */
+    public long currentDutyCycleNs(final long nowNs) {
+        final long startNs = this.counters.get(CYCLE_START_NS);
+        return startNs == NOT_IN_CYCLE ? 0 : Math.max(nowNs - startNs, 0);
+    }
+
+    /**
+     * @param bucket the histogram bucket, between 0 and BUCKET_COUNT - 1
+     * @return number of duty cycles that fell into the bucket
+     */
+    public long bucketCount(final int bucket) {
+        return this.histogram.get(bucket);
+    }
+
+    /**
+     * @param bucket the histogram bucket, between 0 and BUCKET_COUNT - 1
+     * @return the longest duration counted by the bucket
+     */
+    public static long bucketUpperBoundNs(final int bucket) {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * Estimates a percentile of the duty-cycle time from the histogram. The result is the upper bound of the
+     * bucket holding the percentile, so it is at most twice the true value.
+     *
+     * @param percentile between 0 and 100
+     * @return the estimated duty-cycle time in nanoseconds, or 0 if no cycle has completed yet
+     */
+    public long percentileDutyCycleNs(final double percentile) {
+        if (percentile < 0 || percentile > MAX_PERCENTILE) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        final long total = totalCycles();
+        if (total == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(total * percentile / MAX_PERCENTILE));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.histogram.get(i);
+            if (seen >= target) {
+                return bucketUpperBoundNs(i);
+            }
+        }
+        // Only reachable when cycles were recorded while the buckets were being summed
+        return maxDutyCycleNs();
+    }
+}
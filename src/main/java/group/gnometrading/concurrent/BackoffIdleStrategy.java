@@ -0,0 +1,118 @@
+package group.gnometrading.concurrent;
+
+import group.gnometrading.annotations.VisibleForTesting;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Backs off in stages while the agent stays idle: first it spins with {@link Thread#onSpinWait()}, then it yields,
+ * and finally it parks for a period that doubles on every idle cycle up to a maximum. Any work resets it to spinning,
+ * so a burst of activity is picked up quickly while a quiet agent costs next to nothing.
+ */
+public final class BackoffIdleStrategy implements IdleStrategy {
+
+    public static final long DEFAULT_MAX_SPINS = 10;
+    public static final long DEFAULT_MAX_YIELDS = 5;
+    public static final long DEFAULT_MIN_PARK_PERIOD_NS = 1_000L;
+    public static final long DEFAULT_MAX_PARK_PERIOD_NS = 1_000_000L;
+
+    @VisibleForTesting
+    enum State {
+        NOT_IDLE,
+        SPINNING,
+        YIELDING,
+        PARKING
+    }
+
+    private final long maxSpins;
+    private final long maxYields;
+    private final long minParkPeriodNs;
+    private final long maxParkPeriodNs;
+
+    private State state = State.NOT_IDLE;
+    private long spins;
+    private long yields;
+    private long parkPeriodNs;
+
+    public BackoffIdleStrategy() {
+        this(DEFAULT_MAX_SPINS, DEFAULT_MAX_YIELDS, DEFAULT_MIN_PARK_PERIOD_NS, DEFAULT_MAX_PARK_PERIOD_NS);
+    }
+
+    /**
+     * @param maxSpins number of idle cycles to spin for before yielding
+     * @param maxYields number of idle cycles to yield for before parking
+     * @param minParkPeriodNs the first park period
+     * @param maxParkPeriodNs the park period stops doubling once it reaches this
+     */
+    public BackoffIdleStrategy(
+            final long maxSpins, final long maxYields, final long minParkPeriodNs, final long maxParkPeriodNs) {
+        if (maxSpins < 0 || maxYields < 0) {
+            throw new IllegalArgumentException("Spin and yield counts must not be negative");
+        }
+        if (minParkPeriodNs <= 0 || maxParkPeriodNs < minParkPeriodNs) {
+            throw new IllegalArgumentException("Park periods must be positive and min must not exceed max");
+        }
+        this.maxSpins = maxSpins;
+        this.maxYields = maxYields;
+        this.minParkPeriodNs = minParkPeriodNs;
+        this.maxParkPeriodNs = maxParkPeriodNs;
+        this.parkPeriodNs = minParkPeriodNs;
+    }
+
+    @Override
+    @SuppressWarnings("fallthrough")
+    public void idle(final int workCount) {
+        if (workCount > 0) {
+            reset();
+            return;
+        }
+
+        // A cycle that moves into a new stage takes that stage's action, so each stage runs for exactly its count
+        switch (this.state) {
+            case NOT_IDLE:
+                this.state = State.SPINNING;
+                this.spins = 0;
+                // fall through
+            case SPINNING:
+                if (this.spins < this.maxSpins) {
+                    this.spins++;
+                    Thread.onSpinWait();
+                    break;
+                }
+                this.state = State.YIELDING;
+                this.yields = 0;
+                // fall through
+            case YIELDING:
+                if (this.yields < this.maxYields) {
+                    this.yields++;
+                    Thread.yield();
+                    break;
+                }
+                this.state = State.PARKING;
+                this.parkPeriodNs = this.minParkPeriodNs;
+                // fall through
+            case PARKING:
+            default:
+                LockSupport.parkNanos(this.parkPeriodNs);
+                this.parkPeriodNs = Math.min(this.parkPeriodNs << 1, this.maxParkPeriodNs);
+                break;
+        }
+    }
+
+    @Override
+    public void reset() {
+        this.state = State.NOT_IDLE;
+        this.spins = 0;
+        this.yields = 0;
+        this.parkPeriodNs = this.minParkPeriodNs;
+    }
+
+    @VisibleForTesting
+    State getState() {
+        return this.state;
+    }
+
+    @VisibleForTesting
+    long getParkPeriodNs() {
+        return this.parkPeriodNs;
+    }
+}
@@ -0,0 +1,17 @@
+package group.gnometrading.concurrent;
+
+/**
+ * Busy spins with {@link Thread#onSpinWait()} when there is no work. The core stays busy, but the spin-loop hint
+ * lets the CPU save power and hand pipeline resources to its hyperthread sibling.
+ */
+public final class BusySpinIdleStrategy implements IdleStrategy {
+
+    public static final BusySpinIdleStrategy INSTANCE = new BusySpinIdleStrategy();
+
+    @Override
+    public void idle(final int workCount) {
+        if (workCount <= 0) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package group.gnometrading.concurrent;
+
+import java.util.List;
+
+/**
+ * Runs several agents on one thread. Every duty cycle calls each agent's {@link GnomeAgent#doWork()} in turn and
+ * returns the sum of their work counts, so an idle strategy only backs off once all of them are idle.
+ *
+ * <p>A failing agent does not stop the others: every agent is started and closed even if an earlier one throws,
+ * and the first error is rethrown afterwards with the rest attached as suppressed exceptions. If an agent throws
+ * from doWork(), the next duty cycle picks up with the agent after it.
+ */
+public final class CompositeAgent implements GnomeAgent {
+
+    private final GnomeAgent[] agents;
+    private final String roleName;
+    private int agentIndex = 0;
+
+    public CompositeAgent(final GnomeAgent... agents) {
+        if (agents.length == 0) {
+            throw new IllegalArgumentException("Composite agent requires at least one agent");
+        }
+        this.agents = agents.clone();
+        this.roleName = roleNameOf(this.agents);
+    }
+
+    public CompositeAgent(final List<? extends GnomeAgent> agents) {
+        this(agents.toArray(new GnomeAgent[0]));
+    }
+
+    @Override
+    public void onStart() throws Exception {
+        startAll(this.agents);
+    }
+
+    @Override
+    public int doWork() throws Exception {
+        if (this.agentIndex >= this.agents.length) {
+            this.agentIndex = 0;
+        }
+
+        int workCount = 0;
+        while (this.agentIndex < this.agents.length) {
+            // Advance before calling so an exception resumes with the next agent
+            final GnomeAgent agent = this.agents[this.agentIndex++];
+            workCount += agent.doWork();
+        }
+        this.agentIndex = 0;
+        return workCount;
+    }
+
+    @Override
+    public void onClose() {
+        closeAll(this.agents);
+    }
+
+    @Override
+    public String roleName() {
+        return this.roleName;
+    }
+
+    public int agentCount() {
+        return this.agents.length;
+    }
+
+    static void startAll(final GnomeAgent[] agents) throws Exception {
+        Exception error = null;
+        for (GnomeAgent agent : agents) {
+            try {
+                agent.onStart();
+            } catch (Exception e) {
+                error = accumulate(error, e);
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    static void closeAll(final GnomeAgent[] agents) {
+        RuntimeException error = null;
+        for (GnomeAgent agent : agents) {
+            try {
+                agent.onClose();
+            } catch (RuntimeException e) {
+                error = accumulate(error, e);
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    static String roleNameOf(final GnomeAgent[] agents) {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < agents.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(agents[i].roleName());
+        }
+        return builder.append(']').toString();
+    }
+
+    private static <E extends Exception> E accumulate(final E error, final E next) {
+        if (error == null) {
+            return next;
+        }
+        error.addSuppressed(next);
+        return error;
+    }
+}
@@ -0,0 +1,195 @@
+package group.gnometrading.concurrent;
+
+import group.gnometrading.collections.buffer.ManyToOneRingBuffer;
+import group.gnometrading.collections.buffer.MessageConsumer;
+import java.util.Arrays;
+
+/**
+ * A {@link CompositeAgent} whose agents can be added and removed while it runs. Any thread may request a change
+ * with {@link #tryAdd(GnomeAgent)} or {@link #tryRemove(GnomeAgent)}; the request goes through a lock-free
+ * command queue and is applied by the agent's own thread at the start of the next duty cycle, so the loop never
+ * stops and the agents are only ever touched by one thread.
+ *
+ * <p>An added agent is started on the agent's thread before its first doWork(), and a removed agent is closed
+ * there too. If that start or close throws, the error surfaces from doWork() to the runner's error handler; an
+ * agent that fails to start is not added.
+ */
+public final class DynamicCompositeAgent implements GnomeAgent {
+
+    public static final int DEFAULT_COMMAND_QUEUE_CAPACITY = 64;
+
+    private static final GnomeAgent[] EMPTY_AGENTS = new GnomeAgent[0];
+
+    private static final class Command {
+        private boolean add;
+        private GnomeAgent agent;
+    }
+
+    private final String roleName;
+    private final ManyToOneRingBuffer<Command> commands;
+    private final MessageConsumer<Command> commandReader = this::takeCommand;
+
+    private GnomeAgent[] agents;
+    private int agentIndex = 0;
+    private boolean started = false;
+
+    // The command taken off the queue, applied once the queue read has completed
+    private boolean pendingAdd;
+    private GnomeAgent pendingAgent;
+
+    public DynamicCompositeAgent(final String roleName, final GnomeAgent... agents) {
+        this(roleName, DEFAULT_COMMAND_QUEUE_CAPACITY, agents);
+    }
+
+    /**
+     * @param roleName name of the composite, used for diagnostics
+     * @param commandQueueCapacity number of add and remove requests that can be pending at once, a power of 2
+     * @param agents the agents to start with
+     */
+    public DynamicCompositeAgent(final String roleName, final int commandQueueCapacity, final GnomeAgent... agents) {
+        this.roleName = roleName;
+        this.commands = new ManyToOneRingBuffer<>(Command[]::new, Command::new, commandQueueCapacity);
+        this.agents = agents.length == 0 ? EMPTY_AGENTS : agents.clone();
+    }
+
+    /**
+     * Requests that the agent be added. Safe to call from any thread.
+     *
+     * @param agent the agent to add
+     * @return false if the command queue is full and the request should be retried
+     */
+    public boolean tryAdd(final GnomeAgent agent) {
+        return offer(true, agent);
+    }
+
+    /**
+     * Requests that the agent be removed and closed. Safe to call from any thread. Removing an agent that is not
+     * part of the composite does nothing.
+     *
+     * @param agent the agent to remove
+     * @return false if the command queue is full and the request should be retried
+     */
+    public boolean tryRemove(final GnomeAgent agent) {
+        return offer(false, agent);
+    }
+
+    private boolean offer(final boolean add, final GnomeAgent agent) {
+        if (agent == null) {
+            throw new IllegalArgumentException("Agent must not be null");
+        }
+
+        final int index = this.commands.tryClaim();
+        if (index == -1) {
+            return false;
+        }
+        final Command command = this.commands.indexAt(index);
+        command.add = add;
+        command.agent = agent;
+        this.commands.commit(index);
+        return true;
+    }
+
+    @Override
+    public void onStart() throws Exception {
+        this.started = true;
+        CompositeAgent.startAll(this.agents);
+    }
+
+    @Override
+    public int doWork() throws Exception {
+        int workCount = applyCommands();
+
+        if (this.agentIndex >= this.agents.length) {
+            this.agentIndex = 0;
+        }
+        while (this.agentIndex < this.agents.length) {
+            final GnomeAgent agent = this.agents[this.agentIndex++];
+            workCount += agent.doWork();
+        }
+        this.agentIndex = 0;
+        return workCount;
+    }
+
+    private int applyCommands() throws Exception {
+        int applied = 0;
+        while (true) {
+            this.pendingAgent = null;
+            this.commands.read(this.commandReader, 1);
+            final GnomeAgent agent = this.pendingAgent;
+            if (agent == null) {
+                return applied;
+            }
+            this.pendingAgent = null;
+            applied++;
+
+            if (this.pendingAdd) {
+                add(agent);
+            } else {
+                remove(agent);
+            }
+        }
+    }
+
+    private void takeCommand(final Command command) {
+        this.pendingAdd = command.add;
+        this.pendingAgent = command.agent;
+        command.agent = null;
+    }
+
+    private void add(final GnomeAgent agent) throws Exception {
+        if (this.started) {
+            agent.onStart();
+        }
+
+        final GnomeAgent[] newAgents = Arrays.copyOf(this.agents, this.agents.length + 1);
+        newAgents[this.agents.length] = agent;
+        this.agents = newAgents;
+        this.agentIndex = 0;
+    }
+
+    private void remove(final GnomeAgent agent) {
+        final int index = indexOf(agent);
+        if (index == -1) {
+            return;
+        }
+
+        final GnomeAgent[] newAgents = new GnomeAgent[this.agents.length - 1];
+        System.arraycopy(this.agents, 0, newAgents, 0, index);
+        System.arraycopy(this.agents, index + 1, newAgents, index, newAgents.length - index);
+        this.agents = newAgents.length == 0 ? EMPTY_AGENTS : newAgents;
+        this.agentIndex = 0;
+
+        agent.onClose();
+    }
+
+    private int indexOf(final GnomeAgent agent) {
+        for (int i = 0; i < this.agents.length; i++) {
+            if (this.agents[i] == agent) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Closes the agents that are currently part of the composite. Requests still in the queue are dropped.
+     */
+    @Override
+    public void onClose() {
+        final GnomeAgent[] toClose = this.agents;
+        this.agents = EMPTY_AGENTS;
+        CompositeAgent.closeAll(toClose);
+    }
+
+    @Override
+    public String roleName() {
+        return this.roleName;
+    }
+
+    /**
+     * @return the number of agents currently running. Only accurate on the agent's own thread.
+     */
+    public int agentCount() {
+        return this.agents.length;
+    }
+}
@@ -12,11 +12,37 @@ public final class GnomeAgentRunner implements Runnable, AutoCloseable {
 
     private final GnomeAgent agent;
     private final ErrorHandler errorHandler;
+    private final IdleStrategy idleStrategy;
+    private final AgentRunnerMetrics metrics; // null unless metrics were asked for
     private final AtomicReference<Thread> thread = new AtomicReference<>();
 
+    /**
+     * Creates a runner that calls straight back into the agent after every duty cycle, as with
+     * {@link NoOpIdleStrategy}.
+     */
     public GnomeAgentRunner(GnomeAgent agent, ErrorHandler errorHandler) {
+        this(agent, errorHandler, NoOpIdleStrategy.INSTANCE);
+    }
+
+    /**
+     * Creates a runner that passes the work count of every duty cycle to the idle strategy.
+     */
+    public GnomeAgentRunner(GnomeAgent agent, ErrorHandler errorHandler, IdleStrategy idleStrategy) {
+        this(agent, errorHandler, idleStrategy, null);
+    }
+
+    /**
+     * Creates a runner that records its duty cycles into the given metrics, for example to set a latency budget.
+     * Recording reads the clock twice per cycle, so runners without metrics skip it entirely.
+     *
+     * @param metrics the metrics to record into, or null to record none
+     */
+    public GnomeAgentRunner(
+            GnomeAgent agent, ErrorHandler errorHandler, IdleStrategy idleStrategy, AgentRunnerMetrics metrics) {
         this.agent = agent;
         this.errorHandler = errorHandler;
+        this.idleStrategy = idleStrategy;
+        this.metrics = metrics;
     }
 
     public static Thread startOnThread(final GnomeAgentRunner agentRunner) {
@@ -34,6 +60,17 @@ public final class GnomeAgentRunner implements Runnable, AutoCloseable {
         return this.agent;
     }
 
+    public IdleStrategy getIdleStrategy() {
+        return this.idleStrategy;
+    }
+
+    /**
+     * @return the duty-cycle metrics, safe to read from any thread, or null if the runner records none
+     */
+    public AgentRunnerMetrics getMetrics() {
+        return this.metrics;
+    }
+
     public boolean isClosed() {
         return closed;
     }
@@ -48,15 +85,18 @@ public final class GnomeAgentRunner implements Runnable, AutoCloseable {
             try {
                 this.agent.onStart();
             } catch (Throwable e) {
+                this.countError();
                 this.errorHandler.onError(e);
                 this.running = false;
             }
 
+            this.idleStrategy.reset();
             this.workLoop();
 
             try {
                 this.agent.onClose();
             } catch (Throwable e) {
+                this.countError();
                 this.errorHandler.onError(e);
             }
         } finally {
@@ -65,8 +105,15 @@ public final class GnomeAgentRunner implements Runnable, AutoCloseable {
     }
 
     private void workLoop() {
-        while (this.running) {
-            this.doWork();
+        // Chosen once, so a runner without metrics does not check for them on every cycle
+        if (this.metrics == null) {
+            while (this.running) {
+                this.doWork();
+            }
+        } else {
+            while (this.running) {
+                this.doMeasuredWork();
+            }
         }
     }
 
@@ -75,20 +122,53 @@ public final class GnomeAgentRunner implements Runnable, AutoCloseable {
             int workCount = agent.doWork();
             if (workCount <= 0 && Thread.currentThread().isInterrupted()) {
                 this.running = false;
+            } else if (this.running) {
+                this.idleStrategy.idle(workCount);
             }
         } catch (InterruptedException e) {
             this.running = false;
             Thread.currentThread().interrupt();
         } catch (Throwable e) {
-            if (Thread.currentThread().isInterrupted()) {
+            this.onWorkError(e);
+        }
+    }
+
+    private void doMeasuredWork() {
+        final long startNs = System.nanoTime();
+        this.metrics.onCycleStart(startNs);
+        try {
+            int workCount = agent.doWork();
+            this.metrics.onCycleEnd(startNs, System.nanoTime(), workCount);
+            if (workCount <= 0 && Thread.currentThread().isInterrupted()) {
                 this.running = false;
+            } else if (this.running) {
+                this.idleStrategy.idle(workCount);
             }
+        } catch (InterruptedException e) {
+            this.metrics.onCycleEnd(startNs, System.nanoTime(), 0);
+            this.running = false;
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            this.metrics.onCycleError(startNs, System.nanoTime());
+            this.onWorkError(e);
+        }
+    }
 
-            this.handleError(e);
+    private void onWorkError(Throwable error) {
+        if (Thread.currentThread().isInterrupted()) {
+            this.running = false;
+        }
 
-            if (this.running && Thread.currentThread().isInterrupted()) {
-                this.running = false;
-            }
+        this.handleError(error);
+
+        if (this.running && Thread.currentThread().isInterrupted()) {
+            this.running = false;
+        }
+    }
+
+    private void countError() {
+        if (this.metrics != null) {
+            this.metrics.onError();
         }
     }
 
@@ -107,6 +187,7 @@ public final class GnomeAgentRunner implements Runnable, AutoCloseable {
             try {
                 this.agent.onClose();
             } catch (Throwable e) {
+                this.countError();
                 this.errorHandler.onError(e);
             } finally {
                 this.closed = true;
@@ -0,0 +1,20 @@
+package group.gnometrading.concurrent;
+
+/**
+ * Decides what a {@link GnomeAgentRunner} does between calls to {@link GnomeAgent#doWork()}. The runner passes the
+ * work count returned by the agent, so a strategy can stay hot while there is work and back off once there is none.
+ * Implementations are used by a single thread and need not be thread-safe.
+ */
+public interface IdleStrategy {
+    /**
+     * Called after every duty cycle.
+     *
+     * @param workCount the number of work items the agent processed, 0 or less if it was idle
+     */
+    void idle(int workCount);
+
+    /**
+     * Resets any backoff state, for example once the agent has done some work again.
+     */
+    default void reset() {}
+}
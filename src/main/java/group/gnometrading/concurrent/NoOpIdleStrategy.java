@@ -0,0 +1,13 @@
+package group.gnometrading.concurrent;
+
+/**
+ * Never idles, the runner calls straight back into the agent. Gives the lowest possible latency at the cost of a
+ * fully busy core that also competes with its hyperthread sibling.
+ */
+public final class NoOpIdleStrategy implements IdleStrategy {
+
+    public static final NoOpIdleStrategy INSTANCE = new NoOpIdleStrategy();
+
+    @Override
+    public void idle(final int workCount) {}
+}
@@ -0,0 +1,40 @@
+package group.gnometrading.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parks the thread for a fixed period when there is no work. Suited to agents where latency does not matter, such
+ * as reference data or heartbeats. Parking returns early when the thread is interrupted, so the runner still stops
+ * promptly.
+ */
+public final class SleepingIdleStrategy implements IdleStrategy {
+
+    public static final long DEFAULT_SLEEP_PERIOD_NS = 1_000_000L;
+
+    private final long sleepPeriodNs;
+
+    public SleepingIdleStrategy() {
+        this(DEFAULT_SLEEP_PERIOD_NS);
+    }
+
+    /**
+     * @param sleepPeriodNs how long to park for when there is no work
+     */
+    public SleepingIdleStrategy(final long sleepPeriodNs) {
+        if (sleepPeriodNs <= 0) {
+            throw new IllegalArgumentException("Sleep period must be positive");
+        }
+        this.sleepPeriodNs = sleepPeriodNs;
+    }
+
+    public long getSleepPeriodNs() {
+        return this.sleepPeriodNs;
+    }
+
+    @Override
+    public void idle(final int workCount) {
+        if (workCount <= 0) {
+            LockSupport.parkNanos(this.sleepPeriodNs);
+        }
+    }
+}
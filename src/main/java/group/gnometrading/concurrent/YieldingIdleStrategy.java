@@ -0,0 +1,16 @@
+package group.gnometrading.concurrent;
+
+/**
+ * Calls {@link Thread#yield()} when there is no work, letting other runnable threads use the core.
+ */
+public final class YieldingIdleStrategy implements IdleStrategy {
+
+    public static final YieldingIdleStrategy INSTANCE = new YieldingIdleStrategy();
+
+    @Override
+    public void idle(final int workCount) {
+        if (workCount <= 0) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package group.gnometrading.pools;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Pool whose nodes may be released on a different thread from the one that acquired them, for objects that flow
+ * down a pipeline, for example from a gateway thread to a strategy thread.
+ *
+ * <p>Every thread that acquires gets its own magazine: an array stack of free nodes like
+ * {@link SingleThreadedArrayPool}, plus a lock-free multi-producer return stack. A node always belongs to the
+ * magazine that created it. Releasing it on that thread is an index bump; releasing it on any other thread pushes
+ * it onto the owning magazine's return stack with a single CAS, linking through the node itself so nothing is
+ * allocated. The owning thread takes the whole return stack back in one swap once its magazine runs dry, and only
+ * creates new objects if nothing has been returned either.
+ */
+public final class ConcurrentObjectPool<T> implements Pool<T> {
+
+    private static final int DEFAULT_CAPACITY = 50;
+
+    private final Supplier<T> supplier;
+    private final int defaultCapacity;
+    private final ThreadLocal<Magazine<T>> magazines;
+    private final AtomicInteger additionalNodes = new AtomicInteger();
+
+    public ConcurrentObjectPool(final Class<T> clazz) {
+        this(clazz, DEFAULT_CAPACITY);
+    }
+
+    public ConcurrentObjectPool(final Class<T> clazz, final int defaultCapacity) {
+        this(() -> SingleThreadedObjectPool.newInstance(clazz), defaultCapacity);
+    }
+
+    public ConcurrentObjectPool(final Supplier<T> supplier) {
+        this(supplier, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param supplier creates the pooled objects
+     * @param defaultCapacity number of objects each acquiring thread's magazine starts with
+     */
+    public ConcurrentObjectPool(final Supplier<T> supplier, final int defaultCapacity) {
+        if (defaultCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        this.supplier = supplier;
+        this.defaultCapacity = defaultCapacity;
+        this.magazines = ThreadLocal.withInitial(() -> new Magazine<>(this, Thread.currentThread()));
+    }
+
+    /**
+     * Acquires a node from the calling thread's magazine.
+     */
+    @Override
+    public PoolNode<T> acquire() {
+        return this.magazines.get().acquire();
+    }
+
+    /**
+     * Releases a node acquired on any thread. Safe to call from any thread.
+     */
+    @Override
+    public void release(final PoolNode<T> node) {
+        final PoolNodeImpl<T> casted = (PoolNodeImpl<T>) node;
+        final Magazine<T> home = casted.home;
+        if (home.owner == Thread.currentThread()) {
+            home.push(casted);
+        } else {
+            home.returnNode(casted);
+        }
+    }
+
+    /**
+     * Releases every node acquired on the calling thread. Only safe once none of those nodes are still in use,
+     * including on other threads.
+     */
+    @Override
+    public void releaseAll() {
+        this.magazines.get().releaseAll();
+    }
+
+    /**
+     * @return true if the node was acquired on the calling thread, so that {@link #releaseAll()} here releases it
+     */
+    boolean isAcquiredOnCurrentThread(final PoolNode<T> node) {
+        return node instanceof PoolNodeImpl<T> casted && casted.home.owner == Thread.currentThread();
+    }
+
+    /**
+     * @return number of nodes created beyond the initial capacity of each magazine, across all threads
+     */
+    @Override
+    public int getAdditionalNodesCreated() {
+        return this.additionalNodes.get();
+    }
+
+    private static final class Magazine<T> {
+        private final ConcurrentObjectPool<T> pool;
+        private final Thread owner;
+
+        // Owner thread only
+        private PoolNodeImpl<T>[] allNodes;
+        private PoolNodeImpl<T>[] freeNodes;
+        private int nodeCount;
+        private int freeCount;
+
+        // Head of the stack of nodes released by other threads, linked through PoolNodeImpl.nextReturned
+        private final AtomicReference<PoolNodeImpl<T>> returned = new AtomicReference<>();
+
+        private Magazine(final ConcurrentObjectPool<T> pool, final Thread owner) {
+            this.pool = pool;
+            this.owner = owner;
+
+            final int capacity = pool.defaultCapacity;
+            final int length = Math.max(capacity, 1);
+            this.allNodes = PoolNodeImpl.createArray(length);
+            this.freeNodes = PoolNodeImpl.createArray(length);
+            for (int i = 0; i < capacity; i++) {
+                final var node = new PoolNodeImpl<>(pool.supplier.get(), this);
+                this.allNodes[i] = node;
+                this.freeNodes[capacity - 1 - i] = node;
+            }
+            this.nodeCount = capacity;
+            this.freeCount = capacity;
+        }
+
+        private PoolNode<T> acquire() {
+            if (this.freeCount == 0 && !drainReturned()) {
+                return createNode();
+            }
+            return this.freeNodes[--this.freeCount];
+        }
+
+        private boolean drainReturned() {
+            PoolNodeImpl<T> node = this.returned.getAndSet(null);
+            if (node == null) {
+                return false;
+            }
+            while (node != null) {
+                final PoolNodeImpl<T> next = node.nextReturned;
+                node.nextReturned = null;
+                push(node);
+                node = next;
+            }
+            return true;
+        }
+
+        private PoolNode<T> createNode() {
+            if (this.nodeCount == this.allNodes.length) {
+                final int newLength = this.allNodes.length << 1;
+                this.allNodes = Arrays.copyOf(this.allNodes, newLength);
+                this.freeNodes = Arrays.copyOf(this.freeNodes, newLength);
+            }
+
+            final var node = new PoolNodeImpl<>(this.pool.supplier.get(), this);
+            this.allNodes[this.nodeCount++] = node;
+            this.pool.additionalNodes.incrementAndGet();
+            return node;
+        }
+
+        private void push(final PoolNodeImpl<T> node) {
+            if (this.freeCount == this.nodeCount) {
+                throw new IllegalStateException("Released more nodes than were acquired");
+            }
+            this.freeNodes[this.freeCount++] = node;
+        }
+
+        private void returnNode(final PoolNodeImpl<T> node) {
+            PoolNodeImpl<T> head;
+            do {
+                head = this.returned.get();
+                node.nextReturned = head;
+            } while (!this.returned.compareAndSet(head, node));
+        }
+
+        private void releaseAll() {
+            PoolNodeImpl<T> node = this.returned.getAndSet(null);
+            while (node != null) {
+                final PoolNodeImpl<T> next = node.nextReturned;
+                node.nextReturned = null;
+                node = next;
+            }
+            System.arraycopy(this.allNodes, 0, this.freeNodes, 0, this.nodeCount);
+            this.freeCount = this.nodeCount;
+        }
+    }
+
+    private static final class PoolNodeImpl<T> implements PoolNode<T> {
+        private final T item;
+        private final Magazine<T> home;
+        private PoolNodeImpl<T> nextReturned;
+
+        private PoolNodeImpl(final T item, final Magazine<T> home) {
+            this.item = item;
+            this.home = home;
+        }
+
+        @Override
+        public T getItem() {
+            return this.item;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static <T> PoolNodeImpl<T>[] createArray(final int size) {
+            return new PoolNodeImpl[size];
+        }
+    }
+}
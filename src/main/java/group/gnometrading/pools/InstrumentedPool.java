@@ -0,0 +1,207 @@
+package group.gnometrading.pools;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Opt-in diagnostic wrapper around any {@link Pool}. It counts live nodes, the high watermark and how often the
+ * wrapped pool had to grow, so pool capacities can be sized from production data. It also tracks every node it has
+ * handed out, so it can reject a node released twice and list the nodes that were acquired and never released.
+ *
+ * <p>In debug mode the stack trace of every acquire is captured, which shows exactly where a leaked node came from.
+ * That costs an allocation and a stack walk per acquire, so leave it off outside of debugging. Even without it,
+ * every call takes a lock and updates the tracking table, so use the bare pool on hot paths in production once
+ * it is sized. The counters may be read from any thread.
+ */
+public final class InstrumentedPool<T> implements Pool<T> {
+
+    /**
+     * Receives the nodes that are still acquired.
+     */
+    @FunctionalInterface
+    public interface LeakConsumer<T> {
+        /**
+         * @param item the item of the node that is still acquired
+         * @param acquireSequence the acquire count at the time it was acquired, lower means older
+         * @param acquireSite the stack trace of the acquire, or null when not in debug mode
+         */
+        void onOutstanding(T item, long acquireSequence, Throwable acquireSite);
+    }
+
+    private static final class NodeState {
+        private boolean acquired;
+        private long acquireSequence;
+        private Throwable acquireSite;
+    }
+
+    private final Pool<T> delegate;
+    private final boolean debug;
+    private final Map<PoolNode<T>, NodeState> nodes = new IdentityHashMap<>();
+
+    private volatile long acquireCount;
+    private volatile long releaseCount;
+    private volatile int liveCount;
+    private volatile int highWatermark;
+    private volatile int growthEvents;
+    private volatile int doubleReleases;
+
+    public InstrumentedPool(final Pool<T> delegate) {
+        this(delegate, false);
+    }
+
+    /**
+     * @param delegate the pool to instrument
+     * @param debug whether to capture the stack trace of every acquire
+     */
+    public InstrumentedPool(final Pool<T> delegate, final boolean debug) {
+        this.delegate = delegate;
+        this.debug = debug;
+    }
+
+    @Override
+    public synchronized PoolNode<T> acquire() {
+        final int createdBefore = this.delegate.getAdditionalNodesCreated();
+        final PoolNode<T> node = this.delegate.acquire();
+        if (this.delegate.getAdditionalNodesCreated() != createdBefore) {
+            this.growthEvents++;
+        }
+
+        final NodeState state = this.nodes.computeIfAbsent(node, key -> new NodeState());
+        if (state.acquired) {
+            throw new IllegalStateException("Pool handed out a node that is already acquired");
+        }
+        state.acquired = true;
+        state.acquireSequence = this.acquireCount;
+        state.acquireSite = this.debug ? new Throwable("Acquired here") : null;
+
+        this.acquireCount++;
+        final int live = this.liveCount + 1;
+        this.liveCount = live;
+        if (live > this.highWatermark) {
+            this.highWatermark = live;
+        }
+        return node;
+    }
+
+    /**
+     * Releases the node to the wrapped pool.
+     *
+     * @throws IllegalStateException if the node is not currently acquired from this pool, in which case the
+     *     wrapped pool is left untouched
+     */
+    @Override
+    public synchronized void release(final PoolNode<T> node) {
+        final NodeState state = this.nodes.get(node);
+        if (state == null || !state.acquired) {
+            this.doubleReleases++;
+            throw new IllegalStateException(
+                    state == null ? "Node was not acquired from this pool" : "Node was released twice");
+        }
+
+        state.acquired = false;
+        state.acquireSite = null;
+        this.releaseCount++;
+        this.liveCount--;
+        this.delegate.release(node);
+    }
+
+    /**
+     * Releases the nodes that the wrapped pool's releaseAll() covers on this thread. With a
+     * {@link ConcurrentObjectPool} that is only the nodes acquired on the calling thread, and nodes acquired on other
+     * threads stay live and outstanding.
+     */
+    @Override
+    public synchronized void releaseAll() {
+        for (Map.Entry<PoolNode<T>, NodeState> entry : this.nodes.entrySet()) {
+            final NodeState state = entry.getValue();
+            if (state.acquired && isReleasedByReleaseAll(entry.getKey())) {
+                state.acquired = false;
+                state.acquireSite = null;
+                this.releaseCount++;
+                this.liveCount--;
+            }
+        }
+        this.delegate.releaseAll();
+    }
+
+    boolean isReleasedByReleaseAll(final PoolNode<T> node) {
+        if (this.delegate instanceof ConcurrentObjectPool<T> concurrent) {
+            return concurrent.isAcquiredOnCurrentThread(node);
+        } else if (this.delegate instanceof InstrumentedPool<T> instrumented) {
+            return instrumented.isReleasedByReleaseAll(node);
+        }
+        return true;
+    }
+
+    @Override
+    public int getAdditionalNodesCreated() {
+        return this.delegate.getAdditionalNodesCreated();
+    }
+
+    /**
+     * Passes every node that is acquired and not yet released to the consumer, in no particular order.
+     * Calling this at shutdown, or when the live count keeps climbing, lists the leaks.
+     *
+     * @param consumer receives the outstanding nodes
+     * @return number of outstanding nodes
+     */
+    public synchronized int forEachOutstanding(final LeakConsumer<T> consumer) {
+        int outstanding = 0;
+        for (Map.Entry<PoolNode<T>, NodeState> entry : this.nodes.entrySet()) {
+            final NodeState state = entry.getValue();
+            if (state.acquired) {
+                consumer.onOutstanding(entry.getKey().getItem(), state.acquireSequence, state.acquireSite);
+                outstanding++;
+            }
+        }
+        return outstanding;
+    }
+
+    public boolean isDebug() {
+        return this.debug;
+    }
+
+    /**
+     * @return number of nodes currently acquired
+     */
+    public int liveCount() {
+        return this.liveCount;
+    }
+
+    /**
+     * @return the highest number of nodes that were acquired at the same time
+     */
+    public int highWatermark() {
+        return this.highWatermark;
+    }
+
+    /**
+     * @return number of acquires that made the wrapped pool create a new node, always 0 if the wrapped pool does not
+     *     count the nodes it creates
+     */
+    public int growthEvents() {
+        return this.growthEvents;
+    }
+
+    /**
+     * @return number of releases rejected because the node was not acquired
+     */
+    public int doubleReleases() {
+        return this.doubleReleases;
+    }
+
+    public long acquireCount() {
+        return this.acquireCount;
+    }
+
+    public long releaseCount() {
+        return this.releaseCount;
+    }
+
+    /**
+     * @return number of distinct nodes the wrapped pool has handed out
+     */
+    public synchronized int distinctNodes() {
+        return this.nodes.size();
+    }
+}
@@ -6,4 +6,12 @@ public interface Pool<T> {
     void release(PoolNode<T> node);
 
     void releaseAll();
+
+    /**
+     * @return number of nodes the pool had to create on demand because its initial capacity was exhausted, or 0 for
+     *     a pool that does not count them
+     */
+    default int getAdditionalNodesCreated() {
+        return 0;
+    }
 }
@@ -0,0 +1,121 @@
+package group.gnometrading.pools;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Array-backed LIFO pool. Free nodes are kept on a stack, so acquire() and release() are an index bump and the
+ * most recently released object, which is the one most likely still in cache, is handed out next. Every node ever
+ * created is also kept in a second array, which turns releaseAll() into a single array copy. Both arrays double
+ * when the pool runs dry, so growth is amortized.
+ *
+ * <p>Like {@link SingleThreadedObjectPool}, this is not thread-safe and nodes must be released to the pool that
+ * handed them out.
+ */
+public final class SingleThreadedArrayPool<T> implements Pool<T> {
+
+    private static final int DEFAULT_CAPACITY = 50;
+
+    private final Supplier<T> supplier;
+    private PoolNodeImpl<T>[] allNodes;
+    private PoolNodeImpl<T>[] freeNodes;
+    private int nodeCount;
+    private int freeCount;
+    private int additionalNodes = 0;
+
+    public SingleThreadedArrayPool(final Class<T> clazz) {
+        this(clazz, DEFAULT_CAPACITY);
+    }
+
+    public SingleThreadedArrayPool(final Class<T> clazz, final int defaultCapacity) {
+        this(() -> SingleThreadedObjectPool.newInstance(clazz), defaultCapacity);
+    }
+
+    public SingleThreadedArrayPool(final Supplier<T> supplier) {
+        this(supplier, DEFAULT_CAPACITY);
+    }
+
+    public SingleThreadedArrayPool(final Supplier<T> supplier, final int defaultCapacity) {
+        if (defaultCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+
+        this.supplier = supplier;
+        final int length = Math.max(defaultCapacity, 1);
+        this.allNodes = PoolNodeImpl.createArray(length);
+        this.freeNodes = PoolNodeImpl.createArray(length);
+        for (int i = 0; i < defaultCapacity; i++) {
+            final var node = new PoolNodeImpl<>(this.supplier.get());
+            this.allNodes[i] = node;
+            // Hand out nodes in creation order
+            this.freeNodes[defaultCapacity - 1 - i] = node;
+        }
+        this.nodeCount = defaultCapacity;
+        this.freeCount = defaultCapacity;
+    }
+
+    @Override
+    public PoolNode<T> acquire() {
+        if (this.freeCount == 0) {
+            return createNode();
+        }
+        return this.freeNodes[--this.freeCount];
+    }
+
+    private PoolNode<T> createNode() {
+        if (this.nodeCount == this.allNodes.length) {
+            final int newLength = this.allNodes.length << 1;
+            this.allNodes = Arrays.copyOf(this.allNodes, newLength);
+            this.freeNodes = Arrays.copyOf(this.freeNodes, newLength);
+        }
+
+        final var node = new PoolNodeImpl<>(this.supplier.get());
+        this.allNodes[this.nodeCount++] = node;
+        this.additionalNodes++;
+        return node;
+    }
+
+    @Override
+    public void release(final PoolNode<T> node) {
+        if (this.freeCount == this.nodeCount) {
+            throw new IllegalStateException("Released more nodes than were acquired");
+        }
+        this.freeNodes[this.freeCount++] = (PoolNodeImpl<T>) node;
+    }
+
+    @Override
+    public void releaseAll() {
+        System.arraycopy(this.allNodes, 0, this.freeNodes, 0, this.nodeCount);
+        this.freeCount = this.nodeCount;
+    }
+
+    /**
+     * @return number of nodes currently handed out
+     */
+    public int size() {
+        return this.nodeCount - this.freeCount;
+    }
+
+    @Override
+    public int getAdditionalNodesCreated() {
+        return this.additionalNodes;
+    }
+
+    private static final class PoolNodeImpl<T> implements PoolNode<T> {
+        private final T item;
+
+        private PoolNodeImpl(final T item) {
+            this.item = item;
+        }
+
+        @Override
+        public T getItem() {
+            return this.item;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static <T> PoolNodeImpl<T>[] createArray(final int size) {
+            return new PoolNodeImpl[size];
+        }
+    }
+}
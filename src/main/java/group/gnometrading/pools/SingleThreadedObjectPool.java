@@ -35,7 +35,7 @@ public final class SingleThreadedObjectPool<T> implements Pool<T> {
         }
     }
 
-    private static <T> T newInstance(Class<T> clazz) {
+    static <T> T newInstance(Class<T> clazz) {
         try {
             return clazz.getDeclaredConstructor().newInstance();
         } catch (Exception e) {
@@ -79,6 +79,7 @@ public final class SingleThreadedObjectPool<T> implements Pool<T> {
         }
     }
 
+    @Override
     @VisibleForTesting
     public int getAdditionalNodesCreated() {
         return additionalNodes;
@@ -0,0 +1,278 @@
+package group.gnometrading.strings;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * A string viewed straight from a range of a {@link DirectBuffer}, which may be off-heap, without copying it. Like a
+ * {@link ViewString} it is meant to be reused as a view over many strings, and later changes to the buffer show
+ * through.
+ *
+ * <p>Comparing, hashing and parsing read the buffer in place. Over a heap buffer {@link #getBytes()} hands out the
+ * buffer's own array, with {@link #offset()} at the string. An off-heap string has no array to hand out, so it is
+ * copied into an array the view keeps and reuses, starting at offset 0. Callers that go through the array, such as
+ * {@link MutableString#appendString(GnomeString)}, pay for that copy.
+ */
+public final class DirectViewString implements GnomeString {
+
+    private static final byte CASE_DIFF = 0x20;
+    private static final byte[] EMPTY = new byte[0];
+
+    private DirectBuffer buffer;
+    private int index;
+    private int length;
+    private int hash;
+    private byte[] copy = EMPTY;
+    private boolean copied;
+
+    public DirectViewString() {}
+
+    public DirectViewString(final DirectBuffer buffer, final int index, final int length) {
+        wrap(buffer, index, length);
+    }
+
+    /**
+     * Points this string at a range of the buffer without copying it.
+     *
+     * @param newBuffer the buffer holding the string
+     * @param newIndex the index in the buffer of the first byte of the string
+     * @param newLength the length of the string in bytes
+     */
+    public void wrap(final DirectBuffer newBuffer, final int newIndex, final int newLength) {
+        this.buffer = newBuffer;
+        this.index = newIndex;
+        this.length = newLength;
+        this.hash = 0;
+        this.copied = false;
+    }
+
+    /**
+     * @return the buffer the string is viewed from
+     */
+    public DirectBuffer buffer() {
+        return this.buffer;
+    }
+
+    /**
+     * @return the index in the buffer of the first byte of the string
+     */
+    public int index() {
+        return this.index;
+    }
+
+    @Override
+    public boolean equalsIgnoreCase(final String other) {
+        if (other == null || other.length() != this.length) {
+            return false;
+        }
+
+        for (int i = 0; i < this.length; i++) {
+            if (!equalIgnoringCase(byteAt(i), (byte) other.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equalsIgnoreCase(final GnomeString other) {
+        if (other == this) {
+            return true;
+        }
+        if (other == null || other.length() != this.length) {
+            return false;
+        }
+
+        for (int i = 0; i < this.length; i++) {
+            if (!equalIgnoringCase(byteAt(i), other.byteAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalIgnoringCase(final byte b1, final byte b2) {
+        return b1 == b2 || CASE_DIFF + b1 == b2 || b1 == CASE_DIFF + b2;
+    }
+
+    @Override
+    public boolean equals(final String other) {
+        if (other == null || other.length() != this.length) {
+            return false;
+        }
+
+        for (int i = 0; i < this.length; i++) {
+            if (byteAt(i) != (byte) other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(final GnomeString other) {
+        if (other == null || other.length() != this.length) {
+            return false;
+        }
+
+        for (int i = 0; i < this.length; i++) {
+            if (byteAt(i) != other.byteAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == this) {
+            return true;
+        } else if (other instanceof GnomeString) {
+            return equals((GnomeString) other);
+        } else if (other instanceof String) {
+            return equals((String) other);
+        }
+        return false;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public int capacity() {
+        return this.length;
+    }
+
+    /**
+     * @return the index of the string in the array returned by {@link #getBytes()}, which is 0 for an off-heap buffer
+     */
+    @Override
+    public int offset() {
+        return isHeapBacked() ? this.buffer.wrapAdjustment() + this.index : 0;
+    }
+
+    @Override
+    public byte byteAt(final int at) {
+        return this.buffer.getByte(this.index + at);
+    }
+
+    /**
+     * @return the heap buffer's own array, or for an off-heap buffer a copy of the string valid until the view is
+     *     wrapped again
+     */
+    @Override
+    public byte[] getBytes() {
+        if (isHeapBacked()) {
+            return this.buffer.byteArray();
+        }
+        if (!this.copied) {
+            if (this.copy.length < this.length) {
+                this.copy = new byte[this.length];
+            }
+            this.buffer.getBytes(this.index, this.copy, 0, this.length);
+            this.copied = true;
+        }
+        return this.copy;
+    }
+
+    private boolean isHeapBacked() {
+        return this.buffer != null && this.buffer.byteArray() != null;
+    }
+
+    @Override
+    public void copyBytes(final byte[] dest) {
+        this.buffer.getBytes(this.index, dest, 0, this.length);
+    }
+
+    @Override
+    public int compareTo(final GnomeString gnomeString) {
+        final int limit = Math.min(this.length, gnomeString.length());
+        for (int i = 0; i < limit; i++) {
+            final byte b1 = byteAt(i);
+            final byte b2 = gnomeString.byteAt(i);
+            if (b1 != b2) {
+                return b1 - b2;
+            }
+        }
+        return this.length - gnomeString.length();
+    }
+
+    /**
+     * @return the same hash as a {@link ViewString} of the same bytes
+     */
+    @Override
+    public int hashCode() {
+        if (this.hash == 0) {
+            int hashValue = 0;
+            for (int i = 0; i < this.length; i++) {
+                hashValue = 31 * hashValue + byteAt(i);
+            }
+            this.hash = hashValue;
+        }
+        return this.hash;
+    }
+
+    @Override
+    public int toInt() {
+        if (this.length == 0) {
+            throw new NumberFormatException("Empty string");
+        }
+
+        int result = 0;
+        boolean isNegative = false;
+
+        for (int i = 0; i < this.length; i++) {
+            final byte at = this.buffer.getByte(this.index + i);
+            if (at == '-') {
+                isNegative = true;
+            } else if (at <= '9' && at >= '0') {
+                result = result * 10 + (at - '0');
+            } else {
+                throw new NumberFormatException("Invalid character: " + at);
+            }
+        }
+        return isNegative ? -result : result;
+    }
+
+    @Override
+    public long toFixedPointLong(final long scalingFactor) {
+        if (this.length == 0) {
+            throw new NumberFormatException("Empty string");
+        }
+
+        long result = 0;
+        boolean isNegative = false;
+        boolean inFraction = false;
+        long fractionalMultiplier = scalingFactor;
+
+        for (int i = 0; i < this.length; i++) {
+            final byte at = this.buffer.getByte(this.index + i);
+
+            if (at == '-') {
+                isNegative = true;
+            } else if (at == '.') {
+                inFraction = true;
+            } else if (at >= '0' && at <= '9') {
+                final int digit = at - '0';
+                if (inFraction) {
+                    fractionalMultiplier /= 10;
+                    result += digit * fractionalMultiplier;
+                } else {
+                    result = result * 10 + digit * scalingFactor;
+                }
+            } else {
+                throw new NumberFormatException("Invalid character: " + at);
+            }
+        }
+
+        return isNegative ? -result : result;
+    }
+
+    @Override
+    public String toString() {
+        final byte[] bytes = new byte[this.length];
+        copyBytes(bytes);
+        return new String(bytes);
+    }
+}
@@ -164,6 +164,8 @@ public class ViewString implements GnomeString {
                 || otherClass == MutableString.class
                 || otherClass == ExpandingMutableString.class) {
             return equals((ViewString) other);
+        } else if (otherClass == DirectViewString.class) {
+            return equals((GnomeString) other);
         } else if (other.getClass() == String.class) {
             return equals((String) other);
         }
@@ -0,0 +1,296 @@
+package group.gnometrading.utils;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel for running many timers inside an agent's duty cycle without a {@link Schedule} per timer.
+ * Time is divided into ticks of {@code tickResolution}, and a timer is stored in the spoke for its deadline's tick
+ * modulo the number of spokes. Timers further out than one revolution share the spoke and simply wait until their
+ * deadline has passed.
+ *
+ * <p>Scheduling and cancelling are O(1), and timers are identified by a primitive long id. Deadlines are kept in a
+ * single long array, so there is no allocation per timer; the array doubles in size only when a spoke runs out of
+ * room. A timer id holds the slot of the timer and the sequence number it was scheduled with, so an id kept after
+ * its timer expired or was cancelled never matches a later timer that reuses the slot. Time is unit-agnostic. Use
+ * the same clock for {@code startTime}, deadlines and {@link #poll}. Not thread-safe, the wheel is owned by the
+ * agent's thread.
+ */
+public final class TimerWheel implements Resettable {
+
+    public static final long NULL_DEADLINE = Long.MAX_VALUE;
+    public static final long NULL_TIMER_ID = -1;
+
+    private static final int SEQUENCE_SHIFT = 32;
+    private static final int SEQUENCE_MASK = 0x7FFF_FFFF;
+    private static final long POSITION_MASK = 0xFFFF_FFFFL;
+
+    /**
+     * Called for each expired timer.
+     */
+    @FunctionalInterface
+    public interface TimerHandler {
+        /**
+         * @param now the time passed to poll()
+         * @param timerId the id of the expired timer
+         * @return true to consume the timer, false to keep it and stop the current poll so it is retried next time
+         */
+        boolean onTimerExpiry(long now, long timerId);
+    }
+
+    private final long startTime;
+    private final int resolutionShift;
+    private final int tickMask;
+    private final int tickShift;
+    private final int ticksPerWheel;
+    private final int initialTimersPerTick;
+
+    private long[] wheel;
+    private int[] sequences; // the sequence number of the timer in each slot, laid out like the wheel
+    private int nextSequence;
+    private int timersPerTick;
+    private int allocationShift;
+    private long currentTick;
+    private int pollIndex;
+    private long timerCount;
+
+    /**
+     * @param startTime the time the wheel starts at
+     * @param tickResolution the length of a tick, a power of 2
+     * @param ticksPerWheel number of spokes in the wheel, a power of 2
+     * @param initialTimersPerTick number of timers each spoke has room for before the wheel grows, a power of 2
+     */
+    public TimerWheel(
+            final long startTime, final long tickResolution, final int ticksPerWheel, final int initialTimersPerTick) {
+        checkPowerOfTwo("Tick resolution", tickResolution);
+        checkPowerOfTwo("Ticks per wheel", ticksPerWheel);
+        checkPowerOfTwo("Timers per tick", initialTimersPerTick);
+
+        this.startTime = startTime;
+        this.resolutionShift = Long.numberOfTrailingZeros(tickResolution);
+        this.ticksPerWheel = ticksPerWheel;
+        this.tickMask = ticksPerWheel - 1;
+        this.tickShift = Integer.numberOfTrailingZeros(ticksPerWheel);
+        this.initialTimersPerTick = initialTimersPerTick;
+        this.timersPerTick = initialTimersPerTick;
+        this.allocationShift = Integer.numberOfTrailingZeros(initialTimersPerTick);
+        this.wheel = new long[ticksPerWheel * initialTimersPerTick];
+        this.sequences = new int[ticksPerWheel * initialTimersPerTick];
+        Arrays.fill(this.wheel, NULL_DEADLINE);
+    }
+
+    private static void checkPowerOfTwo(final String name, final long value) {
+        if (value <= 0 || (value & (value - 1)) != 0) {
+            throw new IllegalArgumentException(name + " must be a positive power of 2");
+        }
+    }
+
+    public long startTime() {
+        return this.startTime;
+    }
+
+    public long tickResolution() {
+        return 1L << this.resolutionShift;
+    }
+
+    public int ticksPerWheel() {
+        return this.ticksPerWheel;
+    }
+
+    /**
+     * @return number of timers scheduled and not yet expired or cancelled
+     */
+    public long timerCount() {
+        return this.timerCount;
+    }
+
+    /**
+     * @return the time at which the current tick ends and poll() moves on to the next spoke
+     */
+    public long currentTickTime() {
+        return ((this.currentTick + 1) << this.resolutionShift) + this.startTime;
+    }
+
+    /**
+     * Schedules a timer. A deadline in the past or within the current tick expires on the next poll().
+     *
+     * @param deadline the time at which the timer expires
+     * @return the id of the timer
+     * @throws IllegalArgumentException if the deadline is {@link #NULL_DEADLINE}, which marks an empty slot
+     */
+    public long scheduleTimer(final long deadline) {
+        if (deadline == NULL_DEADLINE) {
+            throw new IllegalArgumentException("Deadline cannot be NULL_DEADLINE");
+        }
+        final long deadlineTick = Math.max((deadline - this.startTime) >> this.resolutionShift, this.currentTick);
+        final int spokeIndex = (int) (deadlineTick & this.tickMask);
+        final int tickStart = spokeIndex << this.allocationShift;
+
+        for (int i = 0; i < this.timersPerTick; i++) {
+            if (this.wheel[tickStart + i] == NULL_DEADLINE) {
+                this.wheel[tickStart + i] = deadline;
+                this.timerCount++;
+                return timerId(spokeIndex, i, claimSequence(tickStart + i));
+            }
+        }
+
+        return growAndSchedule(deadline, spokeIndex);
+    }
+
+    private long growAndSchedule(final long deadline, final int spokeIndex) {
+        final int oldTimersPerTick = this.timersPerTick;
+        final int newTimersPerTick = oldTimersPerTick << 1;
+        final int newAllocationShift = Integer.numberOfTrailingZeros(newTimersPerTick);
+        final long newCapacity = (long) this.ticksPerWheel * newTimersPerTick;
+        if (newCapacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Timer wheel cannot grow beyond " + Integer.MAX_VALUE + " timers");
+        }
+
+        final long[] newWheel = new long[(int) newCapacity];
+        final int[] newSequences = new int[(int) newCapacity];
+        Arrays.fill(newWheel, NULL_DEADLINE);
+        for (int spoke = 0; spoke < this.ticksPerWheel; spoke++) {
+            // Slots keep their index within the spoke, so ids handed out earlier stay valid
+            System.arraycopy(
+                    this.wheel, spoke << this.allocationShift, newWheel, spoke << newAllocationShift, oldTimersPerTick);
+            System.arraycopy(
+                    this.sequences,
+                    spoke << this.allocationShift,
+                    newSequences,
+                    spoke << newAllocationShift,
+                    oldTimersPerTick);
+        }
+        final int wheelIndex = (spokeIndex << newAllocationShift) + oldTimersPerTick;
+        newWheel[wheelIndex] = deadline;
+
+        this.wheel = newWheel;
+        this.sequences = newSequences;
+        this.timersPerTick = newTimersPerTick;
+        this.allocationShift = newAllocationShift;
+        this.timerCount++;
+        return timerId(spokeIndex, oldTimersPerTick, claimSequence(wheelIndex));
+    }
+
+    /**
+     * Cancels a timer.
+     *
+     * @param timerId the id returned by scheduleTimer()
+     * @return true if the timer was cancelled, false if it had already expired or been cancelled
+     */
+    public boolean cancelTimer(final long timerId) {
+        final int wheelIndex = wheelIndex(timerId);
+        if (wheelIndex == -1 || this.wheel[wheelIndex] == NULL_DEADLINE) {
+            return false;
+        }
+        this.wheel[wheelIndex] = NULL_DEADLINE;
+        this.timerCount--;
+        return true;
+    }
+
+    /**
+     * @param timerId the id returned by scheduleTimer()
+     * @return the deadline of the timer, or NULL_DEADLINE if it is not scheduled
+     */
+    public long deadline(final long timerId) {
+        final int wheelIndex = wheelIndex(timerId);
+        return wheelIndex == -1 ? NULL_DEADLINE : this.wheel[wheelIndex];
+    }
+
+    /**
+     * Expires the timers of the current tick whose deadline has passed, calling the handler for each one. Once the
+     * current tick has been fully processed and its end time has passed, the wheel moves on to the next tick, so a
+     * wheel that has fallen behind catches up one tick per call.
+     *
+     * @param now the current time
+     * @param handler called for every expired timer
+     * @param expiryLimit maximum number of timers to expire in this call
+     * @return number of timers expired
+     */
+    public int poll(final long now, final TimerHandler handler, final int expiryLimit) {
+        int timersExpired = 0;
+
+        if (this.timerCount > 0) {
+            final int spokeIndex = (int) (this.currentTick & this.tickMask);
+            final int length = this.timersPerTick;
+
+            for (int i = 0; i < length && timersExpired < expiryLimit; i++) {
+                final int wheelIndex = (spokeIndex << this.allocationShift) + this.pollIndex;
+                final long deadline = this.wheel[wheelIndex];
+
+                if (now >= deadline) {
+                    this.wheel[wheelIndex] = NULL_DEADLINE;
+                    this.timerCount--;
+                    timersExpired++;
+
+                    final long timerId = timerId(spokeIndex, this.pollIndex, this.sequences[wheelIndex]);
+                    if (!handler.onTimerExpiry(now, timerId)) {
+                        this.wheel[wheelIndex] = deadline;
+                        this.timerCount++;
+                        return timersExpired - 1;
+                    }
+                }
+
+                this.pollIndex = this.pollIndex + 1 >= length ? 0 : this.pollIndex + 1;
+            }
+
+            if (timersExpired < expiryLimit && now >= currentTickTime()) {
+                this.currentTick++;
+                this.pollIndex = 0;
+            } else if (this.pollIndex >= this.timersPerTick) {
+                this.pollIndex = 0;
+            }
+        } else if (now >= currentTickTime()) {
+            // Nothing to expire, so jump straight to the tick for now
+            this.currentTick = Math.max(this.currentTick + 1, (now - this.startTime) >> this.resolutionShift);
+            this.pollIndex = 0;
+        }
+
+        return timersExpired;
+    }
+
+    /**
+     * Cancels all timers and resets the wheel to its start time and initial size. Sequence numbers carry on, so ids
+     * from before the reset do not match timers scheduled after it.
+     */
+    @Override
+    public void reset() {
+        if (this.timersPerTick != this.initialTimersPerTick) {
+            this.timersPerTick = this.initialTimersPerTick;
+            this.allocationShift = Integer.numberOfTrailingZeros(this.initialTimersPerTick);
+            this.wheel = new long[this.ticksPerWheel * this.initialTimersPerTick];
+            this.sequences = new int[this.ticksPerWheel * this.initialTimersPerTick];
+        }
+        Arrays.fill(this.wheel, NULL_DEADLINE);
+        this.currentTick = 0;
+        this.pollIndex = 0;
+        this.timerCount = 0;
+    }
+
+    private int claimSequence(final int wheelIndex) {
+        final int sequence = this.nextSequence;
+        this.nextSequence = (sequence + 1) & SEQUENCE_MASK;
+        this.sequences[wheelIndex] = sequence;
+        return sequence;
+    }
+
+    /**
+     * The low word holds the slot and spoke, which fit in 31 bits since the wheel never grows past Integer.MAX_VALUE
+     * slots, and the high word holds the sequence number, so ids are never negative.
+     */
+    private long timerId(final int spokeIndex, final int slotIndex, final int sequence) {
+        return ((long) sequence << SEQUENCE_SHIFT) | ((long) slotIndex << this.tickShift) | spokeIndex;
+    }
+
+    private int wheelIndex(final long timerId) {
+        if (timerId < 0) {
+            return -1;
+        }
+        final long position = timerId & POSITION_MASK;
+        final int spokeIndex = (int) (position & this.tickMask);
+        final long slotIndex = position >>> this.tickShift;
+        if (slotIndex >= this.timersPerTick) {
+            return -1;
+        }
+        final int wheelIndex = (spokeIndex << this.allocationShift) + (int) slotIndex;
+        return this.sequences[wheelIndex] == (int) (timerId >>> SEQUENCE_SHIFT) ? wheelIndex : -1;
+    }
+}
@@ -0,0 +1,95 @@
+package group.gnometrading.books;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class L2OrderBookTest {
+
+    @Test
+    void testDeltasKeepBothSidesBestFirst() {
+        L2OrderBook book = new L2OrderBook();
+        book.setLevel(Side.BID, 99_00, 5);
+        book.setLevel(Side.BID, 100_00, 3);
+        book.setLevel(Side.BID, 98_00, 7);
+        book.setLevel(Side.ASK, 102_00, 4);
+        book.setLevel(Side.ASK, 101_00, 2, 3);
+
+        assertTrue(book.isTwoSided());
+        assertEquals(100_00, book.bids().bestPrice());
+        assertEquals(3, book.bids().bestSize());
+        assertEquals(98_00, book.bids().priceAt(2));
+        assertEquals(101_00, book.asks().bestPrice());
+        assertEquals(3, book.asks().level(0).orderCount());
+        assertEquals(4, book.side(Side.ASK).sizeAt(1));
+    }
+
+    @Test
+    void testZeroSizeRemovesLevel() {
+        L2OrderBook book = new L2OrderBook();
+        book.setLevel(Side.ASK, 101, 2);
+        book.setLevel(Side.ASK, 102, 4);
+        book.setLevel(Side.ASK, 101, 6);
+        assertEquals(6, book.asks().bestSize());
+
+        book.setLevel(Side.ASK, 101, 0);
+        assertEquals(1, book.asks().depth());
+        assertEquals(102, book.asks().bestPrice());
+        assertNull(book.asks().levelAtPrice(101));
+
+        // Removing a price that is not in the book is ignored
+        book.setLevel(Side.ASK, 500, 0);
+        assertEquals(1, book.asks().depth());
+        assertFalse(book.isTwoSided());
+    }
+
+    @Test
+    void testSnapshotReplacesOneSide() {
+        L2OrderBook book = new L2OrderBook();
+        book.setLevel(Side.BID, 1, 1);
+        book.setLevel(Side.ASK, 50, 1);
+
+        book.applySnapshot(Side.BID, new long[] {10, 12, 11, 9}, new long[] {1, 2, 0, 4}, 4);
+        assertEquals(3, book.bids().depth());
+        assertEquals(12, book.bids().bestPrice());
+        assertNull(book.bids().levelAtPrice(1));
+        assertNull(book.bids().levelAtPrice(11));
+        assertEquals(50, book.asks().bestPrice());
+
+        book.clear();
+        assertTrue(book.bids().isEmpty());
+        assertTrue(book.asks().isEmpty());
+        assertThrows(IllegalStateException.class, () -> book.bids().bestPrice());
+    }
+
+    @Test
+    void testCopyTop() {
+        L2OrderBook book = new L2OrderBook(4);
+        for (int i = 1; i <= 10; i++) {
+            book.setLevel(Side.BID, i, i * 10L);
+        }
+
+        long[] prices = new long[5];
+        long[] sizes = new long[5];
+        assertEquals(3, book.bids().copyTop(prices, sizes, 3));
+        assertArrayEquals(new long[] {10, 9, 8, 0, 0}, prices);
+        assertArrayEquals(new long[] {100, 90, 80, 0, 0}, sizes);
+        assertEquals(0, book.asks().copyTop(prices, sizes, 5));
+    }
+
+    @Test
+    void testLevelsAreReusedAfterRemoval() {
+        L2OrderBook book = new L2OrderBook(2);
+        book.setLevel(Side.BID, 100, 5, 2);
+        PriceLevel level = book.bids().level(0);
+        book.setLevel(Side.BID, 100, 0);
+
+        book.setLevel(Side.BID, 90, 1);
+        PriceLevel reused = book.bids().level(0);
+        assertSame(level, reused);
+        assertEquals(90, reused.price());
+        assertEquals(1, reused.size());
+        assertEquals(0, reused.orderCount());
+        assertNull(reused.firstOrder());
+    }
+}
@@ -0,0 +1,124 @@
+package group.gnometrading.books;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class L3OrderBookTest {
+
+    @Test
+    void testOrdersQueueInTimePriority() {
+        L3OrderBook book = new L3OrderBook();
+        book.addOrder(1, Side.BID, 100, 5);
+        book.addOrder(2, Side.BID, 100, 3);
+        book.addOrder(3, Side.BID, 101, 1);
+        book.addOrder(4, Side.ASK, 102, 2);
+
+        assertEquals(4, book.orderCount());
+        assertEquals(101, book.bids().bestPrice());
+        PriceLevel level = book.bids().level(1);
+        assertEquals(8, level.size());
+        assertEquals(2, level.orderCount());
+        assertEquals(List.of(1L, 2L), orderIds(level));
+        assertEquals(100, book.order(2).price());
+        assertEquals(Side.BID, book.order(2).side());
+    }
+
+    @Test
+    void testAddRejectsDuplicatesAndEmptyOrders() {
+        L3OrderBook book = new L3OrderBook();
+        book.addOrder(1, Side.BID, 100, 5);
+
+        assertThrows(IllegalArgumentException.class, () -> book.addOrder(1, Side.ASK, 101, 5));
+        assertThrows(IllegalArgumentException.class, () -> book.addOrder(2, Side.ASK, 101, 0));
+        assertEquals(1, book.orderCount());
+    }
+
+    @Test
+    void testCancelRemovesEmptyLevels() {
+        L3OrderBook book = new L3OrderBook();
+        book.addOrder(1, Side.ASK, 100, 5);
+        book.addOrder(2, Side.ASK, 100, 3);
+        book.addOrder(3, Side.ASK, 101, 1);
+
+        assertTrue(book.cancelOrder(1));
+        assertFalse(book.cancelOrder(1));
+        assertEquals(3, book.asks().bestSize());
+        assertEquals(List.of(2L), orderIds(book.asks().level(0)));
+
+        assertTrue(book.cancelOrder(2));
+        assertEquals(101, book.asks().bestPrice());
+        assertEquals(1, book.asks().depth());
+        assertNull(book.order(2));
+    }
+
+    @Test
+    void testExecuteReducesThenRemoves() {
+        L3OrderBook book = new L3OrderBook();
+        book.addOrder(1, Side.BID, 100, 5);
+        book.addOrder(2, Side.BID, 100, 3);
+
+        assertTrue(book.executeOrder(1, 2));
+        assertEquals(3, book.order(1).size());
+        assertEquals(6, book.bids().bestSize());
+
+        assertTrue(book.executeOrder(1, 3));
+        assertNull(book.order(1));
+        assertEquals(3, book.bids().bestSize());
+        assertFalse(book.executeOrder(99, 1));
+    }
+
+    @Test
+    void testModifyKeepsPriorityOnlyWhenShrinking() {
+        L3OrderBook book = new L3OrderBook();
+        book.addOrder(1, Side.BID, 100, 5);
+        book.addOrder(2, Side.BID, 100, 3);
+
+        assertTrue(book.modifyOrder(1, 100, 4));
+        assertEquals(List.of(1L, 2L), orderIds(book.bids().level(0)));
+        assertEquals(7, book.bids().bestSize());
+
+        assertTrue(book.modifyOrder(1, 100, 6));
+        assertEquals(List.of(2L, 1L), orderIds(book.bids().level(0)));
+        assertEquals(9, book.bids().bestSize());
+
+        assertTrue(book.modifyOrder(2, 99, 3));
+        assertEquals(100, book.bids().bestPrice());
+        assertEquals(6, book.bids().bestSize());
+        assertEquals(List.of(2L), orderIds(book.bids().levelAtPrice(99)));
+
+        assertTrue(book.modifyOrder(1, 100, 0));
+        assertEquals(99, book.bids().bestPrice());
+        assertFalse(book.modifyOrder(1, 100, 1));
+    }
+
+    @Test
+    void testClearAndReuse() {
+        L3OrderBook book = new L3OrderBook(2, 2);
+        for (int i = 0; i < 100; i++) {
+            book.addOrder(i, i % 2 == 0 ? Side.BID : Side.ASK, i % 2 == 0 ? 100 - i : 100 + i, 1);
+        }
+        assertEquals(100, book.orderCount());
+
+        book.clear();
+        assertEquals(0, book.orderCount());
+        assertTrue(book.bids().isEmpty());
+        assertTrue(book.asks().isEmpty());
+
+        Order order = book.addOrder(7, Side.ASK, 50, 2);
+        assertEquals(50, order.price());
+        assertNull(order.next());
+        assertEquals(2, book.asks().bestSize());
+        assertEquals(1, book.asks().level(0).orderCount());
+    }
+
+    private static List<Long> orderIds(final PriceLevel level) {
+        List<Long> ids = new ArrayList<>();
+        for (Order order = level.firstOrder(); order != null; order = order.next()) {
+            ids.add(order.orderId());
+        }
+        return ids;
+    }
+}
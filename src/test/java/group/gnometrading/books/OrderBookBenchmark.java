@@ -0,0 +1,204 @@
+package group.gnometrading.books;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Replays synthetic market data into the order books. The feeds are generated up front around a mid price that
+ * drifts by a tick at a time, with most activity within a few ticks of the top of book, as on a liquid venue. Each
+ * invocation clears the book and replays the whole feed, so every invocation does the same work.
+ *
+ * <p>The L2 feed is also replayed into a boxed {@link TreeMap} per side, the way books were built before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final int EVENTS = 1 << 16;
+    private static final long START_MID = 100_000;
+    private static final int BOOK_HALF_WIDTH = 200;
+    private static final byte ADD = 0;
+    private static final byte MODIFY = 1;
+    private static final byte EXECUTE = 2;
+    private static final byte CANCEL = 3;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(OrderBookBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+
+    @State(Scope.Benchmark)
+    public static class L2Feed {
+        final L2OrderBook book = new L2OrderBook();
+        final TreeMap<Long, Long> treeBids = new TreeMap<>(Collections.reverseOrder());
+        final TreeMap<Long, Long> treeAsks = new TreeMap<>();
+        final Side[] sides = new Side[EVENTS];
+        final long[] prices = new long[EVENTS];
+        final long[] sizes = new long[EVENTS];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            final SplittableRandom random = new SplittableRandom(42);
+            long mid = START_MID;
+            for (int i = 0; i < EVENTS; i++) {
+                if (random.nextInt(16) == 0) {
+                    mid += random.nextBoolean() ? 1 : -1;
+                }
+                final Side side = random.nextBoolean() ? Side.BID : Side.ASK;
+                // Distance from the mid falls off quickly, so most updates hit the first few levels
+                final int distance = 1 + (int) Math.abs(random.nextGaussian() * BOOK_HALF_WIDTH / 8);
+                this.sides[i] = side;
+                this.prices[i] = side == Side.BID ? mid - distance : mid + distance;
+                this.sizes[i] = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(1_000);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class L3Feed {
+        final L3OrderBook book = new L3OrderBook();
+        final byte[] types = new byte[EVENTS];
+        final long[] orderIds = new long[EVENTS];
+        final Side[] sides = new Side[EVENTS];
+        final long[] prices = new long[EVENTS];
+        final long[] sizes = new long[EVENTS];
+
+        /**
+         * Simulates the resting orders while generating, so every modify, fill and cancel refers to an order that
+         * is in the book at that point of the replay.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            final SplittableRandom random = new SplittableRandom(7);
+            final List<long[]> live = new ArrayList<>(); // order id, side, price, size
+            long mid = START_MID;
+            long nextOrderId = 1;
+            for (int i = 0; i < EVENTS; i++) {
+                if (random.nextInt(16) == 0) {
+                    mid += random.nextBoolean() ? 1 : -1;
+                }
+
+                final int roll = random.nextInt(10);
+                if (live.size() < 1_000 || roll < 4) {
+                    final boolean bid = random.nextBoolean();
+                    final int distance = 1 + (int) Math.abs(random.nextGaussian() * BOOK_HALF_WIDTH / 8);
+                    final long price = bid ? mid - distance : mid + distance;
+                    final long size = 1 + random.nextInt(1_000);
+                    live.add(new long[] {nextOrderId, bid ? 0 : 1, price, size});
+                    record(i, ADD, nextOrderId++, bid ? Side.BID : Side.ASK, price, size);
+                    continue;
+                }
+
+                final int index = random.nextInt(live.size());
+                final long[] order = live.get(index);
+                final Side side = order[1] == 0 ? Side.BID : Side.ASK;
+                if (roll < 6) {
+                    order[3] = 1 + random.nextInt(1_000);
+                    record(i, MODIFY, order[0], side, order[2], order[3]);
+                } else if (roll < 8) {
+                    final long executed = 1 + random.nextInt((int) order[3]);
+                    order[3] -= executed;
+                    record(i, EXECUTE, order[0], side, order[2], executed);
+                    if (order[3] == 0) {
+                        removeLive(live, index);
+                    }
+                } else {
+                    record(i, CANCEL, order[0], side, order[2], 0);
+                    removeLive(live, index);
+                }
+            }
+        }
+
+        private void record(int i, byte type, long orderId, Side side, long price, long size) {
+            this.types[i] = type;
+            this.orderIds[i] = orderId;
+            this.sides[i] = side;
+            this.prices[i] = price;
+            this.sizes[i] = size;
+        }
+
+        private static void removeLive(List<long[]> live, int index) {
+            live.set(index, live.get(live.size() - 1));
+            live.remove(live.size() - 1);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long l2Book(L2Feed feed) {
+        final L2OrderBook book = feed.book;
+        book.clear();
+        long best = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            book.setLevel(feed.sides[i], feed.prices[i], feed.sizes[i]);
+            if (book.isTwoSided()) {
+                best += book.bids().bestPrice() - book.asks().bestPrice();
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long l2TreeMap(L2Feed feed) {
+        feed.treeBids.clear();
+        feed.treeAsks.clear();
+        long best = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            final TreeMap<Long, Long> side = feed.sides[i] == Side.BID ? feed.treeBids : feed.treeAsks;
+            if (feed.sizes[i] == 0) {
+                side.remove(feed.prices[i]);
+            } else {
+                side.put(feed.prices[i], feed.sizes[i]);
+            }
+            if (!feed.treeBids.isEmpty() && !feed.treeAsks.isEmpty()) {
+                best += feed.treeBids.firstKey() - feed.treeAsks.firstKey();
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long l3Book(L3Feed feed) {
+        final L3OrderBook book = feed.book;
+        book.clear();
+        long best = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            switch (feed.types[i]) {
+                case ADD -> book.addOrder(feed.orderIds[i], feed.sides[i], feed.prices[i], feed.sizes[i]);
+                case MODIFY -> book.modifyOrder(feed.orderIds[i], feed.prices[i], feed.sizes[i]);
+                case EXECUTE -> book.executeOrder(feed.orderIds[i], feed.sizes[i]);
+                default -> book.cancelOrder(feed.orderIds[i]);
+            }
+            if (book.isTwoSided()) {
+                best += book.bids().bestSize() + book.asks().bestSize();
+            }
+        }
+        return best;
+    }
+}
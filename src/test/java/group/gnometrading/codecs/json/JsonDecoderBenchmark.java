@@ -0,0 +1,184 @@
+package group.gnometrading.codecs.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Decodes exchange messages shaped like Binance's: a 500 level depth snapshot, read either for its update id alone
+ * (skipping both sides) or in full, and a single trade. Runs with both the byte at a time and the SWAR scan, and
+ * with strings either copied into the nodes or viewed in place. The trade is also read with a
+ * {@link JsonFieldMatcher} in place of comparing each key against every name.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecoderBenchmark {
+
+    private static final int SNAPSHOT_LEVELS = 500;
+    private static final long SCALING_FACTOR = 100_000_000L;
+    private static final JsonFieldMatcher TRADE_FIELDS = new JsonFieldMatcher("E", "T", "t", "p", "q", "s", "m");
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(JsonDecoderBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Messages {
+        @Param({"false", "true"})
+        public boolean swarScanning;
+
+        @Param({"false", "true"})
+        public boolean zeroCopyStrings;
+
+        JsonDecoder decoder;
+        ByteBuffer snapshot;
+        ByteBuffer trade;
+
+        @Setup
+        public void setup() {
+            this.decoder = new JsonDecoder(100, this.swarScanning, this.zeroCopyStrings);
+
+            final SplittableRandom random = new SplittableRandom(42);
+            final StringBuilder json = new StringBuilder("{\"lastUpdateId\":1027024,\"bids\":[");
+            appendLevels(json, random, 4_200_000);
+            json.append("],\"asks\":[");
+            appendLevels(json, random, 4_200_100);
+            json.append("]}");
+            this.snapshot = ByteBuffer.wrap(json.toString().getBytes(StandardCharsets.US_ASCII));
+
+            this.trade = ByteBuffer.wrap(("{\"e\":\"trade\",\"E\":1672515782136,\"s\":\"BTCUSDT\",\"t\":12345,"
+                            + "\"p\":\"42001.12000000\",\"q\":\"0.00150000\",\"T\":1672515782134,\"m\":true,"
+                            + "\"M\":true}")
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private static void appendLevels(final StringBuilder json, final SplittableRandom random, final long start) {
+            for (int i = 0; i < SNAPSHOT_LEVELS; i++) {
+                final long price = start + i * (start < 4_200_100 ? -1 : 1);
+                json.append(i == 0 ? "" : ",")
+                        .append("[\"")
+                        .append(price / 100)
+                        .append('.')
+                        .append(String.format("%02d", price % 100))
+                        .append("000000\",\"")
+                        .append(random.nextInt(100))
+                        .append('.')
+                        .append(String.format("%08d", random.nextInt(100_000_000)))
+                        .append("\"]");
+            }
+        }
+    }
+
+    @Benchmark
+    public long snapshotUpdateIdOnly(Messages messages) {
+        messages.snapshot.clear();
+        long updateId = 0;
+        try (var node = messages.decoder.wrap(messages.snapshot);
+                var obj = node.asObject()) {
+            while (obj.hasNextKey()) {
+                try (var key = obj.nextKey()) {
+                    if (key.getName().equals("lastUpdateId")) {
+                        updateId = key.asLong();
+                    }
+                }
+            }
+        }
+        return updateId;
+    }
+
+    @Benchmark
+    public long snapshotAllLevels(Messages messages) {
+        messages.snapshot.clear();
+        long total = 0;
+        try (var node = messages.decoder.wrap(messages.snapshot);
+                var obj = node.asObject()) {
+            while (obj.hasNextKey()) {
+                try (var key = obj.nextKey()) {
+                    if (key.getName().equals("lastUpdateId")) {
+                        total += key.asLong();
+                    } else {
+                        try (var levels = key.asArray()) {
+                            while (levels.hasNextItem()) {
+                                try (var level = levels.nextItem();
+                                        var pair = level.asArray()) {
+                                    try (var price = pair.nextItem()) {
+                                        total += price.asString().toFixedPointLong(SCALING_FACTOR);
+                                    }
+                                    try (var size = pair.nextItem()) {
+                                        total += size.asString().toFixedPointLong(SCALING_FACTOR);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long trade(Messages messages) {
+        messages.trade.clear();
+        long total = 0;
+        try (var node = messages.decoder.wrap(messages.trade);
+                var obj = node.asObject()) {
+            while (obj.hasNextKey()) {
+                try (var key = obj.nextKey()) {
+                    if (key.getName().equals("E") || key.getName().equals("T") || key.getName().equals("t")) {
+                        total += key.asLong();
+                    } else if (key.getName().equals("p") || key.getName().equals("q")) {
+                        total += key.asString().toFixedPointLong(SCALING_FACTOR);
+                    } else if (key.getName().equals("s")) {
+                        total += key.asString().length();
+                    } else if (key.getName().equals("m")) {
+                        total += key.asBoolean() ? 1 : 0;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long tradeWithFieldMatcher(Messages messages) {
+        messages.trade.clear();
+        long total = 0;
+        try (var node = messages.decoder.wrap(messages.trade);
+                var obj = node.asObject()) {
+            while (obj.hasNextKey()) {
+                try (var key = obj.nextKey(TRADE_FIELDS)) {
+                    switch (key.fieldId()) {
+                        case 0, 1, 2 -> total += key.asLong();
+                        case 3, 4 -> total += key.asString().toFixedPointLong(SCALING_FACTOR);
+                        case 5 -> total += key.asString().length();
+                        case 6 -> total += key.asBoolean() ? 1 : 0;
+                        default -> {}
+                    }
+                }
+            }
+        }
+        return total;
+    }
+}
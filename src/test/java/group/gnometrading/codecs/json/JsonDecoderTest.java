@@ -2,17 +2,22 @@ package group.gnometrading.codecs.json;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import group.gnometrading.strings.DirectViewString;
 import group.gnometrading.strings.GnomeString;
 import group.gnometrading.strings.MutableString;
 import group.gnometrading.strings.ViewString;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class JsonDecoderTest {
 
@@ -480,6 +485,36 @@ class JsonDecoderTest {
         }
     }
 
+    @Test
+    public void testSkipsNestedValuesAfterReadingNames() {
+        String payload =
+                """
+                {
+                    "key": {"child": {"child2": 5, "child3": {}}, "child2": 50}, "key2": 10
+                }
+                """;
+        JsonDecoder jsonDecoder = new JsonDecoder(100, false, true);
+        try (final var obj =
+                jsonDecoder.wrap(ByteBuffer.wrap(payload.getBytes())).asObject()) {
+            try (final var key = obj.nextKey();
+                    final var keyObj = key.asObject()) {
+                assertTrue(key.getName().equals("key"));
+                try (final var child = keyObj.nextKey()) {
+                    assertTrue(child.getName().equals("child"));
+                }
+
+                try (final var child2 = keyObj.nextKey()) {
+                    assertTrue(child2.getName().equals("child2"));
+                    assertEquals(50, child2.asInt());
+                }
+            }
+            try (final var key2 = obj.nextKey()) {
+                assertTrue(key2.getName().equals("key2"));
+                assertEquals(10, key2.asInt());
+            }
+        }
+    }
+
     @Test
     public void testWeirdlyNestedDump() {
         String payload =
@@ -526,4 +561,313 @@ class JsonDecoderTest {
             }
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testSkipsLargeValuesInEitherScanningMode(boolean swarScanning) {
+        StringBuilder levels = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            levels.append(i == 0 ? "" : ",")
+                    .append("[\"")
+                    .append(100 + i)
+                    .append(".25\", \"0.00")
+                    .append(i)
+                    .append("\"]");
+        }
+        String payload = "{\"lastUpdateId\": 1027024,\n  \"bids\": [" + levels + "],\n\t\"asks\":[" + levels
+                + "],   \"meta\": {\"nested\": [{\"a\": [1, {}]}], \"escaped\": \"a\\\\b\"},\r\n"
+                + "\"symbol\": \"BTCUSDT-PERPETUAL\", \"E\": 1672515782136}";
+
+        JsonDecoder jsonDecoder = new JsonDecoder(100, swarScanning);
+        List<String> keys = new ArrayList<>();
+        try (var obj = jsonDecoder.wrap(ByteBuffer.wrap(payload.getBytes())).asObject()) {
+            while (obj.hasNextKey()) {
+                try (var key = obj.nextKey()) {
+                    keys.add(key.getName().toString());
+                    if (key.getName().equals("lastUpdateId")) {
+                        assertEquals(1027024, key.asInt());
+                    } else if (key.getName().equals("symbol")) {
+                        assertTrue(key.asString().equals("BTCUSDT-PERPETUAL"));
+                    } else if (key.getName().equals("E")) {
+                        assertEquals(1672515782136L, key.asLong());
+                    }
+                }
+            }
+        }
+        assertEquals(List.of("lastUpdateId", "bids", "asks", "meta", "symbol", "E"), keys);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testStringsAndWhitespaceOfEveryLengthInEitherScanningMode(boolean swarScanning) {
+        JsonDecoder jsonDecoder = new JsonDecoder(100, swarScanning);
+        for (int length = 0; length < 20; length++) {
+            String text = "abcdefghijklmnopqrstuvwxyz".substring(0, length);
+            String padding = " \t\r\n ".repeat(length).substring(0, length);
+            String payload =
+                    "[" + padding + "\"" + text + "\"," + padding + "{\"" + text + "\":" + padding + length + "}]";
+
+            try (var array = jsonDecoder.wrap(ByteBuffer.wrap(payload.getBytes())).asArray()) {
+                try (var item = array.nextItem()) {
+                    assertTrue(item.asString().equals(text));
+                }
+                try (var item = array.nextItem();
+                        var obj = item.asObject()) {
+                    try (var key = obj.nextKey()) {
+                        assertTrue(key.getName().equals(text));
+                        assertEquals(length, key.asInt());
+                    }
+                }
+                assertFalse(array.hasNextItem());
+            }
+        }
+    }
+
+    @Test
+    void testSwarScanningStopsAtLimit() {
+        ByteBuffer buffer = ByteBuffer.wrap("{\"a\": [1, 2, 3], \"b\": \"unterminated".getBytes());
+        JsonDecoder jsonDecoder = new JsonDecoder(100, true);
+        try (var obj = jsonDecoder.wrap(buffer).asObject()) {
+            obj.nextKey().close();
+            try (var key = obj.nextKey()) {
+                assertTrue(key.getName().equals("b"));
+                assertThrows(BufferUnderflowException.class, key::asString);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testZeroCopyStringsViewTheBuffer(boolean swarScanning) {
+        byte[] bytes = "{\"symbol\": \"BTCUSDT\", \"p\": \"42001.12\"}".getBytes();
+        JsonDecoder jsonDecoder = new JsonDecoder(100, swarScanning, true);
+        try (var obj = jsonDecoder.wrap(ByteBuffer.wrap(bytes)).asObject()) {
+            try (var key = obj.nextKey()) {
+                assertTrue(key.getName().equals("symbol"));
+                assertSame(bytes, key.getName().getBytes());
+                GnomeString value = key.asString();
+                assertTrue(value.equals("BTCUSDT"));
+                assertSame(bytes, value.getBytes());
+            }
+            try (var key = obj.nextKey()) {
+                assertTrue(key.getName().equals("p"));
+                assertEquals(4200112000000L, key.asString().toFixedPointLong(100_000_000L));
+            }
+            assertFalse(obj.hasNextKey());
+        }
+    }
+
+    private static Stream<Arguments> testStringsUnescapeArguments() {
+        return Stream.of(
+                Arguments.of("\"a\\\"b\"", "a\"b"),
+                Arguments.of("\"back\\\\slash\\/\"", "back\\slash/"),
+                Arguments.of("\"\\b\\f\\n\\r\\t\"", "\b\f\n\r\t"),
+                Arguments.of("\"caf\\u00e9 \\u20AC\"", "caf\u00e9 \u20ac"),
+                Arguments.of("\"\\ud83d\\ude00!\"", "\ud83d\ude00!"),
+                Arguments.of("\"\\uzzzz\"", "uzzzz"),
+                Arguments.of("\"plain\"", "plain"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("testStringsUnescapeArguments")
+    void testStringsUnescape(String json, String expected) {
+        ViewString expectedBytes = new ViewString(expected.getBytes(StandardCharsets.UTF_8));
+        for (boolean swarScanning : new boolean[] {false, true}) {
+            for (boolean zeroCopyStrings : new boolean[] {false, true}) {
+                JsonDecoder jsonDecoder = new JsonDecoder(100, swarScanning, zeroCopyStrings);
+                assertTrue(jsonDecoder.wrap(ByteBuffer.wrap(json.getBytes())).asString().equals(expectedBytes));
+
+                String inObject = "{" + json + ": 1}";
+                try (var obj = jsonDecoder.wrap(ByteBuffer.wrap(inObject.getBytes())).asObject();
+                        var key = obj.nextKey()) {
+                    assertTrue(key.getName().equals(expectedBytes));
+                    assertEquals(1, key.asInt());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testZeroCopyStringsViewDirectBuffers() {
+        byte[] bytes = "[\"BTCUSDT\", \"a\\tb\"]".getBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        JsonDecoder jsonDecoder = new JsonDecoder(100, true, true);
+        try (var array = jsonDecoder.wrap(buffer).asArray()) {
+            try (var item = array.nextItem()) {
+                GnomeString value = item.asString();
+                assertInstanceOf(DirectViewString.class, value);
+                assertTrue(value.equals("BTCUSDT"));
+                assertEquals(new ViewString("BTCUSDT").hashCode(), value.hashCode());
+
+                buffer.put(2, (byte) 'X');
+                assertTrue(value.equals("XTCUSDT"), "Direct buffer bytes are not copied");
+            }
+            try (var item = array.nextItem()) {
+                assertTrue(item.asString().equals("a\tb"));
+            }
+            assertFalse(array.hasNextItem());
+        }
+    }
+
+    @Test
+    void testRejectsUnterminatedStrings() {
+        for (boolean zeroCopyStrings : new boolean[] {false, true}) {
+            JsonDecoder jsonDecoder = new JsonDecoder(100, false, zeroCopyStrings);
+            assertThrows(
+                    BufferUnderflowException.class,
+                    () -> jsonDecoder.wrap(ByteBuffer.wrap("\"unterminated".getBytes())).asString());
+            assertThrows(
+                    BufferUnderflowException.class,
+                    () -> jsonDecoder.wrap(ByteBuffer.wrap("\"escaped\\\"".getBytes())).asString());
+        }
+    }
+
+    private static Stream<Arguments> testLongKeysArguments() {
+        return Stream.of(
+                Arguments.of(false, false),
+                Arguments.of(true, false),
+                Arguments.of(false, true),
+                Arguments.of(true, true));
+    }
+
+    @ParameterizedTest
+    @MethodSource("testLongKeysArguments")
+    void testLongKeys(boolean swarScanning, boolean zeroCopyStrings) {
+        String longKey = largeString(1_000);
+        String payload = "{\"" + longKey + "\": \"" + longKey + "\", \"b\": 2}";
+        JsonDecoder jsonDecoder = new JsonDecoder(100, swarScanning, zeroCopyStrings);
+        try (var obj = jsonDecoder.wrap(ByteBuffer.wrap(payload.getBytes())).asObject()) {
+            try (var key = obj.nextKey()) {
+                assertTrue(key.getName().equals(longKey));
+                assertTrue(key.asString().equals(longKey));
+            }
+            try (var key = obj.nextKey()) {
+                assertTrue(key.getName().equals("b"));
+                assertEquals(2, key.asInt());
+            }
+        }
+    }
+
+    private static final JsonFieldMatcher TRADE_FIELDS = new JsonFieldMatcher("E", "s", "p", "q", "m");
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testFieldMatcherDispatch(boolean swarScanning) {
+        String payload = "{\"e\": \"trade\", \"E\": 1672515782136, \"s\": \"BTCUSDT\", \"t\": {\"nested\": [1, \"]\"]},"
+                + " \"p\": \"42001.12\", \"q\": \"0.0015\", \"symbolName\": \"x\", \"m\": true, \"\\\"E\\\"\": 5}";
+        JsonDecoder jsonDecoder = new JsonDecoder(100, swarScanning);
+        List<Integer> fieldIds = new ArrayList<>();
+        try (var obj = jsonDecoder.wrap(ByteBuffer.wrap(payload.getBytes())).asObject()) {
+            while (obj.hasNextKey()) {
+                try (var key = obj.nextKey(TRADE_FIELDS)) {
+                    fieldIds.add(key.fieldId());
+                    assertEquals(0, key.getName().length());
+                    switch (key.fieldId()) {
+                        case 0 -> assertEquals(1672515782136L, key.asLong());
+                        case 1 -> assertTrue(key.asString().equals("BTCUSDT"));
+                        case 2 -> assertEquals(4200112000000L, key.asString().toFixedPointLong(100_000_000L));
+                        case 3 -> assertTrue(key.asString().equals("0.0015"));
+                        case 4 -> assertTrue(key.asBoolean());
+                        default -> {}
+                    }
+                }
+            }
+        }
+        assertEquals(List.of(-1, 0, 1, -1, 2, 3, -1, 4, -1), fieldIds);
+    }
+
+    @Test
+    void testFieldMatcherMixesWithNamedKeys() {
+        String payload = "{\"a\": 1, \"s\": \"x\", \"b\": 2}";
+        JsonDecoder jsonDecoder = new JsonDecoder(100, false, true);
+        try (var obj = jsonDecoder.wrap(ByteBuffer.wrap(payload.getBytes())).asObject()) {
+            try (var key = obj.nextKey()) {
+                assertTrue(key.getName().equals("a"));
+                assertEquals(JsonFieldMatcher.MISSING, key.fieldId());
+            }
+            try (var key = obj.nextKey(TRADE_FIELDS)) {
+                assertEquals(1, key.fieldId());
+            }
+            try (var key = obj.nextKey()) {
+                assertTrue(key.getName().equals("b"));
+                assertEquals(2, key.asInt());
+            }
+            assertFalse(obj.hasNextKey());
+        }
+    }
+
+    @Test
+    void testFieldMatcherRejectsUnterminatedKeys() {
+        JsonDecoder jsonDecoder = new JsonDecoder(100, true);
+        for (String payload : new String[] {"{\"E", "{\"unknown", "{\"unknown\\"}) {
+            var obj = jsonDecoder.wrap(ByteBuffer.wrap(payload.getBytes())).asObject();
+            assertThrows(BufferUnderflowException.class, () -> obj.nextKey(TRADE_FIELDS));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testDecodesDirectBufferBetweenOffsetAndLimit(boolean swarScanning) {
+        String json = "{\"s\": \"BTCUSDT\", \"b\": [[\"1.5\", \"2\"]], \"u\": 1027024}";
+        byte[] bytes = ("garbage" + json + "{\"trailing\"").getBytes();
+        UnsafeBuffer heap = new UnsafeBuffer(bytes);
+        UnsafeBuffer direct = new UnsafeBuffer(ByteBuffer.allocateDirect(bytes.length));
+        direct.putBytes(0, bytes, 0, bytes.length);
+
+        for (UnsafeBuffer buffer : new UnsafeBuffer[] {heap, direct}) {
+            JsonDecoder jsonDecoder = new JsonDecoder(100, swarScanning, true);
+            try (var obj = jsonDecoder.wrap(buffer, 7, json.length()).asObject()) {
+                try (var key = obj.nextKey()) {
+                    GnomeString symbol = key.asString();
+                    assertTrue(symbol.equals("BTCUSDT"));
+                    if (buffer == heap) {
+                        assertSame(bytes, symbol.getBytes());
+                    }
+                }
+                obj.nextKey().close();
+                try (var key = obj.nextKey()) {
+                    assertTrue(key.getName().equals("u"));
+                    assertEquals(1027024, key.asLong());
+                }
+                assertFalse(obj.hasNextKey());
+            }
+            assertEquals(7 + json.length(), jsonDecoder.position());
+        }
+    }
+
+    @Test
+    void testDirectBufferLimitIsRespected() {
+        UnsafeBuffer buffer = new UnsafeBuffer("{\"a\": 12}{\"a\": 34}".getBytes());
+        JsonDecoder jsonDecoder = new JsonDecoder(100, true);
+        try (var obj = jsonDecoder.wrap(buffer, 0, 7).asObject();
+                var key = obj.nextKey()) {
+            assertEquals(1, key.asInt());
+            assertEquals(7, jsonDecoder.position());
+        }
+        assertThrows(BufferUnderflowException.class, () -> jsonDecoder.wrap(buffer, 0, 3).asObject().nextKey());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testDeprecatedBufferWrapsReadTheGivenBuffer() {
+        JsonDecoder jsonDecoder = new JsonDecoder();
+        JsonDecoder.JsonObject obj = jsonDecoder.wrap(ByteBuffer.wrap("{}".getBytes())).asObject();
+        JsonDecoder.JsonArray array = jsonDecoder.wrap(ByteBuffer.wrap("[]".getBytes())).asArray();
+
+        ByteBuffer objectBuffer = ByteBuffer.wrap("{\"a\": 12}".getBytes());
+        obj.wrap(objectBuffer);
+        try (var key = obj.nextKey()) {
+            assertTrue(key.getName().equals("a"));
+            assertEquals(12, key.asInt());
+        }
+        obj.close();
+        assertFalse(objectBuffer.hasRemaining());
+
+        array.wrap(ByteBuffer.wrap("[7]".getBytes()));
+        try (var item = array.nextItem()) {
+            assertEquals(7, item.asInt());
+        }
+        array.close();
+    }
 }
@@ -0,0 +1,89 @@
+package group.gnometrading.codecs.json;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Encodes the numbers of an order entry message: positive and negative ints and longs, and prices with a fixed
+ * scale, into an off-heap buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonEncoderBenchmark {
+
+    private static final int NUMBERS = 1 << 10;
+    private static final int PRICE_SCALE = 8;
+
+    private final JsonEncoder encoder = new JsonEncoder();
+    private final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(1 << 16));
+    private final int[] ints = new int[NUMBERS];
+    private final long[] longs = new long[NUMBERS];
+    private final double[] prices = new double[NUMBERS];
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(JsonEncoderBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < NUMBERS; i++) {
+            this.ints[i] = random.nextInt(-1_000_000, 1_000_000);
+            this.longs[i] = 1_672_515_782_136L + random.nextLong(-1_000_000, 1_000_000);
+            this.prices[i] = random.nextDouble(-50_000, 50_000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public int writeInts() {
+        this.encoder.wrap(this.buffer, 0, this.buffer.capacity());
+        for (int i = 0; i < NUMBERS; i++) {
+            this.encoder.writeNumber(this.ints[i]).writeComma();
+        }
+        return this.encoder.position();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public int writeLongs() {
+        this.encoder.wrap(this.buffer, 0, this.buffer.capacity());
+        for (int i = 0; i < NUMBERS; i++) {
+            this.encoder.writeNumber(this.longs[i]).writeComma();
+        }
+        return this.encoder.position();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public int writePrices() {
+        this.encoder.wrap(this.buffer, 0, this.buffer.capacity());
+        for (int i = 0; i < NUMBERS; i++) {
+            this.encoder.writeNumber(this.prices[i], PRICE_SCALE).writeComma();
+        }
+        return this.encoder.position();
+    }
+}
@@ -3,10 +3,13 @@ package group.gnometrading.codecs.json;
 import static org.junit.jupiter.api.Assertions.*;
 
 import group.gnometrading.strings.ViewString;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -113,4 +116,101 @@ class JsonEncoderTest {
         buffer.flip();
         assertEquals(result, StandardCharsets.UTF_8.decode(buffer).toString());
     }
+
+    @ParameterizedTest
+    @MethodSource("testJsonEncoderArguments")
+    void testJsonEncoderIntoDirectBuffer(Consumer<JsonEncoder> consumer, String result) {
+        UnsafeBuffer heap = new UnsafeBuffer(new byte[1 << 12]);
+        UnsafeBuffer direct = new UnsafeBuffer(ByteBuffer.allocateDirect(1 << 12));
+        for (UnsafeBuffer buffer : new UnsafeBuffer[] {heap, direct}) {
+            JsonEncoder encoder = new JsonEncoder();
+            encoder.wrap(buffer, 7, 1 << 10);
+
+            consumer.accept(encoder);
+            byte[] written = new byte[encoder.position() - 7];
+            buffer.getBytes(7, written, 0, written.length);
+            assertEquals(result, new String(written, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testEscapesStrings() {
+        UnsafeBuffer buffer = new UnsafeBuffer(new byte[64]);
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.wrap(buffer, 0, 64);
+
+        encoder.writeString(new ViewString("a\"b\\c\"")).writeComma().writeString("\"x\\");
+        byte[] written = new byte[encoder.position()];
+        buffer.getBytes(0, written, 0, written.length);
+        assertEquals("\"a\\\"b\\\\c\\\"\",\"\\\"x\\\\\"", new String(written, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStopsAtLimit() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.limit(8);
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.wrap(buffer);
+
+        encoder.writeObjectStart().writeNumber(123456L);
+        assertEquals(7, buffer.position());
+        assertThrows(BufferOverflowException.class, () -> encoder.writeString("ab"));
+        assertThrows(BufferOverflowException.class, () -> encoder.writeNumber(10));
+        encoder.writeObjectEnd();
+        assertEquals(8, buffer.position());
+        assertThrows(BufferOverflowException.class, encoder::writeComma);
+    }
+
+    @ParameterizedTest
+    @MethodSource("testWritesNumbersArguments")
+    void testWritesNumbers(Consumer<JsonEncoder> operation, String result) {
+        UnsafeBuffer buffer = new UnsafeBuffer(new byte[64]);
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.wrap(buffer, 0, 64);
+
+        operation.accept(encoder);
+        byte[] written = new byte[encoder.position()];
+        buffer.getBytes(0, written, 0, written.length);
+        assertEquals(result, new String(written, StandardCharsets.UTF_8));
+    }
+
+    private static Stream<Arguments> testWritesNumbersArguments() {
+        return Stream.of(
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(0), "0"),
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(-42), "-42"),
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(Integer.MAX_VALUE), "2147483647"),
+                Arguments.of(
+                        (Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(Integer.MIN_VALUE), "-2147483648"),
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(-7L), "-7"),
+                Arguments.of(
+                        (Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(Long.MAX_VALUE),
+                        "9223372036854775807"),
+                Arguments.of(
+                        (Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(Long.MIN_VALUE),
+                        "-9223372036854775808"),
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(0.0, 4), "0"),
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(9.6, 3), "9.600"),
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(-0.05, 2), "-0.05"),
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(12.5, 0), "13"),
+                Arguments.of((Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(99.996, 2), "100.00"),
+                Arguments.of(
+                        (Consumer<JsonEncoder>) (encoder) -> encoder.writeNumber(-27123.12345678, 8),
+                        "-27123.12345678"));
+    }
+
+    @Test
+    void testNumberPastLimitWritesNothing() {
+        UnsafeBuffer buffer = new UnsafeBuffer(new byte[16]);
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.wrap(buffer, 0, 4);
+
+        assertThrows(BufferOverflowException.class, () -> encoder.writeNumber(-1234));
+        assertThrows(BufferOverflowException.class, () -> encoder.writeNumber(12345L));
+        assertThrows(BufferOverflowException.class, () -> encoder.writeNumber(1.5, 3));
+        assertEquals(0, encoder.position());
+        assertEquals(0, buffer.getByte(0));
+
+        encoder.writeNumber(-123);
+        assertEquals(4, encoder.position());
+    }
 }
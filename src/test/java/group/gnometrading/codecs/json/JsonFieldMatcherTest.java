@@ -0,0 +1,56 @@
+package group.gnometrading.codecs.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.strings.ViewString;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class JsonFieldMatcherTest {
+
+    @Test
+    void testIdsFollowConstructorOrder() {
+        JsonFieldMatcher matcher = new JsonFieldMatcher("e", "E", "s", "price", "p", "qty");
+
+        assertEquals(6, matcher.size());
+        for (int i = 0; i < matcher.size(); i++) {
+            assertEquals(i, matcher.match(new ViewString(matcher.name(i))));
+        }
+    }
+
+    @Test
+    void testPrefixesAndUnknownKeysAreMissing() {
+        JsonFieldMatcher matcher = new JsonFieldMatcher("price", "p", "qty");
+
+        assertEquals(JsonFieldMatcher.MISSING, matcher.match(new ViewString("pr")));
+        assertEquals(JsonFieldMatcher.MISSING, matcher.match(new ViewString("prices")));
+        assertEquals(JsonFieldMatcher.MISSING, matcher.match(new ViewString("q")));
+        assertEquals(JsonFieldMatcher.MISSING, matcher.match(new ViewString("zzz")));
+        assertEquals(JsonFieldMatcher.MISSING, matcher.match(new ViewString("")));
+        assertEquals(JsonFieldMatcher.MISSING, matcher.match(new ViewString("P")));
+    }
+
+    @Test
+    void testEmptyAndMultiByteNames() {
+        JsonFieldMatcher matcher = new JsonFieldMatcher("", "café");
+
+        assertEquals(0, matcher.match(new ViewString("")));
+        assertEquals(1, matcher.match(new ViewString("café".getBytes(StandardCharsets.UTF_8))));
+        assertEquals(JsonFieldMatcher.MISSING, matcher.match(new ViewString("cafe")));
+    }
+
+    @Test
+    void testRejectsDuplicateNames() {
+        assertThrows(IllegalArgumentException.class, () -> new JsonFieldMatcher("a", "b", "a"));
+    }
+
+    @Test
+    void testStepsStayDeadOnceNoNameMatches() {
+        JsonFieldMatcher matcher = new JsonFieldMatcher("ab");
+
+        int state = matcher.step(JsonFieldMatcher.ROOT, (byte) 'x');
+        assertEquals(JsonFieldMatcher.DEAD, state);
+        assertEquals(JsonFieldMatcher.DEAD, matcher.step(state, (byte) 'a'));
+        assertEquals(JsonFieldMatcher.MISSING, matcher.fieldId(state));
+    }
+}
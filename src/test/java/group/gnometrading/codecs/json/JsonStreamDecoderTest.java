@@ -0,0 +1,238 @@
+package group.gnometrading.codecs.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.strings.DirectViewString;
+import group.gnometrading.strings.GnomeString;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonStreamDecoderTest {
+
+    private static final String MESSAGE =
+            "{\"s\": \"BT{C\\\"]\", \"b\": [[\"1.5\", \"2\"], [\"1.4\", \"3\"]], \"u\": 1027024, \"e\": {}, "
+                    + "\"caf\\u00e9\": [true, false, null, -0.25]}";
+
+    private static final List<String> EVENTS = List.of(
+            "{", "key s", "string BT{C\"]", "key b", "[", "[", "string 1.5", "string 2", "]", "[", "string 1.4",
+            "string 3", "]", "]", "key u", "number 1027024", "key e", "{", "}", "key caf\u00e9", "[", "true",
+            "false", "null", "number -0.25", "]", "}");
+
+    @Test
+    void testWholeValueIsDecodedInPlace() {
+        RecordingListener listener = new RecordingListener();
+        JsonStreamDecoder stream = new JsonStreamDecoder(listener);
+        byte[] bytes = MESSAGE.getBytes();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        assertTrue(stream.feed(buffer));
+        assertEquals(EVENTS, listener.events);
+        assertEquals(0, stream.stagedBytes());
+        assertEquals(MESSAGE.length(), buffer.position());
+        for (int i = 0; i < listener.views.size(); i++) {
+            if (listener.views.get(i) == DirectViewString.class) {
+                assertSame(bytes, listener.arrays.get(i), "Views hand out the heap buffer's array");
+            }
+        }
+
+        assertFalse(stream.feed(buffer));
+        assertEquals(EVENTS.size(), listener.events.size());
+    }
+
+    @Test
+    void testCompletedFieldsAreAvailableBeforeTheValueEnds() {
+        RecordingListener listener = new RecordingListener();
+        JsonStreamDecoder stream = new JsonStreamDecoder(listener);
+
+        assertFalse(stream.feed(ByteBuffer.wrap("{\"u\": 1027024, \"s\": \"BT".getBytes())));
+        assertEquals(List.of("{", "key u", "number 1027024", "key s"), listener.events);
+        assertEquals(3, stream.stagedBytes(), "Only the partial token is staged");
+
+        assertTrue(stream.feed(ByteBuffer.wrap("C\"}".getBytes())));
+        assertEquals(List.of("{", "key u", "number 1027024", "key s", "string BTC", "}"), listener.events);
+        assertEquals(0, stream.stagedBytes());
+    }
+
+    @Test
+    void testEverySplitPoint() {
+        byte[] bytes = MESSAGE.getBytes();
+        for (int split = 0; split <= bytes.length; split++) {
+            RecordingListener listener = new RecordingListener();
+            JsonStreamDecoder stream = new JsonStreamDecoder(listener, 4);
+            ByteBuffer first = ByteBuffer.wrap(bytes, 0, split);
+            ByteBuffer second = ByteBuffer.wrap(bytes, split, bytes.length - split);
+
+            boolean completed = stream.feed(first);
+            assertEquals(EVENTS.subList(0, listener.events.size()), listener.events, "split at " + split);
+            if (!completed) {
+                assertTrue(stream.feed(second), "split at " + split);
+            }
+            assertEquals(EVENTS, listener.events, "split at " + split);
+        }
+    }
+
+    @Test
+    void testByteAtATime() {
+        byte[] bytes = (MESSAGE + "\n" + MESSAGE).getBytes();
+        RecordingListener listener = new RecordingListener();
+        JsonStreamDecoder stream = new JsonStreamDecoder(listener, 1);
+        int completed = 0;
+        int mostStaged = 0;
+        for (byte value : bytes) {
+            if (stream.feed(ByteBuffer.wrap(new byte[] {value}))) {
+                completed++;
+                assertEquals(completed * EVENTS.size(), listener.events.size());
+            }
+            mostStaged = Math.max(mostStaged, stream.stagedBytes());
+        }
+        assertEquals(2, completed);
+        assertEquals("\"caf\\u00e9".length(), mostStaged, "The longest token is all that is staged");
+    }
+
+    @Test
+    void testSeveralValuesInOneBuffer() {
+        String payload = "{\"u\": 1}\n[2, 3] \"four\"\r\n5\t{\"u\": 6}7";
+        RecordingListener listener = new RecordingListener();
+        JsonStreamDecoder stream = new JsonStreamDecoder(listener);
+        ByteBuffer buffer = ByteBuffer.wrap(payload.getBytes());
+        int completed = 0;
+        while (stream.feed(buffer)) {
+            completed++;
+        }
+        assertEquals(5, completed);
+        assertEquals(
+                List.of("{", "key u", "number 1", "}", "[", "number 2", "number 3", "]", "string four", "number 5",
+                        "{", "key u", "number 6", "}"),
+                listener.events);
+        assertFalse(buffer.hasRemaining());
+
+        // Nothing marks the end of the trailing number until the next byte arrives
+        assertTrue(stream.feed(ByteBuffer.wrap(new byte[] {'\n'})));
+        assertEquals("number 7", listener.events.get(listener.events.size() - 1));
+    }
+
+    @Test
+    void testEscapesSplitAcrossFragments() {
+        byte[] bytes = "[\"a\\\"b\", \"\\u20ac\"]".getBytes();
+        for (int split = 1; split < bytes.length; split++) {
+            RecordingListener listener = new RecordingListener();
+            JsonStreamDecoder stream = new JsonStreamDecoder(listener);
+            assertFalse(stream.feed(ByteBuffer.wrap(bytes, 0, split)));
+            assertTrue(stream.feed(ByteBuffer.wrap(bytes, split, bytes.length - split)));
+            assertEquals(List.of("[", "string a\"b", "string \u20ac", "]"), listener.events, "split at " + split);
+        }
+    }
+
+    @Test
+    void testDirectBuffers() {
+        byte[] bytes = MESSAGE.getBytes();
+        ByteBuffer first = ByteBuffer.allocateDirect(20);
+        first.put(bytes, 0, 20).flip();
+        ByteBuffer second = ByteBuffer.allocateDirect(bytes.length - 20);
+        second.put(bytes, 20, bytes.length - 20).flip();
+
+        RecordingListener listener = new RecordingListener();
+        JsonStreamDecoder stream = new JsonStreamDecoder(listener);
+        assertFalse(stream.feed(first));
+        assertTrue(stream.feed(second));
+        assertEquals(EVENTS, listener.events);
+        assertTrue(listener.views.stream().anyMatch(DirectViewString.class::equals));
+    }
+
+    @Test
+    void testReadsNumbersInPlace() {
+        List<Long> prices = new ArrayList<>();
+        JsonStreamDecoder stream = new JsonStreamDecoder(new JsonStreamListener() {
+            @Override
+            public void onNumber(GnomeString value) {
+                prices.add(value.toFixedPointLong(100_000_000L));
+            }
+        });
+        assertTrue(stream.feed(ByteBuffer.wrap("[42001.12, -0.5]".getBytes())));
+        assertEquals(List.of(4200112000000L, -50000000L), prices);
+    }
+
+    @Test
+    void testResetDropsPartialValue() {
+        RecordingListener listener = new RecordingListener();
+        JsonStreamDecoder stream = new JsonStreamDecoder(listener);
+        assertFalse(stream.feed(ByteBuffer.wrap("{\"u\": [1, \"]".getBytes())));
+        assertTrue(stream.stagedBytes() > 0);
+
+        stream.reset();
+        listener.events.clear();
+        assertEquals(0, stream.stagedBytes());
+        assertTrue(stream.feed(ByteBuffer.wrap(MESSAGE.getBytes())));
+        assertEquals(EVENTS, listener.events);
+    }
+
+    @Test
+    void testRejectsClosingBracketAtTopLevel() {
+        JsonStreamDecoder stream = new JsonStreamDecoder(new RecordingListener());
+        assertThrows(IllegalArgumentException.class, () -> stream.feed(ByteBuffer.wrap(" }".getBytes())));
+    }
+
+    private static final class RecordingListener implements JsonStreamListener {
+        private final List<String> events = new ArrayList<>();
+        private final List<Class<?>> views = new ArrayList<>();
+        private final List<byte[]> arrays = new ArrayList<>();
+
+        @Override
+        public void onObjectStart() {
+            this.events.add("{");
+        }
+
+        @Override
+        public void onObjectEnd() {
+            this.events.add("}");
+        }
+
+        @Override
+        public void onArrayStart() {
+            this.events.add("[");
+        }
+
+        @Override
+        public void onArrayEnd() {
+            this.events.add("]");
+        }
+
+        @Override
+        public void onKey(GnomeString key) {
+            record("key ", key);
+        }
+
+        @Override
+        public void onString(GnomeString value) {
+            record("string ", value);
+        }
+
+        @Override
+        public void onNumber(GnomeString value) {
+            record("number ", value);
+        }
+
+        @Override
+        public void onBoolean(boolean value) {
+            this.events.add(String.valueOf(value));
+        }
+
+        @Override
+        public void onNull() {
+            this.events.add("null");
+        }
+
+        private void record(String kind, GnomeString value) {
+            byte[] bytes = new byte[value.length()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = value.byteAt(i);
+            }
+            this.events.add(kind + new String(bytes, StandardCharsets.UTF_8));
+            this.views.add(value.getClass());
+            this.arrays.add(value.getBytes());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package group.gnometrading.collections;
+
+import group.gnometrading.strings.ViewString;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Looks up symbols found in a message buffer, either by building a String for a {@link PooledHashMap} as callers
+ * do today, or by handing a reused {@link ViewString} over the buffer to a {@link GnomeStringMap}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GnomeStringMapBenchmark {
+
+    private static final int LOOKUPS = 1 << 12;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(GnomeStringMapBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Symbols {
+        @Param({"100", "10000"})
+        public int size;
+
+        final PooledHashMap<String, Object> stringMap = new PooledHashMap<>();
+        final GnomeStringMap<Object> gnomeStringMap = new GnomeStringMap<>();
+        final ViewString view = new ViewString();
+        byte[] buffer;
+        int[] offsets;
+        int[] lengths;
+
+        @Setup
+        public void setup() {
+            final SplittableRandom random = new SplittableRandom(42);
+            final String[] symbols = new String[this.size];
+            for (int i = 0; i < this.size; i++) {
+                symbols[i] = "SYM" + i + "USDT";
+                this.stringMap.put(symbols[i], symbols[i]);
+                this.gnomeStringMap.put(new ViewString(symbols[i]), symbols[i]);
+            }
+
+            // Lay the looked-up symbols out back to back, as they would sit in a batch of messages
+            final StringBuilder messages = new StringBuilder();
+            this.offsets = new int[LOOKUPS];
+            this.lengths = new int[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                final String symbol = symbols[random.nextInt(this.size)];
+                this.offsets[i] = messages.length();
+                this.lengths[i] = symbol.length();
+                messages.append(symbol);
+            }
+            this.buffer = messages.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int stringKeys(Symbols symbols) {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            final String key = new String(symbols.buffer, symbols.offsets[i], symbols.lengths[i]);
+            if (symbols.stringMap.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int viewKeys(Symbols symbols) {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            symbols.view.wrap(symbols.buffer, symbols.offsets[i], symbols.lengths[i]);
+            if (symbols.gnomeStringMap.get(symbols.view) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,207 @@
+package group.gnometrading.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.strings.DirectViewString;
+import group.gnometrading.strings.GnomeString;
+import group.gnometrading.strings.MutableString;
+import group.gnometrading.strings.ViewString;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+class GnomeStringMapTest {
+
+    @Test
+    void testGetFromViewsAtAnyOffset() {
+        GnomeStringMap<Integer> map = new GnomeStringMap<>();
+        map.put(new ViewString("BTCUSDT"), 1);
+        map.put(new ViewString("ETHUSDT"), 2);
+
+        byte[] message = "{\"s\":\"ETHUSDT\",\"p\":\"1\"}".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(2, map.get(new ViewString(message, 6, 7)));
+        assertEquals(2, map.get(message, 6, 7));
+        assertNull(map.get(new ViewString(message, 6, 6)));
+
+        MutableString reused = new MutableString();
+        reused.appendString("BTC").appendString("USDT");
+        assertEquals(1, map.get(reused));
+        reused.append((byte) 'X');
+        assertNull(map.get(reused));
+    }
+
+    @Test
+    void testOffHeapKeys() {
+        byte[] message = "{\"s\":\"ETHUSDT\",\"i\":\"PERP-ETH-USDT-250926\"}".getBytes(StandardCharsets.US_ASCII);
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(message.length));
+        buffer.putBytes(0, message);
+        DirectViewString view = new DirectViewString();
+
+        GnomeStringMap<Integer> map = new GnomeStringMap<>();
+        map.put(new ViewString("ETHUSDT"), 1);
+        view.wrap(buffer, 6, 7);
+        assertEquals(1, map.get(view));
+        assertTrue(map.containsKey(view));
+        view.wrap(buffer, 6, 6);
+        assertNull(map.get(view));
+
+        view.wrap(buffer, 20, 20);
+        assertNull(map.put(view, 2));
+        assertEquals(2, map.put(view, 3));
+        buffer.putByte(20, (byte) 'X');
+        assertEquals(3, map.get(new ViewString("PERP-ETH-USDT-250926")), "Off-heap key bytes are copied on insert");
+        assertNull(map.get(view));
+
+        view.wrap(buffer, 6, 7);
+        assertEquals(1, map.remove(view));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testKeyBytesAreCopiedOnInsert() {
+        byte[] buffer = "SOLUSDT".getBytes(StandardCharsets.US_ASCII);
+        GnomeStringMap<Integer> map = new GnomeStringMap<>();
+        map.put(new ViewString(buffer), 3);
+
+        buffer[0] = 'X';
+        assertEquals(3, map.get(new ViewString("SOLUSDT")));
+        assertNull(map.get(new ViewString(buffer)));
+    }
+
+    @Test
+    void testPutReturnsPreviousAndRejectsNulls() {
+        GnomeStringMap<String> map = new GnomeStringMap<>();
+        assertNull(map.put(new ViewString("a"), "1"));
+        assertEquals("1", map.put(new ViewString("a"), "2"));
+        assertEquals(1, map.size());
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(null, "1"));
+        assertThrows(IllegalArgumentException.class, () -> map.put(new ViewString("b"), null));
+        assertThrows(IllegalArgumentException.class, () -> new GnomeStringMap<>(16, 1.0f));
+    }
+
+    @Test
+    void testEmptyAndPrefixKeysAreDistinct() {
+        GnomeStringMap<Integer> map = new GnomeStringMap<>();
+        map.put(new ViewString(""), 0);
+        map.put(new ViewString("a"), 1);
+        map.put(new ViewString(new byte[] {'a', 0}), 2);
+        map.put(new ViewString("abcdefgh"), 8);
+        map.put(new ViewString("abcdefghi"), 9);
+
+        assertEquals(5, map.size());
+        assertEquals(0, map.get(new ViewString()));
+        assertEquals(1, map.get(new ViewString("a")));
+        assertEquals(2, map.get(new ViewString(new byte[] {'a', 0})));
+        assertEquals(8, map.get(new ViewString("abcdefgh")));
+        assertEquals(9, map.get(new ViewString("abcdefghi")));
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(11);
+        GnomeStringMap<Integer> map = new GnomeStringMap<>(1);
+        Map<String, Integer> expected = new HashMap<>();
+        byte[] buffer = new byte[64];
+
+        for (int i = 0; i < 50000; i++) {
+            String key = "SYM" + random.nextInt(2000);
+            // Place the key at a random offset so lookups never see the bytes the key was stored from
+            int offset = random.nextInt(buffer.length - key.length());
+            System.arraycopy(key.getBytes(StandardCharsets.US_ASCII), 0, buffer, offset, key.length());
+            ViewString view = new ViewString(buffer, offset, key.length());
+
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(view, i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(view));
+                default -> assertEquals(expected.get(key), map.get(view));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(
+                expected.keySet(),
+                map.keys().stream().map(GnomeString::toString).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testKeyBytesOfRemovedKeysAreReclaimed() {
+        GnomeStringMap<Integer> map = new GnomeStringMap<>(16);
+        for (int i = 0; i < 100000; i++) {
+            map.put(new ViewString("ORDER-" + i), i);
+            if (i >= 10) {
+                assertEquals(i - 10, map.remove(new ViewString("ORDER-" + (i - 10))));
+            }
+        }
+
+        assertEquals(10, map.size());
+        assertTrue(map.keyBytesCapacity() <= 16 * GnomeStringMap.INITIAL_BYTES_PER_KEY);
+        for (int i = 100000 - 10; i < 100000; i++) {
+            assertEquals(i, map.get(new ViewString("ORDER-" + i)));
+        }
+    }
+
+    @Test
+    void testClear() {
+        GnomeStringMap<Integer> map = new GnomeStringMap<>();
+        map.put(new ViewString("a"), 1);
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(new ViewString("a")));
+        map.put(new ViewString("b"), 2);
+        assertEquals(2, map.get(new ViewString("b")));
+    }
+
+    @Test
+    void testForEachVisitsAllEntries() {
+        GnomeStringMap<Integer> map = new GnomeStringMap<>();
+        map.put(new ViewString("a"), 1);
+        map.put(new ViewString("bb"), 2);
+
+        List<String> keys = new ArrayList<>();
+        map.forEachKey(key -> keys.add(key.toString()));
+        List<Integer> values = new ArrayList<>();
+        map.forEachValue(values::add);
+
+        assertEquals(new HashSet<>(List.of("a", "bb")), new HashSet<>(keys));
+        assertEquals(new HashSet<>(List.of(1, 2)), new HashSet<>(values));
+    }
+
+    @Test
+    void testCursorRemoveDuringIteration() {
+        GnomeStringMap<Integer> map = new GnomeStringMap<>(8);
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            map.put(new ViewString("K" + i), i);
+            expected.put("K" + i, i);
+        }
+
+        Map<String, Integer> visited = new HashMap<>();
+        GnomeMapCursor<GnomeString, Integer> cursor = map.cursor();
+        while (cursor.next()) {
+            assertNull(visited.put(cursor.key().toString(), cursor.value()), "Entry visited twice");
+            if (cursor.value() % 3 == 0) {
+                expected.remove(cursor.key().toString());
+                cursor.remove();
+            }
+        }
+
+        assertEquals(500, visited.size());
+        assertEquals(expected.size(), map.size());
+        for (var entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(new ViewString(entry.getKey())));
+        }
+
+        assertSame(cursor, map.cursor());
+        assertThrows(IllegalStateException.class, cursor::key);
+    }
+}
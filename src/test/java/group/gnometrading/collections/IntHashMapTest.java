@@ -3,7 +3,12 @@ package group.gnometrading.collections;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.function.IntConsumer;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
@@ -118,6 +123,175 @@ class IntHashMapTest {
         assertTrue(keys.isEmpty());
     }
 
+    @Test
+    void testIncrementalRehashMatchesHashMap() {
+        IntHashMap<Integer> map = new IntHashMap<>(1, IntHashMap.DEFAULT_LOAD_FACTOR, true);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        boolean sawRehash = false;
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000) - 2500;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            sawRehash |= map.isRehashing();
+
+            int probe = random.nextInt(5000) - 2500;
+            assertEquals(expected.get(probe), map.get(probe));
+            assertEquals(expected.size(), map.size());
+        }
+        assertTrue(sawRehash);
+        assertEquals(expected.keySet(), new HashSet<>(map.keys()));
+    }
+
+    @Test
+    void testIterationAndClearDuringIncrementalRehash() {
+        IntHashMap<Integer> map = new IntHashMap<>(16, IntHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put(count, count);
+            count++;
+        }
+
+        // The put that started the rehash only moved part of the old table
+        List<Integer> keys = new ArrayList<>();
+        map.forEachKey((IntConsumer) keys::add);
+        List<Integer> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertEquals(count, keys.size());
+        assertEquals(count, values.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, map.get(i));
+        }
+
+        map.clear();
+        assertFalse(map.isRehashing());
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+        map.put(1, 1);
+        assertEquals(1, map.get(1));
+    }
+
+    @Test
+    void testIncrementalRehashFinishesWithinBoundedOperations() {
+        IntHashMap<Integer> map = new IntHashMap<>(16, IntHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put(count, count);
+            count++;
+        }
+
+        // Each operation moves BUCKETS_PER_OPERATION of the 16 old buckets, the first one already ran
+        final int remainingOperations = 16 / IncrementalRehash.BUCKETS_PER_OPERATION - 1;
+        for (int i = 0; i < remainingOperations; i++) {
+            assertTrue(map.isRehashing());
+            map.remove(-1);
+        }
+        assertFalse(map.isRehashing());
+        assertEquals(count, map.size());
+    }
+
+    @Test
+    void testCursorVisitsEveryEntryWithItsValue() {
+        IntMap<Integer> map = new IntHashMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = -50; i < 50; i++) {
+            map.put(i * 7, i);
+            expected.put(i * 7, i);
+        }
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        IntMapCursor<Integer> cursor = map.cursor();
+        while (cursor.next()) {
+            assertNull(visited.put(cursor.key(), cursor.value()));
+        }
+        assertEquals(expected, visited);
+        assertFalse(cursor.next());
+
+        cursor.reset();
+        assertTrue(cursor.next());
+        assertSame(cursor, map.cursor());
+    }
+
+    @Test
+    void testCursorRemoveDuringIteration() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 20; round++) {
+            IntMap<Integer> map = new IntHashMap<>(16);
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                final int n = random.nextInt(1000) - 500;
+                map.put(n, i);
+                expected.put(n, i);
+            }
+
+            Map<Integer, Integer> visited = new HashMap<>();
+            IntMapCursor<Integer> cursor = map.cursor();
+            while (cursor.next()) {
+                assertNull(visited.put(cursor.key(), cursor.value()), "Entry visited twice");
+                if (random.nextBoolean()) {
+                    expected.remove(cursor.key());
+                    cursor.remove();
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (var entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            for (var key : visited.keySet()) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+    }
+
+    @Test
+    void testCursorWithoutCurrentEntry() {
+        IntMap<Integer> map = new IntHashMap<>();
+        map.put(1, 1);
+
+        IntMapCursor<Integer> cursor = map.cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+        assertThrows(IllegalStateException.class, cursor::remove);
+
+        assertTrue(cursor.next());
+        cursor.remove();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        assertThrows(IllegalStateException.class, cursor::value);
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testCursorDuringIncrementalRehash() {
+        IntHashMap<Integer> map = new IntHashMap<>(16, IntHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put(count, count);
+            count++;
+        }
+
+        int visited = 0;
+        IntMapCursor<Integer> cursor = map.cursor();
+        while (cursor.next()) {
+            visited++;
+            if (cursor.key() % 2 == 0) {
+                cursor.remove();
+            }
+        }
+
+        // Removing through the cursor leaves the rehash where it was
+        assertTrue(map.isRehashing());
+        assertEquals(count, visited);
+        assertEquals(count / 2, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 != 0, map.containsKey(i));
+        }
+    }
+
     private static IntMap<Integer> generate(String pairs) {
         IntMap<Integer> map = new IntHashMap<>();
         for (String item : pairs.split(",")) {
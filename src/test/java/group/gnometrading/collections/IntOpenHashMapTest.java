@@ -0,0 +1,245 @@
+package group.gnometrading.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class IntOpenHashMapTest {
+
+    private static Stream<Arguments> testGetArguments() {
+        return Stream.of(
+                Arguments.of("1:1,5:1,3:1,10:1", 1, 1),
+                Arguments.of("1:1,5:1,3:1,10:1", 0, null),
+                Arguments.of("-1:1,-5:1,3:1,10:1", -5, 1),
+                Arguments.of("-5:1,-5:10", -5, 10));
+    }
+
+    @ParameterizedTest
+    @MethodSource("testGetArguments")
+    void testGet(String map, int key, Integer result) {
+        assertEquals(result, generate(map).get(key));
+    }
+
+    private static Stream<Arguments> testRemoveArguments() {
+        return Stream.of(
+                Arguments.of("1:1", 1, ""), Arguments.of("1:1", 0, "1:1"), Arguments.of("1:1,2:1,3:1", 2, "1:1,3:1"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("testRemoveArguments")
+    void testRemove(String start, int toRemove, String end) {
+        var map1 = generate(start);
+        map1.remove(toRemove);
+        var map2 = generate(end);
+
+        assertEquals(map1.size(), map2.size());
+        for (var key : map1.keys()) {
+            assertEquals(map1.get(key), map2.get(key));
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new IntOpenHashMap<Integer>(16, 0.95f));
+        assertThrows(IllegalArgumentException.class, () -> new IntOpenHashMap<Integer>(16, 0.0f));
+        assertThrows(IllegalArgumentException.class, () -> new IntOpenHashMap<Integer>().put(1, null));
+    }
+
+    @Test
+    void testPutReturnsPrevious() {
+        var map = new IntOpenHashMap<String>();
+        assertNull(map.put(1, "a"));
+        assertEquals("a", map.put(1, "b"));
+        assertEquals(1, map.size());
+        assertEquals("b", map.remove(1));
+        assertNull(map.remove(1));
+    }
+
+    @Test
+    void testZeroKey() {
+        var map = new IntOpenHashMap<String>();
+        assertNull(map.get(0));
+        assertNull(map.put(0, "zero"));
+        map.put(1, "one");
+
+        assertEquals("zero", map.get(0));
+        assertTrue(map.containsKey(0));
+        assertEquals(2, map.size());
+        assertTrue(map.keys().contains(0));
+
+        assertEquals("zero", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testResizing() {
+        var map = new IntOpenHashMap<Integer>(1);
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+
+        for (int i = 0; i < (1 << 10); i++) {
+            map.put(i, i);
+        }
+        assertEquals((1 << 10), map.size());
+        for (int i = 0; i < (1 << 10); i++) {
+            assertEquals(i, map.get(i));
+        }
+    }
+
+    @Test
+    void testClear() {
+        var map = new IntOpenHashMap<Integer>(1);
+        map.put(1, 2);
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertNull(map.get(1));
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.keys().size());
+    }
+
+    @Test
+    void testRemoveInsideProbeRunKeepsLaterEntriesReachable() {
+        // With a tiny table most keys collide, so removals have to shift entries back across the wrap-around
+        var map = new IntOpenHashMap<Integer>(4, 0.9f);
+        for (int i = 0; i < 7; i++) {
+            map.put(i * 16, i);
+        }
+        for (int i = 0; i < 7; i += 2) {
+            assertEquals(i, map.remove(i * 16));
+        }
+        for (int i = 1; i < 7; i += 2) {
+            assertEquals(i, map.get(i * 16));
+        }
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        var map = new IntOpenHashMap<Integer>(8);
+        Map<Integer, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 200_000; i++) {
+            final int key = random.nextInt(2_000) - 1_000;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected.keySet(), map.keys());
+    }
+
+    @Test
+    void testForEachVisitsAllEntries() {
+        IntMap<Integer> map = generate("1:10,2:20,3:30");
+        List<Integer> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertEquals(3, values.size());
+        assertTrue(values.containsAll(List.of(10, 20, 30)));
+
+        List<Integer> keys = new ArrayList<>();
+        map.forEachKey((IntConsumer) keys::add);
+        assertEquals(3, keys.size());
+        assertTrue(keys.containsAll(List.of(1, 2, 3)));
+    }
+
+    @Test
+    void testCursorVisitsEveryEntryWithItsValue() {
+        IntMap<Integer> map = new IntOpenHashMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = -50; i < 50; i++) {
+            map.put(i * 7, i);
+            expected.put(i * 7, i);
+        }
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        IntMapCursor<Integer> cursor = map.cursor();
+        while (cursor.next()) {
+            assertNull(visited.put(cursor.key(), cursor.value()));
+        }
+        assertEquals(expected, visited);
+        assertFalse(cursor.next());
+
+        cursor.reset();
+        assertTrue(cursor.next());
+        assertSame(cursor, map.cursor());
+    }
+
+    @Test
+    void testCursorRemoveDuringIteration() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 20; round++) {
+            IntMap<Integer> map = new IntOpenHashMap<>(16);
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                final int n = random.nextInt(1000) - 500;
+                map.put(n, i);
+                expected.put(n, i);
+            }
+
+            Map<Integer, Integer> visited = new HashMap<>();
+            IntMapCursor<Integer> cursor = map.cursor();
+            while (cursor.next()) {
+                assertNull(visited.put(cursor.key(), cursor.value()), "Entry visited twice");
+                if (random.nextBoolean()) {
+                    expected.remove(cursor.key());
+                    cursor.remove();
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (var entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            for (var key : visited.keySet()) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+    }
+
+    @Test
+    void testCursorWithoutCurrentEntry() {
+        IntMap<Integer> map = new IntOpenHashMap<>();
+        map.put(1, 1);
+
+        IntMapCursor<Integer> cursor = map.cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+        assertThrows(IllegalStateException.class, cursor::remove);
+
+        assertTrue(cursor.next());
+        cursor.remove();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        assertThrows(IllegalStateException.class, cursor::value);
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        assertTrue(map.isEmpty());
+    }
+
+    private static IntMap<Integer> generate(String pairs) {
+        IntMap<Integer> map = new IntOpenHashMap<>();
+        for (String item : pairs.split(",")) {
+            String[] items = item.split(":");
+            if (items.length == 2) {
+                int key = Integer.parseInt(items[0]);
+                int value = Integer.parseInt(items[1]);
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+}
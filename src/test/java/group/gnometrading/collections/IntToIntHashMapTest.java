@@ -3,7 +3,11 @@ package group.gnometrading.collections;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -132,6 +136,78 @@ class IntToIntHashMapTest {
         assertTrue(keys.isEmpty());
     }
 
+    @Test
+    void testIncrementalRehashMatchesHashMap() {
+        IntToIntHashMap map = new IntToIntHashMap(1, IntToIntHashMap.DEFAULT_LOAD_FACTOR, true);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        boolean sawRehash = false;
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000) - 2500;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.getOrDefault(key, IntToIntHashMap.MISSING), map.remove(key));
+                expected.remove(key);
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+            sawRehash |= map.isRehashing();
+
+            int probe = random.nextInt(5000) - 2500;
+            assertEquals(expected.getOrDefault(probe, IntToIntHashMap.MISSING), map.get(probe));
+            assertEquals(expected.size(), map.size());
+        }
+        assertTrue(sawRehash);
+        assertEquals(expected.keySet(), new HashSet<>(map.keys()));
+    }
+
+    @Test
+    void testIterationAndClearDuringIncrementalRehash() {
+        IntToIntHashMap map = new IntToIntHashMap(16, IntToIntHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put(count, count);
+            count++;
+        }
+
+        // The put that started the rehash only moved part of the old table
+        List<Integer> keys = new ArrayList<>();
+        map.forEachKey(keys::add);
+        List<Integer> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertEquals(count, keys.size());
+        assertEquals(count, values.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, map.get(i));
+        }
+
+        map.clear();
+        assertFalse(map.isRehashing());
+        assertEquals(0, map.size());
+        assertEquals(IntToIntHashMap.MISSING, map.get(0));
+        map.put(1, 1);
+        assertEquals(1, map.get(1));
+    }
+
+    @Test
+    void testIncrementalRehashFinishesWithinBoundedOperations() {
+        IntToIntHashMap map = new IntToIntHashMap(16, IntToIntHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put(count, count);
+            count++;
+        }
+
+        // Each operation moves BUCKETS_PER_OPERATION of the 16 old buckets, the first one already ran
+        final int remainingOperations = 16 / IncrementalRehash.BUCKETS_PER_OPERATION - 1;
+        for (int i = 0; i < remainingOperations; i++) {
+            assertTrue(map.isRehashing());
+            map.remove(-1);
+        }
+        assertFalse(map.isRehashing());
+        assertEquals(count, map.size());
+    }
+
     private static IntToIntHashMap generate(String pairs) {
         IntToIntHashMap map = new IntToIntHashMap();
         for (String item : pairs.split(",")) {
@@ -0,0 +1,127 @@
+package group.gnometrading.collections;
+
+import static group.gnometrading.collections.IntToIntOpenHashMap.MISSING;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class IntToIntOpenHashMapTest {
+
+    @Test
+    void testGetAndPut() {
+        var map = new IntToIntOpenHashMap();
+        assertEquals(MISSING, map.get(1));
+
+        map.put(1, 10);
+        map.put(-5, 0);
+        map.put(1, 11);
+
+        assertEquals(11, map.get(1));
+        assertEquals(0, map.get(-5));
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey(-5));
+        assertFalse(map.containsKey(2));
+    }
+
+    @Test
+    void testMissingCannotBeStored() {
+        var map = new IntToIntOpenHashMap();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, MISSING));
+
+        // MISSING is still a valid key
+        map.put(MISSING, 1);
+        assertEquals(1, map.get(MISSING));
+    }
+
+    @Test
+    void testRemove() {
+        var map = new IntToIntOpenHashMap();
+        map.put(1, 10);
+        map.put(2, 20);
+
+        assertEquals(10, map.remove(1));
+        assertEquals(MISSING, map.remove(1));
+        assertEquals(1, map.size());
+        assertEquals(20, map.get(2));
+    }
+
+    @Test
+    void testResizing() {
+        var map = new IntToIntOpenHashMap(1);
+        for (int i = 0; i < (1 << 12); i++) {
+            map.put(i, i * 2);
+        }
+        assertEquals(1 << 12, map.size());
+        for (int i = 0; i < (1 << 12); i++) {
+            assertEquals(i * 2, map.get(i));
+        }
+    }
+
+    @Test
+    void testClear() {
+        var map = new IntToIntOpenHashMap();
+        map.put(1, 1);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(MISSING, map.get(1));
+    }
+
+    @Test
+    void testRemoveInsideProbeRunKeepsLaterEntriesReachable() {
+        var map = new IntToIntOpenHashMap(4, 0.9f);
+        for (int i = 0; i < 7; i++) {
+            map.put(i * 16, i);
+        }
+        for (int i = 0; i < 7; i += 2) {
+            assertEquals(i, map.remove(i * 16));
+        }
+        for (int i = 1; i < 7; i += 2) {
+            assertEquals(i, map.get(i * 16));
+        }
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        var map = new IntToIntOpenHashMap(8);
+        Map<Integer, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int i = 0; i < 200_000; i++) {
+            final int key = random.nextInt(2_000) - 1_000;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    map.put(key, i);
+                    expected.put(key, i);
+                }
+                case 1 -> {
+                    final Integer removed = expected.remove(key);
+                    assertEquals(removed == null ? MISSING : removed, map.remove(key));
+                }
+                default -> assertEquals(expected.getOrDefault(key, MISSING), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected.keySet(), map.keys());
+    }
+
+    @Test
+    void testForEach() {
+        var map = new IntToIntOpenHashMap();
+        map.put(1, 10);
+        map.put(2, 20);
+
+        List<Integer> keys = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        map.forEachKey(keys::add);
+        map.forEachValue(values::add);
+
+        assertEquals(2, keys.size());
+        assertTrue(keys.containsAll(List.of(1, 2)));
+        assertTrue(values.containsAll(List.of(10, 20)));
+    }
+}
@@ -3,7 +3,12 @@ package group.gnometrading.collections;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.function.LongConsumer;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
@@ -121,6 +126,175 @@ class LongHashMapTest {
         assertTrue(keys.isEmpty());
     }
 
+    @Test
+    void testIncrementalRehashMatchesHashMap() {
+        LongHashMap<Long> map = new LongHashMap<>(1, LongHashMap.DEFAULT_LOAD_FACTOR, true);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        boolean sawRehash = false;
+        for (int i = 0; i < 20000; i++) {
+            long key = (long) random.nextInt(5000) - 2500;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+            sawRehash |= map.isRehashing();
+
+            long probe = (long) random.nextInt(5000) - 2500;
+            assertEquals(expected.get(probe), map.get(probe));
+            assertEquals(expected.size(), map.size());
+        }
+        assertTrue(sawRehash);
+        assertEquals(expected.keySet(), new HashSet<>(map.keys()));
+    }
+
+    @Test
+    void testIterationAndClearDuringIncrementalRehash() {
+        LongHashMap<Long> map = new LongHashMap<>(16, LongHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put((long) count, (long) count);
+            count++;
+        }
+
+        // The put that started the rehash only moved part of the old table
+        List<Long> keys = new ArrayList<>();
+        map.forEachKey((LongConsumer) keys::add);
+        List<Long> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertEquals(count, keys.size());
+        assertEquals(count, values.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals((long) i, map.get((long) i));
+        }
+
+        map.clear();
+        assertFalse(map.isRehashing());
+        assertEquals(0, map.size());
+        assertNull(map.get((long) 0));
+        map.put((long) 1, (long) 1);
+        assertEquals((long) 1, map.get((long) 1));
+    }
+
+    @Test
+    void testIncrementalRehashFinishesWithinBoundedOperations() {
+        LongHashMap<Long> map = new LongHashMap<>(16, LongHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put((long) count, (long) count);
+            count++;
+        }
+
+        // Each operation moves BUCKETS_PER_OPERATION of the 16 old buckets, the first one already ran
+        final int remainingOperations = 16 / IncrementalRehash.BUCKETS_PER_OPERATION - 1;
+        for (int i = 0; i < remainingOperations; i++) {
+            assertTrue(map.isRehashing());
+            map.remove((long) -1);
+        }
+        assertFalse(map.isRehashing());
+        assertEquals(count, map.size());
+    }
+
+    @Test
+    void testCursorVisitsEveryEntryWithItsValue() {
+        LongMap<Long> map = new LongHashMap<>(4);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = -50; i < 50; i++) {
+            map.put((long) i * 7, (long) i);
+            expected.put((long) i * 7, (long) i);
+        }
+
+        Map<Long, Long> visited = new HashMap<>();
+        LongMapCursor<Long> cursor = map.cursor();
+        while (cursor.next()) {
+            assertNull(visited.put(cursor.key(), cursor.value()));
+        }
+        assertEquals(expected, visited);
+        assertFalse(cursor.next());
+
+        cursor.reset();
+        assertTrue(cursor.next());
+        assertSame(cursor, map.cursor());
+    }
+
+    @Test
+    void testCursorRemoveDuringIteration() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 20; round++) {
+            LongMap<Long> map = new LongHashMap<>(16);
+            Map<Long, Long> expected = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                final int n = random.nextInt(1000) - 500;
+                map.put((long) n, (long) i);
+                expected.put((long) n, (long) i);
+            }
+
+            Map<Long, Long> visited = new HashMap<>();
+            LongMapCursor<Long> cursor = map.cursor();
+            while (cursor.next()) {
+                assertNull(visited.put(cursor.key(), cursor.value()), "Entry visited twice");
+                if (random.nextBoolean()) {
+                    expected.remove(cursor.key());
+                    cursor.remove();
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (var entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            for (var key : visited.keySet()) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+    }
+
+    @Test
+    void testCursorWithoutCurrentEntry() {
+        LongMap<Long> map = new LongHashMap<>();
+        map.put((long) 1, (long) 1);
+
+        LongMapCursor<Long> cursor = map.cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+        assertThrows(IllegalStateException.class, cursor::remove);
+
+        assertTrue(cursor.next());
+        cursor.remove();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        assertThrows(IllegalStateException.class, cursor::value);
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testCursorDuringIncrementalRehash() {
+        LongHashMap<Long> map = new LongHashMap<>(16, LongHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put((long) count, (long) count);
+            count++;
+        }
+
+        int visited = 0;
+        LongMapCursor<Long> cursor = map.cursor();
+        while (cursor.next()) {
+            visited++;
+            if ((int) cursor.key() % 2 == 0) {
+                cursor.remove();
+            }
+        }
+
+        // Removing through the cursor leaves the rehash where it was
+        assertTrue(map.isRehashing());
+        assertEquals(count, visited);
+        assertEquals(count / 2, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 != 0, map.containsKey((long) i));
+        }
+    }
+
     private static LongMap<Long> generate(String pairs) {
         LongMap<Long> map = new LongHashMap<>();
         for (String item : pairs.split(",")) {
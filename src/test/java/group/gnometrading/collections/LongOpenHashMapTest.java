@@ -0,0 +1,250 @@
+package group.gnometrading.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class LongOpenHashMapTest {
+
+    private static Stream<Arguments> testGetArguments() {
+        return Stream.of(
+                Arguments.of("1:1,5:1,3:1,10:1", 1, 1),
+                Arguments.of("1:1,5:1,3:1,10:1", 0, null),
+                Arguments.of("-1:1,-5:1,3:1,10:1", -5, 1),
+                Arguments.of("-5:1,-5:10", -5, 10));
+    }
+
+    @ParameterizedTest
+    @MethodSource("testGetArguments")
+    void testGet(String map, long key, Integer result) {
+        assertEquals(result, generate(map).get(key));
+    }
+
+    private static Stream<Arguments> testRemoveArguments() {
+        return Stream.of(
+                Arguments.of("1:1", 1, ""), Arguments.of("1:1", 0, "1:1"), Arguments.of("1:1,2:1,3:1", 2, "1:1,3:1"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("testRemoveArguments")
+    void testRemove(String start, long toRemove, String end) {
+        var map1 = generate(start);
+        map1.remove(toRemove);
+        var map2 = generate(end);
+
+        assertEquals(map1.size(), map2.size());
+        for (var key : map1.keys()) {
+            assertEquals(map1.get(key), map2.get(key));
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LongOpenHashMap<Integer>(16, 0.95f));
+        assertThrows(IllegalArgumentException.class, () -> new LongOpenHashMap<Integer>(16, 0.0f));
+        assertThrows(IllegalArgumentException.class, () -> new LongOpenHashMap<Integer>().put(1, null));
+    }
+
+    @Test
+    void testPutReturnsPrevious() {
+        var map = new LongOpenHashMap<String>();
+        assertNull(map.put(1, "a"));
+        assertEquals("a", map.put(1, "b"));
+        assertEquals(1, map.size());
+        assertEquals("b", map.remove(1));
+        assertNull(map.remove(1));
+    }
+
+    @Test
+    void testZeroKey() {
+        var map = new LongOpenHashMap<String>();
+        assertNull(map.get(0L));
+        assertNull(map.put(0L, "zero"));
+        map.put(1, "one");
+
+        assertEquals("zero", map.get(0L));
+        assertTrue(map.containsKey(0L));
+        assertEquals(2, map.size());
+        assertTrue(map.keys().contains(0L));
+
+        assertEquals("zero", map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testResizing() {
+        var map = new LongOpenHashMap<Integer>(1);
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+
+        for (int i = 0; i < (1 << 10); i++) {
+            map.put(i, i);
+        }
+        assertEquals((1 << 10), map.size());
+        for (int i = 0; i < (1 << 10); i++) {
+            assertEquals(i, map.get(i));
+        }
+
+        map.put(Long.MAX_VALUE, -1);
+        map.put(Long.MIN_VALUE, -2);
+        assertEquals(-1, map.get(Long.MAX_VALUE));
+        assertEquals(-2, map.remove(Long.MIN_VALUE));
+    }
+
+    @Test
+    void testClear() {
+        var map = new LongOpenHashMap<Integer>(1);
+        map.put(1, 2);
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertNull(map.get(1));
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.keys().size());
+    }
+
+    @Test
+    void testRemoveInsideProbeRunKeepsLaterEntriesReachable() {
+        // With a tiny table most keys collide, so removals have to shift entries back across the wrap-around
+        var map = new LongOpenHashMap<Integer>(4, 0.9f);
+        for (int i = 0; i < 7; i++) {
+            map.put(i * 16L, i);
+        }
+        for (int i = 0; i < 7; i += 2) {
+            assertEquals(i, map.remove(i * 16L));
+        }
+        for (int i = 1; i < 7; i += 2) {
+            assertEquals(i, map.get(i * 16L));
+        }
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        var map = new LongOpenHashMap<Integer>(8);
+        Map<Long, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 200_000; i++) {
+            final long key = (random.nextLong(2_000) - 1_000) << 33;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected.keySet(), map.keys());
+    }
+
+    @Test
+    void testForEachVisitsAllEntries() {
+        LongMap<Integer> map = generate("1:10,2:20,3:30");
+        List<Integer> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertEquals(3, values.size());
+        assertTrue(values.containsAll(List.of(10, 20, 30)));
+
+        List<Long> keys = new ArrayList<>();
+        map.forEachKey((LongConsumer) keys::add);
+        assertEquals(3, keys.size());
+        assertTrue(keys.containsAll(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void testCursorVisitsEveryEntryWithItsValue() {
+        LongMap<Integer> map = new LongOpenHashMap<>(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = -50; i < 50; i++) {
+            map.put((long) i * 7, i);
+            expected.put((long) i * 7, i);
+        }
+
+        Map<Long, Integer> visited = new HashMap<>();
+        LongMapCursor<Integer> cursor = map.cursor();
+        while (cursor.next()) {
+            assertNull(visited.put(cursor.key(), cursor.value()));
+        }
+        assertEquals(expected, visited);
+        assertFalse(cursor.next());
+
+        cursor.reset();
+        assertTrue(cursor.next());
+        assertSame(cursor, map.cursor());
+    }
+
+    @Test
+    void testCursorRemoveDuringIteration() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 20; round++) {
+            LongMap<Integer> map = new LongOpenHashMap<>(16);
+            Map<Long, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                final int n = random.nextInt(1000) - 500;
+                map.put((long) n, i);
+                expected.put((long) n, i);
+            }
+
+            Map<Long, Integer> visited = new HashMap<>();
+            LongMapCursor<Integer> cursor = map.cursor();
+            while (cursor.next()) {
+                assertNull(visited.put(cursor.key(), cursor.value()), "Entry visited twice");
+                if (random.nextBoolean()) {
+                    expected.remove(cursor.key());
+                    cursor.remove();
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (var entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            for (var key : visited.keySet()) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+    }
+
+    @Test
+    void testCursorWithoutCurrentEntry() {
+        LongMap<Integer> map = new LongOpenHashMap<>();
+        map.put((long) 1, 1);
+
+        LongMapCursor<Integer> cursor = map.cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+        assertThrows(IllegalStateException.class, cursor::remove);
+
+        assertTrue(cursor.next());
+        cursor.remove();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        assertThrows(IllegalStateException.class, cursor::value);
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        assertTrue(map.isEmpty());
+    }
+
+    private static LongMap<Integer> generate(String pairs) {
+        LongMap<Integer> map = new LongOpenHashMap<>();
+        for (String item : pairs.split(",")) {
+            String[] items = item.split(":");
+            if (items.length == 2) {
+                long key = Long.parseLong(items[0]);
+                int value = Integer.parseInt(items[1]);
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+}
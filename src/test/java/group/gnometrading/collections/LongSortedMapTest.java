@@ -0,0 +1,155 @@
+package group.gnometrading.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.pools.SingleThreadedObjectPool;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class LongSortedMapTest {
+
+    @Test
+    void testAscendingPutsLowestKeyFirst() {
+        LongSortedMap<String> asks = new LongSortedMap<>(false);
+        asks.put(102, "c");
+        asks.put(100, "a");
+        asks.put(101, "b");
+
+        assertFalse(asks.isDescending());
+        assertEquals(100, asks.firstKey());
+        assertEquals("a", asks.firstValue());
+        assertEquals(101, asks.keyAt(1));
+        assertEquals("c", asks.valueAt(2));
+        assertEquals(List.of(100L, 101L, 102L), new ArrayList<>(asks.keys()));
+    }
+
+    @Test
+    void testDescendingPutsHighestKeyFirst() {
+        LongSortedMap<String> bids = new LongSortedMap<>(true);
+        bids.put(99, "b");
+        bids.put(Long.MIN_VALUE, "min");
+        bids.put(Long.MAX_VALUE, "max");
+        bids.put(100, "a");
+
+        assertEquals(Long.MAX_VALUE, bids.firstKey());
+        List<Long> keys = new ArrayList<>();
+        bids.forEachKey(keys::add);
+        assertEquals(List.of(Long.MAX_VALUE, 100L, 99L, Long.MIN_VALUE), keys);
+        List<String> values = new ArrayList<>();
+        bids.forEachValue(values::add);
+        assertEquals(List.of("max", "a", "b", "min"), values);
+    }
+
+    @Test
+    void testPutGetRemove() {
+        LongSortedMap<String> map = new LongSortedMap<>(false, 1);
+        assertNull(map.put(5, "a"));
+        assertEquals("a", map.put(5, "b"));
+        assertEquals("b", map.get(5));
+        assertTrue(map.containsKey(5));
+        assertNull(map.get(6));
+
+        assertEquals("b", map.remove(5));
+        assertNull(map.remove(5));
+        assertTrue(map.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    void testRankAccessorsRejectMissingRanks() {
+        LongSortedMap<String> map = new LongSortedMap<>(true);
+        assertThrows(IllegalStateException.class, map::firstKey);
+        assertThrows(IllegalStateException.class, map::firstValue);
+
+        map.put(1, "a");
+        assertThrows(IllegalStateException.class, () -> map.keyAt(1));
+        assertThrows(IllegalStateException.class, () -> map.valueAt(-1));
+    }
+
+    @Test
+    void testMatchesTreeMapUnderRandomOperations() {
+        for (boolean descending : new boolean[] {false, true}) {
+            SplittableRandom random = new SplittableRandom(3);
+            LongSortedMap<Long> map = new LongSortedMap<>(descending, 1);
+            TreeMap<Long, Long> expected =
+                    new TreeMap<>(descending ? Comparator.<Long>reverseOrder() : Comparator.<Long>naturalOrder());
+
+            for (int i = 0; i < 50000; i++) {
+                long key = 1000 + random.nextInt(500);
+                switch (random.nextInt(3)) {
+                    case 0 -> assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+                    case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                    default -> assertEquals(expected.get(key), map.get(key));
+                }
+                assertEquals(expected.size(), map.size());
+                if (!expected.isEmpty()) {
+                    assertEquals(expected.firstKey(), map.firstKey());
+                }
+            }
+
+            int rank = 0;
+            for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+                assertEquals(entry.getKey(), map.keyAt(rank));
+                assertEquals(entry.getValue(), map.valueAt(rank));
+                rank++;
+            }
+        }
+    }
+
+    @Test
+    void testPooledValuesAreReturnedOnRemove() {
+        SingleThreadedObjectPool<long[]> pool = new SingleThreadedObjectPool<>(() -> new long[1], 2);
+        LongSortedMap<long[]> map = new LongSortedMap<>(true, 4, pool);
+
+        long[] level = map.getOrAcquire(100);
+        level[0] = 5;
+        assertSame(level, map.getOrAcquire(100));
+        map.getOrAcquire(101);
+
+        map.remove(100);
+        map.getOrAcquire(102);
+        assertEquals(0, pool.getAdditionalNodesCreated());
+
+        map.clear();
+        map.getOrAcquire(1);
+        map.getOrAcquire(2);
+        assertEquals(0, pool.getAdditionalNodesCreated());
+
+        // A value passed to put replaces the pooled one, which goes back to the pool
+        map.put(1, new long[1]);
+        map.getOrAcquire(3);
+        assertEquals(0, pool.getAdditionalNodesCreated());
+
+        assertThrows(IllegalStateException.class, () -> new LongSortedMap<long[]>(true).getOrAcquire(1));
+    }
+
+    @Test
+    void testCursorWalksFromFirstKeyAndRemoves() {
+        LongSortedMap<Long> map = new LongSortedMap<>(false);
+        for (long key = 0; key < 10; key++) {
+            map.put(key, key * 10);
+        }
+
+        List<Long> visited = new ArrayList<>();
+        LongMapCursor<Long> cursor = map.cursor();
+        while (cursor.next()) {
+            visited.add(cursor.key());
+            assertEquals(cursor.key() * 10, cursor.value());
+            if (cursor.key() % 2 == 0) {
+                cursor.remove();
+                assertThrows(IllegalStateException.class, cursor::remove);
+            }
+        }
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), visited);
+        assertEquals(List.of(1L, 3L, 5L, 7L, 9L), new ArrayList<>(map.keys()));
+        assertSame(cursor, map.cursor());
+        assertTrue(cursor.next());
+        assertEquals(1, cursor.key());
+    }
+}
@@ -0,0 +1,43 @@
+package group.gnometrading.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class OpenAddressingTest {
+
+    @Test
+    void testHashBytesIgnoresSurroundingBytes() {
+        byte[] first = "xxBTCUSDTyy".getBytes();
+        byte[] second = "BTCUSDT".getBytes();
+        assertEquals(OpenAddressing.hashBytes(second, 0, 7), OpenAddressing.hashBytes(first, 2, 7));
+    }
+
+    @Test
+    void testHashBytesSeparatesSimilarKeys() {
+        assertNotEquals(OpenAddressing.hashBytes(new byte[] {}, 0, 0), OpenAddressing.hashBytes(new byte[] {0}, 0, 1));
+        assertNotEquals(
+                OpenAddressing.hashBytes(new byte[] {'a'}, 0, 1), OpenAddressing.hashBytes(new byte[] {'a', 0}, 0, 2));
+
+        // Symbols differing in one byte should spread over the low bits used to pick a slot
+        final int mask = (1 << 10) - 1;
+        Set<Integer> slots = new HashSet<>();
+        byte[] symbol = "ORDER-0000".getBytes();
+        for (int i = 0; i < 256; i++) {
+            symbol[9] = (byte) i;
+            slots.add(OpenAddressing.hashBytes(symbol, 0, symbol.length) & mask);
+        }
+        assertTrue(slots.size() > 200, "Only " + slots.size() + " distinct slots");
+    }
+
+    @Test
+    void testTableSizeAndLoadThreshold() {
+        assertEquals(2, OpenAddressing.tableSize(0, 0.5f, 1 << 30));
+        assertEquals(256, OpenAddressing.tableSize(100, 0.5f, 1 << 30));
+        assertEquals(7, OpenAddressing.loadThreshold(8, 0.9f, 1 << 30));
+        assertEquals(4, OpenAddressing.loadThreshold(8, 0.5f, 1 << 30));
+        assertThrows(IllegalArgumentException.class, () -> OpenAddressing.checkLoadFactor(0.95f));
+    }
+}
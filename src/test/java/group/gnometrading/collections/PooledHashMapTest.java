@@ -3,7 +3,12 @@ package group.gnometrading.collections;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -119,6 +124,175 @@ class PooledHashMapTest {
         assertTrue(keys.isEmpty());
     }
 
+    @Test
+    void testIncrementalRehashMatchesHashMap() {
+        PooledHashMap<String, String> map = new PooledHashMap<>(1, PooledHashMap.DEFAULT_LOAD_FACTOR, true);
+        Map<String, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        boolean sawRehash = false;
+        for (int i = 0; i < 20000; i++) {
+            String key = String.valueOf(random.nextInt(5000) - 2500);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, String.valueOf(i)), map.put(key, String.valueOf(i)));
+            }
+            sawRehash |= map.isRehashing();
+
+            String probe = String.valueOf(random.nextInt(5000) - 2500);
+            assertEquals(expected.get(probe), map.get(probe));
+            assertEquals(expected.size(), map.size());
+        }
+        assertTrue(sawRehash);
+        assertEquals(expected.keySet(), new HashSet<>(map.keys()));
+    }
+
+    @Test
+    void testIterationAndClearDuringIncrementalRehash() {
+        PooledHashMap<String, String> map = new PooledHashMap<>(16, PooledHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put(String.valueOf(count), String.valueOf(count));
+            count++;
+        }
+
+        // The put that started the rehash only moved part of the old table
+        List<String> keys = new ArrayList<>();
+        map.forEachKey(keys::add);
+        List<String> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertEquals(count, keys.size());
+        assertEquals(count, values.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(String.valueOf(i), map.get(String.valueOf(i)));
+        }
+
+        map.clear();
+        assertFalse(map.isRehashing());
+        assertEquals(0, map.size());
+        assertNull(map.get(String.valueOf(0)));
+        map.put(String.valueOf(1), String.valueOf(1));
+        assertEquals(String.valueOf(1), map.get(String.valueOf(1)));
+    }
+
+    @Test
+    void testIncrementalRehashFinishesWithinBoundedOperations() {
+        PooledHashMap<String, String> map = new PooledHashMap<>(16, PooledHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put(String.valueOf(count), String.valueOf(count));
+            count++;
+        }
+
+        // Each operation moves BUCKETS_PER_OPERATION of the 16 old buckets, the first one already ran
+        final int remainingOperations = 16 / IncrementalRehash.BUCKETS_PER_OPERATION - 1;
+        for (int i = 0; i < remainingOperations; i++) {
+            assertTrue(map.isRehashing());
+            map.remove(String.valueOf(-1));
+        }
+        assertFalse(map.isRehashing());
+        assertEquals(count, map.size());
+    }
+
+    @Test
+    void testCursorVisitsEveryEntryWithItsValue() {
+        GnomeMap<String, String> map = new PooledHashMap<>(4);
+        Map<String, String> expected = new HashMap<>();
+        for (int i = -50; i < 50; i++) {
+            map.put(String.valueOf(i * 7), String.valueOf(i));
+            expected.put(String.valueOf(i * 7), String.valueOf(i));
+        }
+
+        Map<String, String> visited = new HashMap<>();
+        GnomeMapCursor<String, String> cursor = map.cursor();
+        while (cursor.next()) {
+            assertNull(visited.put(cursor.key(), cursor.value()));
+        }
+        assertEquals(expected, visited);
+        assertFalse(cursor.next());
+
+        cursor.reset();
+        assertTrue(cursor.next());
+        assertSame(cursor, map.cursor());
+    }
+
+    @Test
+    void testCursorRemoveDuringIteration() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 20; round++) {
+            GnomeMap<String, String> map = new PooledHashMap<>(16);
+            Map<String, String> expected = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                final int n = random.nextInt(1000) - 500;
+                map.put(String.valueOf(n), String.valueOf(i));
+                expected.put(String.valueOf(n), String.valueOf(i));
+            }
+
+            Map<String, String> visited = new HashMap<>();
+            GnomeMapCursor<String, String> cursor = map.cursor();
+            while (cursor.next()) {
+                assertNull(visited.put(cursor.key(), cursor.value()), "Entry visited twice");
+                if (random.nextBoolean()) {
+                    expected.remove(cursor.key());
+                    cursor.remove();
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (var entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            for (var key : visited.keySet()) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+    }
+
+    @Test
+    void testCursorWithoutCurrentEntry() {
+        GnomeMap<String, String> map = new PooledHashMap<>();
+        map.put(String.valueOf(1), String.valueOf(1));
+
+        GnomeMapCursor<String, String> cursor = map.cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+        assertThrows(IllegalStateException.class, cursor::remove);
+
+        assertTrue(cursor.next());
+        cursor.remove();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        assertThrows(IllegalStateException.class, cursor::value);
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testCursorDuringIncrementalRehash() {
+        PooledHashMap<String, String> map = new PooledHashMap<>(16, PooledHashMap.DEFAULT_LOAD_FACTOR, true);
+        int count = 0;
+        while (!map.isRehashing()) {
+            map.put(String.valueOf(count), String.valueOf(count));
+            count++;
+        }
+
+        int visited = 0;
+        GnomeMapCursor<String, String> cursor = map.cursor();
+        while (cursor.next()) {
+            visited++;
+            if (Integer.parseInt(cursor.key()) % 2 == 0) {
+                cursor.remove();
+            }
+        }
+
+        // Removing through the cursor leaves the rehash where it was
+        assertTrue(map.isRehashing());
+        assertEquals(count, visited);
+        assertEquals(count / 2, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 != 0, map.containsKey(String.valueOf(i)));
+        }
+    }
+
     private static GnomeMap<String, String> generate(String pairs) {
         GnomeMap<String, String> map = new PooledHashMap<>();
         for (String item : pairs.split(",")) {
@@ -0,0 +1,226 @@
+package group.gnometrading.collections;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the chained maps with their open-addressing counterparts at 1K, 100K and 10M entries. Keys are random,
+ * as order ids from several venues are, and every benchmark walks a pre-generated sequence of keys spread over the
+ * whole map, so the large maps are measured out of cache and the random number generator stays out of the
+ * measurement.
+ *
+ * <p>The 10M runs need a few GB of heap for the chained maps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xmx4g"})
+public class PrimitiveMapBenchmark {
+
+    private static final int LOOKUPS = 1 << 18;
+    private static final Object VALUE = new Object();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(PrimitiveMapBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+
+    @State(Scope.Benchmark)
+    public abstract static class Keys {
+        @Param({"1000", "100000", "10000000"})
+        public int size;
+
+        @Param({"chained", "open"})
+        public String map;
+
+        long[] present;
+        long[] lookups;
+        long[] misses;
+
+        void generateKeys() {
+            final SplittableRandom random = new SplittableRandom(42);
+            this.present = new long[this.size];
+            for (int i = 0; i < this.size; i++) {
+                // Keys stay within int range so the same keys work for every map
+                this.present[i] = random.nextInt();
+            }
+            final long[] sorted = this.present.clone();
+            Arrays.sort(sorted);
+
+            this.lookups = new long[LOOKUPS];
+            this.misses = new long[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                this.lookups[i] = this.present[random.nextInt(this.size)];
+
+                // Misses are drawn independently, so they do not share low bits with the stored keys
+                long miss;
+                do {
+                    miss = random.nextInt();
+                } while (Arrays.binarySearch(sorted, miss) >= 0);
+                this.misses[i] = miss;
+            }
+        }
+
+        boolean chained() {
+            return "chained".equals(this.map);
+        }
+    }
+
+    public static class IntMaps extends Keys {
+        IntMap<Object> intMap;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            generateKeys();
+            this.intMap = chained() ? new IntHashMap<>() : new IntOpenHashMap<>();
+            for (long key : this.present) {
+                this.intMap.put((int) key, VALUE);
+            }
+        }
+    }
+
+    public static class LongMaps extends Keys {
+        LongMap<Object> longMap;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            generateKeys();
+            this.longMap = chained() ? new LongHashMap<>() : new LongOpenHashMap<>();
+            for (long key : this.present) {
+                this.longMap.put(key, VALUE);
+            }
+        }
+    }
+
+    public static class IntToIntMaps extends Keys {
+        IntToIntMap intToIntMap;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            generateKeys();
+            this.intToIntMap = chained() ? new IntToIntHashMap() : new IntToIntOpenHashMap();
+            for (long key : this.present) {
+                this.intToIntMap.put((int) key, (int) (key >>> 1));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int intMapGetHit(IntMaps state) {
+        int found = 0;
+        for (long key : state.lookups) {
+            found += state.intMap.get((int) key) != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int intMapGetMiss(IntMaps state) {
+        int found = 0;
+        for (long key : state.misses) {
+            found += state.intMap.get((int) key) != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int intMapRemovePut(IntMaps state) {
+        // Removes and re-inserts keys, so the map keeps its size across invocations
+        int found = 0;
+        for (long key : state.lookups) {
+            final Object removed = state.intMap.remove((int) key);
+            state.intMap.put((int) key, removed);
+            found += removed != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int longMapGetHit(LongMaps state) {
+        int found = 0;
+        for (long key : state.lookups) {
+            found += state.longMap.get(key) != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int longMapGetMiss(LongMaps state) {
+        int found = 0;
+        for (long key : state.misses) {
+            found += state.longMap.get(key) != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int longMapRemovePut(LongMaps state) {
+        int found = 0;
+        for (long key : state.lookups) {
+            final Object removed = state.longMap.remove(key);
+            state.longMap.put(key, removed);
+            found += removed != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int intToIntMapGetHit(IntToIntMaps state) {
+        int sum = 0;
+        for (long key : state.lookups) {
+            sum += state.intToIntMap.get((int) key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int intToIntMapGetMiss(IntToIntMaps state) {
+        int sum = 0;
+        for (long key : state.misses) {
+            sum += state.intToIntMap.get((int) key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int intToIntMapRemovePut(IntToIntMaps state) {
+        int sum = 0;
+        for (long key : state.lookups) {
+            final int removed = state.intToIntMap.remove((int) key);
+            state.intToIntMap.put((int) key, removed);
+            sum += removed;
+        }
+        return sum;
+    }
+}
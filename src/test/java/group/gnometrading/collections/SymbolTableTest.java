@@ -0,0 +1,113 @@
+package group.gnometrading.collections;
+
+import static group.gnometrading.collections.SymbolTable.MISSING;
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.strings.MutableString;
+import group.gnometrading.strings.ViewString;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class SymbolTableTest {
+
+    @Test
+    void testInternAssignsDenseIds() {
+        SymbolTable table = new SymbolTable();
+        assertTrue(table.isEmpty());
+
+        assertEquals(0, table.intern(new ViewString("BTCUSDT")));
+        assertEquals(1, table.intern(new ViewString("ETHUSDT")));
+        assertEquals(0, table.intern(new ViewString("BTCUSDT")));
+        assertEquals(2, table.intern(new ViewString("")));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    void testLookupFromViewsAtAnyOffset() {
+        SymbolTable table = new SymbolTable();
+        table.intern(new ViewString("BTCUSDT"));
+        table.intern(new ViewString("ETHUSDT"));
+
+        byte[] message = "{\"s\":\"ETHUSDT\"}".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(1, table.lookup(new ViewString(message, 6, 7)));
+        assertEquals(1, table.lookup(message, 6, 7));
+        assertEquals(MISSING, table.lookup(new ViewString(message, 6, 6)));
+
+        MutableString reused = new MutableString();
+        reused.appendString("BTC").appendString("USDT");
+        assertEquals(0, table.lookup(reused));
+
+        // lookup never adds
+        assertEquals(MISSING, table.lookup(new ViewString("SOLUSDT")));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void testSymbolBytesAreCopiedOnIntern() {
+        byte[] buffer = "SOLUSDT".getBytes(StandardCharsets.US_ASCII);
+        SymbolTable table = new SymbolTable();
+        int id = table.intern(new ViewString(buffer));
+
+        buffer[0] = 'X';
+        assertEquals(id, table.lookup(new ViewString("SOLUSDT")));
+        assertTrue(table.symbol(id).equals("SOLUSDT"));
+    }
+
+    @Test
+    void testSymbolViewsSurviveGrowth() {
+        SymbolTable table = new SymbolTable(1);
+        List<ViewString> views = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int id = table.intern(new ViewString("SYMBOL-" + i));
+            assertEquals(i, id);
+            views.add(table.symbol(id));
+        }
+
+        assertTrue(table.arenaCapacity() > SymbolTable.INITIAL_BYTES_PER_SYMBOL);
+        for (int i = 0; i < 5000; i++) {
+            assertSame(views.get(i), table.symbol(i));
+            assertTrue(views.get(i).equals("SYMBOL-" + i), "Symbol " + i + " was " + views.get(i));
+        }
+    }
+
+    @Test
+    void testSymbolRejectsUnknownIds() {
+        SymbolTable table = new SymbolTable();
+        table.intern(new ViewString("a"));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> table.symbol(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.symbol(MISSING));
+        assertThrows(IllegalArgumentException.class, () -> new SymbolTable(16, 0.05f));
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(7);
+        SymbolTable table = new SymbolTable(1);
+        Map<String, Integer> expected = new HashMap<>();
+        byte[] buffer = new byte[64];
+
+        for (int i = 0; i < 50000; i++) {
+            String symbol = "SYM" + random.nextInt(5000);
+            int offset = random.nextInt(buffer.length - symbol.length());
+            System.arraycopy(symbol.getBytes(StandardCharsets.US_ASCII), 0, buffer, offset, symbol.length());
+            ViewString view = new ViewString(buffer, offset, symbol.length());
+
+            if (random.nextBoolean()) {
+                assertEquals(expected.computeIfAbsent(symbol, key -> expected.size()), table.intern(view));
+            } else {
+                assertEquals(expected.getOrDefault(symbol, MISSING), table.lookup(view));
+            }
+            assertEquals(expected.size(), table.size());
+        }
+
+        for (var entry : expected.entrySet()) {
+            assertEquals(entry.getKey(), table.symbol(entry.getValue()).toString());
+        }
+    }
+}
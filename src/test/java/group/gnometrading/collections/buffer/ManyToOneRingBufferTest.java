@@ -3,6 +3,7 @@ package group.gnometrading.collections.buffer;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -244,6 +245,47 @@ class ManyToOneRingBufferTest {
         }
     }
 
+    @Test
+    void testClaimRefreshesCachedHeadOnlyWhenFull() {
+        ManyToOneRingBuffer<TestMessage> buffer = new ManyToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 4);
+
+        for (int cycle = 0; cycle < 3; cycle++) {
+            for (int i = 0; i < 4; i++) {
+                int index = buffer.tryClaim();
+                buffer.commit(index);
+            }
+            assertEquals(-1, buffer.tryClaim());
+
+            AtomicInteger count = new AtomicInteger(0);
+            buffer.read(msg -> count.incrementAndGet(), 1);
+            assertEquals(1, count.get());
+
+            int index = buffer.tryClaim();
+            assertNotEquals(-1, index);
+            buffer.commit(index);
+            assertEquals(-1, buffer.tryClaim());
+
+            buffer.read(msg -> {});
+        }
+    }
+
+    @Test
+    void testReadSeesCommitAfterEmptyRead() {
+        ManyToOneRingBuffer<TestMessage> buffer = new ManyToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+        AtomicInteger count = new AtomicInteger(0);
+
+        for (int i = 0; i < 20; i++) {
+            buffer.read(msg -> count.incrementAndGet());
+            assertEquals(i, count.get());
+
+            int index = buffer.tryClaim();
+            buffer.commit(index);
+
+            buffer.read(msg -> count.incrementAndGet());
+            assertEquals(i + 1, count.get());
+        }
+    }
+
     // ========== Multi-Producer Basic Tests ==========
 
     @Test
@@ -1011,6 +1053,118 @@ class ManyToOneRingBufferTest {
         assertEquals(numProducers * bursts * messagesPerBurst, totalConsumed.get());
     }
 
+    // ========== Batch Claim Tests ==========
+
+    @Test
+    void testBatchClaimAndCommit() {
+        ManyToOneRingBuffer<TestMessage> buffer = new ManyToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+
+        int start = buffer.tryClaim(4);
+        assertEquals(0, start);
+        for (int i = 0; i < 4; i++) {
+            buffer.indexAt(start + i).setValue(i);
+        }
+
+        List<Long> values = new ArrayList<>();
+        buffer.read(msg -> values.add(msg.getValue()));
+        assertTrue(values.isEmpty());
+
+        buffer.commit(start, 4);
+        buffer.read(msg -> values.add(msg.getValue()));
+        assertEquals(List.of(0L, 1L, 2L, 3L), values);
+    }
+
+    @Test
+    void testBatchClaimWhenNotEnoughSpace() {
+        ManyToOneRingBuffer<TestMessage> buffer = new ManyToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+
+        buffer.commit(buffer.tryClaim(6), 6);
+
+        assertEquals(-1, buffer.tryClaim(3));
+        assertEquals(6, buffer.tryClaim(2));
+        assertEquals(-1, buffer.tryClaim());
+        assertThrows(IllegalArgumentException.class, () -> buffer.tryClaim(0));
+        assertThrows(IllegalArgumentException.class, () -> buffer.tryClaim(9));
+    }
+
+    @Test
+    void testBatchClaimWrapAround() {
+        ManyToOneRingBuffer<TestMessage> buffer = new ManyToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+        final int mask = buffer.capacity() - 1;
+
+        buffer.commit(buffer.tryClaim(5), 5);
+        buffer.read(msg -> {});
+
+        int start = buffer.tryClaim(6);
+        assertEquals(5, start);
+        for (int i = 0; i < 6; i++) {
+            buffer.indexAt((start + i) & mask).setValue(100 + i);
+        }
+        buffer.commit(start, 6);
+
+        List<Long> values = new ArrayList<>();
+        buffer.read(msg -> values.add(msg.getValue()));
+        assertEquals(List.of(100L, 101L, 102L, 103L, 104L, 105L), values);
+        assertEquals(3, buffer.tryClaim());
+    }
+
+    @Test
+    void testConcurrentBatchProducersWithWrapAround() throws InterruptedException {
+        ManyToOneRingBuffer<TestMessage> buffer = new ManyToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 32);
+        final int mask = buffer.capacity() - 1;
+        final int producerCount = 4;
+        final int batches = 1000;
+        final int batchSize = 5;
+        final int total = producerCount * batches * batchSize;
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final long producerId = p;
+            producers.add(new Thread(() -> {
+                long value = 0;
+                for (int b = 0; b < batches; b++) {
+                    int start;
+                    while ((start = buffer.tryClaim(batchSize)) == -1) {
+                        Thread.onSpinWait();
+                    }
+                    for (int i = 0; i < batchSize; i++) {
+                        TestMessage message = buffer.indexAt((start + i) & mask);
+                        message.setThreadId(producerId);
+                        message.setValue(value++);
+                    }
+                    buffer.commit(start, batchSize);
+                }
+            }));
+        }
+
+        long[] lastSeen = new long[producerCount];
+        Arrays.fill(lastSeen, -1);
+        AtomicInteger received = new AtomicInteger(0);
+        AtomicBoolean ordered = new AtomicBoolean(true);
+        Thread consumer = new Thread(() -> {
+            while (received.get() < total) {
+                buffer.read(msg -> {
+                    int id = (int) msg.getThreadId();
+                    if (msg.getValue() != lastSeen[id] + 1) {
+                        ordered.set(false);
+                    }
+                    lastSeen[id] = msg.getValue();
+                    received.incrementAndGet();
+                });
+            }
+        });
+
+        consumer.start();
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join(10000);
+        }
+        consumer.join(10000);
+
+        assertEquals(total, received.get());
+        assertTrue(ordered.get(), "Each producer's messages must arrive in order");
+    }
+
     // ========== Partial Read Tests ==========
 
     @Test
@@ -0,0 +1,214 @@
+package group.gnometrading.collections.buffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedByteRingBufferTest {
+
+    @TempDir
+    Path directory;
+
+    private static void publish(OneToOneByteRingBuffer ringBuffer, long value) {
+        int offset = ringBuffer.tryClaim(1, Long.BYTES);
+        assertNotEquals(-1, offset);
+        ringBuffer.buffer().putLong(offset, value);
+        ringBuffer.commit(offset);
+    }
+
+    private static List<Long> drain(OneToOneByteRingBuffer ringBuffer) {
+        List<Long> values = new ArrayList<>();
+        ringBuffer.read((typeId, buffer, offset, length) -> values.add(buffer.getLong(offset)));
+        return values;
+    }
+
+    @Test
+    void testCreateWritesHeader() throws IOException {
+        Path path = directory.resolve("ring");
+        try (MappedByteRingBuffer mapped = MappedByteRingBuffer.create(path, 1024)) {
+            assertEquals(1024, mapped.ringBuffer().capacity());
+            assertEquals(path, mapped.path());
+        }
+
+        assertEquals(
+                MappedByteRingBuffer.HEADER_LENGTH + 1024 + OneToOneByteRingBuffer.TRAILER_LENGTH, Files.size(path));
+    }
+
+    @Test
+    void testCreateWithInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> MappedByteRingBuffer.create(directory.resolve("a"), 1000));
+        assertThrows(IllegalArgumentException.class, () -> MappedByteRingBuffer.create(directory.resolve("b"), 0));
+    }
+
+    @Test
+    void testProducerAndConsumerOnSeparateMappings() {
+        Path path = directory.resolve("ring");
+        try (MappedByteRingBuffer producer = MappedByteRingBuffer.create(path, 1024);
+                MappedByteRingBuffer consumer = MappedByteRingBuffer.attach(path)) {
+            publish(producer.ringBuffer(), 1L);
+            publish(producer.ringBuffer(), 2L);
+
+            assertEquals(List.of(1L, 2L), drain(consumer.ringBuffer()));
+            assertTrue(drain(consumer.ringBuffer()).isEmpty());
+        }
+    }
+
+    @Test
+    void testReattachKeepsMessagesInFlight() {
+        Path path = directory.resolve("ring");
+        try (MappedByteRingBuffer producer = MappedByteRingBuffer.create(path, 1024)) {
+            for (int i = 0; i < 5; i++) {
+                publish(producer.ringBuffer(), i);
+            }
+        }
+
+        try (MappedByteRingBuffer consumer = MappedByteRingBuffer.attach(path)) {
+            List<Long> values = new ArrayList<>();
+            consumer.ringBuffer().read((typeId, buffer, offset, length) -> values.add(buffer.getLong(offset)), 2);
+            assertEquals(List.of(0L, 1L), values);
+        }
+
+        // Both sides restart, the consumer continues after what it already read
+        try (MappedByteRingBuffer producer = MappedByteRingBuffer.attach(path);
+                MappedByteRingBuffer consumer = MappedByteRingBuffer.attach(path)) {
+            publish(producer.ringBuffer(), 5L);
+            assertEquals(List.of(2L, 3L, 4L, 5L), drain(consumer.ringBuffer()));
+        }
+    }
+
+    @Test
+    void testAttachRejectsInvalidFiles() throws IOException {
+        Path garbage = directory.resolve("garbage");
+        Files.write(garbage, new byte[MappedByteRingBuffer.HEADER_LENGTH + 2048]);
+        assertThrows(IllegalStateException.class, () -> MappedByteRingBuffer.attach(garbage));
+
+        Path tooSmall = directory.resolve("small");
+        Files.write(tooSmall, new byte[16]);
+        assertThrows(IllegalStateException.class, () -> MappedByteRingBuffer.attach(tooSmall));
+
+        Path truncated = directory.resolve("truncated");
+        MappedByteRingBuffer.create(truncated, 1024).close();
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 64));
+        assertThrows(IllegalStateException.class, () -> MappedByteRingBuffer.attach(truncated));
+    }
+
+    @Test
+    void testAttachOrCreate() {
+        Path path = directory.resolve("ring");
+        try (MappedByteRingBuffer created = MappedByteRingBuffer.attachOrCreate(path, 1024)) {
+            publish(created.ringBuffer(), 7L);
+        }
+
+        try (MappedByteRingBuffer attached = MappedByteRingBuffer.attachOrCreate(path, 1024)) {
+            assertEquals(List.of(7L), drain(attached.ringBuffer()));
+        }
+
+        // A different capacity is rejected rather than replacing the file under the other side
+        assertThrows(IllegalStateException.class, () -> MappedByteRingBuffer.attachOrCreate(path, 2048));
+        try (MappedByteRingBuffer attached = MappedByteRingBuffer.attach(path)) {
+            assertEquals(1024, attached.ringBuffer().capacity());
+        }
+    }
+
+    @Test
+    void testAttachOrCreateKeepsFilesItCannotAttach() throws IOException {
+        Path garbage = directory.resolve("garbage");
+        byte[] bytes = new byte[MappedByteRingBuffer.HEADER_LENGTH + 1024 + OneToOneByteRingBuffer.TRAILER_LENGTH];
+        Arrays.fill(bytes, (byte) 1);
+        Files.write(garbage, bytes);
+
+        assertThrows(IllegalStateException.class, () -> MappedByteRingBuffer.attachOrCreate(garbage, 1024));
+        assertArrayEquals(bytes, Files.readAllBytes(garbage));
+    }
+
+    @Test
+    void testAttachOrCreateWaitsForHeader() throws Exception {
+        Path template = directory.resolve("template");
+        MappedByteRingBuffer.create(template, 1024).close();
+        byte[] bytes = Files.readAllBytes(template);
+
+        // Another process has created the file but not yet sized it or written its header
+        Path path = directory.resolve("ring");
+        Files.write(path, new byte[0]);
+
+        Thread creator = new Thread(() -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                Thread.sleep(50);
+                channel.write(ByteBuffer.wrap(bytes, Integer.BYTES, bytes.length - Integer.BYTES), Integer.BYTES);
+                Thread.sleep(50);
+                channel.write(ByteBuffer.wrap(bytes, 0, Integer.BYTES), 0); // the magic number, last
+            } catch (IOException | InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        creator.start();
+        try (MappedByteRingBuffer attached = MappedByteRingBuffer.attachOrCreate(path, 1024, 10_000)) {
+            assertEquals(1024, attached.ringBuffer().capacity());
+        }
+        creator.join();
+    }
+
+    @Test
+    void testAttachOrCreateTimesOutOnUnwrittenHeader() throws IOException {
+        Path path = directory.resolve("ring");
+        Files.write(path, new byte[MappedByteRingBuffer.HEADER_LENGTH + 1024 + OneToOneByteRingBuffer.TRAILER_LENGTH]);
+
+        assertThrows(IllegalStateException.class, () -> MappedByteRingBuffer.attachOrCreate(path, 1024, 20));
+        assertTrue(Files.exists(path));
+    }
+
+    @Test
+    void testConcurrentProducerConsumer() throws InterruptedException {
+        Path path = directory.resolve("ring");
+        final int messagesToSend = 50000;
+
+        try (MappedByteRingBuffer producerMapping = MappedByteRingBuffer.create(path, 1 << 12);
+                MappedByteRingBuffer consumerMapping = MappedByteRingBuffer.attach(path)) {
+            OneToOneByteRingBuffer producerRing = producerMapping.ringBuffer();
+            OneToOneByteRingBuffer consumerRing = consumerMapping.ringBuffer();
+
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < messagesToSend; i++) {
+                    int offset;
+                    while ((offset = producerRing.tryClaim(1, Long.BYTES)) == -1) {
+                        Thread.onSpinWait();
+                    }
+                    producerRing.buffer().putLong(offset, i);
+                    producerRing.commit(offset);
+                }
+            });
+
+            long[] expected = new long[1];
+            boolean[] ordered = {true};
+            Thread consumer = new Thread(() -> {
+                while (expected[0] < messagesToSend) {
+                    consumerRing.read((typeId, buffer, offset, length) -> {
+                        if (buffer.getLong(offset) != expected[0]) {
+                            ordered[0] = false;
+                        }
+                        expected[0]++;
+                    });
+                }
+            });
+
+            producer.start();
+            consumer.start();
+            producer.join(10000);
+            consumer.join(10000);
+
+            assertEquals(messagesToSend, expected[0]);
+            assertTrue(ordered[0]);
+        }
+    }
+}
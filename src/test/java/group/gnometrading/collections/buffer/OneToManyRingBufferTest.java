@@ -0,0 +1,279 @@
+package group.gnometrading.collections.buffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class OneToManyRingBufferTest {
+
+    private static class TestMessage {
+        int value;
+
+        public void setValue(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    private static OneToManyRingBuffer<TestMessage> newBuffer(int capacity, int subscribers) {
+        return new OneToManyRingBuffer<>(TestMessage[]::new, TestMessage::new, capacity, subscribers);
+    }
+
+    private static void publish(OneToManyRingBuffer<TestMessage> buffer, int value) {
+        int index = buffer.tryClaim();
+        assertNotEquals(-1, index);
+        buffer.indexAt(index).setValue(value);
+        buffer.commit(index);
+    }
+
+    @Test
+    void testConstructorWithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> newBuffer(7, 1));
+        assertThrows(IllegalArgumentException.class, () -> newBuffer(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> newBuffer(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> newBuffer(8, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8, 16, 1024})
+    void testConstructorWithValidCapacities(int capacity) {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(capacity, 3);
+        assertEquals(capacity, buffer.capacity());
+        assertEquals(3, buffer.subscriberCount());
+    }
+
+    @Test
+    void testEverySubscriberSeesEveryMessage() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(8, 3);
+
+        for (int i = 0; i < 5; i++) {
+            publish(buffer, i);
+        }
+
+        for (int s = 0; s < 3; s++) {
+            List<Integer> values = new ArrayList<>();
+            buffer.subscriber(s).read(msg -> values.add(msg.getValue()));
+            assertEquals(List.of(0, 1, 2, 3, 4), values);
+        }
+    }
+
+    @Test
+    void testSubscribersShareTheSameInstances() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(4, 2);
+        publish(buffer, 42);
+
+        List<TestMessage> first = new ArrayList<>();
+        List<TestMessage> second = new ArrayList<>();
+        buffer.subscriber(0).read(first::add);
+        buffer.subscriber(1).read(second::add);
+
+        assertSame(first.get(0), second.get(0));
+        assertSame(buffer.indexAt(0), first.get(0));
+    }
+
+    @Test
+    void testProducerGatesOnSlowestSubscriber() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(4, 2);
+
+        for (int i = 0; i < 4; i++) {
+            publish(buffer, i);
+        }
+        assertEquals(-1, buffer.tryClaim());
+
+        // Only the fast subscriber catches up, the slow one still pins every slot
+        buffer.subscriber(0).read(msg -> {});
+        assertEquals(-1, buffer.tryClaim());
+
+        buffer.subscriber(1).read(msg -> {}, 2);
+        assertEquals(0, buffer.tryClaim(2));
+        assertEquals(-1, buffer.tryClaim());
+    }
+
+    @Test
+    void testLag() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(8, 2);
+
+        for (int i = 0; i < 6; i++) {
+            publish(buffer, i);
+        }
+        assertEquals(6, buffer.subscriber(0).lag());
+        assertEquals(6, buffer.subscriber(1).lag());
+
+        buffer.subscriber(0).read(msg -> {}, 4);
+        assertEquals(2, buffer.subscriber(0).lag());
+        assertEquals(6, buffer.subscriber(1).lag());
+    }
+
+    @Test
+    void testReadWithLimit() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(8, 1);
+        for (int i = 0; i < 6; i++) {
+            publish(buffer, i);
+        }
+
+        List<Integer> values = new ArrayList<>();
+        buffer.subscriber(0).read(msg -> values.add(msg.getValue()), 4);
+        assertEquals(List.of(0, 1, 2, 3), values);
+
+        buffer.subscriber(0).read(msg -> values.add(msg.getValue()), 4);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), values);
+    }
+
+    @Test
+    void testClaimWithoutCommitIsInvisible() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(4, 2);
+        buffer.tryClaim();
+
+        AtomicInteger count = new AtomicInteger(0);
+        buffer.subscriber(0).read(msg -> count.incrementAndGet());
+        buffer.subscriber(1).read(msg -> count.incrementAndGet());
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    void testOutOfOrderCommit() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(8, 1);
+
+        int index0 = buffer.tryClaim();
+        int index1 = buffer.tryClaim();
+        int index2 = buffer.tryClaim();
+
+        AtomicInteger count = new AtomicInteger(0);
+        buffer.commit(index2);
+        buffer.commit(index1);
+        buffer.subscriber(0).read(msg -> count.incrementAndGet());
+        assertEquals(0, count.get());
+
+        buffer.commit(index0);
+        buffer.subscriber(0).read(msg -> count.incrementAndGet());
+        assertEquals(3, count.get());
+    }
+
+    @Test
+    void testBatchClaimWrapAround() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(8, 2);
+        final int mask = buffer.capacity() - 1;
+
+        buffer.commit(buffer.tryClaim(6), 6);
+        buffer.subscriber(0).read(msg -> {});
+        buffer.subscriber(1).read(msg -> {});
+
+        int start = buffer.tryClaim(5);
+        assertEquals(6, start);
+        for (int i = 0; i < 5; i++) {
+            buffer.indexAt((start + i) & mask).setValue(100 + i);
+        }
+        buffer.commit(start, 5);
+
+        for (int s = 0; s < 2; s++) {
+            List<Integer> values = new ArrayList<>();
+            buffer.subscriber(s).read(msg -> values.add(msg.getValue()));
+            assertEquals(List.of(100, 101, 102, 103, 104), values);
+        }
+    }
+
+    @Test
+    void testWrapAroundManyCycles() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(4, 2);
+
+        for (int cycle = 0; cycle < 10; cycle++) {
+            for (int i = 0; i < 4; i++) {
+                int index = buffer.tryClaim();
+                assertEquals(i, index);
+                buffer.indexAt(index).setValue(cycle);
+                buffer.commit(index);
+            }
+
+            for (int s = 0; s < 2; s++) {
+                AtomicInteger count = new AtomicInteger(0);
+                final int expected = cycle;
+                buffer.subscriber(s).read(msg -> {
+                    assertEquals(expected, msg.getValue());
+                    count.incrementAndGet();
+                });
+                assertEquals(4, count.get());
+            }
+        }
+    }
+
+    @Test
+    void testReset() {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(8, 2);
+
+        for (int i = 0; i < 5; i++) {
+            publish(buffer, i);
+        }
+        buffer.subscriber(0).read(msg -> {}, 2);
+
+        buffer.reset();
+
+        assertEquals(0, buffer.subscriber(0).lag());
+        assertEquals(0, buffer.subscriber(1).lag());
+
+        AtomicInteger count = new AtomicInteger(0);
+        buffer.subscriber(0).read(msg -> count.incrementAndGet());
+        buffer.subscriber(1).read(msg -> count.incrementAndGet());
+        assertEquals(0, count.get(), "Old messages should not be readable");
+
+        int index = buffer.tryClaim();
+        assertEquals(0, index);
+        buffer.indexAt(index).setValue(7);
+        buffer.commit(index);
+
+        List<Integer> values = new ArrayList<>();
+        buffer.subscriber(1).read(msg -> values.add(msg.getValue()));
+        assertEquals(List.of(7), values);
+    }
+
+    @Test
+    void testConcurrentSubscribers() throws InterruptedException {
+        OneToManyRingBuffer<TestMessage> buffer = newBuffer(64, 3);
+        final int messagesToSend = 20000;
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < messagesToSend; i++) {
+                int index;
+                while ((index = buffer.tryClaim()) == -1) {
+                    Thread.onSpinWait();
+                }
+                buffer.indexAt(index).setValue(i);
+                buffer.commit(index);
+            }
+        });
+
+        List<Thread> consumers = new ArrayList<>();
+        List<List<Integer>> received = new ArrayList<>();
+        for (int s = 0; s < buffer.subscriberCount(); s++) {
+            final OneToManyRingBuffer.Subscriber<TestMessage> subscriber = buffer.subscriber(s);
+            final List<Integer> values = new ArrayList<>();
+            received.add(values);
+            consumers.add(new Thread(() -> {
+                while (values.size() < messagesToSend) {
+                    subscriber.read(msg -> values.add(msg.getValue()), 16);
+                }
+            }));
+        }
+
+        consumers.forEach(Thread::start);
+        producer.start();
+        producer.join(10000);
+        for (Thread consumer : consumers) {
+            consumer.join(10000);
+        }
+
+        for (List<Integer> values : received) {
+            assertEquals(messagesToSend, values.size());
+            for (int i = 0; i < messagesToSend; i++) {
+                assertEquals(i, values.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package group.gnometrading.collections.buffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class OneToOneByteRingBufferTest {
+
+    private record Message(int typeId, int length, long firstLong) {}
+
+    private static int publish(OneToOneByteRingBuffer ringBuffer, int typeId, int length, long value) {
+        int offset = ringBuffer.tryClaim(typeId, length);
+        if (offset == -1) {
+            return -1;
+        }
+        if (length >= Long.BYTES) {
+            ringBuffer.buffer().putLong(offset, value);
+        }
+        ringBuffer.commit(offset);
+        return offset;
+    }
+
+    private static List<Message> drain(OneToOneByteRingBuffer ringBuffer) {
+        List<Message> messages = new ArrayList<>();
+        ringBuffer.read((typeId, buffer, offset, length) ->
+                messages.add(new Message(typeId, length, length >= Long.BYTES ? buffer.getLong(offset) : 0)));
+        return messages;
+    }
+
+    @Test
+    void testConstructorWithInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new OneToOneByteRingBuffer(1000));
+        assertThrows(IllegalArgumentException.class, () -> new OneToOneByteRingBuffer(0));
+        assertThrows(IllegalArgumentException.class, () -> new OneToOneByteRingBuffer(4));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new OneToOneByteRingBuffer(new UnsafeBuffer(ByteBuffer.allocateDirect(1024))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 64, 1024, 1 << 16})
+    void testConstructorWithValidCapacities(int capacity) {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(capacity);
+        assertEquals(capacity, ringBuffer.capacity());
+        assertEquals(
+                capacity + OneToOneByteRingBuffer.TRAILER_LENGTH,
+                ringBuffer.buffer().capacity());
+        assertEquals(capacity / 4, ringBuffer.maxMessageLength());
+    }
+
+    @Test
+    void testClaimValidation() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(1024);
+
+        assertThrows(
+                IllegalArgumentException.class, () -> ringBuffer.tryClaim(OneToOneByteRingBuffer.PADDING_TYPE_ID, 8));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.tryClaim(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.tryClaim(1, 257));
+        assertNotEquals(-1, ringBuffer.tryClaim(1, 256));
+    }
+
+    @Test
+    void testSingleMessage() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(1024);
+
+        int offset = ringBuffer.tryClaim(7, 16);
+        assertEquals(OneToOneByteRingBuffer.HEADER_LENGTH, offset);
+        ringBuffer.buffer().putLong(offset, 123L);
+
+        assertTrue(drain(ringBuffer).isEmpty(), "Not visible before commit");
+
+        ringBuffer.commit(offset);
+        assertEquals(List.of(new Message(7, 16, 123L)), drain(ringBuffer));
+        assertTrue(drain(ringBuffer).isEmpty());
+    }
+
+    @Test
+    void testVariableLengthMessagesAreAligned() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(1024);
+
+        int first = publish(ringBuffer, 1, 9, 1L);
+        int second = publish(ringBuffer, 2, 0, 0L);
+        int third = publish(ringBuffer, 3, 24, 3L);
+
+        assertEquals(8, first);
+        assertEquals(8 + 24, second); // 8 header + 9 payload aligned to 24
+        assertEquals(8 + 24 + 8, third);
+        assertEquals(0, third % OneToOneByteRingBuffer.ALIGNMENT);
+
+        assertEquals(List.of(new Message(1, 9, 1L), new Message(2, 0, 0L), new Message(3, 24, 3L)), drain(ringBuffer));
+    }
+
+    @Test
+    void testReadWithLimit() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(1024);
+        for (int i = 0; i < 5; i++) {
+            publish(ringBuffer, 1, 8, i);
+        }
+
+        List<Long> values = new ArrayList<>();
+        ringBuffer.read((typeId, buffer, offset, length) -> values.add(buffer.getLong(offset)), 3);
+        assertEquals(List.of(0L, 1L, 2L), values);
+
+        ringBuffer.read((typeId, buffer, offset, length) -> values.add(buffer.getLong(offset)), 3);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), values);
+    }
+
+    @Test
+    void testFullBuffer() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(64);
+
+        // Each record is 16 bytes: 8 header + 8 payload
+        for (int i = 0; i < 4; i++) {
+            assertNotEquals(-1, publish(ringBuffer, 1, 8, i));
+        }
+        assertEquals(64, ringBuffer.size());
+        assertEquals(-1, ringBuffer.tryClaim(1, 0));
+
+        ringBuffer.read((typeId, buffer, offset, length) -> {}, 1);
+        assertEquals(48, ringBuffer.size());
+        assertNotEquals(-1, publish(ringBuffer, 1, 8, 4));
+        assertEquals(-1, ringBuffer.tryClaim(1, 0));
+    }
+
+    @Test
+    void testPaddingAtWrapAround() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(128);
+
+        // Three 16 byte payloads take 24 bytes each, leaving 56 bytes before the end
+        for (int i = 0; i < 3; i++) {
+            publish(ringBuffer, 1, 16, i);
+        }
+        drain(ringBuffer);
+
+        // A 16 byte payload still fits in the 56 remaining bytes
+        assertEquals(80, publish(ringBuffer, 2, 16, 10L));
+        // 32 bytes left before the end, a 32 byte record (24 payload) fits exactly
+        assertEquals(104, publish(ringBuffer, 2, 24, 11L));
+        assertEquals(List.of(new Message(2, 16, 10L), new Message(2, 24, 11L)), drain(ringBuffer));
+
+        // Now at the very start again, fill up to 8 bytes before the end
+        for (int i = 0; i < 5; i++) {
+            publish(ringBuffer, 3, 16, 20 + i);
+        }
+        drain(ringBuffer);
+
+        // 8 bytes remain at the end, so this record is preceded by a padding record and lands at 0
+        int offset = publish(ringBuffer, 4, 16, 30L);
+        assertEquals(OneToOneByteRingBuffer.HEADER_LENGTH, offset);
+        assertEquals(8 + 24, ringBuffer.size());
+
+        List<Message> messages = drain(ringBuffer);
+        assertEquals(List.of(new Message(4, 16, 30L)), messages, "Padding records are not delivered");
+    }
+
+    @Test
+    void testClaimFailsWhenPaddingDoesNotFit() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(128);
+
+        for (int i = 0; i < 3; i++) {
+            publish(ringBuffer, 1, 24, i);
+        }
+        ringBuffer.read((typeId, buffer, offset, length) -> {}, 1);
+
+        // 32 bytes are free at the start and 32 at the end, but a 40 byte record needs padding first
+        assertEquals(-1, ringBuffer.tryClaim(1, 32));
+        assertEquals(64, ringBuffer.size());
+        assertNotEquals(-1, ringBuffer.tryClaim(1, 24));
+    }
+
+    @Test
+    void testAbort() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(1024);
+
+        int offset = ringBuffer.tryClaim(1, 12);
+        ringBuffer.abort(offset);
+        publish(ringBuffer, 2, 8, 5L);
+
+        assertEquals(List.of(new Message(2, 8, 5L)), drain(ringBuffer));
+    }
+
+    @Test
+    void testReset() {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(1024);
+        for (int i = 0; i < 5; i++) {
+            publish(ringBuffer, 1, 8, i);
+        }
+        ringBuffer.read((typeId, buffer, offset, length) -> {}, 2);
+
+        ringBuffer.reset();
+
+        assertEquals(0, ringBuffer.size());
+        assertTrue(drain(ringBuffer).isEmpty());
+        assertEquals(OneToOneByteRingBuffer.HEADER_LENGTH, publish(ringBuffer, 1, 8, 9L));
+        assertEquals(List.of(new Message(1, 8, 9L)), drain(ringBuffer));
+    }
+
+    @Test
+    void testRewrapKeepsPositions() {
+        OneToOneByteRingBuffer producer = new OneToOneByteRingBuffer(1024);
+        publish(producer, 1, 8, 1L);
+        publish(producer, 1, 8, 2L);
+
+        OneToOneByteRingBuffer consumer = new OneToOneByteRingBuffer(producer.buffer());
+        assertEquals(List.of(new Message(1, 8, 1L), new Message(1, 8, 2L)), drain(consumer));
+
+        OneToOneByteRingBuffer restartedProducer = new OneToOneByteRingBuffer(producer.buffer());
+        publish(restartedProducer, 1, 8, 3L);
+        assertEquals(List.of(new Message(1, 8, 3L)), drain(consumer));
+    }
+
+    @Test
+    void testConcurrentProducerConsumer() throws InterruptedException {
+        OneToOneByteRingBuffer ringBuffer = new OneToOneByteRingBuffer(1 << 12);
+        final int messagesToSend = 50000;
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < messagesToSend; i++) {
+                // Vary the length so records regularly straddle the end of the buffer
+                final int length = Long.BYTES + (i % 13) * 3;
+                int offset;
+                while ((offset = ringBuffer.tryClaim(i % 5, length)) == -1) {
+                    Thread.onSpinWait();
+                }
+                ringBuffer.buffer().putLong(offset, i);
+                ringBuffer.commit(offset);
+            }
+        });
+
+        long[] received = new long[1];
+        boolean[] ordered = {true};
+        Thread consumer = new Thread(() -> {
+            while (received[0] < messagesToSend) {
+                ringBuffer.read((typeId, buffer, offset, length) -> {
+                    final long value = buffer.getLong(offset);
+                    if (value != received[0] || typeId != value % 5 || length != Long.BYTES + (value % 13) * 3) {
+                        ordered[0] = false;
+                    }
+                    received[0]++;
+                });
+            }
+        });
+
+        producer.start();
+        consumer.start();
+        producer.join(10000);
+        consumer.join(10000);
+
+        assertEquals(messagesToSend, received[0]);
+        assertTrue(ordered[0]);
+    }
+}
@@ -617,4 +617,203 @@ class OneToOneRingBufferTest {
         buffer.read(msg -> count.incrementAndGet());
         assertEquals(2, count.get(), "index1 and index2 should now be readable");
     }
+
+    @Test
+    void testClaimRefreshesCachedHeadOnlyWhenFull() {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 4);
+
+        for (int cycle = 0; cycle < 3; cycle++) {
+            for (int i = 0; i < 4; i++) {
+                int index = buffer.tryClaim();
+                buffer.indexAt(index).setValue(cycle * 4 + i);
+                buffer.commit(index);
+            }
+            assertEquals(-1, buffer.tryClaim());
+
+            // Free a single slot; the producer must notice it through the shared head
+            List<Integer> values = new ArrayList<>();
+            buffer.read(msg -> values.add(msg.getValue()), 1);
+            assertEquals(List.of(cycle * 4), values);
+
+            int index = buffer.tryClaim();
+            assertNotEquals(-1, index);
+            buffer.commit(index);
+            assertEquals(-1, buffer.tryClaim());
+
+            buffer.read(msg -> {});
+        }
+    }
+
+    @Test
+    void testReadSeesCommitAfterEmptyRead() {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+        AtomicInteger count = new AtomicInteger(0);
+
+        for (int i = 0; i < 20; i++) {
+            buffer.read(msg -> count.incrementAndGet());
+            assertEquals(i, count.get());
+
+            int index = buffer.tryClaim();
+            buffer.commit(index);
+
+            buffer.read(msg -> count.incrementAndGet());
+            assertEquals(i + 1, count.get());
+        }
+    }
+
+    @Test
+    void testBatchClaimAndCommit() {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+
+        int start = buffer.tryClaim(5);
+        assertEquals(0, start);
+        for (int i = 0; i < 5; i++) {
+            buffer.indexAt(start + i).setValue(i);
+        }
+
+        // Nothing visible until the batch is committed
+        List<Integer> values = new ArrayList<>();
+        buffer.read(msg -> values.add(msg.getValue()));
+        assertTrue(values.isEmpty());
+
+        buffer.commit(start, 5);
+        buffer.read(msg -> values.add(msg.getValue()));
+        assertEquals(List.of(0, 1, 2, 3, 4), values);
+    }
+
+    @Test
+    void testBatchClaimWhenNotEnoughSpace() {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+
+        int start = buffer.tryClaim(6);
+        buffer.commit(start, 6);
+
+        assertEquals(-1, buffer.tryClaim(3));
+        assertEquals(6, buffer.tryClaim(2));
+        assertEquals(-1, buffer.tryClaim());
+    }
+
+    @Test
+    void testBatchClaimInvalidCount() {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.tryClaim(0));
+        assertThrows(IllegalArgumentException.class, () -> buffer.tryClaim(-1));
+        assertThrows(IllegalArgumentException.class, () -> buffer.tryClaim(9));
+        assertEquals(0, buffer.tryClaim(8));
+    }
+
+    @Test
+    void testBatchClaimWrapAround() {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+        final int mask = buffer.capacity() - 1;
+
+        // Move the sequence to index 6 so the next batch straddles the end of the buffer
+        int start = buffer.tryClaim(6);
+        buffer.commit(start, 6);
+        buffer.read(msg -> {});
+
+        start = buffer.tryClaim(5);
+        assertEquals(6, start);
+        for (int i = 0; i < 5; i++) {
+            buffer.indexAt((start + i) & mask).setValue(100 + i);
+        }
+        buffer.commit(start, 5);
+
+        List<Integer> values = new ArrayList<>();
+        buffer.read(msg -> values.add(msg.getValue()));
+        assertEquals(List.of(100, 101, 102, 103, 104), values);
+
+        // The batch ended at index 2 (6 + 5 wrapped), so the next claim continues from 3
+        assertEquals(3, buffer.tryClaim());
+    }
+
+    @Test
+    void testBatchCommitOutOfOrderWithSingleClaims() {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 8);
+
+        int single = buffer.tryClaim();
+        int batch = buffer.tryClaim(3);
+        assertEquals(1, batch);
+
+        buffer.commit(batch, 3);
+        AtomicInteger count = new AtomicInteger(0);
+        buffer.read(msg -> count.incrementAndGet());
+        assertEquals(0, count.get(), "Waiting for the single claim ahead of the batch");
+
+        buffer.commit(single);
+        buffer.read(msg -> count.incrementAndGet());
+        assertEquals(4, count.get());
+    }
+
+    @Test
+    void testConcurrentBatchProducerConsumer() throws InterruptedException {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 64);
+        final int mask = buffer.capacity() - 1;
+        final int batches = 2000;
+        final int batchSize = 7;
+
+        Thread producer = new Thread(() -> {
+            int value = 0;
+            for (int b = 0; b < batches; b++) {
+                int start;
+                while ((start = buffer.tryClaim(batchSize)) == -1) {
+                    Thread.onSpinWait();
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    buffer.indexAt((start + i) & mask).setValue(value++);
+                }
+                buffer.commit(start, batchSize);
+            }
+        });
+
+        List<Integer> received = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            while (received.size() < batches * batchSize) {
+                buffer.read(msg -> received.add(msg.getValue()));
+            }
+        });
+
+        producer.start();
+        consumer.start();
+        producer.join(10000);
+        consumer.join(10000);
+
+        assertEquals(batches * batchSize, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void testResetAfterManyLapsDoesNotExposeStaleSlots() {
+        OneToOneRingBuffer<TestMessage> buffer = new OneToOneRingBuffer<>(TestMessage[]::new, TestMessage::new, 4);
+
+        for (int round = 0; round < 5; round++) {
+            // Leave the buffer mid-lap with committed, unread and uncommitted slots
+            for (int i = 0; i < 3 + round % 2; i++) {
+                buffer.commit(buffer.tryClaim());
+            }
+            buffer.read(msg -> {}, 1);
+            buffer.tryClaim();
+
+            buffer.reset();
+
+            AtomicInteger count = new AtomicInteger(0);
+            buffer.read(msg -> count.incrementAndGet());
+            assertEquals(0, count.get(), "No slot from before the reset should be readable");
+
+            for (int i = 0; i < 4; i++) {
+                int index = buffer.tryClaim();
+                assertEquals(i, index);
+                buffer.indexAt(index).setValue(round * 10 + i);
+                buffer.commit(index);
+            }
+            assertEquals(-1, buffer.tryClaim());
+
+            List<Integer> values = new ArrayList<>();
+            buffer.read(msg -> values.add(msg.getValue()));
+            assertEquals(List.of(round * 10, round * 10 + 1, round * 10 + 2, round * 10 + 3), values);
+        }
+    }
 }
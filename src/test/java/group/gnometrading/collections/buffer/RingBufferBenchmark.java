@@ -0,0 +1,381 @@
+package group.gnometrading.collections.buffer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the padded, cached-sequence ring buffers against the previous layout, which kept head and tail
+ * in adjacent {@link AtomicLong}s and re-read the opposing counter on every call.
+ *
+ * <p>The throughput groups run one producer and one consumer thread; the claimed/consumed aux counters are
+ * the numbers to compare, since a failed claim or an empty read also counts as an operation. The ping-pong
+ * benchmarks measure a full round trip through two buffers with an echo thread on the other side.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferBenchmark {
+
+    private static final int CAPACITY = 1 << 10;
+    private static final int READ_LIMIT = 64;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(RingBufferBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+
+    public static class Event {
+        long value;
+    }
+
+    @State(Scope.Group)
+    public static class Buffers {
+        OneToOneRingBuffer<Event> oneToOne;
+        BaselineOneToOneRingBuffer<Event> baselineOneToOne;
+        ManyToOneRingBuffer<Event> manyToOne;
+        BaselineManyToOneRingBuffer<Event> baselineManyToOne;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            oneToOne = new OneToOneRingBuffer<>(Event[]::new, Event::new, CAPACITY);
+            baselineOneToOne = new BaselineOneToOneRingBuffer<>(Event[]::new, Event::new, CAPACITY);
+            manyToOne = new ManyToOneRingBuffer<>(Event[]::new, Event::new, CAPACITY);
+            baselineManyToOne = new BaselineManyToOneRingBuffer<>(Event[]::new, Event::new, CAPACITY);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ProducerCounters {
+        public long claimed;
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ConsumerCounters {
+        public long consumed;
+
+        final MessageConsumer<Event> consumer = message -> consumed++;
+    }
+
+    @Benchmark
+    @Group("oneToOne")
+    public void oneToOneProducer(final Buffers buffers, final ProducerCounters counters) {
+        final int index = buffers.oneToOne.tryClaim();
+        if (index >= 0) {
+            buffers.oneToOne.indexAt(index).value = counters.claimed++;
+            buffers.oneToOne.commit(index);
+        }
+    }
+
+    @Benchmark
+    @Group("oneToOne")
+    public void oneToOneConsumer(final Buffers buffers, final ConsumerCounters counters) {
+        buffers.oneToOne.read(counters.consumer, READ_LIMIT);
+    }
+
+    @Benchmark
+    @Group("baselineOneToOne")
+    public void baselineOneToOneProducer(final Buffers buffers, final ProducerCounters counters) {
+        final int index = buffers.baselineOneToOne.tryClaim();
+        if (index >= 0) {
+            buffers.baselineOneToOne.indexAt(index).value = counters.claimed++;
+            buffers.baselineOneToOne.commit(index);
+        }
+    }
+
+    @Benchmark
+    @Group("baselineOneToOne")
+    public void baselineOneToOneConsumer(final Buffers buffers, final ConsumerCounters counters) {
+        buffers.baselineOneToOne.read(counters.consumer, READ_LIMIT);
+    }
+
+    @Benchmark
+    @Group("manyToOne")
+    public void manyToOneProducer(final Buffers buffers, final ProducerCounters counters) {
+        final int index = buffers.manyToOne.tryClaim();
+        if (index >= 0) {
+            buffers.manyToOne.indexAt(index).value = counters.claimed++;
+            buffers.manyToOne.commit(index);
+        }
+    }
+
+    @Benchmark
+    @Group("manyToOne")
+    public void manyToOneConsumer(final Buffers buffers, final ConsumerCounters counters) {
+        buffers.manyToOne.read(counters.consumer, READ_LIMIT);
+    }
+
+    @Benchmark
+    @Group("baselineManyToOne")
+    public void baselineManyToOneProducer(final Buffers buffers, final ProducerCounters counters) {
+        final int index = buffers.baselineManyToOne.tryClaim();
+        if (index >= 0) {
+            buffers.baselineManyToOne.indexAt(index).value = counters.claimed++;
+            buffers.baselineManyToOne.commit(index);
+        }
+    }
+
+    @Benchmark
+    @Group("baselineManyToOne")
+    public void baselineManyToOneConsumer(final Buffers buffers, final ConsumerCounters counters) {
+        buffers.baselineManyToOne.read(counters.consumer, READ_LIMIT);
+    }
+
+    /**
+     * A request buffer and a response buffer with an echo thread copying every request into a response.
+     */
+    @State(Scope.Thread)
+    public static class PingPong {
+        OneToOneRingBuffer<Event> ping;
+        OneToOneRingBuffer<Event> pong;
+        Thread echo;
+        volatile boolean running;
+        long received;
+
+        final MessageConsumer<Event> echoConsumer = message -> {
+            int index;
+            while ((index = pong.tryClaim()) == -1) {
+                Thread.onSpinWait();
+            }
+            pong.indexAt(index).value = message.value;
+            pong.commit(index);
+        };
+        final MessageConsumer<Event> responseConsumer = message -> received = message.value;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ping = new OneToOneRingBuffer<>(Event[]::new, Event::new, CAPACITY);
+            pong = new OneToOneRingBuffer<>(Event[]::new, Event::new, CAPACITY);
+            running = true;
+            echo = new Thread(() -> {
+                while (running) {
+                    ping.read(echoConsumer);
+                }
+            });
+            echo.setDaemon(true);
+            echo.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            running = false;
+            echo.join();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BaselinePingPong {
+        BaselineOneToOneRingBuffer<Event> ping;
+        BaselineOneToOneRingBuffer<Event> pong;
+        Thread echo;
+        volatile boolean running;
+        long received;
+
+        final MessageConsumer<Event> echoConsumer = message -> {
+            int index;
+            while ((index = pong.tryClaim()) == -1) {
+                Thread.onSpinWait();
+            }
+            pong.indexAt(index).value = message.value;
+            pong.commit(index);
+        };
+        final MessageConsumer<Event> responseConsumer = message -> received = message.value;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ping = new BaselineOneToOneRingBuffer<>(Event[]::new, Event::new, CAPACITY);
+            pong = new BaselineOneToOneRingBuffer<>(Event[]::new, Event::new, CAPACITY);
+            running = true;
+            echo = new Thread(() -> {
+                while (running) {
+                    ping.read(echoConsumer);
+                }
+            });
+            echo.setDaemon(true);
+            echo.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            running = false;
+            echo.join();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long oneToOneRoundTrip(final PingPong state) {
+        final long sent = state.received + 1;
+        final int index = state.ping.tryClaim();
+        state.ping.indexAt(index).value = sent;
+        state.ping.commit(index);
+        while (state.received != sent) {
+            state.pong.read(state.responseConsumer);
+        }
+        return sent;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long baselineOneToOneRoundTrip(final BaselinePingPong state) {
+        final long sent = state.received + 1;
+        final int index = state.ping.tryClaim();
+        state.ping.indexAt(index).value = sent;
+        state.ping.commit(index);
+        while (state.received != sent) {
+            state.pong.read(state.responseConsumer);
+        }
+        return sent;
+    }
+
+    private static final long EMPTY = 0L;
+    private static final long CLAIMED = 1L;
+    private static final long PUBLISHED = 2L;
+
+    /**
+     * The one-to-one ring buffer as it was before the padded sequence layout.
+     */
+    static final class BaselineOneToOneRingBuffer<T> {
+        private final T[] buffer;
+        private final int capacity;
+        private final int mask;
+        private final AtomicLong head = new AtomicLong(0);
+        private final AtomicLong tail = new AtomicLong(0);
+        private final AtomicLongArray slotStates;
+
+        BaselineOneToOneRingBuffer(ArrayFactory<T> arrayFactory, Supplier<T> supplier, int capacity) {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.buffer = arrayFactory.createArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                this.buffer[i] = supplier.get();
+            }
+            this.slotStates = new AtomicLongArray(capacity);
+        }
+
+        int tryClaim() {
+            final long currentTail = this.tail.get();
+            if (currentTail - head.get() >= capacity) {
+                return -1;
+            }
+            final int index = (int) (currentTail & mask);
+            this.slotStates.set(index, CLAIMED);
+            this.tail.incrementAndGet();
+            return index;
+        }
+
+        T indexAt(int index) {
+            return buffer[index];
+        }
+
+        void commit(final int index) {
+            this.slotStates.set(index, PUBLISHED);
+        }
+
+        void read(final MessageConsumer<T> consumer) {
+            read(consumer, Integer.MAX_VALUE);
+        }
+
+        void read(final MessageConsumer<T> consumer, final int limit) {
+            long currentHead = this.head.get();
+            final long currentTail = this.tail.get();
+            final int toRead = (int) Math.min(currentTail - currentHead, limit);
+            for (int i = 0; i < toRead; i++) {
+                final int index = (int) (currentHead & mask);
+                if (slotStates.get(index) != PUBLISHED) {
+                    break;
+                }
+                consumer.accept(buffer[index]);
+                slotStates.set(index, EMPTY);
+                currentHead++;
+            }
+            this.head.set(currentHead);
+        }
+    }
+
+    /**
+     * The many-to-one ring buffer as it was before the padded sequence layout.
+     */
+    static final class BaselineManyToOneRingBuffer<T> {
+        private final T[] buffer;
+        private final int capacity;
+        private final int mask;
+        private final AtomicLong head = new AtomicLong(0);
+        private final AtomicLong tail = new AtomicLong(0);
+        private final AtomicLongArray slotStates;
+
+        BaselineManyToOneRingBuffer(ArrayFactory<T> arrayFactory, Supplier<T> supplier, int capacity) {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.buffer = arrayFactory.createArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                this.buffer[i] = supplier.get();
+            }
+            this.slotStates = new AtomicLongArray(capacity);
+        }
+
+        int tryClaim() {
+            while (true) {
+                final long currentTail = tail.get();
+                if (currentTail - head.get() >= capacity) {
+                    return -1;
+                }
+                if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                    final int index = (int) (currentTail & mask);
+                    slotStates.set(index, CLAIMED);
+                    return index;
+                }
+            }
+        }
+
+        T indexAt(int index) {
+            return buffer[index];
+        }
+
+        void commit(final int index) {
+            slotStates.set(index, PUBLISHED);
+        }
+
+        void read(final MessageConsumer<T> consumer, final int limit) {
+            long currentHead = this.head.get();
+            final long currentTail = this.tail.get();
+            final int toRead = (int) Math.min(currentTail - currentHead, limit);
+            for (int i = 0; i < toRead; i++) {
+                final int index = (int) (currentHead & mask);
+                if (slotStates.get(index) != PUBLISHED) {
+                    break;
+                }
+                consumer.accept(buffer[index]);
+                slotStates.set(index, EMPTY);
+                currentHead++;
+            }
+            this.head.set(currentHead);
+        }
+    }
+}
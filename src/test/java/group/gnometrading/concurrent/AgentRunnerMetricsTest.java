@@ -0,0 +1,109 @@
+package group.gnometrading.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AgentRunnerMetricsTest {
+
+    private static void cycle(AgentRunnerMetrics metrics, long durationNs, int workCount) {
+        metrics.onCycleStart(1_000);
+        metrics.onCycleEnd(1_000, 1_000 + durationNs, workCount);
+    }
+
+    @Test
+    void testInvalidLatencyBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new AgentRunnerMetrics(0));
+        assertEquals(AgentRunnerMetrics.NO_LATENCY_BUDGET, new AgentRunnerMetrics().latencyBudgetNs());
+    }
+
+    @Test
+    void testEmpty() {
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics();
+        assertEquals(0, metrics.totalCycles());
+        assertEquals(0, metrics.maxDutyCycleNs());
+        assertEquals(0, metrics.percentileDutyCycleNs(99));
+        assertEquals(0, metrics.currentDutyCycleNs(System.nanoTime()));
+    }
+
+    @Test
+    void testWorkAndIdleCycles() {
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics();
+        cycle(metrics, 100, 3);
+        cycle(metrics, 50, 0);
+        cycle(metrics, 70, -1);
+
+        assertEquals(1, metrics.workCycles());
+        assertEquals(2, metrics.idleCycles());
+        assertEquals(3, metrics.totalCycles());
+        assertEquals(220, metrics.totalDutyCycleNs());
+        assertEquals(100, metrics.maxDutyCycleNs());
+        assertEquals(70, metrics.lastDutyCycleNs());
+    }
+
+    @Test
+    void testErrors() {
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics();
+        metrics.onCycleStart(0);
+        metrics.onCycleError(0, 500);
+        metrics.onError();
+
+        assertEquals(2, metrics.errors());
+        assertEquals(1, metrics.totalCycles());
+        assertEquals(500, metrics.maxDutyCycleNs());
+        assertEquals(0, metrics.workCycles() + metrics.idleCycles());
+    }
+
+    @Test
+    void testLatencyBudget() {
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics(1_000);
+        cycle(metrics, 1_000, 1);
+        cycle(metrics, 1_001, 1);
+        cycle(metrics, 50_000, 1);
+
+        assertEquals(2, metrics.overBudgetCycles());
+    }
+
+    @Test
+    void testCurrentDutyCycle() {
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics();
+        metrics.onCycleStart(1_000);
+        assertEquals(4_000, metrics.currentDutyCycleNs(5_000));
+
+        metrics.onCycleEnd(1_000, 6_000, 1);
+        assertEquals(0, metrics.currentDutyCycleNs(7_000));
+    }
+
+    @Test
+    void testHistogramBuckets() {
+        assertEquals(0, AgentRunnerMetrics.bucketUpperBoundNs(0));
+        assertEquals(1, AgentRunnerMetrics.bucketUpperBoundNs(1));
+        assertEquals(1023, AgentRunnerMetrics.bucketUpperBoundNs(10));
+        assertEquals(Long.MAX_VALUE, AgentRunnerMetrics.bucketUpperBoundNs(AgentRunnerMetrics.BUCKET_COUNT - 1));
+
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics();
+        cycle(metrics, 0, 1);
+        cycle(metrics, 512, 1);
+        cycle(metrics, 1023, 1);
+        cycle(metrics, 1024, 1);
+
+        assertEquals(1, metrics.bucketCount(0));
+        assertEquals(2, metrics.bucketCount(10));
+        assertEquals(1, metrics.bucketCount(11));
+    }
+
+    @Test
+    void testPercentiles() {
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics();
+        for (int i = 0; i < 99; i++) {
+            cycle(metrics, 100, 1);
+        }
+        cycle(metrics, 1_000_000, 1);
+
+        assertEquals(127, metrics.percentileDutyCycleNs(50));
+        assertEquals(127, metrics.percentileDutyCycleNs(99));
+        assertEquals((1L << 20) - 1, metrics.percentileDutyCycleNs(100));
+        assertEquals(127, metrics.percentileDutyCycleNs(0));
+        assertThrows(IllegalArgumentException.class, () -> metrics.percentileDutyCycleNs(101));
+    }
+}
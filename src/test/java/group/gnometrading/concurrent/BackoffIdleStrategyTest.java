@@ -0,0 +1,81 @@
+package group.gnometrading.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class BackoffIdleStrategyTest {
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BackoffIdleStrategy(-1, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BackoffIdleStrategy(1, -1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BackoffIdleStrategy(1, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BackoffIdleStrategy(1, 1, 10, 5));
+    }
+
+    @Test
+    void testBacksOffThroughEachStage() {
+        BackoffIdleStrategy strategy = new BackoffIdleStrategy(2, 2, 1_000, 4_000);
+        assertEquals(BackoffIdleStrategy.State.NOT_IDLE, strategy.getState());
+
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.SPINNING, strategy.getState());
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.SPINNING, strategy.getState());
+
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.YIELDING, strategy.getState());
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.YIELDING, strategy.getState());
+
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.PARKING, strategy.getState());
+        assertEquals(2_000, strategy.getParkPeriodNs(), "The cycle entering parking parks for the first period");
+    }
+
+    @Test
+    void testSkipsEmptyStages() {
+        BackoffIdleStrategy strategy = new BackoffIdleStrategy(0, 1, 1_000, 4_000);
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.YIELDING, strategy.getState());
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.PARKING, strategy.getState());
+
+        strategy = new BackoffIdleStrategy(0, 0, 1_000, 4_000);
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.PARKING, strategy.getState());
+    }
+
+    @Test
+    void testParkPeriodDoublesUpToMax() {
+        BackoffIdleStrategy strategy = new BackoffIdleStrategy(0, 0, 1_000, 5_000);
+        while (strategy.getState() != BackoffIdleStrategy.State.PARKING) {
+            strategy.idle(0);
+        }
+
+        assertEquals(2_000, strategy.getParkPeriodNs());
+        strategy.idle(0);
+        assertEquals(4_000, strategy.getParkPeriodNs());
+        strategy.idle(0);
+        assertEquals(5_000, strategy.getParkPeriodNs());
+        strategy.idle(0);
+        assertEquals(5_000, strategy.getParkPeriodNs());
+    }
+
+    @Test
+    void testWorkResetsToNotIdle() {
+        BackoffIdleStrategy strategy = new BackoffIdleStrategy(1, 0, 1_000, 4_000);
+        for (int i = 0; i < 5; i++) {
+            strategy.idle(0);
+        }
+        assertEquals(BackoffIdleStrategy.State.PARKING, strategy.getState());
+
+        strategy.idle(1);
+        assertEquals(BackoffIdleStrategy.State.NOT_IDLE, strategy.getState());
+        assertEquals(1_000, strategy.getParkPeriodNs());
+
+        strategy.idle(0);
+        assertEquals(BackoffIdleStrategy.State.SPINNING, strategy.getState());
+    }
+}
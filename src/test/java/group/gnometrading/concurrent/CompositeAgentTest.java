@@ -0,0 +1,122 @@
+package group.gnometrading.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompositeAgentTest {
+
+    private static GnomeAgent agent(String roleName) {
+        GnomeAgent agent = mock(GnomeAgent.class);
+        when(agent.roleName()).thenReturn(roleName);
+        return agent;
+    }
+
+    @Test
+    void testRequiresAgents() {
+        assertThrows(IllegalArgumentException.class, CompositeAgent::new);
+        assertThrows(IllegalArgumentException.class, () -> new CompositeAgent(List.of()));
+    }
+
+    @Test
+    void testRoleName() {
+        CompositeAgent composite = new CompositeAgent(agent("a"), agent("b"), agent("c"));
+        assertEquals("[a,b,c]", composite.roleName());
+        assertEquals(3, composite.agentCount());
+    }
+
+    @Test
+    void testDoWorkSumsWorkCounts() throws Exception {
+        GnomeAgent first = agent("a");
+        GnomeAgent second = agent("b");
+        when(first.doWork()).thenReturn(2);
+        when(second.doWork()).thenReturn(3);
+
+        CompositeAgent composite = new CompositeAgent(List.of(first, second));
+        assertEquals(5, composite.doWork());
+        assertEquals(5, composite.doWork());
+
+        verify(first, times(2)).doWork();
+        verify(second, times(2)).doWork();
+    }
+
+    @Test
+    void testDoWorkResumesAfterFailingAgent() throws Exception {
+        GnomeAgent first = agent("a");
+        GnomeAgent failing = agent("b");
+        GnomeAgent third = agent("c");
+        RuntimeException error = new RuntimeException("Work failed");
+        when(first.doWork()).thenReturn(1);
+        when(failing.doWork()).thenThrow(error);
+        when(third.doWork()).thenReturn(1);
+
+        CompositeAgent composite = new CompositeAgent(first, failing, third);
+
+        assertSame(error, assertThrows(RuntimeException.class, composite::doWork));
+        verify(third, never()).doWork();
+
+        // The next cycle finishes the round that was cut short
+        assertEquals(1, composite.doWork());
+        verify(first, times(1)).doWork();
+        verify(third, times(1)).doWork();
+
+        assertThrows(RuntimeException.class, composite::doWork);
+        verify(first, times(2)).doWork();
+    }
+
+    @Test
+    void testOnStartStartsEveryAgentDespiteErrors() throws Exception {
+        GnomeAgent first = agent("a");
+        GnomeAgent second = agent("b");
+        GnomeAgent third = agent("c");
+        Exception firstError = new Exception("a failed");
+        Exception secondError = new Exception("b failed");
+        doThrow(firstError).when(first).onStart();
+        doThrow(secondError).when(second).onStart();
+
+        CompositeAgent composite = new CompositeAgent(first, second, third);
+        Exception thrown = assertThrows(Exception.class, composite::onStart);
+
+        assertSame(firstError, thrown);
+        assertArrayEquals(new Throwable[] {secondError}, thrown.getSuppressed());
+        verify(third).onStart();
+    }
+
+    @Test
+    void testOnCloseClosesEveryAgentDespiteErrors() {
+        GnomeAgent first = agent("a");
+        GnomeAgent second = agent("b");
+        RuntimeException error = new RuntimeException("a failed");
+        doThrow(error).when(first).onClose();
+
+        CompositeAgent composite = new CompositeAgent(first, second);
+
+        assertSame(error, assertThrows(RuntimeException.class, composite::onClose));
+        verify(second).onClose();
+    }
+
+    @Test
+    void testRunsOnSingleRunner() throws Exception {
+        GnomeAgent first = agent("a");
+        GnomeAgent second = agent("b");
+        when(first.doWork()).thenReturn(1);
+        when(second.doWork()).thenReturn(0);
+
+        GnomeAgentRunner runner = new GnomeAgentRunner(new CompositeAgent(first, second), null);
+        Thread thread = GnomeAgentRunner.startOnThread(runner);
+        assertEquals("[a,b]", thread.getName());
+
+        Thread.sleep(100);
+        runner.close();
+        thread.join(1000);
+
+        verify(first).onStart();
+        verify(second).onStart();
+        verify(first, atLeastOnce()).doWork();
+        verify(second, atLeastOnce()).doWork();
+        verify(first).onClose();
+        verify(second).onClose();
+    }
+}
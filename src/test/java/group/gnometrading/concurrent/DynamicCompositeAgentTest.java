@@ -0,0 +1,153 @@
+package group.gnometrading.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class DynamicCompositeAgentTest {
+
+    @Test
+    void testStartsEmpty() throws Exception {
+        DynamicCompositeAgent composite = new DynamicCompositeAgent("dynamic");
+        composite.onStart();
+
+        assertEquals("dynamic", composite.roleName());
+        assertEquals(0, composite.agentCount());
+        assertEquals(0, composite.doWork());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DynamicCompositeAgent("dynamic", 3));
+
+        DynamicCompositeAgent composite = new DynamicCompositeAgent("dynamic");
+        assertThrows(IllegalArgumentException.class, () -> composite.tryAdd(null));
+        assertThrows(IllegalArgumentException.class, () -> composite.tryRemove(null));
+    }
+
+    @Test
+    void testAddStartsAgentOnNextDutyCycle() throws Exception {
+        GnomeAgent initial = mock(GnomeAgent.class);
+        GnomeAgent added = mock(GnomeAgent.class);
+        when(initial.doWork()).thenReturn(1);
+        when(added.doWork()).thenReturn(2);
+
+        DynamicCompositeAgent composite = new DynamicCompositeAgent("dynamic", initial);
+        composite.onStart();
+        assertTrue(composite.tryAdd(added));
+        verify(added, never()).onStart();
+
+        // The command itself counts as work
+        assertEquals(1 + 1 + 2, composite.doWork());
+        assertEquals(2, composite.agentCount());
+        verify(added).onStart();
+
+        assertEquals(3, composite.doWork());
+    }
+
+    @Test
+    void testAddBeforeStartIsStartedWithTheComposite() throws Exception {
+        GnomeAgent added = mock(GnomeAgent.class);
+
+        DynamicCompositeAgent composite = new DynamicCompositeAgent("dynamic");
+        composite.tryAdd(added);
+        composite.doWork();
+        verify(added, never()).onStart();
+
+        composite.onStart();
+        verify(added).onStart();
+    }
+
+    @Test
+    void testRemoveClosesAgent() throws Exception {
+        GnomeAgent first = mock(GnomeAgent.class);
+        GnomeAgent second = mock(GnomeAgent.class);
+        GnomeAgent unknown = mock(GnomeAgent.class);
+
+        DynamicCompositeAgent composite = new DynamicCompositeAgent("dynamic", first, second);
+        composite.onStart();
+        assertTrue(composite.tryRemove(first));
+        assertTrue(composite.tryRemove(unknown));
+        composite.doWork();
+
+        assertEquals(1, composite.agentCount());
+        verify(first).onClose();
+        verify(unknown, never()).onClose();
+        verify(first, never()).doWork();
+        verify(second).doWork();
+
+        composite.onClose();
+        verify(second).onClose();
+        verify(first, times(1)).onClose();
+        assertEquals(0, composite.agentCount());
+    }
+
+    @Test
+    void testAgentFailingToStartIsNotAdded() throws Exception {
+        GnomeAgent failing = mock(GnomeAgent.class);
+        GnomeAgent other = mock(GnomeAgent.class);
+        Exception error = new Exception("Start failed");
+        doThrow(error).when(failing).onStart();
+
+        DynamicCompositeAgent composite = new DynamicCompositeAgent("dynamic");
+        composite.onStart();
+        composite.tryAdd(failing);
+        composite.tryAdd(other);
+
+        assertSame(error, assertThrows(Exception.class, composite::doWork));
+        assertEquals(0, composite.agentCount());
+
+        // The remaining command is still applied on the next cycle
+        composite.doWork();
+        assertEquals(1, composite.agentCount());
+        verify(other).onStart();
+        verify(failing, never()).doWork();
+    }
+
+    @Test
+    void testFullCommandQueue() throws Exception {
+        DynamicCompositeAgent composite = new DynamicCompositeAgent("dynamic", 2);
+        composite.onStart();
+
+        assertTrue(composite.tryAdd(mock(GnomeAgent.class)));
+        assertTrue(composite.tryAdd(mock(GnomeAgent.class)));
+        assertFalse(composite.tryAdd(mock(GnomeAgent.class)));
+
+        composite.doWork();
+        assertEquals(2, composite.agentCount());
+        assertTrue(composite.tryAdd(mock(GnomeAgent.class)));
+    }
+
+    @Test
+    void testAddAndRemoveWhileRunning() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        GnomeAgent counting = () -> {
+            counter.incrementAndGet();
+            return 1;
+        };
+
+        DynamicCompositeAgent composite = new DynamicCompositeAgent("dynamic");
+        GnomeAgentRunner runner = new GnomeAgentRunner(composite, null, new BackoffIdleStrategy());
+        Thread thread = GnomeAgentRunner.startOnThread(runner);
+
+        assertTrue(composite.tryAdd(counting));
+        long deadline = System.currentTimeMillis() + 1000;
+        while (counter.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(counter.get() > 0);
+
+        assertTrue(composite.tryRemove(counting));
+        Thread.sleep(50);
+        int stopped = counter.get();
+        Thread.sleep(50);
+        assertEquals(stopped, counter.get());
+        assertTrue(thread.isAlive());
+
+        runner.close();
+        thread.join(1000);
+        assertTrue(runner.isClosed());
+    }
+}
@@ -9,6 +9,7 @@ import org.agrona.ErrorHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -373,4 +374,150 @@ class GnomeAgentRunnerTest {
         verify(mockAgent).onClose();
         assertTrue(newRunner.isClosed());
     }
+
+    @Test
+    void testDefaultIdleStrategy() {
+        assertSame(NoOpIdleStrategy.INSTANCE, runner.getIdleStrategy());
+    }
+
+    @Test
+    void testIdleStrategyReceivesWorkCount() throws Exception {
+        IdleStrategy idleStrategy = mock(IdleStrategy.class);
+        when(mockAgent.doWork()).thenReturn(3, 0);
+        GnomeAgentRunner idleRunner = new GnomeAgentRunner(mockAgent, mockErrorHandler, idleStrategy);
+
+        Thread thread = GnomeAgentRunner.startOnThread(idleRunner);
+        Thread.sleep(100);
+        idleRunner.close();
+        thread.join(1000);
+
+        InOrder inOrder = inOrder(idleStrategy);
+        inOrder.verify(idleStrategy).reset();
+        inOrder.verify(idleStrategy).idle(3);
+        inOrder.verify(idleStrategy, atLeastOnce()).idle(0);
+    }
+
+    @Test
+    void testIdleStrategyNotCalledAfterError() throws Exception {
+        IdleStrategy idleStrategy = mock(IdleStrategy.class);
+        when(mockAgent.doWork()).thenThrow(new RuntimeException("Work failed"));
+        GnomeAgentRunner idleRunner = new GnomeAgentRunner(mockAgent, mockErrorHandler, idleStrategy);
+
+        Thread thread = GnomeAgentRunner.startOnThread(idleRunner);
+        Thread.sleep(50);
+        idleRunner.close();
+        thread.join(1000);
+
+        verify(idleStrategy, never()).idle(anyInt());
+    }
+
+    @Test
+    void testInterruptionWhileParked() throws Exception {
+        when(mockAgent.doWork()).thenReturn(0);
+        GnomeAgentRunner sleepingRunner = new GnomeAgentRunner(
+                mockAgent, mockErrorHandler, new SleepingIdleStrategy(TimeUnit.SECONDS.toNanos(10)));
+
+        Thread thread = GnomeAgentRunner.startOnThread(sleepingRunner);
+        Thread.sleep(100);
+
+        // The runner is parked for up to 10 seconds, the interrupt has to wake it
+        thread.interrupt();
+        thread.join(1000);
+
+        assertFalse(thread.isAlive());
+        assertTrue(sleepingRunner.isClosed());
+    }
+
+    @Test
+    void testBackoffIdleStrategyKeepsRunning() throws Exception {
+        when(mockAgent.doWork()).thenReturn(0);
+        GnomeAgentRunner backoffRunner = new GnomeAgentRunner(mockAgent, mockErrorHandler, new BackoffIdleStrategy());
+
+        Thread thread = GnomeAgentRunner.startOnThread(backoffRunner);
+        Thread.sleep(100);
+
+        verify(mockAgent, atLeast(2)).doWork();
+        assertFalse(backoffRunner.isClosed());
+
+        backoffRunner.close();
+        thread.join(1000);
+        assertTrue(backoffRunner.isClosed());
+    }
+
+    @Test
+    void testMetricsCountWorkIdleAndErrorCycles() throws Exception {
+        RuntimeException workException = new RuntimeException("Work failed");
+        when(mockAgent.doWork()).thenReturn(2, 0).thenThrow(workException).thenReturn(0);
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics(TimeUnit.SECONDS.toNanos(1));
+        GnomeAgentRunner measuredRunner =
+                new GnomeAgentRunner(mockAgent, mockErrorHandler, new SleepingIdleStrategy(), metrics);
+        assertSame(metrics, measuredRunner.getMetrics());
+
+        Thread thread = GnomeAgentRunner.startOnThread(measuredRunner);
+        Thread.sleep(100);
+        measuredRunner.close();
+        thread.join(1000);
+
+        assertEquals(1, metrics.workCycles());
+        assertTrue(metrics.idleCycles() >= 2);
+        assertEquals(1, metrics.errors());
+        assertEquals(0, metrics.overBudgetCycles());
+        assertEquals(metrics.workCycles() + metrics.idleCycles() + metrics.errors(), metrics.totalCycles());
+        assertEquals(0, metrics.currentDutyCycleNs(System.nanoTime()));
+    }
+
+    @Test
+    void testMetricsShowStalledDutyCycle() throws Exception {
+        CountDownLatch workStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockAgent.doWork()).thenAnswer(invocation -> {
+            workStarted.countDown();
+            release.await();
+            return 1;
+        });
+
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics();
+        GnomeAgentRunner measuredRunner =
+                new GnomeAgentRunner(mockAgent, mockErrorHandler, NoOpIdleStrategy.INSTANCE, metrics);
+        Thread thread = GnomeAgentRunner.startOnThread(measuredRunner);
+        assertTrue(workStarted.await(1000, TimeUnit.MILLISECONDS));
+        Thread.sleep(50);
+
+        assertTrue(metrics.currentDutyCycleNs(System.nanoTime()) >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(0, metrics.totalCycles());
+
+        release.countDown();
+        measuredRunner.close();
+        thread.join(1000);
+
+        assertTrue(metrics.maxDutyCycleNs() >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void testMetricsCountOnStartError() throws Exception {
+        doThrow(new RuntimeException("Start failed")).when(mockAgent).onStart();
+
+        AgentRunnerMetrics metrics = new AgentRunnerMetrics();
+        GnomeAgentRunner measuredRunner =
+                new GnomeAgentRunner(mockAgent, mockErrorHandler, NoOpIdleStrategy.INSTANCE, metrics);
+        Thread thread = new Thread(measuredRunner);
+        thread.start();
+        thread.join(1000);
+
+        assertEquals(1, metrics.errors());
+        assertEquals(0, metrics.totalCycles());
+    }
+
+    @Test
+    void testMetricsAreOptIn() throws Exception {
+        doThrow(new RuntimeException("Start failed")).when(mockAgent).onStart();
+        assertNull(runner.getMetrics());
+
+        Thread thread = new Thread(runner);
+        thread.start();
+        thread.join(1000);
+
+        assertTrue(runner.isClosed());
+        verify(mockErrorHandler).onError(any(RuntimeException.class));
+    }
 }
@@ -0,0 +1,33 @@
+package group.gnometrading.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SleepingIdleStrategyTest {
+
+    @Test
+    void testInvalidSleepPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> new SleepingIdleStrategy(0));
+        assertThrows(IllegalArgumentException.class, () -> new SleepingIdleStrategy(-1));
+    }
+
+    @Test
+    void testDefaultSleepPeriod() {
+        assertEquals(SleepingIdleStrategy.DEFAULT_SLEEP_PERIOD_NS, new SleepingIdleStrategy().getSleepPeriodNs());
+    }
+
+    @Test
+    void testSleepsOnlyWhenIdle() {
+        SleepingIdleStrategy strategy = new SleepingIdleStrategy(TimeUnit.MILLISECONDS.toNanos(50));
+
+        long start = System.nanoTime();
+        strategy.idle(1);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(40));
+
+        start = System.nanoTime();
+        strategy.idle(0);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+}
@@ -0,0 +1,183 @@
+package group.gnometrading.pools;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentObjectPoolTest {
+
+    @Test
+    void testAcquire() {
+        var pool = new ConcurrentObjectPool<Holder>(() -> new Holder(), 5);
+        for (int i = 0; i < 5; i++) {
+            var node = pool.acquire();
+            assertEquals(0, node.getItem().value);
+            node.getItem().value = 1;
+        }
+
+        var node = pool.acquire();
+        assertEquals(1, pool.getAdditionalNodesCreated());
+        assertEquals(0, node.getItem().value);
+    }
+
+    @Test
+    void testReleaseOnSameThreadIsLifo() {
+        var pool = new ConcurrentObjectPool<Holder>(() -> new Holder(), 2);
+        var first = pool.acquire();
+        var second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(second, pool.acquire());
+        assertSame(first, pool.acquire());
+        assertEquals(0, pool.getAdditionalNodesCreated());
+    }
+
+    @Test
+    void testReleaseAll() {
+        var pool = new ConcurrentObjectPool<Holder>(() -> new Holder(), 5);
+        for (int i = 0; i < 5; i++) {
+            pool.acquire().getItem().value = 1;
+        }
+
+        pool.releaseAll();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, pool.acquire().getItem().value);
+        }
+        assertEquals(0, pool.getAdditionalNodesCreated());
+    }
+
+    @Test
+    void testDoubleReleaseOnOwningThread() {
+        var pool = new ConcurrentObjectPool<Holder>(() -> new Holder(), 1);
+        var node = pool.acquire();
+        pool.release(node);
+        assertThrows(IllegalStateException.class, () -> pool.release(node));
+    }
+
+    @Test
+    void testReleaseOnOtherThreadReturnsToOwner() throws InterruptedException {
+        var pool = new ConcurrentObjectPool<Holder>(() -> new Holder(), 1);
+        var node = pool.acquire();
+        node.getItem().value = 7;
+
+        Thread releaser = new Thread(() -> pool.release(node));
+        releaser.start();
+        releaser.join();
+
+        // The magazine is empty, so the returned node is taken back instead of creating a new one
+        assertSame(node, pool.acquire());
+        assertEquals(7, node.getItem().value);
+        assertEquals(0, pool.getAdditionalNodesCreated());
+    }
+
+    @Test
+    void testEachThreadHasItsOwnMagazine() throws InterruptedException {
+        var pool = new ConcurrentObjectPool<Holder>(() -> new Holder(), 1);
+        var mine = pool.acquire();
+
+        AtomicReference<PoolNode<Holder>> theirs = new AtomicReference<>();
+        Thread other = new Thread(() -> theirs.set(pool.acquire()));
+        other.start();
+        other.join();
+
+        assertNotSame(mine, theirs.get());
+        assertEquals(0, pool.getAdditionalNodesCreated());
+
+        // Released here, but it belongs to the other thread's magazine
+        pool.release(theirs.get());
+        assertNotSame(theirs.get(), pool.acquire());
+    }
+
+    @Test
+    void testPipelineRecyclesWithoutGrowing() throws InterruptedException {
+        final int capacity = 64;
+        final int messages = 200_000;
+        var pool = new ConcurrentObjectPool<Holder>(() -> new Holder(), capacity);
+        BlockingQueue<PoolNode<Holder>> pipeline = new ArrayBlockingQueue<>(capacity / 2);
+
+        Set<Holder> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < messages; i++) {
+                    var node = pool.acquire();
+                    seen.add(node.getItem());
+                    node.getItem().value = i;
+                    pipeline.put(node);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        List<Integer> outOfOrder = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < messages; i++) {
+                    var node = pipeline.poll(5, TimeUnit.SECONDS);
+                    if (node == null || node.getItem().value != i) {
+                        outOfOrder.add(i);
+                        return;
+                    }
+                    pool.release(node);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        producer.start();
+        consumer.start();
+        producer.join(10_000);
+        consumer.join(10_000);
+
+        assertTrue(outOfOrder.isEmpty());
+        // At most the queue plus one in each thread's hands can be outstanding, so the magazine never has to grow
+        assertEquals(0, pool.getAdditionalNodesCreated());
+        assertEquals(capacity, seen.size());
+    }
+
+    @Test
+    void testManyReleasingThreads() throws InterruptedException {
+        final int threads = 4;
+        final int perThread = 10_000;
+        var pool = new ConcurrentObjectPool<Holder>(() -> new Holder(), 0);
+
+        List<PoolNode<Holder>> nodes = new ArrayList<>();
+        for (int i = 0; i < threads * perThread; i++) {
+            nodes.add(pool.acquire());
+        }
+        assertEquals(threads * perThread, pool.getAdditionalNodesCreated());
+
+        List<Thread> releasers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<PoolNode<Holder>> slice = nodes.subList(t * perThread, (t + 1) * perThread);
+            Thread releaser = new Thread(() -> slice.forEach(pool::release));
+            releasers.add(releaser);
+            releaser.start();
+        }
+        for (Thread releaser : releasers) {
+            releaser.join();
+        }
+
+        Set<PoolNode<Holder>> reacquired = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < threads * perThread; i++) {
+            reacquired.add(pool.acquire());
+        }
+        assertEquals(threads * perThread, reacquired.size());
+        assertEquals(threads * perThread, pool.getAdditionalNodesCreated());
+    }
+
+    static class Holder {
+        int value = 0;
+    }
+}
@@ -0,0 +1,151 @@
+package group.gnometrading.pools;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedPoolTest {
+
+    @Test
+    void testCountsLiveNodesAndHighWatermark() {
+        var pool = new InstrumentedPool<>(new SingleThreadedObjectPool<Holder>(Holder::new, 4));
+        var first = pool.acquire();
+        var second = pool.acquire();
+        var third = pool.acquire();
+        pool.release(second);
+        pool.release(first);
+
+        assertEquals(1, pool.liveCount());
+        assertEquals(3, pool.highWatermark());
+        assertEquals(3, pool.acquireCount());
+        assertEquals(2, pool.releaseCount());
+        assertEquals(0, pool.growthEvents());
+
+        pool.release(third);
+        assertEquals(0, pool.liveCount());
+        assertEquals(3, pool.highWatermark());
+    }
+
+    @Test
+    void testCountsGrowthEvents() {
+        var pool = new InstrumentedPool<>(new SingleThreadedArrayPool<Holder>(Holder::new, 2));
+        for (int i = 0; i < 5; i++) {
+            pool.acquire();
+        }
+
+        assertEquals(3, pool.growthEvents());
+        assertEquals(3, pool.getAdditionalNodesCreated());
+        assertEquals(5, pool.distinctNodes());
+    }
+
+    @Test
+    void testRejectsDoubleRelease() {
+        var delegate = new SingleThreadedObjectPool<Holder>(Holder::new, 2);
+        var pool = new InstrumentedPool<>(delegate);
+        var node = pool.acquire();
+        pool.release(node);
+
+        assertThrows(IllegalStateException.class, () -> pool.release(node));
+        assertEquals(1, pool.doubleReleases());
+        assertEquals(0, pool.liveCount());
+
+        // The wrapped pool was not corrupted by the second release
+        assertNotSame(pool.acquire(), pool.acquire());
+    }
+
+    @Test
+    void testRejectsForeignNode() {
+        var pool = new InstrumentedPool<>(new SingleThreadedObjectPool<Holder>(Holder::new, 2));
+        var foreign = new SingleThreadedObjectPool<Holder>(Holder::new, 1).acquire();
+
+        assertThrows(IllegalStateException.class, () -> pool.release(foreign));
+        assertEquals(1, pool.doubleReleases());
+    }
+
+    @Test
+    void testReportsOutstandingNodes() {
+        var pool = new InstrumentedPool<>(new SingleThreadedObjectPool<Holder>(Holder::new, 4));
+        var released = pool.acquire();
+        var leaked = pool.acquire();
+        leaked.getItem().value = 42;
+        pool.release(released);
+
+        List<Holder> items = new ArrayList<>();
+        List<Long> sequences = new ArrayList<>();
+        List<Throwable> sites = new ArrayList<>();
+        int outstanding = pool.forEachOutstanding((item, sequence, site) -> {
+            items.add(item);
+            sequences.add(sequence);
+            sites.add(site);
+        });
+
+        assertEquals(1, outstanding);
+        assertEquals(42, items.get(0).value);
+        assertEquals(List.of(1L), sequences);
+        assertNull(sites.get(0), "Acquire sites are only captured in debug mode");
+    }
+
+    @Test
+    void testDebugModeCapturesAcquireSite() {
+        var pool = new InstrumentedPool<>(new SingleThreadedObjectPool<Holder>(Holder::new, 4), true);
+        assertTrue(pool.isDebug());
+        leak(pool);
+
+        List<Throwable> sites = new ArrayList<>();
+        pool.forEachOutstanding((item, sequence, site) -> sites.add(site));
+
+        assertEquals(1, sites.size());
+        boolean fromLeak = false;
+        for (StackTraceElement element : sites.get(0).getStackTrace()) {
+            fromLeak |= element.getMethodName().equals("leak");
+        }
+        assertTrue(fromLeak);
+    }
+
+    private static void leak(Pool<Holder> pool) {
+        pool.acquire();
+    }
+
+    @Test
+    void testReleaseAll() {
+        var pool = new InstrumentedPool<>(new SingleThreadedArrayPool<Holder>(Holder::new, 4));
+        pool.acquire();
+        pool.acquire();
+        pool.releaseAll();
+
+        assertEquals(0, pool.liveCount());
+        assertEquals(2, pool.releaseCount());
+        assertEquals(0, pool.forEachOutstanding((item, sequence, site) -> fail()));
+
+        var node = pool.acquire();
+        pool.release(node);
+        assertEquals(0, pool.doubleReleases());
+    }
+
+    @Test
+    void testReleaseAllOnlyCountsTheCallingThreadsNodes() throws InterruptedException {
+        var pool = new InstrumentedPool<>(new ConcurrentObjectPool<Holder>(Holder::new, 4));
+        pool.acquire();
+
+        List<PoolNode<Holder>> acquiredElsewhere = new ArrayList<>();
+        Thread other = new Thread(() -> acquiredElsewhere.add(pool.acquire()));
+        other.start();
+        other.join();
+        assertEquals(2, pool.liveCount());
+
+        pool.releaseAll();
+        assertEquals(1, pool.liveCount(), "The other thread's node is not released by this thread's releaseAll");
+        assertEquals(1, pool.releaseCount());
+        assertEquals(1, pool.forEachOutstanding((item, sequence, site) -> {}));
+
+        pool.release(acquiredElsewhere.get(0));
+        assertEquals(0, pool.liveCount());
+        assertEquals(0, pool.doubleReleases());
+    }
+
+    static class Holder {
+        int value = 0;
+    }
+}
@@ -0,0 +1,128 @@
+package group.gnometrading.pools;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the linked {@link SingleThreadedObjectPool} with the array-backed {@link SingleThreadedArrayPool}.
+ *
+ * <p>The map benchmark follows IntHashMap: a steady population of live nodes with random puts and removes, plus a
+ * periodic clear. The JSON benchmark follows JsonDecoder: nodes are acquired while walking into nested objects and
+ * released in reverse order on the way out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoolBenchmark {
+
+    private static final int LIVE_NODES = 1 << 10;
+    private static final int OPERATIONS = 1 << 12;
+    private static final int JSON_DEPTH = 6;
+    private static final int JSON_FIELDS = 8;
+
+    @Param({"linked", "array"})
+    public String pool;
+
+    private Pool<Payload> nodePool;
+    private PoolNode<Payload>[] live;
+    private PoolNode<Payload>[] stack;
+    private int[] slots;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(PoolBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+
+    public static class Payload {
+        long key;
+        long value;
+        Payload next;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.nodePool = "linked".equals(this.pool)
+                ? new SingleThreadedObjectPool<>(Payload::new, LIVE_NODES)
+                : new SingleThreadedArrayPool<>(Payload::new, LIVE_NODES);
+
+        this.live = createArray(LIVE_NODES);
+        for (int i = 0; i < LIVE_NODES; i++) {
+            this.live[i] = this.nodePool.acquire();
+        }
+        this.stack = createArray(JSON_DEPTH);
+
+        final SplittableRandom random = new SplittableRandom(42);
+        this.slots = new int[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            this.slots[i] = random.nextInt(LIVE_NODES);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static PoolNode<Payload>[] createArray(final int size) {
+        return new PoolNode[size];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long intHashMapChurn() {
+        long sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            // A remove followed by a put of another key, as a map with a stable size sees
+            final int slot = this.slots[i];
+            this.nodePool.release(this.live[slot]);
+            final PoolNode<Payload> node = this.nodePool.acquire();
+            node.getItem().key = i;
+            sum += node.getItem().value;
+            this.live[slot] = node;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void intHashMapClear(Blackhole blackhole) {
+        this.nodePool.releaseAll();
+        for (int i = 0; i < LIVE_NODES; i++) {
+            this.live[i] = this.nodePool.acquire();
+        }
+        blackhole.consume(this.live[LIVE_NODES - 1]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSON_FIELDS * JSON_DEPTH)
+    public long jsonDecoderWalk() {
+        long sum = 0;
+        for (int field = 0; field < JSON_FIELDS; field++) {
+            for (int depth = 0; depth < JSON_DEPTH; depth++) {
+                this.stack[depth] = this.nodePool.acquire();
+                sum += this.stack[depth].getItem().key;
+            }
+            for (int depth = JSON_DEPTH - 1; depth >= 0; depth--) {
+                this.nodePool.release(this.stack[depth]);
+            }
+        }
+        return sum;
+    }
+}
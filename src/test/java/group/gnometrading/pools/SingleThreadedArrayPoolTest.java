@@ -0,0 +1,125 @@
+package group.gnometrading.pools;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SingleThreadedArrayPoolTest {
+
+    @Test
+    void testAcquire() {
+        var pool = new SingleThreadedArrayPool<Holder>(() -> new Holder(), 5);
+        for (int i = 0; i < 5; i++) {
+            var node = pool.acquire();
+            assertEquals(0, node.getItem().value);
+            node.getItem().value = 1;
+        }
+
+        var node = pool.acquire();
+        assertEquals(1, pool.getAdditionalNodesCreated());
+        assertEquals(0, node.getItem().value);
+        assertEquals(6, pool.size());
+    }
+
+    @Test
+    void testRelease() {
+        var pool = new SingleThreadedArrayPool<Holder>(() -> new Holder(), 1);
+        var node = pool.acquire();
+        node.getItem().value = 10;
+        pool.release(node);
+
+        node = pool.acquire();
+        assertEquals(10, node.getItem().value);
+        assertEquals(0, pool.getAdditionalNodesCreated());
+    }
+
+    @Test
+    void testReleaseIsLifo() {
+        var pool = new SingleThreadedArrayPool<Holder>(() -> new Holder(), 4);
+        var first = pool.acquire();
+        var second = pool.acquire();
+        var third = pool.acquire();
+
+        pool.release(first);
+        pool.release(third);
+
+        assertSame(third, pool.acquire());
+        assertSame(first, pool.acquire());
+        assertNotSame(second, pool.acquire());
+    }
+
+    @Test
+    void testReleaseAll() {
+        var pool = new SingleThreadedArrayPool<Holder>(() -> new Holder(), 5);
+        for (int i = 0; i < 5; i++) {
+            var node = pool.acquire();
+            assertEquals(0, node.getItem().value);
+            node.getItem().value = 1;
+        }
+
+        pool.releaseAll();
+        assertEquals(0, pool.size());
+        for (int i = 0; i < 5; i++) {
+            var node = pool.acquire();
+            assertEquals(1, node.getItem().value);
+        }
+
+        assertEquals(0, pool.getAdditionalNodesCreated());
+    }
+
+    @Test
+    void testReleaseAllWithSomeAlreadyReleased() {
+        var pool = new SingleThreadedArrayPool<Holder>(() -> new Holder(), 2);
+        var first = pool.acquire();
+        pool.acquire();
+        pool.release(first);
+
+        pool.releaseAll();
+        assertEquals(0, pool.size());
+        pool.acquire();
+        pool.acquire();
+        pool.acquire();
+        assertEquals(1, pool.getAdditionalNodesCreated());
+    }
+
+    @Test
+    void testGrowsFromEmpty() {
+        var pool = new SingleThreadedArrayPool<Holder>(() -> new Holder(), 0);
+        List<PoolNode<Holder>> nodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            var node = pool.acquire();
+            node.getItem().value = i;
+            nodes.add(node);
+        }
+        assertEquals(100, pool.getAdditionalNodesCreated());
+
+        for (var node : nodes) {
+            pool.release(node);
+        }
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, pool.acquire().getItem().value);
+        }
+        assertEquals(100, pool.getAdditionalNodesCreated());
+    }
+
+    @Test
+    void testReleaseWithoutAcquire() {
+        var pool = new SingleThreadedArrayPool<Holder>(() -> new Holder(), 2);
+        var node = pool.acquire();
+        pool.release(node);
+        assertThrows(IllegalStateException.class, () -> pool.release(node));
+        assertThrows(IllegalArgumentException.class, () -> new SingleThreadedArrayPool<Holder>(Holder::new, -1));
+    }
+
+    @Test
+    void testClassConstructor() {
+        var pool = new SingleThreadedArrayPool<>(Holder.class);
+        assertNotNull(pool.acquire().getItem());
+    }
+
+    static class Holder {
+        int value = 0;
+    }
+}
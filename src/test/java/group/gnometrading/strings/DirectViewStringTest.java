@@ -0,0 +1,83 @@
+package group.gnometrading.strings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+class DirectViewStringTest {
+
+    private static UnsafeBuffer offHeap(String value) {
+        byte[] bytes = value.getBytes();
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(bytes.length));
+        buffer.putBytes(0, bytes);
+        return buffer;
+    }
+
+    @Test
+    void testWrap() {
+        UnsafeBuffer buffer = offHeap("hello world");
+        DirectViewString view = new DirectViewString(buffer, 0, 5);
+        assertTrue(view.equals("hello"));
+
+        view.wrap(buffer, 6, 5);
+        assertTrue(view.equals("world"));
+        assertEquals(5, view.length());
+        assertEquals(new ViewString("world").hashCode(), view.hashCode());
+
+        buffer.putByte(6, (byte) 'W');
+        view.wrap(buffer, 6, 5);
+        assertTrue(view.equals("World"), "Wrapped bytes are not copied");
+    }
+
+    @Test
+    void testComparesWithOtherStrings() {
+        DirectViewString view = new DirectViewString(offHeap("BTCUSDT"), 0, 7);
+        ViewString same = new ViewString("BTCUSDT");
+
+        assertTrue(view.equals(same));
+        assertTrue(view.equals((Object) same));
+        assertTrue(same.equals((Object) view));
+        assertTrue(view.equalsIgnoreCase("btcusdt"));
+        assertTrue(view.equalsIgnoreCase(new ViewString("BtcUsdt")));
+        assertFalse(view.equals("BTCUSD"));
+        assertEquals(0, view.compareTo(same));
+        assertTrue(view.compareTo(new ViewString("ETHUSDT")) < 0);
+        assertEquals("BTCUSDT", view.toString());
+    }
+
+    @Test
+    void testGetBytesCopiesUntilWrappedAgain() {
+        UnsafeBuffer buffer = offHeap("abcdef");
+        DirectViewString view = new DirectViewString(buffer, 1, 3);
+
+        byte[] bytes = view.getBytes();
+        assertEquals(0, view.offset());
+        assertEquals("bcd", new String(bytes, view.offset(), view.length()));
+        assertSame(bytes, view.getBytes());
+
+        view.wrap(buffer, 3, 3);
+        assertEquals("def", new String(view.getBytes(), view.offset(), view.length()));
+        assertTrue(new ExpandingMutableString().appendString(view).equals("def"));
+    }
+
+    @Test
+    void testGetBytesHandsOutHeapArrays() {
+        byte[] array = "abcdef".getBytes();
+        DirectViewString view = new DirectViewString(new UnsafeBuffer(array, 1, 4), 1, 3);
+
+        assertSame(array, view.getBytes());
+        assertEquals(2, view.offset());
+        assertEquals("cde", new String(view.getBytes(), view.offset(), view.length()));
+        assertTrue(new ExpandingMutableString().appendString(view).equals("cde"));
+    }
+
+    @Test
+    void testParsesNumbers() {
+        UnsafeBuffer buffer = offHeap("-42 1234.5678");
+        assertEquals(-42, new DirectViewString(buffer, 0, 3).toInt());
+        assertEquals(123456780000L, new DirectViewString(buffer, 4, 9).toFixedPointLong(100_000_000L));
+        assertThrows(NumberFormatException.class, () -> new DirectViewString(buffer, 0, 0).toInt());
+    }
+}
@@ -0,0 +1,226 @@
+package group.gnometrading.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+
+    private static final long START = 1_000;
+    private static final long RESOLUTION = 8;
+
+    private final List<Long> expired = new ArrayList<>();
+    private final TimerWheel.TimerHandler recorder = (now, timerId) -> expired.add(timerId);
+
+    private int pollUntil(TimerWheel wheel, long end) {
+        int total = 0;
+        for (long now = START; now <= end; now++) {
+            total += wheel.poll(now, recorder, Integer.MAX_VALUE);
+        }
+        return total;
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(0, 3, 8, 4));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(0, 8, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(0, 8, 8, 6));
+    }
+
+    @Test
+    void testNullDeadlineIsRejected() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 4);
+        wheel.scheduleTimer(START + 50);
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.scheduleTimer(TimerWheel.NULL_DEADLINE));
+        assertEquals(1, wheel.timerCount());
+    }
+
+    @Test
+    void testTimerExpiresAtDeadline() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 4);
+        long timerId = wheel.scheduleTimer(START + 50);
+        assertEquals(1, wheel.timerCount());
+        assertEquals(START + 50, wheel.deadline(timerId));
+
+        long firedAt = -1;
+        for (long now = START; now < START + 100 && firedAt == -1; now++) {
+            if (wheel.poll(now, recorder, 10) > 0) {
+                firedAt = now;
+            }
+        }
+
+        assertEquals(START + 50, firedAt);
+        assertEquals(List.of(timerId), expired);
+        assertEquals(0, wheel.timerCount());
+        assertEquals(TimerWheel.NULL_DEADLINE, wheel.deadline(timerId));
+    }
+
+    @Test
+    void testPastDeadlineExpiresOnNextPoll() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 4);
+        long timerId = wheel.scheduleTimer(START - 500);
+
+        assertEquals(1, wheel.poll(START, recorder, 10));
+        assertEquals(List.of(timerId), expired);
+    }
+
+    @Test
+    void testCancel() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 4);
+        long cancelled = wheel.scheduleTimer(START + 20);
+        long kept = wheel.scheduleTimer(START + 20);
+
+        assertTrue(wheel.cancelTimer(cancelled));
+        assertFalse(wheel.cancelTimer(cancelled));
+        assertFalse(wheel.cancelTimer(TimerWheel.NULL_TIMER_ID));
+        assertFalse(wheel.cancelTimer(Long.MAX_VALUE));
+        assertEquals(1, wheel.timerCount());
+
+        assertEquals(1, pollUntil(wheel, START + 40));
+        assertEquals(List.of(kept), expired);
+    }
+
+    @Test
+    void testStaleIdDoesNotMatchReusedSlot() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 1);
+        long first = wheel.scheduleTimer(START + 20);
+        assertTrue(wheel.cancelTimer(first));
+
+        long second = wheel.scheduleTimer(START + 20);
+        assertNotEquals(first, second);
+        assertFalse(wheel.cancelTimer(first), "A stale id must not cancel the timer now in its slot");
+        assertEquals(TimerWheel.NULL_DEADLINE, wheel.deadline(first));
+        assertEquals(START + 20, wheel.deadline(second));
+
+        assertEquals(1, pollUntil(wheel, START + 40));
+        long third = wheel.scheduleTimer(START + 60);
+        assertFalse(wheel.cancelTimer(second), "An expired id must not cancel the timer now in its slot");
+        assertTrue(wheel.cancelTimer(third));
+    }
+
+    @Test
+    void testTimersBeyondOneRevolution() {
+        // 4 ticks of 8 cover 32 time units, so these land in the same spoke on different revolutions
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 4, 4);
+        long near = wheel.scheduleTimer(START + 10);
+        long far = wheel.scheduleTimer(START + 10 + 32);
+        long farther = wheel.scheduleTimer(START + 10 + 64);
+
+        assertEquals(1, pollUntil(wheel, START + 20));
+        assertEquals(List.of(near), expired);
+
+        long firedAt = -1;
+        for (long now = START + 21; now < START + 200 && expired.size() < 3; now++) {
+            if (wheel.poll(now, recorder, 10) > 0 && firedAt == -1) {
+                firedAt = now;
+            }
+        }
+        assertEquals(START + 42, firedAt);
+        assertEquals(List.of(near, far, farther), expired);
+    }
+
+    @Test
+    void testGrowsWhenSpokeIsFullAndKeepsIds() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 4, 2);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            ids.add(wheel.scheduleTimer(START + 3));
+        }
+        long other = wheel.scheduleTimer(START + 12);
+
+        assertEquals(10, wheel.timerCount());
+        for (long id : ids) {
+            assertEquals(START + 3, wheel.deadline(id));
+        }
+        assertEquals(START + 12, wheel.deadline(other));
+        assertTrue(wheel.cancelTimer(ids.get(0)));
+
+        pollUntil(wheel, START + 20);
+        assertEquals(9, expired.size());
+        assertTrue(expired.containsAll(ids.subList(1, 9)));
+        assertTrue(expired.contains(other));
+    }
+
+    @Test
+    void testExpiryLimitFiresInBatches() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 8);
+        for (int i = 0; i < 5; i++) {
+            wheel.scheduleTimer(START + 1);
+        }
+
+        assertEquals(2, wheel.poll(START + 2, recorder, 2));
+        assertEquals(2, wheel.poll(START + 2, recorder, 2));
+        assertEquals(1, wheel.poll(START + 2, recorder, 2));
+        assertEquals(0, wheel.timerCount());
+    }
+
+    @Test
+    void testHandlerCanKeepTimer() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 4);
+        long timerId = wheel.scheduleTimer(START);
+
+        assertEquals(0, wheel.poll(START, (now, id) -> false, 10));
+        assertEquals(1, wheel.timerCount());
+        assertEquals(START, wheel.deadline(timerId));
+
+        assertEquals(1, wheel.poll(START, recorder, 10));
+        assertEquals(List.of(timerId), expired);
+    }
+
+    @Test
+    void testHandlerCanReschedule() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 4);
+        wheel.scheduleTimer(START + 5);
+
+        List<Long> firedAt = new ArrayList<>();
+        for (long now = START; now <= START + 100; now++) {
+            wheel.poll(
+                    now,
+                    (time, timerId) -> {
+                        firedAt.add(time);
+                        wheel.scheduleTimer(time + 30);
+                        return true;
+                    },
+                    10);
+        }
+
+        assertEquals(List.of(START + 5, START + 35, START + 65, START + 95), firedAt);
+    }
+
+    @Test
+    void testEmptyWheelCatchesUp() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 16, 4);
+        wheel.poll(START + 1_000, recorder, 10);
+        assertTrue(wheel.currentTickTime() > START + 1_000);
+
+        wheel.scheduleTimer(START + 1_004);
+        assertEquals(1, wheel.poll(START + 1_005, recorder, 10));
+    }
+
+    @Test
+    void testReset() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 4, 1);
+        for (int i = 0; i < 4; i++) {
+            wheel.scheduleTimer(START + 1);
+        }
+        wheel.reset();
+
+        assertEquals(0, wheel.timerCount());
+        assertEquals(START + RESOLUTION, wheel.currentTickTime());
+        assertEquals(0, pollUntil(wheel, START + 10));
+    }
+
+    @Test
+    void testIdsFromBeforeResetAreStale() {
+        TimerWheel wheel = new TimerWheel(START, RESOLUTION, 4, 1);
+        long before = wheel.scheduleTimer(START + 1);
+        wheel.reset();
+
+        long after = wheel.scheduleTimer(START + 1);
+        assertFalse(wheel.cancelTimer(before));
+        assertEquals(START + 1, wheel.deadline(after));
+    }
+}